@@ -31,6 +31,7 @@
 #include "storage/task/engine_storage_migration_task.h"
 #include "storage/txn_manager.h"
 #include "storage/update_manager.h"
+#include "util/time.h"
 
 namespace starrocks {
 
@@ -474,7 +475,9 @@ void run_upload_task(const std::shared_ptr<UploadAgentTaskRequest>& agent_task_r
 
     std::map<int64_t, std::vector<std::string>> tablet_files;
     SnapshotLoader loader(exec_env, upload_request.job_id, agent_task_req->signature);
+    int64_t start_ts = MonotonicMillis();
     Status status = loader.upload(upload_request.src_dest_map, upload_request, &tablet_files);
+    int64_t cost_ms = MonotonicMillis() - start_ts;
 
     TStatusCode::type status_code = TStatusCode::OK;
     std::vector<std::string> error_msgs;
@@ -494,6 +497,8 @@ void run_upload_task(const std::shared_ptr<UploadAgentTaskRequest>& agent_task_r
     finish_task_request.__set_signature(agent_task_req->signature);
     finish_task_request.__set_task_status(task_status);
     finish_task_request.__set_tablet_files(tablet_files);
+    finish_task_request.__set_copy_size(loader.transferred_bytes());
+    finish_task_request.__set_copy_time_ms(cost_ms);
 
     finish_task(finish_task_request);
     remove_task_info(agent_task_req->task_type, agent_task_req->signature);
@@ -512,7 +517,9 @@ void run_download_task(const std::shared_ptr<DownloadAgentTaskRequest>& agent_ta
     // TODO: download
     std::vector<int64_t> downloaded_tablet_ids;
     SnapshotLoader loader(exec_env, download_request.job_id, agent_task_req->signature);
+    int64_t start_ts = MonotonicMillis();
     Status status = loader.download(download_request.src_dest_map, download_request, &downloaded_tablet_ids);
+    int64_t cost_ms = MonotonicMillis() - start_ts;
 
     if (!status.ok()) {
         status_code = TStatusCode::RUNTIME_ERROR;
@@ -529,6 +536,8 @@ void run_download_task(const std::shared_ptr<DownloadAgentTaskRequest>& agent_ta
     finish_task_request.__set_signature(agent_task_req->signature);
     finish_task_request.__set_task_status(task_status);
     finish_task_request.__set_downloaded_tablet_ids(downloaded_tablet_ids);
+    finish_task_request.__set_copy_size(loader.transferred_bytes());
+    finish_task_request.__set_copy_time_ms(cost_ms);
 
     finish_task(finish_task_request);
     remove_task_info(agent_task_req->task_type, agent_task_req->signature);
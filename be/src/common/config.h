@@ -136,6 +136,8 @@ CONF_Int32(check_consistency_worker_count, "1");
 CONF_Int32(upload_worker_count, "1");
 // The count of thread to download.
 CONF_Int32(download_worker_count, "1");
+// The max count of files of a tablet snapshot transferred concurrently by one upload or download task.
+CONF_mInt32(snapshot_transfer_thread_num, "4");
 // The count of thread to make snapshot.
 CONF_Int32(make_snapshot_worker_count, "5");
 // The count of thread to release snapshot.
@@ -799,6 +801,12 @@ CONF_Int64(max_load_dop, "16");
 
 CONF_Bool(enable_load_colocate_mv, "false");
 
+// Number of decompressed buffers read ahead in the load_prefetch thread pool when loading a compressed file,
+// so that decompression runs in parallel with parsing. 0 disables the read ahead.
+CONF_mInt32(load_decompress_prefetch_buffer_num, "4");
+// The number of threads of the load_prefetch thread pool, vCPUs by default.
+CONF_Int32(load_decompress_prefetch_thread_num, "0");
+
 CONF_Int64(meta_threshold_to_manual_compact, "10737418240"); // 10G
 CONF_Bool(manual_compact_before_data_dir_load, "false");
 
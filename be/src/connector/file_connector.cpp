@@ -164,6 +164,10 @@ void FileDataSource::_init_counter() {
     _scanner_materialize_timer = ADD_TIMER(p, "MaterializeTime");
     _scanner_init_chunk_timer = ADD_TIMER(p, "CreateChunkTime");
     _scanner_file_reader_timer = ADD_TIMER(p->create_child("FilePRead", true, true), "FileReadTime");
+    _scanner_csv_ranges_read_counter = ADD_COUNTER(p, "CSVScanRangesRead", TUnit::UNIT);
+    _scanner_csv_range_bytes_counter = ADD_COUNTER(p, "CSVRangeBytesRead", TUnit::BYTES);
+    _scanner_csv_range_read_timer = ADD_TIMER(p, "CSVRangeReadTime");
+    _scanner_csv_max_range_read_timer = p->AddHighWaterMarkCounter("CSVMaxRangeReadTime", TUnit::TIME_NS);
 }
 
 void FileDataSource::_update_counter() {
@@ -177,6 +181,10 @@ void FileDataSource::_update_counter() {
     COUNTER_UPDATE(_scanner_materialize_timer, _counter.materialize_ns);
     COUNTER_UPDATE(_scanner_init_chunk_timer, _counter.init_chunk_ns);
     COUNTER_UPDATE(_scanner_file_reader_timer, _counter.file_read_ns);
+    COUNTER_UPDATE(_scanner_csv_ranges_read_counter, _counter.csv_num_ranges_read);
+    COUNTER_UPDATE(_scanner_csv_range_bytes_counter, _counter.csv_range_bytes_read);
+    COUNTER_UPDATE(_scanner_csv_range_read_timer, _counter.csv_range_read_ns);
+    COUNTER_SET(_scanner_csv_max_range_read_timer, _counter.csv_max_range_read_ns);
 }
 
 } // namespace starrocks::connector
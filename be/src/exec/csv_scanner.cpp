@@ -41,6 +41,7 @@ Status CSVScanner::ScannerCSVReader::_fill_buffer() {
         s.size = *res;
     }
     _buff.add_limit(s.size);
+    _counter->csv_range_bytes_read += s.size;
     auto n = _buff.available();
     if (s.size == 0) {
         if (n < _row_delimiter_length ||
@@ -183,6 +184,8 @@ StatusOr<ChunkPtr> CSVScanner::get_next() {
 
             _curr_reader = std::make_unique<ScannerCSVReader>(file, _parse_options);
             _curr_reader->set_counter(_counter);
+            _curr_range_start_bytes = _counter->csv_range_bytes_read;
+            _curr_range_start_read_ns = _counter->file_read_ns;
             if (_scan_range.ranges[_curr_file_index].size > 0 &&
                 _scan_range.ranges[_curr_file_index].format_type == TFileFormatType::FORMAT_CSV_PLAIN) {
                 // Does not set limit for compressed file.
@@ -221,6 +224,7 @@ StatusOr<ChunkPtr> CSVScanner::get_next() {
 
         if (!status.ok()) {
             if (status.is_end_of_file()) {
+                _finish_range();
                 _curr_reader = nullptr;
                 DCHECK_EQ(0, src_chunk->num_rows());
             } else if (status.is_time_out()) {
@@ -241,6 +245,16 @@ StatusOr<ChunkPtr> CSVScanner::get_next() {
     return std::move(chunk);
 }
 
+void CSVScanner::_finish_range() {
+    int64_t read_ns = _counter->file_read_ns - _curr_range_start_read_ns;
+    _counter->csv_num_ranges_read++;
+    _counter->csv_range_read_ns += read_ns;
+    _counter->csv_max_range_read_ns = std::max(_counter->csv_max_range_read_ns, read_ns);
+    VLOG(2) << "CSVScanner finished range " << _curr_file_index << " of "
+            << _scan_range.ranges[_curr_file_index].path << ", bytes: "
+            << _counter->csv_range_bytes_read - _curr_range_start_bytes << ", read time: " << read_ns << "ns";
+}
+
 Status CSVScanner::_parse_csv_v2(Chunk* chunk) {
     const int capacity = _state->chunk_size();
     DCHECK_EQ(0, chunk->num_rows());
@@ -68,6 +68,7 @@ private:
 
     StatusOr<ChunkPtr> _materialize(ChunkPtr& src_chunk);
     void _report_error(const std::string& line, const std::string& err_msg);
+    void _finish_range();
 
     using ConverterPtr = std::unique_ptr<csv::Converter>;
     using CSVReaderPtr = std::unique_ptr<ScannerCSVReader>;
@@ -78,6 +79,9 @@ private:
     int _num_fields_in_csv = 0;
     int _curr_file_index = -1;
     CSVReaderPtr _curr_reader;
+    // bytes read and file read time when the current range was opened
+    int64_t _curr_range_start_bytes = 0;
+    int64_t _curr_range_start_read_ns = 0;
     std::vector<ConverterPtr> _converters;
     bool _use_v2;
 };
@@ -70,6 +70,10 @@ Status FileScanNode::prepare(RuntimeState* state) {
     _scanner_init_chunk_timer = ADD_TIMER(p, "CreateChunkTime");
 
     _scanner_file_reader_timer = ADD_TIMER(p->create_child("FilePRead", true, true), "FileReadTime");
+    _scanner_csv_ranges_read_counter = ADD_COUNTER(p, "CSVScanRangesRead", TUnit::UNIT);
+    _scanner_csv_range_bytes_counter = ADD_COUNTER(p, "CSVRangeBytesRead", TUnit::BYTES);
+    _scanner_csv_range_read_timer = ADD_TIMER(p, "CSVRangeReadTime");
+    _scanner_csv_max_range_read_timer = p->AddHighWaterMarkCounter("CSVMaxRangeReadTime", TUnit::TIME_NS);
 
     return Status::OK();
 }
@@ -335,6 +339,10 @@ void FileScanNode::_scanner_worker(int start_idx, int length) {
         COUNTER_UPDATE(_scanner_init_chunk_timer, counter.init_chunk_ns);
 
         COUNTER_UPDATE(_scanner_file_reader_timer, counter.file_read_ns);
+        COUNTER_UPDATE(_scanner_csv_ranges_read_counter, counter.csv_num_ranges_read);
+        COUNTER_UPDATE(_scanner_csv_range_bytes_counter, counter.csv_range_bytes_read);
+        COUNTER_UPDATE(_scanner_csv_range_read_timer, counter.csv_range_read_ns);
+        COUNTER_SET(_scanner_csv_max_range_read_timer, counter.csv_max_range_read_ns);
     }
 
     // scanner is going to finish
@@ -112,6 +112,10 @@ private:
     RuntimeProfile::Counter* _scanner_materialize_timer = nullptr;
     RuntimeProfile::Counter* _scanner_init_chunk_timer = nullptr;
     RuntimeProfile::Counter* _scanner_file_reader_timer = nullptr;
+    RuntimeProfile::Counter* _scanner_csv_ranges_read_counter = nullptr;
+    RuntimeProfile::Counter* _scanner_csv_range_bytes_counter = nullptr;
+    RuntimeProfile::Counter* _scanner_csv_range_read_timer = nullptr;
+    RuntimeProfile::HighWaterMarkCounter* _scanner_csv_max_range_read_timer = nullptr;
 };
 
 } // namespace starrocks
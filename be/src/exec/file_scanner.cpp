@@ -19,11 +19,13 @@
 #include "column/chunk.h"
 #include "column/column_helper.h"
 #include "column/hash_set.h"
+#include "common/config.h"
 #include "fs/fs.h"
 #include "fs/fs_broker.h"
 #include "fs/fs_hdfs.h"
 #include "gutil/strings/substitute.h"
 #include "io/compressed_input_stream.h"
+#include "io/prefetch_input_stream.h"
 #include "runtime/descriptors.h"
 #include "runtime/exec_env.h"
 #include "runtime/runtime_state.h"
@@ -32,6 +34,9 @@
 
 namespace starrocks {
 
+// size of each buffer read ahead from a compressed file
+static constexpr size_t kDecompressPrefetchBufferSize = 4 * 1024 * 1024;
+
 FileScanner::FileScanner(starrocks::RuntimeState* state, starrocks::RuntimeProfile* profile,
                          const starrocks::TBrokerScanRangeParams& params, starrocks::ScannerCounter* counter)
         : _state(state),
@@ -289,6 +294,18 @@ Status FileScanner::create_sequential_file(const TBrokerRangeDesc& range_desc, c
     std::unique_ptr<StreamCompression> dec;
     RETURN_IF_ERROR(StreamCompression::create_decompressor(compression, &dec));
     auto stream = std::make_unique<io::CompressedInputStream>(src_file->stream(), DecompressorPtr(dec.release()));
+    // A compressed file can not be split, so it is read by one scanner. Decompress it in the load_prefetch
+    // pool to overlap decompression with parsing. Stream load pipes are excluded, reading them may time out
+    // by design when they are read in non-blocking mode.
+    PriorityThreadPool* prefetch_pool = _state->exec_env()->load_prefetch_pool();
+    if (range_desc.file_type != TFileType::FILE_STREAM && config::load_decompress_prefetch_buffer_num > 0 &&
+        prefetch_pool != nullptr) {
+        auto prefetch_stream = std::make_unique<io::PrefetchInputStream>(
+                std::move(stream), prefetch_pool, kDecompressPrefetchBufferSize,
+                config::load_decompress_prefetch_buffer_num);
+        *file = std::make_shared<SequentialFile>(std::move(prefetch_stream), range_desc.path);
+        return Status::OK();
+    }
     *file = std::make_shared<SequentialFile>(std::move(stream), range_desc.path);
     return Status::OK();
 }
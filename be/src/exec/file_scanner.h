@@ -41,6 +41,13 @@ struct ScannerCounter {
     int64_t init_chunk_ns = 0;
 
     int64_t file_read_ns = 0;
+
+    // statistics of the scan ranges which have been read to the end, only collected by the CSV scanner
+    int64_t csv_num_ranges_read = 0;
+    int64_t csv_range_bytes_read = 0;
+    int64_t csv_range_read_ns = 0;
+    // read time of the slowest range
+    int64_t csv_max_range_read_ns = 0;
 };
 
 class FileScanner {
@@ -0,0 +1,176 @@
+// Copyright 2021-present StarRocks, Inc. All rights reserved.
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//     https://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+#include "exec/parquet_builder.h"
+
+#include <arrow/io/interfaces.h>
+#include <arrow/memory_pool.h>
+#include <arrow/record_batch.h>
+#include <arrow/table.h>
+#include <arrow/type.h>
+#include <parquet/arrow/writer.h>
+#include <parquet/properties.h>
+
+#include <unordered_map>
+#include <utility>
+
+#include "column/chunk.h"
+#include "exprs/expr.h"
+#include "exprs/column_ref.h"
+#include "gutil/strings/substitute.h"
+#include "runtime/descriptors.h"
+#include "util/arrow/row_batch.h"
+#include "util/arrow/starrocks_column_to_arrow.h"
+
+namespace starrocks {
+
+// Adapts WritableFile to the output stream of the arrow parquet writer.
+class ParquetOutputStream final : public arrow::io::OutputStream {
+public:
+    explicit ParquetOutputStream(std::unique_ptr<WritableFile> writable_file)
+            : _writable_file(std::move(writable_file)) {}
+    ~ParquetOutputStream() override = default;
+
+    arrow::Status Write(const void* data, int64_t nbytes) override {
+        if (_closed) {
+            return arrow::Status::IOError("write to closed file " + _writable_file->filename());
+        }
+        Status st = _writable_file->append(Slice(static_cast<const char*>(data), nbytes));
+        if (!st.ok()) {
+            return arrow::Status::IOError(st.get_error_msg());
+        }
+        _written_bytes += nbytes;
+        return arrow::Status::OK();
+    }
+
+    arrow::Result<int64_t> Tell() const override { return _written_bytes; }
+
+    arrow::Status Close() override {
+        if (_closed) {
+            return arrow::Status::OK();
+        }
+        _closed = true;
+        Status st = _writable_file->close();
+        if (!st.ok()) {
+            return arrow::Status::IOError(st.get_error_msg());
+        }
+        return arrow::Status::OK();
+    }
+
+    bool closed() const override { return _closed; }
+
+    int64_t written_bytes() const { return _written_bytes; }
+
+private:
+    std::unique_ptr<WritableFile> _writable_file;
+    int64_t _written_bytes = 0;
+    bool _closed = false;
+};
+
+ParquetBuilder::ParquetBuilder(ParquetBuilderOptions options, std::unique_ptr<WritableFile> writable_file,
+                               const std::vector<ExprContext*>& output_expr_ctxs)
+        : _options(std::move(options)),
+          _output_expr_ctxs(output_expr_ctxs),
+          _output_stream(std::make_shared<ParquetOutputStream>(std::move(writable_file))) {}
+
+ParquetBuilder::~ParquetBuilder() = default;
+
+Status ParquetBuilder::init() {
+    if (_init) {
+        return Status::OK();
+    }
+    if (!_options.column_names.empty() && _options.column_names.size() != _output_expr_ctxs.size()) {
+        return Status::InternalError(strings::Substitute("Unmatched number of columns expected=$0 real=$1",
+                                                         _output_expr_ctxs.size(), _options.column_names.size()));
+    }
+    std::unordered_map<int64_t, std::string> id_to_col_name;
+    for (size_t i = 0; i < _output_expr_ctxs.size(); i++) {
+        auto* column_ref = _output_expr_ctxs[i]->root()->get_column_ref();
+        if (column_ref == nullptr) {
+            return Status::InternalError("Not slot ref column");
+        }
+        int64_t id = static_cast<int64_t>(column_ref->tuple_id()) << 32 | column_ref->slot_id();
+        id_to_col_name[id] = _options.column_names.empty() ? "col" + std::to_string(i) : _options.column_names[i];
+    }
+    // the row descriptor is not used to build the schema, the types come from the output exprs
+    RETURN_IF_ERROR(convert_to_arrow_schema(RowDescriptor(), id_to_col_name, &_schema, _output_expr_ctxs));
+
+    parquet::WriterProperties::Builder builder;
+    builder.compression(parquet::Compression::SNAPPY);
+    auto arrow_st = parquet::arrow::FileWriter::Open(*_schema, arrow::default_memory_pool(), _output_stream,
+                                                     builder.build(), parquet::default_arrow_writer_properties(),
+                                                     &_writer);
+    if (!arrow_st.ok()) {
+        return Status::InternalError("Open parquet writer failed: " + arrow_st.ToString());
+    }
+    _init = true;
+    return Status::OK();
+}
+
+Status ParquetBuilder::add_chunk(Chunk* chunk) {
+    RETURN_IF_ERROR(init());
+    if (chunk->num_rows() == 0) {
+        return Status::OK();
+    }
+    std::shared_ptr<arrow::RecordBatch> batch;
+    RETURN_IF_ERROR(
+            convert_chunk_to_arrow_batch(chunk, _output_expr_ctxs, _schema, arrow::default_memory_pool(), &batch));
+    _buffered_batches.emplace_back(std::move(batch));
+    _buffered_bytes += chunk->bytes_usage();
+    if (_buffered_bytes >= _options.row_group_max_size) {
+        RETURN_IF_ERROR(flush_row_group());
+    }
+    return Status::OK();
+}
+
+Status ParquetBuilder::flush_row_group() {
+    if (_buffered_batches.empty()) {
+        return Status::OK();
+    }
+    auto table = arrow::Table::FromRecordBatches(_schema, _buffered_batches);
+    if (!table.ok()) {
+        return Status::InternalError("Build arrow table failed: " + table.status().ToString());
+    }
+    int64_t num_rows = (*table)->num_rows();
+    auto arrow_st = _writer->WriteTable(**table, num_rows);
+    if (!arrow_st.ok()) {
+        return Status::InternalError("Write parquet row group failed: " + arrow_st.ToString());
+    }
+    _buffered_batches.clear();
+    _buffered_bytes = 0;
+    return Status::OK();
+}
+
+std::size_t ParquetBuilder::file_size() {
+    DCHECK(_output_stream != nullptr);
+    return _output_stream->written_bytes() + _buffered_bytes;
+}
+
+Status ParquetBuilder::finish() {
+    DCHECK(_output_stream != nullptr);
+    // a file without any chunk still gets the schema and footer to be a valid parquet file
+    RETURN_IF_ERROR(init());
+    RETURN_IF_ERROR(flush_row_group());
+    auto writer_st = _writer->Close();
+    if (!writer_st.ok()) {
+        return Status::InternalError("Close parquet writer failed: " + writer_st.ToString());
+    }
+    auto arrow_st = _output_stream->Close();
+    if (!arrow_st.ok()) {
+        return Status::InternalError(arrow_st.ToString());
+    }
+    return Status::OK();
+}
+
+} // namespace starrocks
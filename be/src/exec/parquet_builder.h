@@ -0,0 +1,73 @@
+// Copyright 2021-present StarRocks, Inc. All rights reserved.
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//     https://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+#pragma once
+
+#include <cstdint>
+#include <memory>
+#include <string>
+#include <vector>
+
+#include "exec/file_builder.h"
+
+namespace arrow {
+class RecordBatch;
+class Schema;
+} // namespace arrow
+
+namespace parquet::arrow {
+class FileWriter;
+} // namespace parquet::arrow
+
+namespace starrocks {
+
+class ExprContext;
+class ParquetOutputStream;
+
+struct ParquetBuilderOptions {
+    // names of the output columns, in the order of the output exprs
+    std::vector<std::string> column_names;
+    // the buffered rows are flushed as a row group once they reach this size
+    int64_t row_group_max_size = 128 * 1024 * 1024;
+};
+
+// Writes chunks as a parquet file. Chunks are converted to arrow record batches and buffered until
+// they are large enough to make a row group, so that small chunks do not end up as tiny row groups.
+class ParquetBuilder final : public FileBuilder {
+public:
+    ParquetBuilder(ParquetBuilderOptions options, std::unique_ptr<WritableFile> writable_file,
+                   const std::vector<ExprContext*>& output_expr_ctxs);
+    ~ParquetBuilder() override;
+
+    Status add_chunk(Chunk* chunk) override;
+
+    std::size_t file_size() override;
+
+    Status finish() override;
+
+private:
+    Status init();
+    Status flush_row_group();
+
+    const ParquetBuilderOptions _options;
+    std::vector<ExprContext*> _output_expr_ctxs;
+    std::shared_ptr<ParquetOutputStream> _output_stream;
+    std::shared_ptr<arrow::Schema> _schema;
+    std::unique_ptr<parquet::arrow::FileWriter> _writer;
+    std::vector<std::shared_ptr<arrow::RecordBatch>> _buffered_batches;
+    int64_t _buffered_bytes = 0;
+    bool _init = false;
+};
+
+} // namespace starrocks
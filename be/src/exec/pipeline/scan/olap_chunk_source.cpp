@@ -134,6 +134,7 @@ Status OlapChunkSource::_get_tablet(const TInternalScanRange* scan_range) {
     _version = strtoul(scan_range->version.c_str(), nullptr, 10);
 
     ASSIGN_OR_RETURN(_tablet, OlapScanNode::get_tablet(scan_range));
+    _tablet->incr_read_count();
 
     return Status::OK();
 }
@@ -18,11 +18,13 @@
 #include "exec/file_builder.h"
 #include "exec/pipeline/fragment_context.h"
 #include "exec/pipeline/sink/sink_io_buffer.h"
+#include "exec/parquet_builder.h"
 #include "exec/plain_text_builder.h"
 #include "formats/csv/converter.h"
 #include "formats/csv/output_stream.h"
 #include "fs/fs_broker.h"
 #include "runtime/runtime_state.h"
+#include "util/uid_util.h"
 
 namespace starrocks::pipeline {
 
@@ -46,12 +48,16 @@ private:
 
     Status _open_file_writer(int timeout_ms);
 
+    Status _close_file_writer();
+
     Status _gen_file_name(std::string* file_name);
 
     TExportSink _t_export_sink;
     const std::vector<ExprContext*> _output_expr_ctxs;
     std::unique_ptr<FileBuilder> _file_builder;
     FragmentContext* _fragment_ctx;
+    // number of the next file to open
+    int _file_number = 0;
 };
 
 Status ExportSinkIOBuffer::prepare(RuntimeState* state, RuntimeProfile* parent_profile) {
@@ -75,8 +81,7 @@ Status ExportSinkIOBuffer::prepare(RuntimeState* state, RuntimeProfile* parent_p
 
 void ExportSinkIOBuffer::close(RuntimeState* state) {
     if (_file_builder != nullptr) {
-        set_io_status(_file_builder->finish());
-        _file_builder.reset();
+        set_io_status(_close_file_writer());
     }
     SinkIOBuffer::close(state);
 }
@@ -92,7 +97,9 @@ void ExportSinkIOBuffer::_process_chunk(bthread::TaskIterator<const ChunkPtr>& i
         return;
     }
 
-    if (_file_builder == nullptr) {
+    const auto& chunk = *iter;
+    // the file is opened when the first rows come, so an instance without data to export creates no file
+    if (_file_builder == nullptr && chunk != nullptr && chunk->num_rows() > 0) {
         int query_timeout = _state->query_options().query_timeout;
         int timeout_ms = query_timeout > 3600 ? 3600000 : query_timeout * 1000;
         if (Status status = _open_file_writer(timeout_ms); !status.ok()) {
@@ -101,17 +108,36 @@ void ExportSinkIOBuffer::_process_chunk(bthread::TaskIterator<const ChunkPtr>& i
             return;
         }
     }
-    const auto& chunk = *iter;
     if (chunk == nullptr) {
         // this is the last chunk
         close(_state);
         return;
     }
+    if (_file_builder == nullptr) {
+        return;
+    }
     if (Status status = _file_builder->add_chunk(chunk.get()); !status.ok()) {
         close(_state);
         _fragment_ctx->cancel(status);
         return;
     }
+    _state->update_num_rows_load_from_sink(chunk->num_rows());
+    int64_t max_file_size = _t_export_sink.__isset.max_file_size_bytes ? _t_export_sink.max_file_size_bytes : 0;
+    if (max_file_size > 0 && static_cast<int64_t>(_file_builder->file_size()) >= max_file_size) {
+        // roll over to a new file, which is opened when the next chunk comes
+        if (Status status = _close_file_writer(); !status.ok()) {
+            close(_state);
+            _fragment_ctx->cancel(status);
+            return;
+        }
+    }
+}
+
+Status ExportSinkIOBuffer::_close_file_writer() {
+    Status st = _file_builder->finish();
+    _state->update_num_bytes_load_from_sink(_file_builder->file_size());
+    _file_builder.reset();
+    return st;
 }
 
 Status ExportSinkIOBuffer::_open_file_writer(int timeout_ms) {
@@ -146,12 +172,20 @@ Status ExportSinkIOBuffer::_open_file_writer(int timeout_ms) {
         return Status::NotSupported(strings::Substitute("Unsupported file type $0", file_type));
     }
 
-    _file_builder = std::make_unique<PlainTextBuilder>(
-            PlainTextBuilderOptions{.column_terminated_by = _t_export_sink.column_separator,
-                                    .line_terminated_by = _t_export_sink.row_delimiter},
-            std::move(output_file), _output_expr_ctxs);
+    if (_t_export_sink.__isset.file_format && _t_export_sink.file_format == TFileFormatType::FORMAT_PARQUET) {
+        ParquetBuilderOptions parquet_options;
+        parquet_options.column_names = _t_export_sink.file_column_names;
+        _file_builder = std::make_unique<ParquetBuilder>(std::move(parquet_options), std::move(output_file),
+                                                         _output_expr_ctxs);
+    } else {
+        _file_builder = std::make_unique<PlainTextBuilder>(
+                PlainTextBuilderOptions{.column_terminated_by = _t_export_sink.column_separator,
+                                        .line_terminated_by = _t_export_sink.row_delimiter},
+                std::move(output_file), _output_expr_ctxs);
+    }
 
     _state->add_export_output_file(file_path);
+    _file_number++;
     return Status::OK();
 }
 
@@ -160,9 +194,17 @@ Status ExportSinkIOBuffer::_gen_file_name(std::string* file_name) {
         return Status::InternalError("file name prefix is not set");
     }
     std::stringstream file_name_ss;
-    // now file-number is 0.
-    // <file-name-prefix>_<file-number>.csv.<timestamp>
-    file_name_ss << _t_export_sink.file_name_prefix << "0.csv." << UnixMillis();
+    if (_t_export_sink.__isset.file_format) {
+        // several instances of a task may export at the same time, and one instance may roll over to new files,
+        // so both the instance id and the file number are part of the name.
+        // <file-name-prefix><instance-id>_<file-number>.<csv|parquet>.<timestamp>
+        const char* suffix = _t_export_sink.file_format == TFileFormatType::FORMAT_PARQUET ? "parquet" : "csv";
+        file_name_ss << _t_export_sink.file_name_prefix << print_id(_state->fragment_instance_id()) << "_"
+                     << _file_number << "." << suffix << "." << UnixMillis();
+    } else {
+        // <file-name-prefix>_<file-number>.csv.<timestamp>
+        file_name_ss << _t_export_sink.file_name_prefix << _file_number << ".csv." << UnixMillis();
+    }
     *file_name = file_name_ss.str();
     return Status::OK();
 }
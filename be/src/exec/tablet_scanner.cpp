@@ -125,6 +125,7 @@ Status TabletScanner::_get_tablet(const TInternalScanRange* scan_range) {
         LOG(WARNING) << msg;
         return Status::InternalError(msg);
     }
+    _tablet->incr_read_count();
     return Status::OK();
 }
 
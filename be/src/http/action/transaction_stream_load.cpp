@@ -84,6 +84,13 @@ static TFileFormatType::type parse_stream_load_format(const std::string& format_
     return TFileFormatType::FORMAT_UNKNOWN;
 }
 
+// A group commit load is redirected by FE with the label and the channel of the shared transaction
+// in the query string, which take precedence over the headers of the request.
+static const std::string& get_txn_param(HttpRequest* req, const std::string& key) {
+    const auto& value = req->param(key);
+    return value.empty() ? req->header(key) : value;
+}
+
 TransactionManagerAction::TransactionManagerAction(ExecEnv* exec_env) : _exec_env(exec_env) {}
 
 TransactionManagerAction::~TransactionManagerAction() = default;
@@ -142,9 +149,9 @@ void TransactionStreamLoadAction::_send_error_reply(HttpRequest* req, const Stat
 
 void TransactionStreamLoadAction::handle(HttpRequest* req) {
     StreamLoadContext* ctx = nullptr;
-    const auto& label = req->header(HTTP_LABEL_KEY);
-    if (!req->header(HTTP_CHANNEL_ID).empty()) {
-        int channel_id = std::stoi(req->header(HTTP_CHANNEL_ID));
+    const auto& label = get_txn_param(req, HTTP_LABEL_KEY);
+    if (!get_txn_param(req, HTTP_CHANNEL_ID).empty()) {
+        int channel_id = std::stoi(get_txn_param(req, HTTP_CHANNEL_ID));
         ctx = _exec_env->stream_context_mgr()->get_channel_context(label, channel_id);
     } else {
         ctx = _exec_env->stream_context_mgr()->get(label);
@@ -180,22 +187,22 @@ void TransactionStreamLoadAction::handle(HttpRequest* req) {
 }
 
 int TransactionStreamLoadAction::on_header(HttpRequest* req) {
-    const auto& label = req->header(HTTP_LABEL_KEY);
+    const auto& label = get_txn_param(req, HTTP_LABEL_KEY);
     if (label.empty()) {
         _send_error_reply(req, Status::InvalidArgument(fmt::format("Invalid label {}", req->header(HTTP_LABEL_KEY))));
         return -1;
     }
 
     StreamLoadContext* ctx = nullptr;
-    if (!req->header(HTTP_CHANNEL_ID).empty()) {
-        int channel_id = std::stoi(req->header(HTTP_CHANNEL_ID));
+    if (!get_txn_param(req, HTTP_CHANNEL_ID).empty()) {
+        int channel_id = std::stoi(get_txn_param(req, HTTP_CHANNEL_ID));
         ctx = _exec_env->stream_context_mgr()->get_channel_context(label, channel_id);
     } else {
         ctx = _exec_env->stream_context_mgr()->get(label);
     }
     if (ctx == nullptr) {
-        _send_error_reply(req, Status::TransactionNotExists(fmt::format("Transaction with label {} not exists",
-                                                                        req->header(HTTP_LABEL_KEY))));
+        _send_error_reply(req,
+                          Status::TransactionNotExists(fmt::format("Transaction with label {} not exists", label)));
         return -1;
     }
     DeferOp defer([&] {
@@ -467,9 +474,9 @@ Status TransactionStreamLoadAction::_exec_plan_fragment(HttpRequest* http_req, S
 
 void TransactionStreamLoadAction::on_chunk_data(HttpRequest* req) {
     StreamLoadContext* ctx = nullptr;
-    const string& label = req->header(HTTP_LABEL_KEY);
-    if (!req->header(HTTP_CHANNEL_ID).empty()) {
-        int channel_id = std::stoi(req->header(HTTP_CHANNEL_ID));
+    const string& label = get_txn_param(req, HTTP_LABEL_KEY);
+    if (!get_txn_param(req, HTTP_CHANNEL_ID).empty()) {
+        int channel_id = std::stoi(get_txn_param(req, HTTP_CHANNEL_ID));
         ctx = _exec_env->stream_context_mgr()->get_channel_context(label, channel_id);
     } else {
         ctx = _exec_env->stream_context_mgr()->get(label);
@@ -0,0 +1,135 @@
+// Copyright 2021-present StarRocks, Inc. All rights reserved.
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//     https://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+#include "io/prefetch_input_stream.h"
+
+#include <cstring>
+
+#include "runtime/current_thread.h"
+#include "util/priority_thread_pool.hpp"
+
+namespace starrocks::io {
+
+PrefetchInputStream::PrefetchInputStream(std::shared_ptr<InputStream> source_stream, PriorityThreadPool* pool,
+                                         size_t buffer_size, size_t max_buffers)
+        : _source_stream(std::move(source_stream)),
+          _pool(pool),
+          _mem_tracker(CurrentThread::mem_tracker()),
+          _buffer_size(std::max<size_t>(buffer_size, 1)),
+          _max_buffers(std::max<size_t>(max_buffers, 1)) {}
+
+PrefetchInputStream::~PrefetchInputStream() {
+    // the read ahead task references this stream, wait for it to return
+    std::unique_lock<std::mutex> l(_mutex);
+    _stopped = true;
+    _cond.wait(l, [this] { return !_prefetching; });
+}
+
+bool PrefetchInputStream::_schedule_prefetch() {
+    if (_prefetching || _stopped || _eof || !_status.ok() || _buffers.size() >= _max_buffers) {
+        return true;
+    }
+    _prefetching = true;
+    if (!_pool->try_offer([this] { _prefetch(); })) {
+        _prefetching = false;
+        return false;
+    }
+    return true;
+}
+
+void PrefetchInputStream::_prefetch() {
+    SCOPED_THREAD_LOCAL_MEM_TRACKER_SETTER(_mem_tracker);
+    while (true) {
+        {
+            std::lock_guard<std::mutex> l(_mutex);
+            if (_stopped || _buffers.size() >= _max_buffers) {
+                // scheduled again when the reader takes a buffer
+                _prefetching = false;
+                _cond.notify_all();
+                return;
+            }
+        }
+        if (!_read_buffer()) {
+            std::lock_guard<std::mutex> l(_mutex);
+            _prefetching = false;
+            _cond.notify_all();
+            return;
+        }
+    }
+}
+
+bool PrefetchInputStream::_read_buffer() {
+    Buffer buffer;
+    buffer.resize(_buffer_size);
+    auto res = _source_stream->read(buffer.data(), static_cast<int64_t>(_buffer_size));
+
+    std::lock_guard<std::mutex> l(_mutex);
+    if (!res.ok() && !res.status().is_end_of_file()) {
+        _status = res.status();
+    } else if (!res.ok() || *res == 0) {
+        _eof = true;
+    } else {
+        buffer.resize(*res);
+        _buffers.emplace_back(std::move(buffer));
+    }
+    _cond.notify_all();
+    return _status.ok() && !_eof;
+}
+
+StatusOr<int64_t> PrefetchInputStream::read(void* data, int64_t size) {
+    if (size <= 0) {
+        return 0;
+    }
+    if (_offset >= _current.size()) {
+        std::unique_lock<std::mutex> l(_mutex);
+        while (_buffers.empty()) {
+            // the buffers read before an error are still returned to the reader
+            RETURN_IF_ERROR(_status);
+            if (_eof) {
+                return 0;
+            }
+            if (_schedule_prefetch()) {
+                _cond.wait(l, [this] { return !_buffers.empty() || _eof || !_status.ok() || !_prefetching; });
+            } else {
+                // the pool is busy, read by the reader itself
+                l.unlock();
+                _read_buffer();
+                l.lock();
+            }
+        }
+        _current = std::move(_buffers.front());
+        _buffers.pop_front();
+        _offset = 0;
+        _schedule_prefetch();
+    }
+    size_t n = std::min<size_t>(size, _current.size() - _offset);
+    memcpy(data, _current.data() + _offset, n);
+    _offset += n;
+    return static_cast<int64_t>(n);
+}
+
+Status PrefetchInputStream::skip(int64_t n) {
+    raw::RawVector<uint8_t> buff;
+    buff.resize(std::min<int64_t>(n, _buffer_size));
+    while (n > 0) {
+        ASSIGN_OR_RETURN(auto nread, read(buff.data(), std::min<int64_t>(n, buff.size())));
+        if (nread == 0) {
+            break;
+        }
+        n -= nread;
+    }
+    return Status::OK();
+}
+
+} // namespace starrocks::io
@@ -0,0 +1,84 @@
+// Copyright 2021-present StarRocks, Inc. All rights reserved.
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//     https://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+#pragma once
+
+#include <algorithm>
+#include <condition_variable>
+#include <deque>
+#include <memory>
+#include <mutex>
+
+#include "common/status.h"
+#include "io/input_stream.h"
+#include "util/raw_container.h"
+
+namespace starrocks {
+class MemTracker;
+class PriorityThreadPool;
+} // namespace starrocks
+
+namespace starrocks::io {
+
+// Reads the source stream ahead in |pool|, so that the work done by the source stream, e.g. fetching and
+// decompressing a compressed file, overlaps with the work done by the reader of this stream, e.g. parsing
+// the decompressed data.
+// At most |max_buffers| buffers of |buffer_size| bytes are read ahead. The read ahead runs as a task which
+// returns once the buffers are full, and is scheduled again when the reader takes a buffer, so it never
+// blocks a thread of |pool|. If |pool| can not take the task, the reader reads the source stream itself.
+// The memory of the buffers is charged to the mem tracker of the thread which creates this stream.
+class PrefetchInputStream final : public InputStream {
+public:
+    PrefetchInputStream(std::shared_ptr<InputStream> source_stream, PriorityThreadPool* pool,
+                        size_t buffer_size = 4 * 1024 * 1024LU, size_t max_buffers = 4);
+
+    ~PrefetchInputStream() override;
+
+    StatusOr<int64_t> read(void* data, int64_t size) override;
+
+    Status skip(int64_t n) override;
+
+    bool allows_peek() const override { return false; }
+
+private:
+    using Buffer = raw::RawVector<uint8_t>;
+
+    // must be called with |_mutex| held, returns false if |_pool| does not take the task
+    bool _schedule_prefetch();
+    void _prefetch();
+    // reads one buffer from the source stream, must be called without |_mutex| held.
+    // returns false if the read reaches the end or fails
+    bool _read_buffer();
+
+    std::shared_ptr<InputStream> _source_stream;
+    PriorityThreadPool* _pool;
+    MemTracker* _mem_tracker;
+    const size_t _buffer_size;
+    const size_t _max_buffers;
+
+    std::mutex _mutex;
+    std::condition_variable _cond;
+    std::deque<Buffer> _buffers;
+    Status _status;
+    bool _eof = false;
+    bool _stopped = false;
+    // whether a read ahead task is queued or running
+    bool _prefetching = false;
+
+    // the buffer being consumed by the reader, only accessed by the reader
+    Buffer _current;
+    size_t _offset = 0;
+};
+
+} // namespace starrocks::io
@@ -185,6 +185,14 @@ Status ExecEnv::_init(const std::vector<StorePath>& store_paths) {
     }
     _query_rpc_pool = new PriorityThreadPool("query_rpc", query_rpc_threads, std::numeric_limits<uint32_t>::max());
 
+    int load_prefetch_threads = config::load_decompress_prefetch_thread_num;
+    if (load_prefetch_threads <= 0) {
+        load_prefetch_threads = CpuInfo::num_cores();
+    }
+    // every stream has at most one task in the queue
+    _load_prefetch_pool =
+            new PriorityThreadPool("load_prefetch", load_prefetch_threads, std::numeric_limits<uint32_t>::max());
+
     std::unique_ptr<ThreadPool> driver_executor_thread_pool;
     _max_executor_threads = CpuInfo::num_cores();
     if (config::pipeline_exec_thread_pool_thread_num > 0) {
@@ -479,6 +487,7 @@ void ExecEnv::_destroy() {
     SAFE_DELETE(_pipeline_prepare_pool);
     SAFE_DELETE(_pipeline_sink_io_pool);
     SAFE_DELETE(_query_rpc_pool);
+    SAFE_DELETE(_load_prefetch_pool);
     SAFE_DELETE(_scan_executor_without_workgroup);
     SAFE_DELETE(_scan_executor_with_workgroup);
     SAFE_DELETE(_connector_scan_executor_without_workgroup);
@@ -39,6 +39,7 @@
 
 #include "column/column.h"
 #include "exec/broker_writer.h"
+#include "exec/parquet_builder.h"
 #include "exec/plain_text_builder.h"
 #include "exprs/expr.h"
 #include "fs/fs_broker.h"
@@ -47,6 +48,7 @@
 #include "runtime/runtime_state.h"
 #include "util/runtime_profile.h"
 #include "util/time.h"
+#include "util/uid_util.h"
 
 namespace starrocks {
 
@@ -93,10 +95,7 @@ Status ExportSink::prepare(RuntimeState* state) {
 Status ExportSink::open(RuntimeState* state) {
     // Prepare the exprs to run.
     RETURN_IF_ERROR(Expr::open(_output_expr_ctxs, state));
-    // open broker
-    int query_timeout = state->query_options().query_timeout;
-    int timeout_ms = query_timeout > 3600 ? 3600000 : query_timeout * 1000;
-    RETURN_IF_ERROR(open_file_writer(timeout_ms));
+    // the file is opened when the first rows come, so an instance without data to export creates no file
     return Status::OK();
 }
 
@@ -106,8 +105,7 @@ Status ExportSink::close(RuntimeState* state, Status exec_status) {
     }
     Expr::close(_output_expr_ctxs, state);
     if (_file_builder != nullptr) {
-        Status st = _file_builder->finish();
-        _file_builder.reset();
+        Status st = close_file_writer();
         _closed = true;
         return st;
     }
@@ -115,6 +113,15 @@ Status ExportSink::close(RuntimeState* state, Status exec_status) {
     return Status::OK();
 }
 
+Status ExportSink::close_file_writer() {
+    Status st = _file_builder->finish();
+    int64_t file_size = _file_builder->file_size();
+    _file_builder.reset();
+    _state->update_num_bytes_load_from_sink(file_size);
+    COUNTER_UPDATE(_bytes_written_counter, file_size);
+    return st;
+}
+
 Status ExportSink::open_file_writer(int timeout_ms) {
     std::unique_ptr<WritableFile> output_file;
     std::string file_name;
@@ -148,31 +155,63 @@ Status ExportSink::open_file_writer(int timeout_ms) {
         return Status::NotSupported(strings::Substitute("Unsupported file type $0", file_type));
     }
 
-    _file_builder = std::make_unique<PlainTextBuilder>(
-            PlainTextBuilderOptions{.column_terminated_by = _t_export_sink.column_separator,
-                                    .line_terminated_by = _t_export_sink.row_delimiter},
-            std::move(output_file), _output_expr_ctxs);
+    if (_t_export_sink.__isset.file_format && _t_export_sink.file_format == TFileFormatType::FORMAT_PARQUET) {
+        ParquetBuilderOptions parquet_options;
+        parquet_options.column_names = _t_export_sink.file_column_names;
+        _file_builder = std::make_unique<ParquetBuilder>(std::move(parquet_options), std::move(output_file),
+                                                         _output_expr_ctxs);
+    } else {
+        _file_builder = std::make_unique<PlainTextBuilder>(
+                PlainTextBuilderOptions{.column_terminated_by = _t_export_sink.column_separator,
+                                        .line_terminated_by = _t_export_sink.row_delimiter},
+                std::move(output_file), _output_expr_ctxs);
+    }
 
     _state->add_export_output_file(file_path);
+    _file_number++;
     return Status::OK();
 }
 
-// TODO(lingbin): add some other info to file name, like partition
 Status ExportSink::gen_file_name(std::string* file_name) {
     if (!_t_export_sink.__isset.file_name_prefix) {
         return Status::InternalError("file name prefix is not set");
     }
 
     std::stringstream file_name_ss;
-    // now file-number is 0.
-    // <file-name-prefix>_<file-number>.csv.<timestamp>
-    file_name_ss << _t_export_sink.file_name_prefix << "0.csv." << UnixMillis();
+    if (_t_export_sink.__isset.file_format) {
+        // several instances of a task may export at the same time, and one instance may roll over to new files,
+        // so both the instance id and the file number are part of the name.
+        // <file-name-prefix><instance-id>_<file-number>.<csv|parquet>.<timestamp>
+        const char* suffix = _t_export_sink.file_format == TFileFormatType::FORMAT_PARQUET ? "parquet" : "csv";
+        file_name_ss << _t_export_sink.file_name_prefix << print_id(_state->fragment_instance_id()) << "_"
+                     << _file_number << "." << suffix << "." << UnixMillis();
+    } else {
+        // <file-name-prefix>_<file-number>.csv.<timestamp>
+        file_name_ss << _t_export_sink.file_name_prefix << _file_number << ".csv." << UnixMillis();
+    }
     *file_name = file_name_ss.str();
     return Status::OK();
 }
 
 Status ExportSink::send_chunk(RuntimeState* state, Chunk* chunk) {
+    if (chunk->num_rows() == 0) {
+        return Status::OK();
+    }
+    if (_file_builder == nullptr) {
+        int query_timeout = state->query_options().query_timeout;
+        int timeout_ms = query_timeout > 3600 ? 3600000 : query_timeout * 1000;
+        RETURN_IF_ERROR(open_file_writer(timeout_ms));
+    }
     Status status = _file_builder->add_chunk(chunk);
+    if (status.ok()) {
+        state->update_num_rows_load_from_sink(chunk->num_rows());
+        COUNTER_UPDATE(_rows_written_counter, chunk->num_rows());
+        int64_t max_file_size = _t_export_sink.__isset.max_file_size_bytes ? _t_export_sink.max_file_size_bytes : 0;
+        if (max_file_size > 0 && static_cast<int64_t>(_file_builder->file_size()) >= max_file_size) {
+            // roll over to a new file, which is opened when the next chunk comes
+            status = close_file_writer();
+        }
+    }
     if (!status.ok()) {
         Status status;
         close(state, status);
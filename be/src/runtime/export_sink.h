@@ -77,6 +77,7 @@ public:
 
 private:
     Status open_file_writer(int timeout_ms);
+    Status close_file_writer();
     Status gen_file_name(std::string* file_name);
 
     RuntimeState* _state;
@@ -96,6 +97,8 @@ private:
     RuntimeProfile::Counter* _write_timer;
 
     std::unique_ptr<FileBuilder> _file_builder;
+    // number of the next file to open
+    int _file_number = 0;
     bool _closed = false;
 };
 
@@ -35,9 +35,12 @@
 
 #include "librdkafka/rdkafka.h"
 #include "librdkafka/rdkafkacpp.h"
+#include "runtime/exec_env.h"
 #include "runtime/routine_load/data_consumer.h"
 #include "runtime/routine_load/kafka_consumer_pipe.h"
+#include "runtime/stream_load/load_stream_mgr.h"
 #include "runtime/stream_load/stream_load_context.h"
+#include "runtime/stream_load/stream_load_executor.h"
 
 namespace starrocks {
 
@@ -79,6 +82,30 @@ KafkaDataConsumerGroup::~KafkaDataConsumerGroup() {
     DCHECK(_queue.get_size() == 0);
 }
 
+StatusOr<KafkaConsumerPipe*> KafkaDataConsumerGroup::route_message(StreamLoadContext* ctx,
+                                                                   const std::string* key) {
+    if (key == nullptr || ctx->routing_ctxs.empty()) {
+        return static_cast<KafkaConsumerPipe*>(ctx->body_sink.get());
+    }
+    auto iter = ctx->routing_ctxs.find(*key);
+    if (iter == ctx->routing_ctxs.end()) {
+        return static_cast<KafkaConsumerPipe*>(ctx->body_sink.get());
+    }
+    StreamLoadContext* routing_ctx = iter->second;
+    if (routing_ctx->body_sink == nullptr) {
+        // must put pipe before executing plan fragment
+        auto pipe = std::make_shared<KafkaConsumerPipe>();
+        RETURN_IF_ERROR(routing_ctx->exec_env()->load_stream_mgr()->put(routing_ctx->id, pipe));
+#ifndef BE_TEST
+        RETURN_IF_ERROR(routing_ctx->exec_env()->stream_load_executor()->execute_plan_fragment(routing_ctx));
+#endif
+        // the body sink is set only if the plan fragment is running, whose result is waited by the task
+        routing_ctx->body_sink = pipe;
+        VLOG(1) << "start routing load of table " << iter->first << ", " << routing_ctx->brief();
+    }
+    return static_cast<KafkaConsumerPipe*>(routing_ctx->body_sink.get());
+}
+
 Status KafkaDataConsumerGroup::start_all(StreamLoadContext* ctx) {
     Status result_st = Status::OK();
     // start all consumers
@@ -110,6 +137,14 @@ Status KafkaDataConsumerGroup::start_all(StreamLoadContext* ctx) {
     int64_t left_bytes = ctx->max_batch_size;
 
     std::shared_ptr<KafkaConsumerPipe> kafka_pipe = std::static_pointer_cast<KafkaConsumerPipe>(ctx->body_sink);
+    auto finish_pipes = [&kafka_pipe, ctx]() {
+        kafka_pipe->finish();
+        for (auto& [table, routing_ctx] : ctx->routing_ctxs) {
+            if (routing_ctx->body_sink != nullptr) {
+                routing_ctx->body_sink->finish();
+            }
+        }
+    };
 
     LOG(INFO) << "start consumer group: " << _grp_id << ". max time(ms): " << left_time
               << ", batch size: " << left_bytes << ". " << ctx->brief();
@@ -171,17 +206,22 @@ Status KafkaDataConsumerGroup::start_all(StreamLoadContext* ctx) {
                 // we need to commit and tell fe to move offset to the newest offset, otherwise, fe will retry consume.
                 for (auto& item : cmt_offset) {
                     if (item.second > ctx->kafka_info->cmt_offset[item.first]) {
-                        kafka_pipe->finish();
+                        finish_pipes();
                         ctx->kafka_info->cmt_offset = std::move(cmt_offset);
                         ctx->receive_bytes = 0;
                         return Status::OK();
                     }
                 }
                 kafka_pipe->cancel(Status::Cancelled("Cancelled"));
+                for (auto& [table, routing_ctx] : ctx->routing_ctxs) {
+                    if (routing_ctx->body_sink != nullptr) {
+                        routing_ctx->body_sink->cancel(Status::Cancelled("Cancelled"));
+                    }
+                }
                 return Status::Cancelled("Cancelled");
             } else {
                 DCHECK(left_bytes < ctx->max_batch_size);
-                kafka_pipe->finish();
+                finish_pipes();
                 ctx->kafka_info->cmt_offset = std::move(cmt_offset);
                 ctx->receive_bytes = ctx->max_batch_size - left_bytes;
                 return Status::OK();
@@ -209,8 +249,10 @@ Status KafkaDataConsumerGroup::start_all(StreamLoadContext* ctx) {
                     cmt_offset[msg->partition()] = msg->offset() - 1;
                 }
             } else {
-                Status st = (kafka_pipe.get()->*append_data)(static_cast<const char*>(msg->payload()),
-                                                             static_cast<size_t>(msg->len()), row_delimiter);
+                auto pipe = route_message(ctx, msg->key());
+                Status st = pipe.ok() ? ((*pipe)->*append_data)(static_cast<const char*>(msg->payload()),
+                                                                 static_cast<size_t>(msg->len()), row_delimiter)
+                                      : pipe.status();
                 if (st.ok()) {
                     received_rows++;
                     left_bytes -= msg->len();
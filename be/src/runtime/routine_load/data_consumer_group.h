@@ -34,12 +34,15 @@
 
 #pragma once
 
+#include "common/statusor.h"
 #include "runtime/routine_load/data_consumer.h"
 #include "util/blocking_queue.hpp"
 #include "util/priority_thread_pool.hpp"
 
 namespace starrocks {
 
+class KafkaConsumerPipe;
+
 // data consumer group saves a group of data consumers.
 // These data consumers share the same stream load pipe.
 // This class is not thread safe.
@@ -88,6 +91,11 @@ public:
     // assign topic partitions to all consumers equally
     Status assign_topic_partitions(StreamLoadContext* ctx);
 
+    // Returns the pipe of the message with the key: the pipe of the routing context of the table named by
+    // the key, or the pipe of ctx. The load of a routing context is started when the first message is
+    // routed to it, so that the tables without messages open no pipe or plan fragment.
+    static StatusOr<KafkaConsumerPipe*> route_message(StreamLoadContext* ctx, const std::string* key);
+
 private:
     // start a single consumer
     void actual_consume(const std::shared_ptr<DataConsumer>& consumer, TimedBlockingQueue<RdKafka::Message*>* queue,
@@ -277,6 +277,27 @@ Status RoutineLoadTaskExecutor::submit_task(const TRoutineLoadTask& task) {
         return Status::InternalError("unknown load source type");
     }
 
+    // the messages routed to other tables are loaded by their own plan fragments in the same transaction
+    if (task.__isset.table_plans && task.type == TLoadSourceType::KAFKA) {
+        for (const auto& table_plan : task.table_plans) {
+            auto* routing_ctx = new StreamLoadContext(_exec_env, UniqueId(table_plan.load_id));
+            routing_ctx->load_type = TLoadType::ROUTINE_LOAD;
+            routing_ctx->load_src_type = task.type;
+            routing_ctx->job_id = task.job_id;
+            routing_ctx->txn_id = task.txn_id;
+            routing_ctx->db = task.db;
+            routing_ctx->table = table_plan.tbl;
+            routing_ctx->label = task.label;
+            routing_ctx->put_result = put_result;
+            routing_ctx->put_result.params = table_plan.params;
+            routing_ctx->format = ctx->format;
+            routing_ctx->max_filter_ratio = 1.0;
+            routing_ctx->kafka_info = std::make_unique<KafkaLoadInfo>(task.kafka_load_info);
+            routing_ctx->ref();
+            ctx->routing_ctxs[table_plan.tbl] = routing_ctx;
+        }
+    }
+
     VLOG(1) << "receive a new routine load task: " << ctx->brief();
     // register the task
     ctx->ref();
@@ -361,6 +382,7 @@ void RoutineLoadTaskExecutor::exec_task(StreamLoadContext* ctx, DataConsumerPool
 
 #ifndef BE_TEST
     // execute plan fragment, async
+    // the plan fragments of the routing contexts are executed when the first message is routed to them
     HANDLE_ERROR(_exec_env->stream_load_executor()->execute_plan_fragment(ctx), "failed to execute plan fragment");
 #else
     // only for test
@@ -372,6 +394,12 @@ void RoutineLoadTaskExecutor::exec_task(StreamLoadContext* ctx, DataConsumerPool
 
     // wait for all consumers finished
     HANDLE_ERROR(ctx->future.get(), "consume failed");
+    for (auto& [table, routing_ctx] : ctx->routing_ctxs) {
+        if (routing_ctx->body_sink != nullptr) {
+            HANDLE_ERROR(routing_ctx->future.get(), "consume failed");
+        }
+    }
+    merge_routing_ctxs(ctx);
 
     ctx->load_cost_nanos = MonotonicNanos() - ctx->start_nanos;
 
@@ -464,6 +492,32 @@ void RoutineLoadTaskExecutor::err_handler(StreamLoadContext* ctx, const Status&
     if (ctx->body_sink != nullptr) {
         ctx->body_sink->cancel(st);
     }
+    for (auto& [table, routing_ctx] : ctx->routing_ctxs) {
+        if (routing_ctx->body_sink != nullptr) {
+            routing_ctx->body_sink->cancel(st);
+        }
+    }
+}
+
+void RoutineLoadTaskExecutor::merge_routing_ctxs(StreamLoadContext* ctx) {
+    for (auto& [table, routing_ctx] : ctx->routing_ctxs) {
+        if (routing_ctx->body_sink == nullptr) {
+            // no message was routed to this table
+            continue;
+        }
+        // all tables are committed in one transaction with the offsets of the task
+        ctx->number_total_rows += routing_ctx->number_total_rows;
+        ctx->number_loaded_rows += routing_ctx->number_loaded_rows;
+        ctx->number_filtered_rows += routing_ctx->number_filtered_rows;
+        ctx->number_unselected_rows += routing_ctx->number_unselected_rows;
+        ctx->loaded_bytes += routing_ctx->loaded_bytes;
+        ctx->commit_infos.insert(ctx->commit_infos.end(), routing_ctx->commit_infos.begin(),
+                                 routing_ctx->commit_infos.end());
+        ctx->fail_infos.insert(ctx->fail_infos.end(), routing_ctx->fail_infos.begin(), routing_ctx->fail_infos.end());
+        if (ctx->error_url.empty()) {
+            ctx->error_url = routing_ctx->error_url;
+        }
+    }
 }
 
 // for test only
@@ -98,6 +98,10 @@ public:
 
     Status get_pulsar_partition_backlog(const PPulsarBacklogProxyRequest& request, std::vector<int64_t>* backlog_num);
 
+    // merge the load results of the routing contexts which messages were routed to into ctx,
+    // so that all tables are committed in the transaction of ctx
+    static void merge_routing_ctxs(StreamLoadContext* ctx);
+
 private:
     // execute the task
     void exec_task(StreamLoadContext* ctx, DataConsumerPool* pool, const ExecFinishCallback& cb);
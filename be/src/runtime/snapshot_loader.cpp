@@ -36,6 +36,7 @@
 
 #include <cstdint>
 #include <filesystem>
+#include <mutex>
 #include <set>
 
 #include "agent/master_info.h"
@@ -55,6 +56,7 @@
 #include "storage/tablet.h"
 #include "storage/tablet_manager.h"
 #include "storage/tablet_updates.h"
+#include "util/threadpool.h"
 #include "util/thrift_rpc_helper.h"
 
 namespace starrocks {
@@ -152,7 +154,9 @@ Status SnapshotLoader::upload(const std::map<std::string, std::string>& src_to_d
         std::vector<std::string> local_files_with_checksum;
         RETURN_IF_ERROR(_get_existing_files_from_local(src_path, &local_files));
 
-        // 2.3 iterate local files
+        // 2.3 iterate local files, the files that need upload are transferred concurrently
+        std::vector<std::function<StatusOr<int64_t>()>> upload_tasks;
+        std::vector<std::pair<std::string, std::string>> uploaded_files;
         for (auto& local_file : local_files) {
             RETURN_IF_ERROR(_report_every(10, &report_counter, finished_num, total_num, TTaskType::type::UPLOAD));
 
@@ -184,24 +188,29 @@ Status SnapshotLoader::upload(const std::map<std::string, std::string>& src_to_d
             // open broker writer. file name end with ".part"
             // it will be renamed to ".md5sum" after upload finished
             auto full_remote_file = dest_path + "/" + local_file;
-            auto tmp_broker_file_name = full_remote_file + ".part";
             auto local_file_path = src_path + "/" + local_file;
-            std::unique_ptr<WritableFile> remote_writable_file;
-            WritableFileOptions opts{.sync_on_close = false, .mode = FileSystem::CREATE_OR_OPEN_WITH_TRUNCATE};
-            if (!upload.__isset.use_broker || upload.use_broker) {
-                BrokerFileSystem fs_broker(upload.broker_addr, upload.broker_prop);
-                ASSIGN_OR_RETURN(remote_writable_file, fs_broker.new_writable_file(opts, tmp_broker_file_name));
-            } else {
-                ASSIGN_OR_RETURN(remote_writable_file, fs->new_writable_file(opts, tmp_broker_file_name));
-            }
-            ASSIGN_OR_RETURN(auto input_file, FileSystem::Default()->new_sequential_file(local_file_path));
-            auto res = fs::copy(input_file.get(), remote_writable_file.get(), 1024 * 1024);
-            if (!res.ok()) {
-                return res.status();
-            }
-            LOG(INFO) << "finished to write file via broker. file: " << local_file_path << ", length: " << *res;
-            RETURN_IF_ERROR(remote_writable_file->close());
-            // rename file to end with ".md5sum"
+            uploaded_files.emplace_back(full_remote_file, md5sum);
+            upload_tasks.emplace_back([&upload, &fs, full_remote_file, local_file_path]() -> StatusOr<int64_t> {
+                auto tmp_broker_file_name = full_remote_file + ".part";
+                std::unique_ptr<WritableFile> remote_writable_file;
+                WritableFileOptions opts{.sync_on_close = false, .mode = FileSystem::CREATE_OR_OPEN_WITH_TRUNCATE};
+                if (!upload.__isset.use_broker || upload.use_broker) {
+                    BrokerFileSystem fs_broker(upload.broker_addr, upload.broker_prop);
+                    ASSIGN_OR_RETURN(remote_writable_file, fs_broker.new_writable_file(opts, tmp_broker_file_name));
+                } else {
+                    ASSIGN_OR_RETURN(remote_writable_file, fs->new_writable_file(opts, tmp_broker_file_name));
+                }
+                ASSIGN_OR_RETURN(auto input_file, FileSystem::Default()->new_sequential_file(local_file_path));
+                ASSIGN_OR_RETURN(auto length, fs::copy(input_file.get(), remote_writable_file.get(), 1024 * 1024));
+                LOG(INFO) << "finished to write file via broker. file: " << local_file_path << ", length: " << length;
+                RETURN_IF_ERROR(remote_writable_file->close());
+                return length;
+            });
+        } // end for each tablet's local files
+        RETURN_IF_ERROR(_run_transfer_tasks(upload_tasks));
+
+        // rename files to end with ".md5sum", the broker client can not be shared by the transfer threads
+        for (const auto& [full_remote_file, md5sum] : uploaded_files) {
             if (!upload.__isset.use_broker || upload.use_broker) {
                 RETURN_IF_ERROR(_rename_remote_file(*client, full_remote_file + ".part",
                                                     full_remote_file + "." + md5sum, upload.broker_prop));
@@ -209,7 +218,7 @@ Status SnapshotLoader::upload(const std::map<std::string, std::string>& src_to_d
                 RETURN_IF_ERROR(_rename_remote_file_without_broker(fs, full_remote_file + ".part",
                                                                    full_remote_file + "." + md5sum));
             }
-        } // end for each tablet's local files
+        }
 
         tablet_files->emplace(tablet_id, local_files_with_checksum);
         finished_num++;
@@ -312,6 +321,8 @@ Status SnapshotLoader::download(const std::map<std::string, std::string>& src_to
         }
         DataDir* data_dir = tablet->data_dir();
 
+        // the files that need download are transferred concurrently
+        std::vector<std::function<StatusOr<int64_t>()>> download_tasks;
         for (auto& iter : remote_files) {
             RETURN_IF_ERROR(_report_every(10, &report_counter, finished_num, total_num, TTaskType::type::DOWNLOAD));
 
@@ -363,13 +374,6 @@ Status SnapshotLoader::download(const std::map<std::string, std::string>& src_to
                 return Status::InternalError("capacity limit reached");
             }
 
-            std::unique_ptr<SequentialFile> remote_sequential_file;
-            if (!download.__isset.use_broker || download.use_broker) {
-                BrokerFileSystem fs_broker(download.broker_addr, download.broker_prop);
-                ASSIGN_OR_RETURN(remote_sequential_file, fs_broker.new_sequential_file(full_remote_file));
-            } else {
-                ASSIGN_OR_RETURN(remote_sequential_file, fs->new_sequential_file(full_remote_file));
-            }
             // remove file which will be downloaded now.
             // this file will be added to local_files if it be downloaded successfully.
             // The Restore process of Primary key tablet may get a empty local_files at the begining.
@@ -378,31 +382,43 @@ Status SnapshotLoader::download(const std::map<std::string, std::string>& src_to
                 local_files.erase(find);
             }
 
-            // 3. open local file for write
-            WritableFileOptions opts{.sync_on_close = false, .mode = FileSystem::CREATE_OR_OPEN_WITH_TRUNCATE};
-            ASSIGN_OR_RETURN(auto local_file, FileSystem::Default()->new_writable_file(opts, full_local_file));
-
-            auto res = fs::copy(remote_sequential_file.get(), local_file.get(), 1024 * 1024);
-            if (!res.ok()) {
-                return res.status();
-            }
-            RETURN_IF_ERROR(local_file->close());
-
-            // 5. check md5 of the downloaded file
-            ASSIGN_OR_RETURN(auto downloaded_md5sum, fs::md5sum(full_local_file));
-            VLOG(2) << "get downloaded file checksum: " << full_local_file << ": " << downloaded_md5sum;
-            if (downloaded_md5sum != file_stat.md5) {
-                std::stringstream ss;
-                ss << "invalid md5 of downloaded file: " << full_local_file << ", expected: " << file_stat.md5
-                   << ", get: " << downloaded_md5sum;
-                LOG(WARNING) << ss.str();
-                return Status::InternalError(ss.str());
-            }
-
-            // local_files always keep the updated local files
+            // local_files always keep the updated local files, the task will fail the whole download if
+            // the file is not downloaded
             local_files.push_back(local_file_name);
-            LOG(INFO) << "finished to download file via broker. file: " << full_local_file << ", length: " << file_len;
+            std::string expected_md5 = file_stat.md5;
+            download_tasks.emplace_back([&download, &fs, full_remote_file, full_local_file, expected_md5,
+                                         file_len]() -> StatusOr<int64_t> {
+                std::unique_ptr<SequentialFile> remote_sequential_file;
+                if (!download.__isset.use_broker || download.use_broker) {
+                    BrokerFileSystem fs_broker(download.broker_addr, download.broker_prop);
+                    ASSIGN_OR_RETURN(remote_sequential_file, fs_broker.new_sequential_file(full_remote_file));
+                } else {
+                    ASSIGN_OR_RETURN(remote_sequential_file, fs->new_sequential_file(full_remote_file));
+                }
+
+                // 3. open local file for write
+                WritableFileOptions opts{.sync_on_close = false, .mode = FileSystem::CREATE_OR_OPEN_WITH_TRUNCATE};
+                ASSIGN_OR_RETURN(auto local_file, FileSystem::Default()->new_writable_file(opts, full_local_file));
+
+                ASSIGN_OR_RETURN(auto length, fs::copy(remote_sequential_file.get(), local_file.get(), 1024 * 1024));
+                RETURN_IF_ERROR(local_file->close());
+
+                // 5. check md5 of the downloaded file
+                ASSIGN_OR_RETURN(auto downloaded_md5sum, fs::md5sum(full_local_file));
+                VLOG(2) << "get downloaded file checksum: " << full_local_file << ": " << downloaded_md5sum;
+                if (downloaded_md5sum != expected_md5) {
+                    std::stringstream ss;
+                    ss << "invalid md5 of downloaded file: " << full_local_file << ", expected: " << expected_md5
+                       << ", get: " << downloaded_md5sum;
+                    LOG(WARNING) << ss.str();
+                    return Status::InternalError(ss.str());
+                }
+                LOG(INFO) << "finished to download file via broker. file: " << full_local_file
+                          << ", length: " << file_len;
+                return length;
+            });
         } // end for all remote files
+        RETURN_IF_ERROR(_run_transfer_tasks(download_tasks));
 
         // finally, delete local files which are not in remote
         for (const auto& local_file : local_files) {
@@ -994,4 +1010,47 @@ Status SnapshotLoader::_report_every(int report_threshold, int* counter, int32_t
     return Status::OK();
 }
 
+Status SnapshotLoader::_run_transfer_tasks(const std::vector<std::function<StatusOr<int64_t>()>>& tasks) {
+    if (tasks.empty()) {
+        return Status::OK();
+    }
+    int num_threads = std::min<int>(std::max(1, config::snapshot_transfer_thread_num), tasks.size());
+    std::unique_ptr<ThreadPool> pool;
+    RETURN_IF_ERROR(ThreadPoolBuilder("snapshot_xfer") // snapshot transfer
+                            .set_min_threads(0)
+                            .set_max_threads(num_threads)
+                            .build(&pool));
+
+    std::mutex mutex;
+    Status first_error = Status::OK();
+    int64_t transferred_bytes = 0;
+    for (const auto& task : tasks) {
+        auto st = pool->submit_func([&mutex, &first_error, &transferred_bytes, &task]() {
+            {
+                std::lock_guard l(mutex);
+                if (!first_error.ok()) {
+                    return;
+                }
+            }
+            auto res = task();
+            std::lock_guard l(mutex);
+            if (res.ok()) {
+                transferred_bytes += *res;
+            } else if (first_error.ok()) {
+                first_error = res.status();
+            }
+        });
+        if (!st.ok()) {
+            std::lock_guard l(mutex);
+            if (first_error.ok()) {
+                first_error = st;
+            }
+            break;
+        }
+    }
+    pool->wait();
+    _transferred_bytes += transferred_bytes;
+    return first_error;
+}
+
 } // end namespace starrocks
@@ -18,11 +18,13 @@
 #pragma once
 
 #include <cstdint>
+#include <functional>
 #include <map>
 #include <string>
 #include <vector>
 
 #include "common/status.h"
+#include "common/statusor.h"
 #include "gen_cpp/Types_types.h"
 #include "runtime/client_cache.h"
 #include "storage/tablet.h"
@@ -73,6 +75,9 @@ public:
 
     Status primary_key_move(const std::string& snapshot_path, const TabletSharedPtr& tablet, bool overwrite);
 
+    // bytes of files actually transferred by upload() or download(), files that already exist are not counted
+    int64_t transferred_bytes() const { return _transferred_bytes; }
+
 private:
     Status _get_tablet_id_and_schema_hash_from_file_path(const std::string& src_path, int64_t* tablet_id,
                                                          int32_t* schema_hash);
@@ -107,10 +112,15 @@ private:
 
     Status _report_every(int report_threshold, int* counter, int finished_num, int total_num, TTaskType::type type);
 
+    // Run the transfer tasks on at most config::snapshot_transfer_thread_num threads. Each task returns the
+    // bytes it transferred. Remaining tasks are skipped after the first failure, whose status is returned.
+    Status _run_transfer_tasks(const std::vector<std::function<StatusOr<int64_t>()>>& tasks);
+
 private:
     ExecEnv* _env;
     int64_t _job_id;
     int64_t _task_id;
+    int64_t _transferred_bytes = 0;
 };
 
 } // end namespace starrocks
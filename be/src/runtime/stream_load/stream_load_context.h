@@ -38,6 +38,7 @@
 
 #include <cstdint>
 #include <future>
+#include <map>
 #include <vector>
 
 #include "common/status.h"
@@ -153,6 +154,12 @@ public:
         }
 
         _exec_env->load_stream_mgr()->remove(id);
+
+        for (auto& [table, routing_ctx] : routing_ctxs) {
+            if (routing_ctx->unref()) {
+                delete routing_ctx;
+            }
+        }
     }
 
     std::string to_json() const;
@@ -240,6 +247,10 @@ public:
     std::unique_ptr<KafkaLoadInfo> kafka_info;
     std::unique_ptr<PulsarLoadInfo> pulsar_info;
 
+    // table name -> context loading the routine load messages whose key is the table name,
+    // the other messages are loaded by this context. All of them share the transaction of this context.
+    std::map<std::string, StreamLoadContext*> routing_ctxs;
+
     std::vector<TTabletCommitInfo> commit_infos;
     std::vector<TTabletFailInfo> fail_infos;
 
@@ -109,6 +109,10 @@ public:
     size_t version_count() const;
     Version max_version() const;
 
+    // number of scans on this tablet since it is loaded, reported to FE for tablet heat balance
+    void incr_read_count() { _read_count.fetch_add(1, std::memory_order_relaxed); }
+    int64_t read_count() const { return _read_count.load(std::memory_order_relaxed); }
+
     // propreties encapsulated in TabletSchema
     KeysType keys_type() const;
     size_t num_columns() const;
@@ -349,6 +353,7 @@ private:
     std::atomic<int64_t> _cumulative_point{0};
     std::atomic<int32_t> _newly_created_rowset_num{0};
     std::atomic<int64_t> _last_checkpoint_time{0};
+    std::atomic<int64_t> _read_count{0};
 };
 
 inline bool Tablet::init_succeeded() {
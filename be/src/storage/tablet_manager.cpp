@@ -1134,6 +1134,7 @@ void TabletManager::_build_tablet_stat() {
                 stat.__set_row_num(tablet->num_rows());
             }
             stat.__set_version_count(tablet->version_count());
+            stat.__set_read_count(tablet->read_count());
             _tablet_stat_cache.emplace(tablet_id, stat);
         }
     }
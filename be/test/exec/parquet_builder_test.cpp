@@ -0,0 +1,159 @@
+// Copyright 2021-present StarRocks, Inc. All rights reserved.
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//     https://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+#include "exec/parquet_builder.h"
+
+#include <arrow/array.h>
+#include <arrow/buffer.h>
+#include <arrow/io/memory.h>
+#include <arrow/memory_pool.h>
+#include <arrow/table.h>
+#include <gtest/gtest.h>
+#include <parquet/arrow/reader.h>
+
+#include <memory>
+#include <string>
+#include <vector>
+
+#include "column/binary_column.h"
+#include "column/chunk.h"
+#include "column/fixed_length_column.h"
+#include "common/object_pool.h"
+#include "exprs/column_ref.h"
+#include "exprs/expr_context.h"
+#include "fs/fs_memory.h"
+#include "runtime/runtime_state.h"
+#include "runtime/types.h"
+#include "testutil/assert.h"
+
+namespace starrocks {
+
+class ParquetBuilderTest : public testing::Test {
+public:
+    void SetUp() override {
+        TUniqueId fragment_id;
+        TQueryOptions query_options;
+        TQueryGlobals query_globals;
+        _runtime_state = std::make_shared<RuntimeState>(fragment_id, query_options, query_globals, nullptr);
+        _runtime_state->init_instance_mem_tracker();
+
+        _output_expr_ctxs.push_back(_pool.add(new ExprContext(_pool.add(new ColumnRef(TypeDescriptor(TYPE_INT), 0)))));
+        _output_expr_ctxs.push_back(
+                _pool.add(new ExprContext(_pool.add(new ColumnRef(TypeDescriptor::create_varchar_type(32), 1)))));
+        ASSERT_OK(Expr::prepare(_output_expr_ctxs, _runtime_state.get()));
+        ASSERT_OK(Expr::open(_output_expr_ctxs, _runtime_state.get()));
+    }
+
+    void TearDown() override { Expr::close(_output_expr_ctxs, _runtime_state.get()); }
+
+protected:
+    std::unique_ptr<ParquetBuilder> create_builder(const std::string& path, int64_t row_group_max_size) {
+        WritableFileOptions opts{.sync_on_close = false, .mode = FileSystem::CREATE_OR_OPEN_WITH_TRUNCATE};
+        auto file = *_fs.new_writable_file(opts, path);
+        ParquetBuilderOptions options;
+        options.column_names = {"k1", "k2"};
+        options.row_group_max_size = row_group_max_size;
+        return std::make_unique<ParquetBuilder>(std::move(options), std::move(file), _output_expr_ctxs);
+    }
+
+    // chunk with rows [start, start + num_rows) of (i, "v<i>")
+    static ChunkPtr create_chunk(int start, int num_rows) {
+        auto c0 = Int32Column::create();
+        auto c1 = BinaryColumn::create();
+        for (int i = start; i < start + num_rows; i++) {
+            c0->append(i);
+            std::string value = "v" + std::to_string(i);
+            c1->append(Slice(value));
+        }
+        auto chunk = std::make_shared<Chunk>();
+        chunk->append_column(std::move(c0), 0);
+        chunk->append_column(std::move(c1), 1);
+        return chunk;
+    }
+
+    void read_file(const std::string& path, std::unique_ptr<parquet::arrow::FileReader>* reader) {
+        std::string content;
+        ASSERT_OK(_fs.read_file(path, &content));
+        auto input = std::make_shared<arrow::io::BufferReader>(arrow::Buffer::FromString(std::move(content)));
+        ASSERT_TRUE(parquet::arrow::OpenFile(input, arrow::default_memory_pool(), reader).ok());
+    }
+
+    std::shared_ptr<RuntimeState> _runtime_state;
+    ObjectPool _pool;
+    MemoryFileSystem _fs;
+    std::vector<ExprContext*> _output_expr_ctxs;
+};
+
+// NOLINTNEXTLINE
+TEST_F(ParquetBuilderTest, test_write_and_read) {
+    const std::string path = "/test_write_and_read.parquet";
+    auto builder = create_builder(path, 128 * 1024 * 1024);
+    ASSERT_OK(builder->add_chunk(create_chunk(0, 100).get()));
+    ASSERT_OK(builder->add_chunk(create_chunk(100, 50).get()));
+    ASSERT_OK(builder->finish());
+
+    std::unique_ptr<parquet::arrow::FileReader> reader;
+    read_file(path, &reader);
+    ASSERT_EQ(1, reader->parquet_reader()->metadata()->num_row_groups());
+    std::shared_ptr<arrow::Table> table;
+    ASSERT_TRUE(reader->ReadTable(&table).ok());
+    ASSERT_EQ(150, table->num_rows());
+    ASSERT_EQ("k1", table->schema()->field(0)->name());
+    ASSERT_EQ("k2", table->schema()->field(1)->name());
+
+    auto k1 = std::static_pointer_cast<arrow::Int32Array>(table->column(0)->chunk(0));
+    auto k2 = std::static_pointer_cast<arrow::StringArray>(table->column(1)->chunk(0));
+    for (int i = 0; i < 150; i++) {
+        ASSERT_EQ(i, k1->Value(i));
+        ASSERT_EQ("v" + std::to_string(i), k2->GetString(i));
+    }
+}
+
+// NOLINTNEXTLINE
+TEST_F(ParquetBuilderTest, test_row_group_rollover) {
+    const std::string path = "/test_row_group_rollover.parquet";
+    // every chunk is large enough to be flushed as a row group on its own
+    auto builder = create_builder(path, 1);
+    ASSERT_OK(builder->add_chunk(create_chunk(0, 10).get()));
+    size_t file_size = builder->file_size();
+    ASSERT_GT(file_size, 0);
+    ASSERT_OK(builder->add_chunk(create_chunk(10, 10).get()));
+    ASSERT_GT(builder->file_size(), file_size);
+    ASSERT_OK(builder->add_chunk(create_chunk(20, 10).get()));
+    ASSERT_OK(builder->finish());
+
+    std::unique_ptr<parquet::arrow::FileReader> reader;
+    read_file(path, &reader);
+    ASSERT_EQ(3, reader->parquet_reader()->metadata()->num_row_groups());
+    ASSERT_EQ(30, reader->parquet_reader()->metadata()->num_rows());
+}
+
+// NOLINTNEXTLINE
+TEST_F(ParquetBuilderTest, test_empty_file) {
+    const std::string path = "/test_empty_file.parquet";
+    auto builder = create_builder(path, 128 * 1024 * 1024);
+    // an empty chunk does not make a row group
+    ASSERT_OK(builder->add_chunk(create_chunk(0, 0).get()));
+    ASSERT_OK(builder->finish());
+
+    std::unique_ptr<parquet::arrow::FileReader> reader;
+    read_file(path, &reader);
+    ASSERT_EQ(0, reader->parquet_reader()->metadata()->num_row_groups());
+    ASSERT_EQ(0, reader->parquet_reader()->metadata()->num_rows());
+    std::shared_ptr<arrow::Schema> schema;
+    ASSERT_TRUE(reader->GetSchema(&schema).ok());
+    ASSERT_EQ(2, schema->num_fields());
+}
+
+} // namespace starrocks
@@ -0,0 +1,167 @@
+// Copyright 2021-present StarRocks, Inc. All rights reserved.
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//     https://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+#include "io/prefetch_input_stream.h"
+
+#include <gtest/gtest.h>
+
+#include <cstring>
+
+#include "io/array_input_stream.h"
+#include "testutil/assert.h"
+#include "testutil/parallel_test.h"
+#include "util/priority_thread_pool.hpp"
+
+namespace starrocks::io {
+
+static std::string gen_data(size_t size) {
+    std::string s(size, '\0');
+    for (size_t i = 0; i < size; i++) {
+        s[i] = static_cast<char>('a' + i % 26);
+    }
+    return s;
+}
+
+// returns |num_ok_reads| full reads, then fails
+class FailingInputStream final : public InputStream {
+public:
+    explicit FailingInputStream(int num_ok_reads) : _num_ok_reads(num_ok_reads) {}
+
+    StatusOr<int64_t> read(void* data, int64_t size) override {
+        if (_num_reads++ >= _num_ok_reads) {
+            return Status::IOError("read failed");
+        }
+        memset(data, 'x', size);
+        return size;
+    }
+
+    Status skip(int64_t count) override { return Status::NotSupported("FailingInputStream::skip"); }
+
+private:
+    const int _num_ok_reads;
+    int _num_reads = 0;
+};
+
+static PriorityThreadPool* prefetch_pool() {
+    static PriorityThreadPool pool("prefetch_test", 2, 1024);
+    return &pool;
+}
+
+// NOLINTNEXTLINE
+PARALLEL_TEST(PrefetchInputStreamTest, test_read) {
+    std::string s = gen_data(1000);
+    auto source = std::make_shared<ArrayInputStream>(s.data(), static_cast<int64_t>(s.size()));
+    PrefetchInputStream in(source, prefetch_pool(), 64, 2);
+
+    std::string result;
+    char buff[100];
+    while (true) {
+        ASSIGN_OR_ABORT(auto nread, in.read(buff, sizeof(buff)));
+        if (nread == 0) {
+            break;
+        }
+        ASSERT_LE(nread, 64);
+        result.append(buff, nread);
+    }
+    ASSERT_EQ(s, result);
+    ASSIGN_OR_ABORT(auto nread, in.read(buff, sizeof(buff)));
+    ASSERT_EQ(0, nread);
+}
+
+// NOLINTNEXTLINE
+PARALLEL_TEST(PrefetchInputStreamTest, test_read_empty) {
+    std::string s;
+    auto source = std::make_shared<ArrayInputStream>(s.data(), 0);
+    PrefetchInputStream in(source, prefetch_pool(), 64, 2);
+
+    char buff[10];
+    ASSIGN_OR_ABORT(auto nread, in.read(buff, sizeof(buff)));
+    ASSERT_EQ(0, nread);
+}
+
+// NOLINTNEXTLINE
+PARALLEL_TEST(PrefetchInputStreamTest, test_skip) {
+    std::string s = gen_data(1000);
+    auto source = std::make_shared<ArrayInputStream>(s.data(), static_cast<int64_t>(s.size()));
+    PrefetchInputStream in(source, prefetch_pool(), 64, 2);
+
+    char buff[10];
+    ASSERT_OK(in.skip(100));
+    ASSIGN_OR_ABORT(auto nread, in.read(buff, sizeof(buff)));
+    ASSERT_EQ(10, nread);
+    ASSERT_EQ(s.substr(100, 10), std::string_view(buff, 10));
+
+    ASSERT_OK(in.skip(2000));
+    ASSIGN_OR_ABORT(nread, in.read(buff, sizeof(buff)));
+    ASSERT_EQ(0, nread);
+}
+
+// NOLINTNEXTLINE
+PARALLEL_TEST(PrefetchInputStreamTest, test_destroy_without_read) {
+    std::string s = gen_data(1000);
+    auto source = std::make_shared<ArrayInputStream>(s.data(), static_cast<int64_t>(s.size()));
+    { PrefetchInputStream in(source, prefetch_pool(), 16, 1); }
+    {
+        PrefetchInputStream in(source, prefetch_pool(), 16, 1);
+        char buff[10];
+        ASSIGN_OR_ABORT(auto nread, in.read(buff, sizeof(buff)));
+        ASSERT_EQ(10, nread);
+    }
+}
+
+// NOLINTNEXTLINE
+PARALLEL_TEST(PrefetchInputStreamTest, test_read_error) {
+    auto source = std::make_shared<FailingInputStream>(2);
+    PrefetchInputStream in(source, prefetch_pool(), 64, 4);
+
+    // the buffers read before the error are returned first
+    char buff[64];
+    for (int i = 0; i < 2; i++) {
+        ASSIGN_OR_ABORT(auto nread, in.read(buff, sizeof(buff)));
+        ASSERT_EQ(64, nread);
+        ASSERT_EQ(std::string(64, 'x'), std::string_view(buff, nread));
+    }
+    auto res = in.read(buff, sizeof(buff));
+    ASSERT_TRUE(res.status().is_io_error()) << res.status();
+    ASSERT_EQ("read failed", res.status().get_error_msg());
+    // the error sticks
+    ASSERT_TRUE(in.read(buff, sizeof(buff)).status().is_io_error());
+    ASSERT_TRUE(in.skip(10).is_io_error());
+}
+
+// NOLINTNEXTLINE
+PARALLEL_TEST(PrefetchInputStreamTest, test_read_without_pool_capacity) {
+    // the pool takes no task, so the reader reads the source stream itself
+    PriorityThreadPool pool("prefetch_full", 0, 0);
+    std::string s = gen_data(1000);
+    auto source = std::make_shared<ArrayInputStream>(s.data(), static_cast<int64_t>(s.size()));
+    PrefetchInputStream in(source, &pool, 64, 2);
+
+    std::string result;
+    char buff[100];
+    while (true) {
+        ASSIGN_OR_ABORT(auto nread, in.read(buff, sizeof(buff)));
+        if (nread == 0) {
+            break;
+        }
+        result.append(buff, nread);
+    }
+    ASSERT_EQ(s, result);
+
+    auto failing_source = std::make_shared<FailingInputStream>(0);
+    PrefetchInputStream failing_in(failing_source, &pool, 64, 2);
+    ASSERT_TRUE(failing_in.read(buff, sizeof(buff)).status().is_io_error());
+}
+
+} // namespace starrocks::io
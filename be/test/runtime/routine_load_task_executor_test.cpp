@@ -40,6 +40,8 @@
 #include "gen_cpp/FrontendService_types.h"
 #include "gen_cpp/HeartbeatService_types.h"
 #include "runtime/exec_env.h"
+#include "runtime/routine_load/data_consumer_group.h"
+#include "runtime/routine_load/kafka_consumer_pipe.h"
 #include "runtime/stream_load/load_stream_mgr.h"
 #include "runtime/stream_load/stream_load_executor.h"
 #include "util/cpu_info.h"
@@ -135,4 +137,53 @@ TEST_F(RoutineLoadTaskExecutorTest, exec_task) {
     sleep(2);
 }
 
+TEST_F(RoutineLoadTaskExecutorTest, route_message_and_merge) {
+    auto* ctx = new StreamLoadContext(&_env);
+    ctx->ref();
+    ctx->body_sink = std::make_shared<KafkaConsumerPipe>();
+    for (const char* table : {"tbl2", "tbl3"}) {
+        auto* routing_ctx = new StreamLoadContext(&_env);
+        routing_ctx->ref();
+        ctx->routing_ctxs[table] = routing_ctx;
+    }
+    StreamLoadContext* tbl2_ctx = ctx->routing_ctxs["tbl2"];
+    StreamLoadContext* tbl3_ctx = ctx->routing_ctxs["tbl3"];
+
+    // the messages without key or with other keys are loaded into the table of the task
+    auto* task_pipe = static_cast<KafkaConsumerPipe*>(ctx->body_sink.get());
+    ASSERT_EQ(task_pipe, KafkaDataConsumerGroup::route_message(ctx, nullptr).value());
+    std::string other_key = "tbl1";
+    ASSERT_EQ(task_pipe, KafkaDataConsumerGroup::route_message(ctx, &other_key).value());
+    ASSERT_EQ(nullptr, tbl2_ctx->body_sink);
+    ASSERT_EQ(nullptr, tbl3_ctx->body_sink);
+
+    // the pipe of a routed table is started by its first message
+    std::string key = "tbl2";
+    auto* tbl2_pipe = KafkaDataConsumerGroup::route_message(ctx, &key).value();
+    ASSERT_NE(nullptr, tbl2_ctx->body_sink);
+    ASSERT_EQ(tbl2_ctx->body_sink.get(), tbl2_pipe);
+    ASSERT_EQ(tbl2_pipe, _env.load_stream_mgr()->get(tbl2_ctx->id).get());
+    ASSERT_EQ(tbl2_pipe, KafkaDataConsumerGroup::route_message(ctx, &key).value());
+    ASSERT_EQ(nullptr, tbl3_ctx->body_sink);
+
+    // only the results of the started tables are committed with the task
+    ctx->number_loaded_rows = 10;
+    ctx->commit_infos.resize(1);
+    tbl2_ctx->number_total_rows = 5;
+    tbl2_ctx->number_loaded_rows = 5;
+    tbl2_ctx->loaded_bytes = 100;
+    tbl2_ctx->commit_infos.resize(2);
+    tbl3_ctx->number_loaded_rows = 7;
+    tbl3_ctx->commit_infos.resize(3);
+    RoutineLoadTaskExecutor::merge_routing_ctxs(ctx);
+    ASSERT_EQ(5, ctx->number_total_rows);
+    ASSERT_EQ(15, ctx->number_loaded_rows);
+    ASSERT_EQ(100, ctx->loaded_bytes);
+    ASSERT_EQ(3, ctx->commit_infos.size());
+
+    if (ctx->unref()) {
+        delete ctx;
+    }
+}
+
 } // namespace starrocks
@@ -17,9 +17,13 @@
 
 #include <gtest/gtest.h>
 
+#include <atomic>
 #include <filesystem>
+#include <thread>
 
+#include "common/config.h"
 #include "runtime/exec_env.h"
+#include "testutil/assert.h"
 #include "util/cpu_info.h"
 
 #define private public // hack complier
@@ -102,4 +106,40 @@ TEST_F(SnapshotLoaderTest, NormalCase) {
     ASSERT_EQ(10005, tablet_id);
 }
 
+// NOLINTNEXTLINE
+TEST_F(SnapshotLoaderTest, RunTransferTasks) {
+    SnapshotLoader loader(_exec_env, 1L, 2L);
+    int32_t old_thread_num = config::snapshot_transfer_thread_num;
+    config::snapshot_transfer_thread_num = 3;
+
+    std::atomic<int> running{0};
+    std::atomic<int> max_running{0};
+    std::vector<std::function<StatusOr<int64_t>()>> tasks;
+    for (int i = 0; i < 10; i++) {
+        tasks.emplace_back([&running, &max_running, i]() -> StatusOr<int64_t> {
+            int now = ++running;
+            int prev = max_running.load();
+            while (now > prev && !max_running.compare_exchange_weak(prev, now)) {
+            }
+            std::this_thread::sleep_for(std::chrono::milliseconds(10));
+            --running;
+            return i;
+        });
+    }
+    ASSERT_OK(loader._run_transfer_tasks(tasks));
+    ASSERT_EQ(45, loader.transferred_bytes());
+    ASSERT_LE(max_running.load(), 3);
+
+    // the bytes of the failed task are not counted and its error is returned
+    tasks.clear();
+    tasks.emplace_back([]() -> StatusOr<int64_t> { return 100; });
+    tasks.emplace_back([]() -> StatusOr<int64_t> { return Status::InternalError("injected error"); });
+    config::snapshot_transfer_thread_num = 1;
+    Status st = loader._run_transfer_tasks(tasks);
+    ASSERT_FALSE(st.ok());
+    ASSERT_EQ(145, loader.transferred_bytes());
+
+    config::snapshot_transfer_thread_num = old_thread_num;
+}
+
 } // namespace starrocks
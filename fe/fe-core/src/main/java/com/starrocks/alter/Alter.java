@@ -899,6 +899,8 @@ public class Alter {
                 if (partitionInfo.getType() == PartitionType.UNPARTITIONED) {
                     olapTable.setReplicationNum(newReplicationNum);
                 }
+                GlobalStateMgr.getCurrentState().getTabletChecker().markPartitionsDirty(db.getId(),
+                        olapTable.getId(), Lists.newArrayList(partition.getId()));
             }
             // 3. in memory
             boolean oldInMemory = partitionInfo.getIsInMemory(partition.getId());
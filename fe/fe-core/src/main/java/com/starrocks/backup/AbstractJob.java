@@ -106,6 +106,9 @@ public abstract class AbstractJob implements Writable {
     @SerializedName(value = "taskErrMsg")
     protected Map<Long, String> taskErrMsg = Maps.newHashMap();
 
+    // bytes of snapshot files uploaded or downloaded by backends, not persisted, only for log and metrics
+    protected long transferredBytes = 0;
+
     protected AbstractJob(JobType type) {
         this.type = type;
     }
@@ -154,6 +157,14 @@ public abstract class AbstractJob implements Writable {
         return finishedTime;
     }
 
+    public long getTransferredBytes() {
+        return transferredBytes;
+    }
+
+    public static long getThroughputBytesPerSecond(long bytes, long costMs) {
+        return bytes * 1000 / Math.max(costMs, 1);
+    }
+
     public long getTimeoutMs() {
         return timeoutMs;
     }
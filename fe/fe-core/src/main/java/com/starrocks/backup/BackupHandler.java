@@ -367,30 +367,32 @@ public class BackupHandler extends LeaderDaemon implements Writable {
             ErrorReport.reportDdlException(ErrorCode.ERR_COMMON_ERROR, st.getErrMsg());
         }
         if (existSnapshotNames.contains(stmt.getLabel())) {
-            if (stmt.getType() == BackupType.FULL) {
-                ErrorReport.reportDdlException(ErrorCode.ERR_COMMON_ERROR, "Snapshot with name '"
-                        + stmt.getLabel() + "' already exist in repository");
-            } else {
-                ErrorReport.reportDdlException(ErrorCode.ERR_COMMON_ERROR, "Currently does not support "
-                        + "incremental backup");
-
-                // TODO:
-                // This is a incremental backup, the existing snapshot in repository will be treated
-                // as base snapshot.
-                // But first we need to check if the existing snapshot has same meta.
-                List<BackupMeta> backupMetas = Lists.newArrayList();
-                st = repository.getSnapshotMetaFile(stmt.getLabel(), backupMetas, -1, -1);
-                if (!st.ok()) {
-                    ErrorReport.reportDdlException(ErrorCode.ERR_COMMON_ERROR,
-                            "Failed to get existing meta info for repository: "
-                                    + st.getErrMsg());
-                }
-                Preconditions.checkState(backupMetas.size() == 1);
+            ErrorReport.reportDdlException(ErrorCode.ERR_COMMON_ERROR, "Snapshot with name '"
+                    + stmt.getLabel() + "' already exist in repository");
+        }
 
-                if (!curBackupMeta.compatibleWith(backupMetas.get(0))) {
-                    ErrorReport.reportDdlException(ErrorCode.ERR_COMMON_ERROR,
-                            "Can not make incremental backup. Meta does not compatible");
-                }
+        // This is an incremental backup, get the job info of base snapshot to find out the unchanged partitions.
+        BackupJobInfo baseJobInfo = null;
+        if (stmt.getType() == BackupType.INCREMENTAL) {
+            if (t == TableType.LAKE) {
+                ErrorReport.reportDdlException(ErrorCode.ERR_COMMON_ERROR,
+                        "Incremental backup is not supported for cloud native table");
+            }
+            List<BackupJobInfo> baseInfos = Lists.newArrayList();
+            if (stmt.getBaseTimestamp() == null) {
+                st = repository.getLatestSnapshotInfoFile(stmt.getBaseSnapshot(), baseInfos);
+            } else {
+                st = repository.getSnapshotInfoFile(stmt.getBaseSnapshot(), stmt.getBaseTimestamp(), baseInfos);
+            }
+            if (!st.ok()) {
+                ErrorReport.reportDdlException(ErrorCode.ERR_COMMON_ERROR,
+                        "Failed to get base snapshot " + stmt.getBaseSnapshot() + ": " + st.getErrMsg());
+            }
+            Preconditions.checkState(baseInfos.size() == 1);
+            baseJobInfo = baseInfos.get(0);
+            if (baseJobInfo.dbId != db.getId()) {
+                ErrorReport.reportDdlException(ErrorCode.ERR_COMMON_ERROR, "Base snapshot "
+                        + stmt.getBaseSnapshot() + " does not belong to database " + db.getOriginName());
             }
         }
 
@@ -399,6 +401,7 @@ public class BackupHandler extends LeaderDaemon implements Writable {
         if (t == TableType.OLAP) {
             backupJob = new BackupJob(stmt.getLabel(), db.getId(), db.getOriginName(), tblRefs, stmt.getTimeoutMs(),
                     globalStateMgr, repository.getId());
+            backupJob.setBaseJobInfo(baseJobInfo);
         } else if (t == TableType.LAKE) {
             backupJob = new LakeBackupJob(stmt.getLabel(), db.getId(), db.getOriginName(), tblRefs, stmt.getTimeoutMs(),
                     globalStateMgr, repository.getId());
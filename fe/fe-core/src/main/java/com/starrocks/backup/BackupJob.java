@@ -56,11 +56,14 @@ import com.starrocks.catalog.Partition;
 import com.starrocks.catalog.Replica;
 import com.starrocks.catalog.Table;
 import com.starrocks.catalog.Tablet;
+import com.starrocks.common.Config;
+import com.starrocks.common.StarRocksFEMetaVersion;
 import com.starrocks.common.UserException;
 import com.starrocks.common.io.Text;
 import com.starrocks.common.util.TimeUtils;
 import com.starrocks.common.util.UUIDUtil;
 import com.starrocks.fs.HdfsUtil;
+import com.starrocks.metric.MetricRepo;
 import com.starrocks.server.GlobalStateMgr;
 import com.starrocks.task.AgentBatchTask;
 import com.starrocks.task.AgentTask;
@@ -130,6 +133,9 @@ public class BackupJob extends AbstractJob {
     private BackupMeta backupMeta;
     // job info file content
     private BackupJobInfo jobInfo;
+    // job info of the base snapshot if this is an incremental backup, null for full backup.
+    // partitions unchanged since the base snapshot are not snapshotted and reuse the files of base snapshot.
+    private BackupJobInfo baseJobInfo = null;
 
     // save the local dir of this backup job
     // after job is done, this dir should be deleted
@@ -155,6 +161,14 @@ public class BackupJob extends AbstractJob {
         this.state = BackupJobState.PENDING;
     }
 
+    public void setBaseJobInfo(BackupJobInfo baseJobInfo) {
+        this.baseJobInfo = baseJobInfo;
+    }
+
+    public BackupJobInfo getBaseJobInfo() {
+        return baseJobInfo;
+    }
+
     public void setTestPrimaryKey() {
         testPrimaryKey = true;
     }
@@ -271,6 +285,9 @@ public class BackupJob extends AbstractJob {
         taskProgress.remove(task.getSignature());
         Long oldValue = unfinishedTaskIds.remove(task.getSignature());
         taskErrMsg.remove(task.getTabletId());
+        if (oldValue != null && request.isSetCopy_size()) {
+            transferredBytes += request.getCopy_size();
+        }
         LOG.debug("get finished upload snapshot task, unfinished tasks num: {}, remove result: {}. {}",
                 unfinishedTaskIds.size(), (oldValue != null), this);
         return oldValue != null;
@@ -471,6 +488,11 @@ public class BackupJob extends AbstractJob {
                 // snapshot partitions
                 for (Partition partition : partitions) {
                     long visibleVersion = partition.getVisibleVersion();
+                    if (baseJobInfo != null && baseJobInfo.getUnchangedPartition(tbl, partition) != null) {
+                        LOG.info("skip snapshot for partition {} unchanged since base snapshot {}, version: {}",
+                                partition.getId(), baseJobInfo.name, visibleVersion);
+                        continue;
+                    }
                     List<MaterializedIndex> indexes = partition.getMaterializedIndices(IndexExtState.VISIBLE);
                     for (MaterializedIndex index : indexes) {
                         int schemaHash = tbl.getSchemaHashByIndexId(index.getId());
@@ -539,8 +561,8 @@ public class BackupJob extends AbstractJob {
                                       THdfsProperties hdfsProperties, Long beId) {
         int index = 0;
         int totalNum = infos.size();
-        // each backend allot at most 3 tasks
-        int batchNum = Math.min(totalNum, 3);
+        // each backend allot at most backup_upload_task_num_per_be tasks
+        int batchNum = Math.min(totalNum, Math.max(1, Config.backup_upload_task_num_per_be));
         // each task contains several upload subtasks
         int taskNumPerBatch = Math.max(totalNum / batchNum, 1);
         LOG.info("backend {} has {} batch, total {} tasks, {}", beId, batchNum, totalNum, this);
@@ -621,7 +643,13 @@ public class BackupJob extends AbstractJob {
 
             // log
             globalStateMgr.getEditLog().logBackupJob(this);
-            LOG.info("finished uploading snapshots. {}", this);
+            long costMs = snapshotUploadFinishedTime - snapshotFinishedTime;
+            long throughput = getThroughputBytesPerSecond(transferredBytes, costMs);
+            if (MetricRepo.isInit) {
+                MetricRepo.HISTO_BACKUP_UPLOAD_THROUGHPUT.update(throughput);
+            }
+            LOG.info("finished uploading {} snapshots, {} bytes, cost {} ms, throughput {} bytes/s. {}",
+                    snapshotInfos.size(), transferredBytes, costMs, throughput, this);
             return;
         }
 
@@ -668,7 +696,7 @@ public class BackupJob extends AbstractJob {
 
             // 3. save job info file
             jobInfo = BackupJobInfo.fromCatalog(createTime, label, dbName, dbId, backupMeta.getTables().values(),
-                    snapshotInfos);
+                    snapshotInfos, baseJobInfo);
             LOG.debug("job info: {}. {}", jobInfo, this);
             File jobInfoFile = new File(jobDir, Repository.PREFIX_JOB_INFO + createTimeStr);
             if (!jobInfoFile.createNewFile()) {
@@ -902,6 +930,14 @@ public class BackupJob extends AbstractJob {
             out.writeBoolean(true);
             Text.writeString(out, localJobInfoFilePath);
         }
+
+        // base job info of incremental backup
+        if (baseJobInfo == null) {
+            out.writeBoolean(false);
+        } else {
+            out.writeBoolean(true);
+            baseJobInfo.write(out);
+        }
     }
 
     public void readFields(DataInput in) throws IOException {
@@ -945,6 +981,12 @@ public class BackupJob extends AbstractJob {
         if (in.readBoolean()) {
             localJobInfoFilePath = Text.readString(in);
         }
+
+        if (GlobalStateMgr.getCurrentStateStarRocksJournalVersion() >= StarRocksFEMetaVersion.VERSION_4) {
+            if (in.readBoolean()) {
+                baseJobInfo = BackupJobInfo.read(in);
+            }
+        }
     }
 
     @Override
@@ -180,6 +180,11 @@ public class BackupJobInfo implements Writable {
         public long id;
         @SerializedName(value = "version")
         public long version;
+        // Label of the snapshot whose content dir holds the files of this partition.
+        // Only set when the partition is unchanged in an incremental backup and reuses the files of
+        // its base snapshot, null means the files are in the content dir of this snapshot.
+        @SerializedName(value = "sourceLabel")
+        public String sourceLabel;
         @SerializedName(value = "indexes")
         public Map<String, BackupIndexInfo> indexes = Maps.newHashMap();
 
@@ -262,8 +267,65 @@ public class BackupJobInfo implements Writable {
         return Joiner.on("/").join(pathSeg);
     }
 
+    // Return the label of the snapshot whose content dir holds the files of the given partition
+    public String getSourceLabel(IdChain ids) {
+        for (BackupTableInfo tblInfo : tables.values()) {
+            if (tblInfo.id != ids.getTblId()) {
+                continue;
+            }
+            for (BackupPartitionInfo partInfo : tblInfo.partitions.values()) {
+                if (partInfo.id == ids.getPartId()) {
+                    return partInfo.sourceLabel == null ? name : partInfo.sourceLabel;
+                }
+            }
+        }
+        return name;
+    }
+
+    /*
+     * Return the partition info in this snapshot if the given partition has not changed since this snapshot
+     * was taken, which means it has the same id, visible version, indexes and tablets. Otherwise return null.
+     * Used by incremental backup to reuse the files of unchanged partitions instead of uploading them again.
+     */
+    public BackupPartitionInfo getUnchangedPartition(OlapTable tbl, Partition partition) {
+        BackupTableInfo tblInfo = tables.get(tbl.getName());
+        if (tblInfo == null || tblInfo.id != tbl.getId()) {
+            return null;
+        }
+        BackupPartitionInfo partInfo = tblInfo.getPartInfo(partition.getName());
+        if (partInfo == null || partInfo.id != partition.getId()
+                || partInfo.version != partition.getVisibleVersion()) {
+            return null;
+        }
+        List<MaterializedIndex> indexes = partition.getMaterializedIndices(IndexExtState.VISIBLE);
+        if (indexes.size() != partInfo.indexes.size()) {
+            return null;
+        }
+        for (MaterializedIndex index : indexes) {
+            BackupIndexInfo idxInfo = partInfo.getIdx(tbl.getIndexNameById(index.getId()));
+            if (idxInfo == null || idxInfo.id != index.getId()
+                    || idxInfo.schemaHash != tbl.getSchemaHashByIndexId(index.getId())
+                    || idxInfo.tablets.size() != index.getTablets().size()) {
+                return null;
+            }
+            for (int i = 0; i < idxInfo.tablets.size(); i++) {
+                if (idxInfo.tablets.get(i).id != index.getTablets().get(i).getId()) {
+                    return null;
+                }
+            }
+        }
+        return partInfo;
+    }
+
     public static BackupJobInfo fromCatalog(long backupTime, String label, String dbName, long dbId,
                                             Collection<Table> tbls, Map<Long, SnapshotInfo> snapshotInfos) {
+        return fromCatalog(backupTime, label, dbName, dbId, tbls, snapshotInfos, null);
+    }
+
+    // baseJobInfo is the job info of the base snapshot of an incremental backup, null for full backup
+    public static BackupJobInfo fromCatalog(long backupTime, String label, String dbName, long dbId,
+                                            Collection<Table> tbls, Map<Long, SnapshotInfo> snapshotInfos,
+                                            BackupJobInfo baseJobInfo) {
 
         BackupJobInfo jobInfo = new BackupJobInfo();
         jobInfo.backupTime = backupTime;
@@ -288,6 +350,15 @@ public class BackupJobInfo implements Writable {
                 partitionInfo.name = partition.getName();
                 partitionInfo.version = partition.getVisibleVersion();
                 tableInfo.partitions.put(partitionInfo.name, partitionInfo);
+                BackupPartitionInfo basePartInfo = baseJobInfo == null ? null
+                        : baseJobInfo.getUnchangedPartition(olapTbl, partition);
+                if (basePartInfo != null) {
+                    // reuse the files of base snapshot, they may be in the base of base snapshot as well
+                    partitionInfo.sourceLabel = basePartInfo.sourceLabel == null ? baseJobInfo.name
+                            : basePartInfo.sourceLabel;
+                    partitionInfo.indexes.putAll(basePartInfo.indexes);
+                    continue;
+                }
                 // indexes
                 for (MaterializedIndex index : partition.getMaterializedIndices(IndexExtState.VISIBLE)) {
                     BackupIndexInfo idxInfo = new BackupIndexInfo();
@@ -355,6 +426,7 @@ public class BackupJobInfo implements Writable {
          *                   },
          *                   "id": 10007
          *                   "version": 10
+         *                   "source_label": "snapshot0" // for incremental backup, optional
          *               },
          *           },
          *           "id": 10001
@@ -396,6 +468,9 @@ public class BackupJobInfo implements Writable {
                 JSONObject part = parts.getJSONObject(partName);
                 partInfo.id = part.getLong("id");
                 partInfo.version = part.getLong("version");
+                if (part.has("source_label")) {
+                    partInfo.sourceLabel = part.getString("source_label");
+                }
                 JSONObject indexes = part.getJSONObject("indexes");
                 String[] indexNames = JSONObject.getNames(indexes);
                 for (String idxName : indexNames) {
@@ -494,6 +569,9 @@ public class BackupJobInfo implements Writable {
                     part.put("version", partInfo.version);
                     // write a version_hash for compatibility
                     part.put("version_hash", 0);
+                    if (partInfo.sourceLabel != null) {
+                        part.put("source_label", partInfo.sourceLabel);
+                    }
                     JSONObject indexes = new JSONObject();
                     part.put("indexes", indexes);
                     for (BackupIndexInfo idxInfo : partInfo.indexes.values()) {
@@ -90,6 +90,8 @@ import java.io.FileInputStream;
 import java.io.FileNotFoundException;
 import java.io.FileOutputStream;
 import java.io.IOException;
+import java.net.URI;
+import java.net.URISyntaxException;
 import java.nio.ByteBuffer;
 import java.nio.charset.StandardCharsets;
 import java.nio.file.FileVisitOption;
@@ -146,6 +148,9 @@ public class BlobStorage implements Writable {
         if (!hasBroker) {
             return downloadWithFileSizeWithoutBroker(remoteFilePath, localFilePath, fileSize);
         }
+        if (ParallelDownloader.shouldDownloadInParallel(fileSize)) {
+            return downloadInParallel(remoteFilePath, localFilePath, fileSize);
+        }
         LOG.debug("download from {} to {}, file size: {}.",
                 remoteFilePath, localFilePath, fileSize);
 
@@ -317,6 +322,110 @@ public class BlobStorage implements Writable {
         return status;
     }
 
+    // download a large file by several byte ranges in parallel, each range is read by its own broker reader
+    private Status downloadInParallel(String remoteFilePath, String localFilePath, long fileSize) {
+        LOG.debug("download from {} to {} in parallel, file size: {}.", remoteFilePath, localFilePath, fileSize);
+        File localFile = new File(localFilePath);
+        try {
+            if (localFile.exists()) {
+                Files.walk(Paths.get(localFilePath),
+                                FileVisitOption.FOLLOW_LINKS).sorted(Comparator.reverseOrder()).map(Path::toFile)
+                        .forEach(File::delete);
+            }
+            if (!localFile.createNewFile()) {
+                return new Status(ErrCode.COMMON_ERROR, "failed to create local file: " + localFilePath);
+            }
+        } catch (IOException e) {
+            return new Status(ErrCode.COMMON_ERROR, "failed to create local file: "
+                    + localFilePath + ", msg: " + e.getMessage());
+        }
+
+        String bucket = remoteFilePath;
+        try {
+            String authority = new URI(remoteFilePath).getAuthority();
+            if (authority != null) {
+                bucket = authority;
+            }
+        } catch (URISyntaxException e) {
+            LOG.debug("failed to parse the bucket of {}", remoteFilePath);
+        }
+        ParallelDownloader downloader = new ParallelDownloader(bucket, () -> new BrokerRangeReader(remoteFilePath),
+                Config.backup_blob_download_concurrency, Config.backup_blob_download_part_size_mb * 1024L * 1024L);
+        return downloader.download(localFile, fileSize);
+    }
+
+    private class BrokerRangeReader implements ParallelDownloader.RangeReader {
+        private final String remoteFilePath;
+        private final TFileBrokerService.Client client;
+        private final TNetworkAddress address;
+        private final TBrokerFD fd;
+        private boolean badConnection = false;
+
+        BrokerRangeReader(String remoteFilePath) throws IOException {
+            this.remoteFilePath = remoteFilePath;
+            Pair<TFileBrokerService.Client, TNetworkAddress> pair = new Pair<>(null, null);
+            Status st = getBroker(pair);
+            if (!st.ok()) {
+                throw new IOException(st.getErrMsg());
+            }
+            client = pair.first;
+            address = pair.second;
+            try {
+                TBrokerOpenReaderRequest req = new TBrokerOpenReaderRequest(TBrokerVersion.VERSION_ONE,
+                        remoteFilePath, 0, clientId(), properties);
+                TBrokerOpenReaderResponse rep = client.openReader(req);
+                if (rep.getOpStatus().getStatusCode() != TBrokerOperationStatusCode.OK) {
+                    ClientPool.brokerPool.returnObject(address, client);
+                    throw new IOException("failed to open reader on broker " + BrokerUtil.printBroker(brokerName, address)
+                            + " for file: " + remoteFilePath + ". msg: " + rep.getOpStatus().getMessage());
+                }
+                fd = rep.getFd();
+            } catch (TException e) {
+                ClientPool.brokerPool.invalidateObject(address, client);
+                throw new IOException("failed to open reader on broker " + BrokerUtil.printBroker(brokerName, address)
+                        + " for file: " + remoteFilePath + ". msg: " + e.getMessage());
+            }
+        }
+
+        @Override
+        public byte[] read(long offset, long length) throws IOException {
+            // We only retry if we encounter a timeout thrift exception.
+            for (int tryTimes = 0; ; tryTimes++) {
+                try {
+                    TBrokerReadResponse rep = client.pread(
+                            new TBrokerPReadRequest(TBrokerVersion.VERSION_ONE, fd, offset, length));
+                    if (rep.getOpStatus().getStatusCode() != TBrokerOperationStatusCode.OK) {
+                        throw new IOException(String.format("failed to read via broker %s. offset: %d, length: %d,"
+                                        + " file: %s, err code: %d, msg: %s", BrokerUtil.printBroker(brokerName, address),
+                                offset, length, remoteFilePath, rep.getOpStatus().getStatusCode().getValue(),
+                                rep.getOpStatus().getMessage()));
+                    }
+                    return rep.getData();
+                } catch (TTransportException e) {
+                    if (e.getType() != TTransportException.TIMED_OUT || tryTimes >= 2) {
+                        badConnection = true;
+                        throw new IOException("failed to read via broker " + BrokerUtil.printBroker(brokerName, address)
+                                + ". msg: " + e.getMessage());
+                    }
+                } catch (TException e) {
+                    badConnection = true;
+                    throw new IOException("failed to read via broker " + BrokerUtil.printBroker(brokerName, address)
+                            + ". msg: " + e.getMessage());
+                }
+            }
+        }
+
+        @Override
+        public void close() {
+            Status closeStatus = closeReader(client, address, fd);
+            if (!closeStatus.ok() || badConnection) {
+                ClientPool.brokerPool.invalidateObject(address, client);
+            } else {
+                ClientPool.brokerPool.returnObject(address, client);
+            }
+        }
+    }
+
     public Status downloadWithFileSizeWithoutBroker(String remoteFilePath, String localFilePath, long fileSize) {
         LOG.debug("download from {} to {}, file size: {}.",
                 remoteFilePath, localFilePath, fileSize);
@@ -479,13 +588,13 @@ public class BlobStorage implements Writable {
         // 3. read local file and write to remote with broker
         File localFile = new File(localPath);
         long fileLength = localFile.length();
-        byte[] readBuf = new byte[1024];
+        byte[] readBuf = new byte[Config.backup_blob_upload_buffer_size_kb * 1024];
         try (BufferedInputStream in = new BufferedInputStream(new FileInputStream(localFile))) {
             // save the last err msg
             String lastErrMsg = null;
             // save the current write offset of remote file
             long writeOffset = 0;
-            // read local file, 1MB at a time
+            // read local file, backup_blob_upload_buffer_size_kb at a time
             int bytesRead = 0;
             while ((bytesRead = in.read(readBuf)) != -1) {
                 ByteBuffer bb = ByteBuffer.wrap(readBuf, 0, bytesRead);
@@ -0,0 +1,158 @@
+// Copyright 2021-present StarRocks, Inc. All rights reserved.
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//     https://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package com.starrocks.backup;
+
+import com.google.common.collect.Lists;
+import com.starrocks.backup.Status.ErrCode;
+import com.starrocks.common.Config;
+import com.starrocks.common.ThreadPoolManager;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.io.Closeable;
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Download a remote file by several byte ranges in parallel, each range is read by its own reader and written to
+ * the local file at the same offset. The number of ranges read concurrently from the same bucket is bounded
+ * by Config.backup_blob_transfer_concurrency_per_bucket across all downloads.
+ */
+public class ParallelDownloader {
+    private static final Logger LOG = LogManager.getLogger(ParallelDownloader.class);
+
+    private static final long READ_BUFFER_SIZE = 1024L * 1024L; // 1MB
+
+    // bucket -> the permits of concurrent range reads
+    private static final Map<String, Semaphore> BUCKET_PERMITS = new ConcurrentHashMap<>();
+
+    public interface RangeReader extends Closeable {
+        // read at most length bytes from offset, the returned data may be shorter than length
+        byte[] read(long offset, long length) throws IOException;
+    }
+
+    public interface RangeReaderFactory {
+        RangeReader open() throws IOException;
+    }
+
+    private final String bucket;
+    private final RangeReaderFactory readerFactory;
+    private final int concurrency;
+    private final long partSize;
+    private final AtomicLong downloadedBytes = new AtomicLong(0);
+
+    public ParallelDownloader(String bucket, RangeReaderFactory readerFactory, int concurrency, long partSize) {
+        this.bucket = bucket;
+        this.readerFactory = readerFactory;
+        this.concurrency = Math.max(1, concurrency);
+        this.partSize = Math.max(READ_BUFFER_SIZE, partSize);
+    }
+
+    public static boolean shouldDownloadInParallel(long fileSize) {
+        return Config.backup_blob_download_concurrency > 1 &&
+                fileSize >= 2L * Config.backup_blob_download_part_size_mb * 1024 * 1024;
+    }
+
+    public long getDownloadedBytes() {
+        return downloadedBytes.get();
+    }
+
+    public Status download(File localFile, long fileSize) {
+        long start = System.currentTimeMillis();
+        int partNum = (int) ((fileSize + partSize - 1) / partSize);
+        ThreadPoolExecutor executor = ThreadPoolManager.newDaemonFixedThreadPool(Math.min(concurrency, partNum),
+                partNum, "blob-parallel-download", false);
+        try (RandomAccessFile file = new RandomAccessFile(localFile, "rw")) {
+            file.setLength(fileSize);
+            FileChannel channel = file.getChannel();
+            List<Future<Status>> futures = Lists.newArrayList();
+            for (int i = 0; i < partNum; i++) {
+                long offset = i * partSize;
+                long length = Math.min(partSize, fileSize - offset);
+                futures.add(executor.submit(() -> downloadPart(channel, offset, length)));
+            }
+
+            Status status = Status.OK;
+            for (Future<Status> future : futures) {
+                Status partStatus = future.get();
+                if (status.ok() && !partStatus.ok()) {
+                    status = partStatus;
+                }
+            }
+            if (!status.ok()) {
+                return status;
+            }
+        } catch (IOException | ExecutionException e) {
+            return new Status(ErrCode.COMMON_ERROR, "failed to download to " + localFile + ": " + e.getMessage());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return new Status(ErrCode.COMMON_ERROR, "interrupted while downloading to " + localFile);
+        } finally {
+            executor.shutdownNow();
+        }
+
+        long costMs = Math.max(1, System.currentTimeMillis() - start);
+        LOG.info("finished to download {} bytes to {} in {} parts, cost {} ms, throughput {} MB/s",
+                fileSize, localFile, partNum, costMs, String.format("%.2f", fileSize * 1000.0 / costMs / 1024 / 1024));
+        return Status.OK;
+    }
+
+    private Status downloadPart(FileChannel channel, long offset, long length) {
+        Semaphore permits = BUCKET_PERMITS.computeIfAbsent(bucket,
+                k -> new Semaphore(Math.max(1, Config.backup_blob_transfer_concurrency_per_bucket)));
+        try {
+            permits.acquire();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return new Status(ErrCode.COMMON_ERROR, "interrupted while waiting for the download permit of " + bucket);
+        }
+        try (RangeReader reader = readerFactory.open()) {
+            long readOffset = offset;
+            long end = offset + length;
+            while (readOffset < end) {
+                byte[] data = reader.read(readOffset, Math.min(READ_BUFFER_SIZE, end - readOffset));
+                if (data.length == 0) {
+                    return new Status(ErrCode.COMMON_ERROR, "unexpected end of file at offset " + readOffset
+                            + ", expected file size " + end);
+                }
+                ByteBuffer buffer = ByteBuffer.wrap(data);
+                long position = readOffset;
+                while (buffer.hasRemaining()) {
+                    position += channel.write(buffer, position);
+                }
+                readOffset += data.length;
+                downloadedBytes.addAndGet(data.length);
+            }
+            return Status.OK;
+        } catch (IOException e) {
+            LOG.warn("failed to download range [{}, {})", offset, offset + length, e);
+            return new Status(ErrCode.COMMON_ERROR, "failed to download range [" + offset + ", " + (offset + length)
+                    + "): " + e.getMessage());
+        } finally {
+            permits.release();
+        }
+    }
+}
@@ -351,6 +351,34 @@ public class Repository implements Writable {
         return Status.OK;
     }
 
+    // get the job info of the latest backup with the given label
+    public Status getLatestSnapshotInfoFile(String label, List<BackupJobInfo> infos) {
+        // path eg: /location/__palo_repository_repo_name/__ss_my_snap/__info_*
+        String infoFilePath = assembleJobInfoFilePath(label, -1);
+        List<RemoteFile> results = Lists.newArrayList();
+        Status st = storage.list(infoFilePath + "*", results);
+        if (!st.ok()) {
+            return st;
+        }
+        // timestamp is formatted as BackupJob.TIMESTAMP_FORMAT, so the latest one is the max in lexicographic order
+        String latestTimestamp = null;
+        for (RemoteFile file : results) {
+            Pair<String, String> pureFileName = decodeFileNameWithChecksum(file.getName());
+            if (pureFileName == null) {
+                // maybe: __info_2018-04-18-20-11-00.part
+                continue;
+            }
+            String timestamp = disjoinPrefix(PREFIX_JOB_INFO, pureFileName.first);
+            if (latestTimestamp == null || timestamp.compareTo(latestTimestamp) > 0) {
+                latestTimestamp = timestamp;
+            }
+        }
+        if (latestTimestamp == null) {
+            return new Status(ErrCode.NOT_FOUND, "snapshot " + label + " does not exist in repository " + name);
+        }
+        return getSnapshotInfoFile(label, latestTimestamp, infos);
+    }
+
     public Status getSnapshotMetaFile(String label, List<BackupMeta> backupMetas, int metaVersion,
                                       int starrocksMetaVersion) {
         String remoteMetaFilePath = assembleMetaInfoFilePath(label);
@@ -79,6 +79,7 @@ import com.starrocks.common.io.Text;
 import com.starrocks.common.util.DynamicPartitionUtil;
 import com.starrocks.common.util.TimeUtils;
 import com.starrocks.fs.HdfsUtil;
+import com.starrocks.metric.MetricRepo;
 import com.starrocks.server.GlobalStateMgr;
 import com.starrocks.task.AgentBatchTask;
 import com.starrocks.task.AgentTask;
@@ -254,6 +255,9 @@ public class RestoreJob extends AbstractJob {
         }
 
         taskErrMsg.remove(task.getSignature());
+        if (request.isSetCopy_size()) {
+            transferredBytes += request.getCopy_size();
+        }
         return true;
     }
 
@@ -1058,7 +1062,13 @@ public class RestoreJob extends AbstractJob {
             backupMeta = null;
 
             globalStateMgr.getEditLog().logRestoreJob(this);
-            LOG.info("finished to download. {}", this);
+            long costMs = downloadFinishedTime - snapshotFinishedTime;
+            long throughput = getThroughputBytesPerSecond(transferredBytes, costMs);
+            if (MetricRepo.isInit) {
+                MetricRepo.HISTO_RESTORE_DOWNLOAD_THROUGHPUT.update(throughput);
+            }
+            LOG.info("finished to download, {} bytes, cost {} ms, throughput {} bytes/s. {}",
+                    transferredBytes, costMs, throughput, this);
         }
 
         LOG.info("waiting {} tasks to finish downloading from repo. {}", unfinishedSignatureToId.size(), this);
@@ -1067,8 +1077,8 @@ public class RestoreJob extends AbstractJob {
     protected void prepareDownloadTasks(List<SnapshotInfo> beSnapshotInfos, Database db, long beId, List<FsBroker> brokerAddrs,
                                         THdfsProperties hdfsProperties) {
         int totalNum = beSnapshotInfos.size();
-        // each backend allot at most 3 tasks
-        int batchNum = Math.min(totalNum, 3);
+        // each backend allot at most restore_download_task_num_per_be tasks
+        int batchNum = Math.min(totalNum, Math.max(1, Config.restore_download_task_num_per_be));
         // each task contains several upload subtasks
         int taskNumPerBatch = Math.max(totalNum / batchNum, 1);
         LOG.debug("backend {} has {} batch, total {} tasks, {}",
@@ -1136,7 +1146,8 @@ public class RestoreJob extends AbstractJob {
                 // eg:
                 // bos://location/__starrocks_repository_my_repo/_ss_my_ss/_ss_content/__db_10000/
                 // __tbl_10001/__part_10002/_idx_10001/__10003
-                String src = repo.getRepoPath(label, repoTabletPath);
+                // partitions unchanged in an incremental backup are in the content dir of its base snapshot
+                String src = repo.getRepoPath(jobInfo.getSourceLabel(repoIds), repoTabletPath);
                 SnapshotInfo snapshotInfo = snapshotInfos.get(info.getTabletId(), info.getBeId());
                 Preconditions.checkNotNull(snapshotInfo, info.getTabletId() + "-" + info.getBeId());
                 // download to previously existing snapshot dir
@@ -1255,6 +1266,11 @@ public class RestoreJob extends AbstractJob {
         }
 
         if (!isReplay) {
+            // let the tablet checker re-examine the restored partitions right away
+            for (Map.Entry<Long, Map<Long, Long>> entry : restoredVersionInfo.rowMap().entrySet()) {
+                globalStateMgr.getTabletChecker().markPartitionsDirty(dbId, entry.getKey(), entry.getValue().keySet());
+            }
+
             restoredPartitions.clear();
             restoredTbls.clear();
 
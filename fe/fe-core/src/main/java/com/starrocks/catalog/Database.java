@@ -50,9 +50,11 @@ import com.starrocks.common.Pair;
 import com.starrocks.common.UserException;
 import com.starrocks.common.io.Text;
 import com.starrocks.common.io.Writable;
+import com.starrocks.common.util.DeadlockChecker;
 import com.starrocks.common.util.DebugUtil;
 import com.starrocks.common.util.QueryableReentrantReadWriteLock;
 import com.starrocks.common.util.Util;
+import com.starrocks.metric.MetricRepo;
 import com.starrocks.persist.CreateTableInfo;
 import com.starrocks.persist.DropInfo;
 import com.starrocks.server.GlobalStateMgr;
@@ -65,6 +67,7 @@ import java.io.DataOutput;
 import java.io.IOException;
 import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.Collections;
 import java.util.List;
 import java.util.Map;
@@ -99,6 +102,10 @@ public class Database extends MetaObject implements Writable {
     private long id;
     private String fullQualifiedName;
     private QueryableReentrantReadWriteLock rwLock;
+    // table id -> table lock, only used when enable_table_level_lock is true.
+    // Database lock is held in shared mode as an intent lock while a table lock is held,
+    // so that database wide operations which hold database write lock still exclude all table operations.
+    private final Map<Long, QueryableReentrantReadWriteLock> tableLocks = new ConcurrentHashMap<>();
 
     // table family group map
     private Map<Long, Table> idToTable;
@@ -157,6 +164,13 @@ public class Database extends MetaObject implements Writable {
         }
     }
 
+    private void updateLockWaitMetric(String lockType, long startMs) {
+        if (Config.enable_table_level_lock && MetricRepo.isInit && MetricRepo.HISTO_LOCK_WAIT_LATENCY != null) {
+            long endMs = TimeUnit.MILLISECONDS.convert(System.nanoTime(), TimeUnit.NANOSECONDS);
+            MetricRepo.HISTO_LOCK_WAIT_LATENCY.get(lockType).update(endMs - startMs);
+        }
+    }
+
     private void logTryLockFailureEvent(String type) {
         Thread owner = rwLock.getOwner();
         if (owner != null) {
@@ -167,16 +181,18 @@ public class Database extends MetaObject implements Writable {
     public void readLock() {
         long startMs = TimeUnit.MILLISECONDS.convert(System.nanoTime(), TimeUnit.NANOSECONDS);
         Thread formerOwner = rwLock.getOwner();
-        this.rwLock.readLock().lock();
+        DeadlockChecker.lock(rwLock, rwLock.readLock());
         logSlowLockEventIfNeeded(startMs, "readLock", formerOwner);
+        updateLockWaitMetric(MetricRepo.LOCK_TYPE_DB_READ, startMs);
     }
 
     // this function make sure lock can only be obtained if the db has not been dropped
     public boolean readLockAndCheckExist() {
         long startMs = TimeUnit.MILLISECONDS.convert(System.nanoTime(), TimeUnit.NANOSECONDS);
         Thread formerOwner = rwLock.getOwner();
-        this.rwLock.readLock().lock();
+        DeadlockChecker.lock(rwLock, rwLock.readLock());
         logSlowLockEventIfNeeded(startMs, "readLock", formerOwner);
+        updateLockWaitMetric(MetricRepo.LOCK_TYPE_DB_READ, startMs);
         if (exist) {
             return true;
         } else {
@@ -194,6 +210,7 @@ public class Database extends MetaObject implements Writable {
                 return false;
             }
             logSlowLockEventIfNeeded(startMs, "tryReadLock", formerOwner);
+            updateLockWaitMetric(MetricRepo.LOCK_TYPE_DB_READ, startMs);
             return true;
         } catch (InterruptedException e) {
             LOG.warn("failed to try read lock at db[" + id + "]", e);
@@ -211,6 +228,7 @@ public class Database extends MetaObject implements Writable {
                 return false;
             }
             logSlowLockEventIfNeeded(startMs, "tryReadLock", formerOwner);
+            updateLockWaitMetric(MetricRepo.LOCK_TYPE_DB_READ, startMs);
             if (exist) {
                 return true;
             } else {
@@ -231,16 +249,18 @@ public class Database extends MetaObject implements Writable {
     public void writeLock() {
         long startMs = TimeUnit.MILLISECONDS.convert(System.nanoTime(), TimeUnit.NANOSECONDS);
         Thread formerOwner = rwLock.getOwner();
-        this.rwLock.writeLock().lock();
+        DeadlockChecker.lock(rwLock, rwLock.writeLock());
         logSlowLockEventIfNeeded(startMs, "writeLock", formerOwner);
+        updateLockWaitMetric(MetricRepo.LOCK_TYPE_DB_WRITE, startMs);
     }
 
     // this function make sure lock can only be obtained if the db has not been dropped
     public boolean writeLockAndCheckExist() {
         long startMs = TimeUnit.MILLISECONDS.convert(System.nanoTime(), TimeUnit.NANOSECONDS);
         Thread formerOwner = rwLock.getOwner();
-        this.rwLock.writeLock().lock();
+        DeadlockChecker.lock(rwLock, rwLock.writeLock());
         logSlowLockEventIfNeeded(startMs, "writeLock", formerOwner);
+        updateLockWaitMetric(MetricRepo.LOCK_TYPE_DB_WRITE, startMs);
         if (exist) {
             return true;
         } else {
@@ -258,6 +278,7 @@ public class Database extends MetaObject implements Writable {
                 return false;
             }
             logSlowLockEventIfNeeded(startMs, "tryWriteLock", formerOwner);
+            updateLockWaitMetric(MetricRepo.LOCK_TYPE_DB_WRITE, startMs);
             return true;
         } catch (InterruptedException e) {
             LOG.warn("failed to try write lock at db[" + id + "]", e);
@@ -275,6 +296,7 @@ public class Database extends MetaObject implements Writable {
                 return false;
             }
             logSlowLockEventIfNeeded(startMs, "tryWriteLock", formerOwner);
+            updateLockWaitMetric(MetricRepo.LOCK_TYPE_DB_WRITE, startMs);
             if (exist) {
                 return true;
             } else {
@@ -292,6 +314,125 @@ public class Database extends MetaObject implements Writable {
         this.rwLock.writeLock().unlock();
     }
 
+    private QueryableReentrantReadWriteLock getTableLock(long tableId) {
+        return tableLocks.computeIfAbsent(tableId, k -> new QueryableReentrantReadWriteLock(true));
+    }
+
+    private void tableLock(long tableId, boolean isWrite) {
+        QueryableReentrantReadWriteLock tableLock = getTableLock(tableId);
+        long startMs = TimeUnit.MILLISECONDS.convert(System.nanoTime(), TimeUnit.NANOSECONDS);
+        Thread formerOwner = tableLock.getOwner();
+        DeadlockChecker.lock(tableLock, isWrite ? tableLock.writeLock() : tableLock.readLock());
+        long endMs = TimeUnit.MILLISECONDS.convert(System.nanoTime(), TimeUnit.NANOSECONDS);
+        if (endMs - startMs > Config.slow_lock_threshold_ms) {
+            LOG.warn("slow table lock. type: {}, db id: {}, table id: {}, wait time: {}ms, former {}",
+                    isWrite ? "writeLock" : "readLock", id, tableId, endMs - startMs, getOwnerInfo(formerOwner));
+        }
+        updateLockWaitMetric(isWrite ? MetricRepo.LOCK_TYPE_TABLE_WRITE : MetricRepo.LOCK_TYPE_TABLE_READ, startMs);
+    }
+
+    private void tableUnlock(long tableId, boolean isWrite) {
+        QueryableReentrantReadWriteLock tableLock = getTableLock(tableId);
+        if (isWrite) {
+            tableLock.writeLock().unlock();
+        } else {
+            tableLock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Lock the tables in shared mode. If enable_table_level_lock is true, database lock is held in shared mode
+     * as an intent lock and the tables are locked in ascending id order to avoid deadlock.
+     * Otherwise, it's the same as readLock().
+     */
+    public void readLockTables(Collection<Long> tableIds) {
+        readLock();
+        if (!Config.enable_table_level_lock) {
+            return;
+        }
+        for (long tableId : sortedTableIds(tableIds)) {
+            tableLock(tableId, false);
+        }
+    }
+
+    public void readUnlockTables(Collection<Long> tableIds) {
+        if (Config.enable_table_level_lock) {
+            for (long tableId : sortedTableIds(tableIds)) {
+                tableUnlock(tableId, false);
+            }
+        }
+        readUnlock();
+    }
+
+    /**
+     * Lock the tables in exclusive mode. If enable_table_level_lock is true, database lock is held in shared mode
+     * as an intent lock, so operations on other tables of this database are not blocked.
+     * Otherwise, it's the same as writeLock().
+     * Only operations that don't change the table set of the database should use this.
+     * An empty table id list locks the whole database.
+     */
+    public void writeLockTables(Collection<Long> tableIds) {
+        if (!Config.enable_table_level_lock || tableIds.isEmpty()) {
+            writeLock();
+            return;
+        }
+        readLock();
+        for (long tableId : sortedTableIds(tableIds)) {
+            tableLock(tableId, true);
+        }
+    }
+
+    public boolean tryWriteLockTables(Collection<Long> tableIds, long timeout, TimeUnit unit) {
+        if (!Config.enable_table_level_lock || tableIds.isEmpty()) {
+            return tryWriteLock(timeout, unit);
+        }
+        long deadlineNs = System.nanoTime() + unit.toNanos(timeout);
+        if (!tryReadLock(timeout, unit)) {
+            return false;
+        }
+        List<Long> lockedTableIds = Lists.newArrayList();
+        try {
+            for (long tableId : sortedTableIds(tableIds)) {
+                QueryableReentrantReadWriteLock tableLock = getTableLock(tableId);
+                long startMs = TimeUnit.MILLISECONDS.convert(System.nanoTime(), TimeUnit.NANOSECONDS);
+                if (!DeadlockChecker.tryLock(tableLock, tableLock.writeLock(),
+                        Math.max(deadlineNs - System.nanoTime(), 0), TimeUnit.NANOSECONDS)) {
+                    LOG.warn("try table lock failed. type: writeLock, db id: {}, table id: {}, current {}",
+                            id, tableId, getOwnerInfo(tableLock.getOwner()));
+                    break;
+                }
+                updateLockWaitMetric(MetricRepo.LOCK_TYPE_TABLE_WRITE, startMs);
+                lockedTableIds.add(tableId);
+            }
+        } catch (InterruptedException e) {
+            LOG.warn("failed to try write lock tables at db[" + id + "]", e);
+            Thread.currentThread().interrupt();
+        }
+        if (lockedTableIds.size() == sortedTableIds(tableIds).size()) {
+            return true;
+        }
+        for (long tableId : lockedTableIds) {
+            tableUnlock(tableId, true);
+        }
+        readUnlock();
+        return false;
+    }
+
+    public void writeUnlockTables(Collection<Long> tableIds) {
+        if (!Config.enable_table_level_lock || tableIds.isEmpty()) {
+            writeUnlock();
+            return;
+        }
+        for (long tableId : sortedTableIds(tableIds)) {
+            tableUnlock(tableId, true);
+        }
+        readUnlock();
+    }
+
+    private static List<Long> sortedTableIds(Collection<Long> tableIds) {
+        return tableIds.stream().distinct().sorted().collect(Collectors.toList());
+    }
+
     public boolean isWriteLockHeldByCurrentThread() {
         return this.rwLock.writeLock().isHeldByCurrentThread();
     }
@@ -531,6 +672,7 @@ public class Database extends MetaObject implements Writable {
         if (table != null) {
             this.nameToTable.remove(tableName);
             this.idToTable.remove(table.getId());
+            this.tableLocks.remove(table.getId());
         }
     }
 
@@ -34,6 +34,7 @@
 
 package com.starrocks.catalog;
 
+import com.google.common.annotations.VisibleForTesting;
 import com.google.common.collect.ImmutableMap;
 import com.google.common.collect.Lists;
 import com.google.common.collect.Maps;
@@ -60,8 +61,10 @@ import com.starrocks.thrift.TTabletStatResult;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 
+import java.util.Collections;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.Future;
 
 /*
@@ -71,9 +74,23 @@ import java.util.concurrent.Future;
 public class TabletStatMgr extends LeaderDaemon {
     private static final Logger LOG = LogManager.getLogger(TabletStatMgr.class);
 
+    // heat is halved every round, and tablets whose heat is lower than MIN_TABLET_HEAT are forgotten
+    private static final double TABLET_HEAT_DECAY_FACTOR = 0.5;
+    private static final double MIN_TABLET_HEAT = 0.01;
+
     // for lake table
     private Map<Long, Long> partitionToUpdatedVersion;
 
+    // tablet id -> heat, used by heat balance of DiskAndTabletLoadReBalancer.
+    // a scan on any replica adds 1 to the heat of the tablet,
+    // and a new visible version adds 1 to all tablets of the partition.
+    private final Map<Long, Double> tabletHeat = new ConcurrentHashMap<>();
+    // backend id -> (tablet id -> read count reported by backend in last round), used to calculate read heat.
+    // read count is counted by backends, so queries planned on all frontends are included.
+    private final Map<Long, Map<Long, Long>> beToTabletReadCount = Maps.newHashMap();
+    // partition id -> visible version of last round, used to calculate write heat
+    private Map<Long, Long> partitionToLastVisibleVersion = Maps.newHashMap();
+
     public TabletStatMgr() {
         super("tablet stat mgr", Config.tablet_stat_update_interval_second * 1000L);
         partitionToUpdatedVersion = Maps.newHashMap();
@@ -81,9 +98,19 @@ public class TabletStatMgr extends LeaderDaemon {
 
     @Override
     protected void runAfterCatalogReady() {
+        boolean heatEnabled = Config.tablet_sched_enable_heat_balance;
+        if (heatEnabled) {
+            decayTabletHeat();
+        } else {
+            tabletHeat.clear();
+            beToTabletReadCount.clear();
+        }
+
         updateLocalTabletStat();
         updateLakeTabletStat();
 
+        Map<Long, Long> partitionToVisibleVersion = Maps.newHashMap();
+
         // after update replica in all backends, update index row num
         long start = System.currentTimeMillis();
         List<Long> dbIds = GlobalStateMgr.getCurrentState().getDbIds();
@@ -102,10 +129,21 @@ public class TabletStatMgr extends LeaderDaemon {
                     OlapTable olapTable = (OlapTable) table;
                     for (Partition partition : olapTable.getAllPartitions()) {
                         long version = partition.getVisibleVersion();
+                        long newVersionNum = 0L;
+                        if (heatEnabled) {
+                            Long lastVersion = partitionToLastVisibleVersion.get(partition.getId());
+                            if (lastVersion != null && version > lastVersion) {
+                                newVersionNum = version - lastVersion;
+                            }
+                            partitionToVisibleVersion.put(partition.getId(), version);
+                        }
                         for (MaterializedIndex index : partition.getMaterializedIndices(IndexExtState.VISIBLE)) {
                             long indexRowCount = 0L;
                             for (Tablet tablet : index.getTablets()) {
                                 indexRowCount += tablet.getRowCount(version);
+                                if (newVersionNum > 0) {
+                                    addTabletHeat(tablet.getId(), newVersionNum);
+                                }
                             } // end for tablets
                             index.setRowCount(indexRowCount);
                         } // end for indices
@@ -117,10 +155,24 @@ public class TabletStatMgr extends LeaderDaemon {
                 db.writeUnlock();
             }
         }
+        partitionToLastVisibleVersion = partitionToVisibleVersion;
         LOG.info("finished to update index row num of all databases. cost: {} ms",
                 (System.currentTimeMillis() - start));
     }
 
+    public double getTabletHeat(long tabletId) {
+        return tabletHeat.getOrDefault(tabletId, 0.0);
+    }
+
+    private void addTabletHeat(long tabletId, double heat) {
+        tabletHeat.merge(tabletId, heat, Double::sum);
+    }
+
+    private void decayTabletHeat() {
+        tabletHeat.replaceAll((tabletId, heat) -> heat * TABLET_HEAT_DECAY_FACTOR);
+        tabletHeat.values().removeIf(heat -> heat < MIN_TABLET_HEAT);
+    }
+
     private void updateLocalTabletStat() {
         ImmutableMap<Long, Backend> backends = GlobalStateMgr.getCurrentSystemInfo().getIdToBackend();
 
@@ -152,7 +204,11 @@ public class TabletStatMgr extends LeaderDaemon {
                 (System.currentTimeMillis() - start));
     }
 
-    private void updateLocalTabletStat(Long beId, TTabletStatResult result) {
+    @VisibleForTesting
+    void updateLocalTabletStat(Long beId, TTabletStatResult result) {
+        if (Config.tablet_sched_enable_heat_balance) {
+            updateTabletReadHeat(beId, result);
+        }
         TabletInvertedIndex invertedIndex = GlobalStateMgr.getCurrentInvertedIndex();
         for (Map.Entry<Long, TTabletStat> entry : result.getTablets_stats().entrySet()) {
             if (invertedIndex.getTabletMeta(entry.getKey()) == null) {
@@ -175,6 +231,29 @@ public class TabletStatMgr extends LeaderDaemon {
         }
     }
 
+    // add the reads since last round to tablet heat, the read count restarts from 0 after backend restarts
+    private void updateTabletReadHeat(Long beId, TTabletStatResult result) {
+        Map<Long, Long> lastReadCounts = beToTabletReadCount.getOrDefault(beId, Collections.emptyMap());
+        Map<Long, Long> readCounts = Maps.newHashMap();
+        for (Map.Entry<Long, TTabletStat> entry : result.getTablets_stats().entrySet()) {
+            if (!entry.getValue().isSetRead_count()) {
+                continue;
+            }
+            long tabletId = entry.getKey();
+            long readCount = entry.getValue().getRead_count();
+            readCounts.put(tabletId, readCount);
+            Long lastReadCount = lastReadCounts.get(tabletId);
+            if (lastReadCount == null) {
+                continue;
+            }
+            long newReadNum = readCount >= lastReadCount ? readCount - lastReadCount : readCount;
+            if (newReadNum > 0) {
+                addTabletHeat(tabletId, newReadNum);
+            }
+        }
+        beToTabletReadCount.put(beId, readCounts);
+    }
+
     private void updateLakeTabletStat() {
         List<Long> dbIds = GlobalStateMgr.getCurrentState().getDbIds();
         for (Long dbId : dbIds) {
@@ -41,11 +41,14 @@ import com.google.common.collect.Sets;
 import com.starrocks.catalog.DiskInfo;
 import com.starrocks.catalog.DiskInfo.DiskState;
 import com.starrocks.catalog.TabletInvertedIndex;
+import com.starrocks.catalog.TabletMeta;
+import com.starrocks.catalog.TabletStatMgr;
 import com.starrocks.clone.BalanceStatus.ErrCode;
 import com.starrocks.common.Config;
 import com.starrocks.common.Pair;
 import com.starrocks.common.util.DebugUtil;
 import com.starrocks.monitor.unit.ByteSizeValue;
+import com.starrocks.server.GlobalStateMgr;
 import com.starrocks.system.Backend;
 import com.starrocks.system.SystemInfoService;
 import com.starrocks.thrift.TStorageMedium;
@@ -159,6 +162,9 @@ public class BackendLoadStatistic {
     private Map<TStorageMedium, LoadScore> loadScoreMap = Maps.newHashMap();
     private Map<TStorageMedium, Classification> clazzMap = Maps.newHashMap();
     private List<RootPathLoadStatistic> pathStatistics = Lists.newArrayList();
+    // sum of tablet heat on this backend, only collected when heat balance is enabled
+    private Map<TStorageMedium, Double> tabletHeatMap = Maps.newHashMap();
+    private int cpuUsedPermille = 0;
 
     public BackendLoadStatistic(long beId, String clusterName, SystemInfoService infoService,
                                 TabletInvertedIndex invertedIndex) {
@@ -218,6 +224,20 @@ public class BackendLoadStatistic {
         return Pair.create(maxUsedPercent, minUsedPercent);
     }
 
+    public double getTabletHeat(TStorageMedium medium) {
+        return tabletHeatMap.getOrDefault(medium, 0.0);
+    }
+
+    // a busy cpu makes the same tablet heat more expensive on this backend
+    public double getCpuLoadFactor() {
+        return 1.0 + cpuUsedPermille / 1000.0;
+    }
+
+    // workload score is the tablet heat weighted by cpu usage of backend
+    public double getWorkloadScore(TStorageMedium medium) {
+        return getTabletHeat(medium) * getCpuLoadFactor();
+    }
+
     public long getReplicaNum(TStorageMedium medium) {
         return totalReplicaNumMap.getOrDefault(medium, 0L);
     }
@@ -290,10 +310,30 @@ public class BackendLoadStatistic {
             classifyPathByLoad(storageMedium);
         }
 
+        cpuUsedPermille = be.getCpuUsedPermille();
+        if (Config.tablet_sched_enable_heat_balance) {
+            initTabletHeat();
+        }
+
         // sort the list
         Collections.sort(pathStatistics);
     }
 
+    private void initTabletHeat() {
+        TabletStatMgr tabletStatMgr = GlobalStateMgr.getCurrentState().getTabletStatMgr();
+        for (Long tabletId : invertedIndex.getTabletIdsByBackendId(beId)) {
+            double heat = tabletStatMgr.getTabletHeat(tabletId);
+            if (heat <= 0) {
+                continue;
+            }
+            TabletMeta tabletMeta = invertedIndex.getTabletMeta(tabletId);
+            if (tabletMeta == null) {
+                continue;
+            }
+            tabletHeatMap.merge(tabletMeta.getStorageMedium(), heat, Double::sum);
+        }
+    }
+
     private void classifyPathByLoad(TStorageMedium medium) {
         long totalCapacity = 0;
         long totalUsedCapacity = 0;
@@ -19,6 +19,7 @@ import com.google.common.base.Preconditions;
 import com.google.common.collect.Lists;
 import com.google.common.collect.Maps;
 import com.google.common.collect.Sets;
+import com.starrocks.catalog.ColocateTableIndex;
 import com.starrocks.catalog.DataProperty;
 import com.starrocks.catalog.Database;
 import com.starrocks.catalog.DiskInfo;
@@ -33,9 +34,11 @@ import com.starrocks.catalog.Table;
 import com.starrocks.catalog.Tablet;
 import com.starrocks.catalog.TabletInvertedIndex;
 import com.starrocks.catalog.TabletMeta;
+import com.starrocks.catalog.TabletStatMgr;
 import com.starrocks.clone.BackendLoadStatistic.Classification;
 import com.starrocks.common.Config;
 import com.starrocks.common.Pair;
+import com.starrocks.metric.MetricRepo;
 import com.starrocks.server.GlobalStateMgr;
 import com.starrocks.system.Backend;
 import com.starrocks.system.SystemInfoService;
@@ -44,7 +47,9 @@ import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.Collections;
+import java.util.Comparator;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
@@ -72,6 +77,10 @@ public class DiskAndTabletLoadReBalancer extends Rebalancer {
     // tabletId -> replicaId
     // used to delete src replica after copy task success
     private final Map<Long, Long> cachedReplicaId = new ConcurrentHashMap<>();
+    // tabletId -> time when the tablet is selected by heat balance
+    // the tablet will not be moved again by cluster tablet balance or heat balance during cooldown,
+    // otherwise tablet balance may move it back to the hot backend
+    private final Map<Long, Long> heatBalancedTablets = new ConcurrentHashMap<>();
 
     public DiskAndTabletLoadReBalancer(SystemInfoService infoService, TabletInvertedIndex invertedIndex) {
         super(infoService, invertedIndex);
@@ -82,6 +91,9 @@ public class DiskAndTabletLoadReBalancer extends Rebalancer {
             ClusterLoadStatistic clusterStat, TStorageMedium medium) {
         List<TabletSchedCtx> alternativeTablets;
         String balanceType = "";
+        long cooldownMs = Config.tablet_sched_heat_balance_cooldown_second * 1000L;
+        long now = System.currentTimeMillis();
+        heatBalancedTablets.values().removeIf(selectTime -> now - selectTime >= cooldownMs);
         do {
             // balance cluster
             if (!isClusterDiskBalanced(clusterStat, medium)) {
@@ -90,6 +102,10 @@ public class DiskAndTabletLoadReBalancer extends Rebalancer {
             } else {
                 alternativeTablets = balanceClusterTablet(clusterStat, medium);
                 balanceType = "cluster tablet distribution";
+                if (alternativeTablets.isEmpty() && Config.tablet_sched_enable_heat_balance) {
+                    alternativeTablets = balanceClusterHeat(clusterStat, medium);
+                    balanceType = "cluster workload";
+                }
             }
             if (!alternativeTablets.isEmpty()) {
                 break;
@@ -280,7 +296,9 @@ public class DiskAndTabletLoadReBalancer extends Rebalancer {
             int tabletNumOnDest =
                     getPartitionTabletNumOnBePath(dbId, tableId, partitionId, indexId, tabletCtx.getDestBackendId(),
                             destPathHash);
-            if (tabletNumOnSrc - tabletNumOnDest <= 1) {
+            // heat balance may move a tablet as long as the tablet distribution will not become worse
+            int minSkew = tabletCtx.getBalanceType() == BalanceType.HEAT ? 0 : 1;
+            if (tabletNumOnSrc - tabletNumOnDest <= minSkew) {
                 throw new SchedException(SchedException.Status.UNRECOVERABLE,
                         "can not make tablet distribution balance better");
             }
@@ -944,7 +962,17 @@ public class DiskAndTabletLoadReBalancer extends Rebalancer {
             return alternativeTablets;
         }
 
-        // beId => (paths, index) , low or mid be disks to hold moved tablets
+        Map<Long, Pair<List<Long>, Integer>> beDisks = getBeDisksToHoldTablets(beStats, medium);
+        LOG.debug("get backend stats for cluster tablet distribution balance. medium: {}, be stats: {}, be disks: {}",
+                medium, beStats, beDisks);
+
+        balanceTablet(medium, alternativeTablets, false, beStats, beDisks, null, -1);
+        return alternativeTablets;
+    }
+
+    // beId => (paths, index) , low or mid be disks to hold moved tablets
+    private Map<Long, Pair<List<Long>, Integer>> getBeDisksToHoldTablets(List<BackendLoadStatistic> beStats,
+                                                                         TStorageMedium medium) {
         Map<Long, Pair<List<Long>, Integer>> beDisks = Maps.newHashMap();
         for (BackendLoadStatistic beStat : beStats) {
             List<Long> pathHashList = Lists.newArrayList();
@@ -956,10 +984,179 @@ public class DiskAndTabletLoadReBalancer extends Rebalancer {
             }
             beDisks.put(beStat.getBeId(), new Pair<>(pathHashList, 0));
         }
-        LOG.debug("get backend stats for cluster tablet distribution balance. medium: {}, be stats: {}, be disks: {}",
-                medium, beStats, beDisks);
+        return beDisks;
+    }
+
+    private boolean isInHeatBalanceCooldown(long tabletId) {
+        Long selectTime = heatBalancedTablets.get(tabletId);
+        return selectTime != null &&
+                System.currentTimeMillis() - selectTime < Config.tablet_sched_heat_balance_cooldown_second * 1000L;
+    }
+
+    /**
+     * workload skew is (max workload - min workload) / avg workload of backends,
+     * workload of backend is tablet heat weighted by cpu usage, see BackendLoadStatistic.getWorkloadScore
+     */
+    public static double getWorkloadSkew(Collection<Double> workloads) {
+        if (workloads.isEmpty()) {
+            return 0.0;
+        }
+        double max = Collections.max(workloads);
+        double min = Collections.min(workloads);
+        double avg = workloads.stream().mapToDouble(Double::doubleValue).sum() / workloads.size();
+        if (avg <= 0) {
+            return 0.0;
+        }
+        return (max - min) / avg;
+    }
+
+    /**
+     * balance cluster workload after disk usage and tablet distribution are balanced
+     * 1. calculate workload of every backend, skip balance if workload skew is under threshold
+     * 2. take the backend with max workload as src, and sort its tablets by heat in desc order
+     * 3. for every hot tablet, try to move it to the backend with min workload first,
+     *    a move is valid only if it reduces the max workload, preserves disk balance
+     *    and does not make tablet distribution of the partition worse
+     * 4. repeat 3 until workload skew is under threshold or moved bytes exceed the limit of one round
+     * moved tablets are kept away from tablet balance and heat balance for a cooldown period,
+     * see Config.tablet_sched_heat_balance_cooldown_second
+     */
+    private List<TabletSchedCtx> balanceClusterHeat(ClusterLoadStatistic clusterStat, TStorageMedium medium) {
+        List<TabletSchedCtx> alternativeTablets = Lists.newArrayList();
+        List<BackendLoadStatistic> beStats = getValidBeStats(clusterStat, medium);
+        if (beStats.size() <= 1) {
+            return alternativeTablets;
+        }
+
+        // beId => estimated workload, updated after every selected tablet
+        Map<Long, Double> beWorkloads = Maps.newHashMap();
+        Map<Long, BackendLoadStatistic> beIdToStat = Maps.newHashMap();
+        Map<Long, Pair<Long, Long>> diskCapMap = Maps.newHashMap();
+        for (BackendLoadStatistic beStat : beStats) {
+            beWorkloads.put(beStat.getBeId(), beStat.getWorkloadScore(medium));
+            beIdToStat.put(beStat.getBeId(), beStat);
+            diskCapMap.put(beStat.getBeId(),
+                    new Pair<>(beStat.getTotalCapacityB(medium), beStat.getTotalUsedCapacityB(medium)));
+        }
+        double skew = getWorkloadSkew(beWorkloads.values());
+        if (MetricRepo.isInit) {
+            MetricRepo.GAUGE_TABLET_HEAT_SKEW_SCORE.setValue(skew);
+        }
+        if (skew <= Config.tablet_sched_heat_balance_skew_threshold) {
+            return alternativeTablets;
+        }
+
+        long srcBeId = beStats.stream()
+                .max(Comparator.comparingDouble(beStat -> beStat.getWorkloadScore(medium))).get().getBeId();
+        double srcCpuLoadFactor = beIdToStat.get(srcBeId).getCpuLoadFactor();
+        TabletStatMgr tabletStatMgr = GlobalStateMgr.getCurrentState().getTabletStatMgr();
+        Map<Long, Double> hotTablets = Maps.newHashMap();
+        for (Long tabletId : invertedIndex.getTabletIdsByBackendIdAndStorageMedium(srcBeId, medium)) {
+            double heat = tabletStatMgr.getTabletHeat(tabletId);
+            if (heat > 0) {
+                hotTablets.put(tabletId, heat);
+            }
+        }
+        List<Long> sortedHotTablets = hotTablets.entrySet().stream()
+                .sorted((t1, t2) -> Double.compare(t2.getValue(), t1.getValue()))
+                .map(Map.Entry::getKey).collect(Collectors.toList());
+        LOG.debug("get backend workloads for cluster workload balance. medium: {}, skew: {}, workloads: {}, " +
+                "src be: {}, hot tablets: {}", medium, skew, beWorkloads, srcBeId, sortedHotTablets.size());
+
+        Map<Long, Pair<List<Long>, Integer>> beDisks = getBeDisksToHoldTablets(beStats, medium);
+        DiskBalanceChecker diskBalanceChecker = new DiskBalanceChecker(diskCapMap);
+        diskBalanceChecker.init();
+        List<Long> aliveBeIds = infoService.getBackendIds(true);
+        Map<String, List<Long>> hostGroups = getHostGroups(aliveBeIds);
+        ColocateTableIndex colocateTableIndex = GlobalStateMgr.getCurrentColocateIndex();
+        long movedBytes = 0L;
+        for (Long tabletId : sortedHotTablets) {
+            if (alternativeTablets.size() >= Config.tablet_sched_max_balancing_tablets
+                    || getWorkloadSkew(beWorkloads.values()) <= Config.tablet_sched_heat_balance_skew_threshold) {
+                break;
+            }
+
+            if (isInHeatBalanceCooldown(tabletId)) {
+                continue;
+            }
+            Replica replica = invertedIndex.getReplica(tabletId, srcBeId);
+            if (replica == null || replica.getPathHash() == -1L) {
+                continue;
+            }
+            long replicaSize = replica.getDataSize();
+            if (movedBytes + replicaSize > Config.tablet_sched_heat_balance_max_bytes_per_round) {
+                continue;
+            }
+            TabletMeta tabletMeta = invertedIndex.getTabletMeta(tabletId);
+            if (tabletMeta == null || colocateTableIndex.isColocateTable(tabletMeta.getTableId())) {
+                continue;
+            }
+
+            double heat = hotTablets.get(tabletId);
+            double srcWorkloadAfterMove = beWorkloads.get(srcBeId) - heat * srcCpuLoadFactor;
+            // try the backend with min workload first
+            List<Long> destBeIds = beWorkloads.entrySet().stream()
+                    .filter(e -> e.getKey() != srcBeId)
+                    .sorted(Map.Entry.comparingByValue())
+                    .map(Map.Entry::getKey).collect(Collectors.toList());
+            for (Long destBeId : destBeIds) {
+                double destWorkloadAfterMove =
+                        beWorkloads.get(destBeId) + heat * beIdToStat.get(destBeId).getCpuLoadFactor();
+                // dest will be the new hot spot
+                if (destWorkloadAfterMove >= beWorkloads.get(srcBeId)) {
+                    continue;
+                }
+
+                Backend destBackend = infoService.getBackend(destBeId);
+                if (destBackend == null) {
+                    continue;
+                }
+                if (isTabletExistsInBackends(tabletId, hostGroups.get(destBackend.getHost()))) {
+                    continue;
+                }
+                Pair<List<Long>, Integer> destPaths = beDisks.get(destBeId);
+                if (destPaths.first.isEmpty()) {
+                    continue;
+                }
+                if (!diskBalanceChecker.check(srcBeId, destBeId, replicaSize)) {
+                    continue;
+                }
+
+                // make sure tablet distribution of the partition will not become worse
+                int tabletNumOnSrc = getPartitionTabletNumOnBePath(tabletMeta.getDbId(), tabletMeta.getTableId(),
+                        tabletMeta.getPartitionId(), tabletMeta.getIndexId(), srcBeId, -1);
+                int tabletNumOnDest = getPartitionTabletNumOnBePath(tabletMeta.getDbId(), tabletMeta.getTableId(),
+                        tabletMeta.getPartitionId(), tabletMeta.getIndexId(), destBeId, -1);
+                if (tabletNumOnSrc <= tabletNumOnDest) {
+                    continue;
+                }
+
+                if (!isTabletHealthy(tabletId, tabletMeta, aliveBeIds)) {
+                    break;
+                }
+
+                TabletSchedCtx schedCtx = new TabletSchedCtx(TabletSchedCtx.Type.BALANCE,
+                        tabletMeta.getDbId(), tabletMeta.getTableId(), tabletMeta.getPartitionId(),
+                        tabletMeta.getIndexId(), tabletId, System.currentTimeMillis());
+                schedCtx.setOrigPriority(TabletSchedCtx.Priority.LOW);
+                schedCtx.setBalanceType(BalanceType.HEAT);
+                schedCtx.setSrc(replica);
+                //round robin to select dest be path
+                Long pathHash = destPaths.first.get(destPaths.second);
+                destPaths.second = (destPaths.second + 1) % destPaths.first.size();
+                schedCtx.setDest(destBeId, pathHash);
+                alternativeTablets.add(schedCtx);
+
+                // update state
+                heatBalancedTablets.put(tabletId, System.currentTimeMillis());
+                diskBalanceChecker.moveReplica(srcBeId, destBeId, replicaSize);
+                beWorkloads.put(srcBeId, srcWorkloadAfterMove);
+                beWorkloads.put(destBeId, destWorkloadAfterMove);
+                movedBytes += replicaSize;
+                break;
+            }
+        }
 
-        balanceTablet(medium, alternativeTablets, false, beStats, beDisks, null, -1);
         return alternativeTablets;
     }
 
@@ -1164,6 +1361,10 @@ public class DiskAndTabletLoadReBalancer extends Rebalancer {
                 continue;
             }
 
+            if (!isLocalBalance && isInHeatBalanceCooldown(tabletId)) {
+                continue;
+            }
+
             Replica replica = null;
             if (!isLocalBalance) {
                 replica = invertedIndex.getReplica(tabletId, srcTablets.first);
@@ -1627,6 +1828,7 @@ public class DiskAndTabletLoadReBalancer extends Rebalancer {
 
     public enum BalanceType {
         DISK,
-        TABLET
+        TABLET,
+        HEAT
     }
 }
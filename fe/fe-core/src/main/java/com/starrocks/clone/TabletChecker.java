@@ -50,18 +50,23 @@ import com.starrocks.catalog.Partition.PartitionState;
 import com.starrocks.catalog.Table;
 import com.starrocks.catalog.Table.TableType;
 import com.starrocks.catalog.Tablet;
+import com.starrocks.catalog.TabletInvertedIndex;
+import com.starrocks.catalog.TabletMeta;
 import com.starrocks.clone.TabletScheduler.AddResult;
 import com.starrocks.common.Config;
 import com.starrocks.common.DdlException;
 import com.starrocks.common.Pair;
 import com.starrocks.common.util.LeaderDaemon;
+import com.starrocks.metric.MetricRepo;
 import com.starrocks.server.GlobalStateMgr;
 import com.starrocks.sql.ast.AdminCancelRepairTableStmt;
 import com.starrocks.sql.ast.AdminRepairTableStmt;
+import com.starrocks.system.Backend;
 import com.starrocks.system.SystemInfoService;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 
+import java.util.Collection;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
@@ -84,6 +89,12 @@ public class TabletChecker extends LeaderDaemon {
     // priority of replicas of partitions in this table will be set to VERY_HIGH if not healthy
     private com.google.common.collect.Table<Long, Long, Set<PrioPart>> prios = HashBasedTable.create();
 
+    // db id -> (tbl id -> partition ids)
+    // partitions whose replicas may have changed since last check, only these partitions are checked
+    // between two full checks if Config.tablet_checker_enable_dirty_partition_check is true
+    private final com.google.common.collect.Table<Long, Long, Set<Long>> dirtyPartitions = HashBasedTable.create();
+    private long lastFullCheckTimeMs = 0L;
+
     // represent a partition which need to be repaired preferentially
     public static class PrioPart {
         public long partId;
@@ -192,7 +203,24 @@ public class TabletChecker extends LeaderDaemon {
             return;
         }
 
-        checkAllTablets();
+        long start = System.currentTimeMillis();
+        if (needFullCheck(start)) {
+            // partitions marked as dirty from now on will be checked again in next round
+            clearDirtyPartitions();
+            if (checkAllTablets()) {
+                // do full check again in next round if it is stopped halfway
+                lastFullCheckTimeMs = start;
+            }
+            if (MetricRepo.isInit) {
+                MetricRepo.HISTO_TABLET_CHECKER_FULL_CHECK_LATENCY.update(System.currentTimeMillis() - start);
+            }
+        } else {
+            checkTabletsOnlyInPrios();
+            checkDirtyTablets();
+            if (MetricRepo.isInit) {
+                MetricRepo.HISTO_TABLET_CHECKER_DIRTY_CHECK_LATENCY.update(System.currentTimeMillis() - start);
+            }
+        }
 
         removePriosIfNecessary();
 
@@ -204,17 +232,129 @@ public class TabletChecker extends LeaderDaemon {
      * Check the manually repaired table/partition first,
      * so that they can be scheduled for repair at first place.
      */
-    private void checkAllTablets() {
-        checkTabletsOnlyInPrios();
-        checkTabletsNotInPrios();
+    private boolean checkAllTablets() {
+        boolean finished = checkTabletsOnlyInPrios();
+        return checkTabletsNotInPrios() && finished;
+    }
+
+    private boolean checkTabletsOnlyInPrios() {
+        return doCheck(true, null);
+    }
+
+    private boolean checkTabletsNotInPrios() {
+        return doCheck(false, null);
+    }
+
+    private boolean needFullCheck(long currentTimeMs) {
+        return !Config.tablet_checker_enable_dirty_partition_check
+                || currentTimeMs - lastFullCheckTimeMs >= Config.tablet_checker_full_check_interval_second * 1000L;
+    }
+
+    /**
+     * Check dirty partitions only, including partitions which have replicas on dead or decommissioned backends.
+     * Partitions in prios have been checked by checkTabletsOnlyInPrios().
+     */
+    private void checkDirtyTablets() {
+        markTabletsOnAbnormalBackendsDirty();
+
+        com.google.common.collect.Table<Long, Long, Set<Long>> partitionsToCheck;
+        synchronized (dirtyPartitions) {
+            partitionsToCheck = HashBasedTable.create(dirtyPartitions);
+            dirtyPartitions.clear();
+        }
+        if (!partitionsToCheck.isEmpty()) {
+            doCheck(false, partitionsToCheck);
+        }
+    }
+
+    // replicas on these backends become unhealthy after a while, so keep checking them until the backend recovers
+    private void markTabletsOnAbnormalBackendsDirty() {
+        TabletInvertedIndex invertedIndex = GlobalStateMgr.getCurrentInvertedIndex();
+        for (Backend backend : infoService.getIdToBackend().values()) {
+            if (backend.isAlive() && !backend.isDecommissioned()) {
+                continue;
+            }
+            markTabletsDirty(invertedIndex.getTabletIdsByBackendId(backend.getId()));
+        }
+    }
+
+    /**
+     * Mark partitions of these tablets as dirty, so that they will be checked in next round.
+     * Called when replicas of these tablets are changed, eg. by tablet report.
+     */
+    public void markTabletsDirty(Collection<Long> tabletIds) {
+        if (tabletIds.isEmpty()) {
+            return;
+        }
+        TabletInvertedIndex invertedIndex = GlobalStateMgr.getCurrentInvertedIndex();
+        synchronized (dirtyPartitions) {
+            for (Long tabletId : tabletIds) {
+                TabletMeta tabletMeta = invertedIndex.getTabletMeta(tabletId);
+                if (tabletMeta == null) {
+                    continue;
+                }
+                addDirtyPartition(tabletMeta.getDbId(), tabletMeta.getTableId(), tabletMeta.getPartitionId());
+            }
+        }
+    }
+
+    /**
+     * Mark all partitions of the table as dirty.
+     * Called when the replicas or the replication num of the whole table are changed, eg. by CREATE TABLE,
+     * TRUNCATE TABLE, RESTORE or RECOVER TABLE.
+     */
+    public void markTableDirty(long dbId, OlapTable table) {
+        markPartitionsDirty(dbId, table.getId(),
+                table.getAllPartitions().stream().map(Partition::getId).collect(Collectors.toList()));
+    }
+
+    public void markPartitionsDirty(long dbId, long tblId, Collection<Long> partIds) {
+        synchronized (dirtyPartitions) {
+            for (Long partId : partIds) {
+                addDirtyPartition(dbId, tblId, partId);
+            }
+        }
+    }
+
+    private void addDirtyPartition(long dbId, long tblId, long partId) {
+        Set<Long> parts = dirtyPartitions.get(dbId, tblId);
+        if (parts == null) {
+            parts = Sets.newHashSet();
+            dirtyPartitions.put(dbId, tblId, parts);
+        }
+        parts.add(partId);
     }
 
-    private void checkTabletsOnlyInPrios() {
-        doCheck(true);
+    private void clearDirtyPartitions() {
+        synchronized (dirtyPartitions) {
+            dirtyPartitions.clear();
+        }
     }
 
-    private void checkTabletsNotInPrios() {
-        doCheck(false);
+    private void markPartitionsDirty(com.google.common.collect.Table<Long, Long, Set<Long>> partitions) {
+        for (Cell<Long, Long, Set<Long>> cell : partitions.cellSet()) {
+            markPartitionsDirty(cell.getRowKey(), cell.getColumnKey(), cell.getValue());
+        }
+    }
+
+    public long getDirtyPartitionNum() {
+        synchronized (dirtyPartitions) {
+            return dirtyPartitions.values().stream().mapToLong(Set::size).sum();
+        }
+    }
+
+    private Collection<Partition> getPartitionsToCheck(OlapTable olapTbl, Set<Long> partIds) {
+        if (partIds == null) {
+            return globalStateMgr.getAllPartitionsIncludeRecycleBin(olapTbl);
+        }
+        List<Partition> partitions = Lists.newArrayList();
+        for (Long partId : partIds) {
+            Partition partition = globalStateMgr.getPartitionIncludeRecycleBin(olapTbl, partId);
+            if (partition != null) {
+                partitions.add(partition);
+            }
+        }
+        return partitions;
     }
 
     /**
@@ -239,17 +379,24 @@ public class TabletChecker extends LeaderDaemon {
         }
     }
 
-    private void doCheck(boolean checkInPrios) {
+    /**
+     * @param partitionsToCheck if not null, only check these partitions
+     * @return false if the check is stopped because tablet scheduler is full
+     */
+    private boolean doCheck(boolean checkInPrios,
+                            com.google.common.collect.Table<Long, Long, Set<Long>> partitionsToCheck) {
         long start = System.nanoTime();
         long totalTabletNum = 0;
         long unhealthyTabletNum = 0;
         long addToSchedulerTabletNum = 0;
         long tabletInScheduler = 0;
         long tabletNotReady = 0;
+        boolean finished = true;
 
         long lockTotalTime = 0;
         long lockStart;
-        List<Long> dbIds = globalStateMgr.getDbIdsIncludeRecycleBin();
+        List<Long> dbIds = partitionsToCheck == null ? globalStateMgr.getDbIdsIncludeRecycleBin() :
+                Lists.newArrayList(partitionsToCheck.rowKeySet());
         DATABASE:
         for (Long dbId : dbIds) {
             Database db = globalStateMgr.getDbIncludeRecycleBin(dbId);
@@ -283,8 +430,16 @@ public class TabletChecker extends LeaderDaemon {
                         continue;
                     }
 
+                    Set<Long> dirtyPartIds = null;
+                    if (partitionsToCheck != null) {
+                        dirtyPartIds = partitionsToCheck.get(dbId, table.getId());
+                        if (dirtyPartIds == null) {
+                            continue;
+                        }
+                    }
+
                     OlapTable olapTbl = (OlapTable) table;
-                    for (Partition partition : globalStateMgr.getAllPartitionsIncludeRecycleBin(olapTbl)) {
+                    for (Partition partition : getPartitionsToCheck(olapTbl, dirtyPartIds)) {
                         partitionChecked++;
                         if (partitionChecked % partitionBatchNum == 0) {
                             LOG.debug("partition checked reached batch value, release lock");
@@ -318,6 +473,8 @@ public class TabletChecker extends LeaderDaemon {
 
                         boolean isPartitionInPrios = isPartitionInPrios(dbId, table.getId(), partition.getId());
                         boolean prioPartIsHealthy = true;
+                        // some unhealthy tablets are not handed over to tablet scheduler in this round
+                        boolean needRecheck = false;
                         if ((checkInPrios && !isPartitionInPrios) || (!checkInPrios && isPartitionInPrios)) {
                             continue;
                         }
@@ -332,6 +489,8 @@ public class TabletChecker extends LeaderDaemon {
 
                                 if (tabletScheduler.containsTablet(tablet.getId())) {
                                     tabletInScheduler++;
+                                    // check again in case the repair fails
+                                    needRecheck = true;
                                     continue;
                                 }
 
@@ -352,6 +511,7 @@ public class TabletChecker extends LeaderDaemon {
                                 }
 
                                 unhealthyTabletNum++;
+                                needRecheck = true;
 
                                 if (!localTablet.readyToBeRepaired(statusWithPrio.first, statusWithPrio.second)) {
                                     tabletNotReady++;
@@ -375,6 +535,11 @@ public class TabletChecker extends LeaderDaemon {
                                 if (res == AddResult.LIMIT_EXCEED) {
                                     LOG.info("number of scheduling tablets in tablet scheduler"
                                             + " exceed to limit. stop tablet checker");
+                                    if (partitionsToCheck != null) {
+                                        // the rest partitions have not been checked yet
+                                        markPartitionsDirty(partitionsToCheck);
+                                    }
+                                    finished = false;
                                     break DATABASE;
                                 } else if (res == AddResult.ADDED) {
                                     addToSchedulerTabletNum++;
@@ -382,6 +547,10 @@ public class TabletChecker extends LeaderDaemon {
                             }
                         } // indices
 
+                        if (needRecheck && Config.tablet_checker_enable_dirty_partition_check) {
+                            markPartitionsDirty(db.getId(), olapTbl.getId(), Lists.newArrayList(partition.getId()));
+                        }
+
                         if (prioPartIsHealthy && isPartitionInPrios) {
                             // if all replicas in this partition are healthy, remove this partition from
                             // priorities.
@@ -406,11 +575,12 @@ public class TabletChecker extends LeaderDaemon {
         stat.counterUnhealthyTabletNum.addAndGet(unhealthyTabletNum);
         stat.counterTabletAddToBeScheduled.addAndGet(addToSchedulerTabletNum);
 
-        LOG.info("finished to check tablets. checkInPrios: {}, " +
+        LOG.info("finished to check tablets. checkInPrios: {}, onlyDirty: {}, " +
                         "unhealthy/total/added/in_sched/not_ready: {}/{}/{}/{}/{}, " +
                         "cost: {} ms, in lock time: {} ms",
-                checkInPrios, unhealthyTabletNum, totalTabletNum, addToSchedulerTabletNum,
+                checkInPrios, partitionsToCheck != null, unhealthyTabletNum, totalTabletNum, addToSchedulerTabletNum,
                 tabletInScheduler, tabletNotReady, cost, lockTotalTime);
+        return finished;
     }
 
     private boolean isTableInPrios(long dbId, long tblId) {
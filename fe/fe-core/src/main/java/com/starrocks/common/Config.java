@@ -136,6 +136,23 @@ public class Config extends ConfigBase {
     @ConfField(mutable = true)
     public static long slow_lock_log_every_ms = 3000L;
 
+    /**
+     * If true, load commit and publish lock only the tables of the transaction in exclusive mode, holding the
+     * database lock in shared mode as an intent lock, so loads into different tables of a database don't block
+     * each other. Query planning locks the tables it reads in shared mode, including the tables reached through
+     * views and materialized views. Other readers that only hold the database read lock, such as tablet report
+     * and scheduling, may observe the commit or publish of a table in progress.
+     * It also enables deadlock detection and the lock wait time metrics of metadata locks.
+     */
+    @ConfField
+    public static boolean enable_table_level_lock = false;
+
+    /**
+     * A thread waiting for a metadata lock longer than this will check if there is a deadlock.
+     */
+    @ConfField(mutable = true)
+    public static long deadlock_detection_interval_ms = 5000;
+
     /**
      * dump_log_dir:
      * This specifies FE dump log dir.
@@ -678,6 +695,14 @@ public class Config extends ConfigBase {
     @ConfField
     public static int publish_version_interval_ms = 10;
 
+    /**
+     * The max number of published transactions of one database made visible together under one lock.
+     * With the new publish mechanism, it also limits how many consecutive transactions on the same table(s)
+     * are sent to the backends together. Set to 1 to publish and finish transactions one by one.
+     */
+    @ConfField(mutable = true)
+    public static int publish_version_max_batch_txn_num = 64;
+
     /**
      * The thrift server max worker threads
      */
@@ -761,6 +786,26 @@ public class Config extends ConfigBase {
     @ConfField(mutable = true)
     public static int max_stream_load_batch_size_mb = 100;
 
+    /**
+     * The window of stream load group commit. The transaction stream loads of a table which begin
+     * in group commit mode within the window share one transaction.
+     */
+    @ConfField(mutable = true)
+    public static int stream_load_group_commit_interval_ms = 1000;
+
+    /**
+     * Max number of the stream loads which share one group commit transaction.
+     * Each load of a group writes through its own load channel of the shared transaction.
+     */
+    @ConfField(mutable = true)
+    public static int stream_load_group_commit_max_requests = 64;
+
+    /**
+     * Number of the threads which commit the shared transactions of stream load group commits
+     */
+    @ConfField
+    public static int stream_load_group_commit_thread_num = 4;
+
     /**
      * Default prepared transaction timeout
      */
@@ -923,6 +968,18 @@ public class Config extends ConfigBase {
      */
     @ConfField(mutable = true)
     public static int task_runs_concurrency = 20;
+    /**
+     * Whether to hold the refresh of a materialized view until the materialized views it depends on
+     * have finished refreshing, so the materialized view DAG is refreshed level by level.
+     */
+    @ConfField(mutable = true)
+    public static boolean enable_mv_refresh_dependency_schedule = true;
+    /**
+     * The max time in seconds a materialized view refresh is held for its upstream materialized views.
+     * After that it is scheduled anyway, so a busy upstream can not starve it.
+     */
+    @ConfField(mutable = true)
+    public static long mv_refresh_dependency_max_wait_second = 3600;
     /**
      * Default timeout of export jobs.
      */
@@ -935,6 +992,14 @@ public class Config extends ConfigBase {
      */
     @ConfField(mutable = true)
     public static long export_max_bytes_per_be_per_task = 268435456; // 256M
+
+    /**
+     * Number of fragment instances which scan and write the data of one export task on each backend,
+     * each instance writes its own files. It is capped by the number of tablets of the task on the backend.
+     */
+    @ConfField(mutable = true)
+    public static int export_instance_num_per_be = 1;
+
     /**
      * Size of export task thread pool, default is 5.
      */
@@ -1028,6 +1093,47 @@ public class Config extends ConfigBase {
     @ConfField(mutable = true)
     public static int backup_job_default_timeout_ms = 86400 * 1000; // 1 day
 
+    /**
+     * Number of threads used to download a single large file from the remote repository by byte ranges.
+     * Set to 1 to download files sequentially.
+     * Only applies to the files FE downloads itself, such as job info and meta files.
+     * Snapshot data files are downloaded by backends, see restore_download_task_num_per_be.
+     */
+    @ConfField(mutable = true)
+    public static int backup_blob_download_concurrency = 4;
+
+    /**
+     * Size of each byte range when downloading a large file in parallel.
+     * Files smaller than two parts are downloaded sequentially.
+     */
+    @ConfField(mutable = true)
+    public static long backup_blob_download_part_size_mb = 64;
+
+    /**
+     * Max number of concurrent range transfers against the same bucket,
+     * shared by all backup and restore jobs to avoid being throttled by the object store.
+     */
+    @ConfField
+    public static int backup_blob_transfer_concurrency_per_bucket = 16;
+
+    /**
+     * Buffer size used by FE when uploading a file to the remote repository through the broker.
+     */
+    @ConfField(mutable = true)
+    public static int backup_blob_upload_buffer_size_kb = 1024;
+
+    /**
+     * Max number of upload tasks sent to each backend by a backup job.
+     */
+    @ConfField(mutable = true)
+    public static int backup_upload_task_num_per_be = 3;
+
+    /**
+     * Max number of download tasks sent to each backend by a restore job.
+     */
+    @ConfField(mutable = true)
+    public static int restore_download_task_num_per_be = 3;
+
     // Set runtime locale when exec some cmds
     @ConfField
     public static String locale = "zh_CN.UTF-8";
@@ -1154,6 +1260,38 @@ public class Config extends ConfigBase {
     @ConfField(mutable = true, aliases = {"balance_load_disk_safe_threshold"})
     public static double tablet_sched_balance_load_disk_safe_threshold = 0.5; // 50%
 
+    /**
+     * For DiskAndTabletLoadBalancer:
+     * whether to move hot tablets away from heavily loaded backends after disk usage and
+     * tablet distribution are balanced. Tablet heat is collected by TabletStatMgr from
+     * the scan counts reported by backends and from load versions.
+     */
+    @ConfField(mutable = true)
+    public static boolean tablet_sched_enable_heat_balance = false;
+
+    /**
+     * For DiskAndTabletLoadBalancer:
+     * heat balance is triggered when (max workload - min workload) / avg workload of all backends
+     * exceeds this threshold.
+     */
+    @ConfField(mutable = true)
+    public static double tablet_sched_heat_balance_skew_threshold = 0.5;
+
+    /**
+     * For DiskAndTabletLoadBalancer:
+     * upper limit of replica bytes to move in one round of heat balance, to avoid a clone storm.
+     */
+    @ConfField(mutable = true)
+    public static long tablet_sched_heat_balance_max_bytes_per_round = 10L * 1024 * 1024 * 1024; // 10GB
+
+    /**
+     * For DiskAndTabletLoadBalancer:
+     * a tablet moved by heat balance will not be moved again by tablet distribution balance
+     * or heat balance within this period, to avoid moving it back and forth.
+     */
+    @ConfField(mutable = true)
+    public static long tablet_sched_heat_balance_cooldown_second = 3600;
+
     /**
      * the factor of delay time before deciding to repair tablet.
      * if priority is VERY_HIGH, repair it immediately.
@@ -1193,6 +1331,20 @@ public class Config extends ConfigBase {
     @ConfField(mutable = true)
     public static int tablet_checker_partition_batch_num = 500;
 
+    /**
+     * If true, tablet checker only checks dirty partitions in most rounds. A partition becomes dirty when
+     * replicas of it are changed by tablet report, or when it has replicas on dead or decommissioned backends.
+     * A full check of all partitions is still done every tablet_checker_full_check_interval_second as a safety net.
+     */
+    @ConfField(mutable = true)
+    public static boolean tablet_checker_enable_dirty_partition_check = true;
+
+    /**
+     * Interval of full check of all partitions when tablet_checker_enable_dirty_partition_check is true.
+     */
+    @ConfField(mutable = true)
+    public static long tablet_checker_full_check_interval_second = 1800;
+
     @Deprecated
     @ConfField(mutable = true)
     public static int report_queue_size = 100;
@@ -1209,6 +1361,13 @@ public class Config extends ConfigBase {
     @ConfField(mutable = true)
     public static int max_routine_load_job_num = 100;
 
+    /**
+     * the max number of target_tables of a kafka routine load job,
+     * every target table is planned for every task of the job
+     */
+    @ConfField(mutable = true)
+    public static int max_routine_load_target_table_num = 16;
+
     /**
      * the max concurrent routine load task num of a single routine load job
      */
@@ -1236,6 +1395,14 @@ public class Config extends ConfigBase {
     @ConfField(mutable = true)
     public static long routine_load_task_consume_second = 15;
 
+    /**
+     * Schedule kafka routine load tasks by the lag of partitions:
+     * a task only consumes about the bytes pending in its partitions, the partitions of a job with little lag
+     * are packed into one task, and a task leaves its previous BE if that BE is busier than the others.
+     */
+    @ConfField(mutable = true)
+    public static boolean enable_routine_load_adaptive_schedule = true;
+
     /**
      * routine load task timeout
      * should bigger than 2 * routine_load_task_consume_second
@@ -1479,6 +1646,21 @@ public class Config extends ConfigBase {
     @ConfField(mutable = true)
     public static long statistic_max_full_collect_data_size = 100L * 1024 * 1024 * 1024; // 100G
 
+    /**
+     * If true, the automatic full statistics collection only re-collects the partitions whose
+     * visible version changed since the last collection, and decides between full and sample
+     * collection by the data size of those partitions instead of the whole table.
+     */
+    @ConfField(mutable = true)
+    public static boolean enable_statistic_incremental_collect = true;
+
+    /**
+     * The resource group used by the scheduled statistics collection jobs.
+     * Empty means the collection queries are classified like normal queries.
+     */
+    @ConfField(mutable = true)
+    public static String statistic_collect_resource_group = "";
+
     /**
      * Max row count in statistics collect per query
      */
@@ -1515,6 +1697,27 @@ public class Config extends ConfigBase {
     @ConfField(mutable = true)
     public static long histogram_max_sample_row_count = 10000000;
 
+    /**
+     * Default histogram collect method, "sample" or "sketch".
+     * "sketch" collects the quantile sketches and NDV of all numeric columns of a partition in one scan,
+     * and only re-collects the changed partitions, the histogram is built from the merged sketches.
+     */
+    @ConfField(mutable = true)
+    public static String histogram_collect_method = "sample";
+
+    /**
+     * default most common value combinations size of multi-column statistics
+     */
+    @ConfField(mutable = true)
+    public static long multi_column_statistics_mcv_size = 100;
+
+    /**
+     * If set to true, the optimizer uses the multi-column statistics to estimate the selectivity of
+     * the conjunctive equal predicates and the cardinality of the multi-column group by
+     */
+    @ConfField(mutable = true)
+    public static boolean enable_multi_column_statistics = true;
+
     /**
      * If set to true, Planner will try to select replica of tablet on same host as this Frontend.
      * This may reduce network transmission in following case:
@@ -1866,6 +2069,15 @@ public class Config extends ConfigBase {
     @ConfField(mutable = true)
     public static int metadata_journal_max_batch_cnt = 100;
 
+    /**
+     * The maximum time in milliseconds JournalWriter may wait for more journals before committing a batch
+     * whose queue has drained. The actual wait adapts to the observed commit latency, so that a slow
+     * commit(e.g. waiting for replica acks) is amortized over a bigger batch.
+     * 0 means commit as soon as the queue is empty.
+     **/
+    @ConfField(mutable = true)
+    public static int metadata_journal_group_commit_max_wait_ms = 0;
+
     /**
      * jaeger tracing endpoint, empty thing disables tracing
      */
@@ -1875,6 +2087,12 @@ public class Config extends ConfigBase {
     @ConfField
     public static String lake_compaction_selector = "ScoreSelector";
 
+    /**
+     * The order of the partitions to compact of lake tables.
+     * ScoreSorter: by the compaction score.
+     * CostBasedSorter: by the compaction score weighted by the scan and load heat of the partition,
+     * see lake_compaction_scan_heat_weight and lake_compaction_load_heat_weight.
+     */
     @ConfField
     public static String lake_compaction_sorter = "ScoreSorter";
 
@@ -1897,6 +2115,29 @@ public class Config extends ConfigBase {
     @ConfField
     public static int lake_compaction_max_tasks = -1;
 
+    /**
+     * Max compaction tasks(tablets) running on one compute node, scaled down by the cpu usage of the node.
+     * A node can always run the tasks of at least one partition. -1 means no limit per node.
+     */
+    @ConfField(mutable = true)
+    public static int lake_compaction_max_tasks_per_node = -1;
+
+    /**
+     * For CostBasedSorter: half-life of partition scan and load heat.
+     */
+    @ConfField(mutable = true)
+    public static long lake_compaction_heat_half_life_second = 600;
+
+    /**
+     * For CostBasedSorter: weight of scan heat and load heat when calculating compaction priority,
+     * priority = (avg compaction score - 1) * (1 + scan weight * scan heat + load weight * load heat)
+     */
+    @ConfField(mutable = true)
+    public static double lake_compaction_scan_heat_weight = 1.0;
+
+    @ConfField(mutable = true)
+    public static double lake_compaction_load_heat_weight = 0.1;
+
     @ConfField(mutable = true)
     public static boolean enable_new_publish_mechanism = true;
 
@@ -1925,6 +2166,27 @@ public class Config extends ConfigBase {
     @ConfField(mutable = true)
     public static String profile_info_format = "default";
 
+    /**
+     * Whether to record the estimated and actual rows of each plan node from the query profile,
+     * and correct the cardinality estimation of the same sub plan in the following queries.
+     * Only takes effect for the queries with profile enabled.
+     */
+    @ConfField(mutable = true)
+    public static boolean enable_plan_feedback = false;
+
+    /**
+     * Max number of sub plans reserved by `PlanFeedbackManager`, the least recently used one is evicted.
+     */
+    @ConfField(mutable = true)
+    public static int plan_feedback_max_entry_num = 10000;
+
+    /**
+     * The feedback of a sub plan is only recorded when its actual rows differs from the estimated rows
+     * by more than this ratio.
+     */
+    @ConfField(mutable = true)
+    public static double plan_feedback_min_error_ratio = 2.0;
+
     /**
      * Max number of roles that can be granted to user including all direct roles and all parent roles
      * Used in new RBAC framework after 3.0 released
@@ -0,0 +1,83 @@
+// Copyright 2021-present StarRocks, Inc. All rights reserved.
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//     https://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+
+package com.starrocks.common.proc;
+
+import com.starrocks.common.AnalysisException;
+import com.starrocks.common.util.TimeUtils;
+import com.starrocks.lake.compaction.CompactionManager;
+import com.starrocks.lake.compaction.PartitionStatistics;
+import com.starrocks.lake.compaction.Quantiles;
+import com.starrocks.server.GlobalStateMgr;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/*
+ * SHOW PROC '/compaction_decisions'
+ * show the compaction priority of lake partitions and the last decision of compaction scheduler,
+ * sorted by priority in desc order.
+ */
+public class CompactionDecisionsProcNode implements ProcNodeInterface {
+    private List<String> titles = new ArrayList<>();
+
+    public CompactionDecisionsProcNode() {
+        titles.add("DbId");
+        titles.add("TableId");
+        titles.add("PartitionId");
+        titles.add("AvgScore");
+        titles.add("MaxScore");
+        titles.add("ScanHeat");
+        titles.add("LoadHeat");
+        titles.add("ReadAmpSaving");
+        titles.add("Priority");
+        titles.add("NextCompactionTime");
+        titles.add("LastDecision");
+    }
+
+    @Override
+    public ProcResult fetchResult() throws AnalysisException {
+        BaseProcResult result = new BaseProcResult();
+        result.setNames(titles);
+        CompactionManager compactionManager = GlobalStateMgr.getCurrentState().getCompactionManager();
+        if (compactionManager == null) {
+            return result;
+        }
+        long now = System.currentTimeMillis();
+        List<PartitionStatistics> statisticsList = compactionManager.getAllStatistics().stream()
+                .sorted(Comparator.comparingDouble((PartitionStatistics p) -> p.getCompactionPriority(now)).reversed())
+                .collect(Collectors.toList());
+        for (PartitionStatistics statistics : statisticsList) {
+            Quantiles compactionScore = statistics.getCompactionScore();
+            List<String> row = new ArrayList<>();
+            row.add(String.valueOf(statistics.getPartition().getDbId()));
+            row.add(String.valueOf(statistics.getPartition().getTableId()));
+            row.add(String.valueOf(statistics.getPartition().getPartitionId()));
+            row.add(compactionScore == null ? "" : String.format("%.2f", compactionScore.getAvg()));
+            row.add(compactionScore == null ? "" : String.format("%.2f", compactionScore.getMax()));
+            row.add(String.format("%.2f", statistics.getScanHeat(now)));
+            row.add(String.format("%.2f", statistics.getLoadHeat(now)));
+            row.add(String.format("%.2f", statistics.getPredictedReadAmpSaving()));
+            row.add(String.format("%.2f", statistics.getCompactionPriority(now)));
+            row.add(TimeUtils.longToTimeString(statistics.getNextCompactionTime()));
+            row.add(String.valueOf(statistics.getLastDecision()));
+
+            result.addRow(row);
+        }
+        return result;
+    }
+}
@@ -0,0 +1,65 @@
+// Copyright 2021-present StarRocks, Inc. All rights reserved.
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//     https://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+
+package com.starrocks.common.proc;
+
+import com.starrocks.common.AnalysisException;
+import com.starrocks.common.util.TimeUtils;
+import com.starrocks.sql.optimizer.statistics.PlanFeedbackManager;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/*
+ * SHOW PROC '/plan_feedback'
+ * show the sub plans recorded by plan feedback, sorted by the error ratio of cardinality estimation in desc order.
+ */
+public class PlanFeedbackProcNode implements ProcNodeInterface {
+    private List<String> titles = new ArrayList<>();
+
+    public PlanFeedbackProcNode() {
+        titles.add("Fingerprint");
+        titles.add("SubPlan");
+        titles.add("EstimatedRows");
+        titles.add("ActualRows");
+        titles.add("CorrectionFactor");
+        titles.add("ErrorRatio");
+        titles.add("UpdateTime");
+    }
+
+    @Override
+    public ProcResult fetchResult() throws AnalysisException {
+        BaseProcResult result = new BaseProcResult();
+        result.setNames(titles);
+        List<PlanFeedbackManager.FeedbackEntry> entries = PlanFeedbackManager.getInstance().getEntries().stream()
+                .sorted(Comparator.comparingDouble(PlanFeedbackManager.FeedbackEntry::getErrorRatio).reversed())
+                .collect(Collectors.toList());
+        for (PlanFeedbackManager.FeedbackEntry entry : entries) {
+            List<String> row = new ArrayList<>();
+            row.add(entry.getFingerprint());
+            row.add(entry.getDescription());
+            row.add(String.format("%.0f", entry.getEstimatedRows()));
+            row.add(String.valueOf(entry.getActualRows()));
+            row.add(String.format("%.4f", entry.getCorrectionFactor()));
+            row.add(String.format("%.2f", entry.getErrorRatio()));
+            row.add(TimeUtils.longToTimeString(entry.getUpdateTime()));
+
+            result.addRow(row);
+        }
+        return result;
+    }
+}
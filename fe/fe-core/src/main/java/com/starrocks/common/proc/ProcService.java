@@ -73,6 +73,8 @@ public final class ProcService {
         root.register("colocation_group", new ColocationGroupProcDir());
         root.register("catalog", GlobalStateMgr.getCurrentState().getCatalogMgr().getProcNode());
         root.register("compactions", new CompactionsProcNode());
+        root.register("compaction_decisions", new CompactionDecisionsProcNode());
+        root.register("plan_feedback", new PlanFeedbackProcNode());
     }
 
     // Get the corresponding PROC Node by the specified path
@@ -0,0 +1,137 @@
+// Copyright 2021-present StarRocks, Inc. All rights reserved.
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//     https://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package com.starrocks.common.util;
+
+import com.google.common.collect.Lists;
+import com.starrocks.common.Config;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Lock;
+
+/*
+ * Acquire metadata locks and detect deadlocks among them.
+ * A thread that can't get a lock in deadlock_detection_interval_ms registers the lock it's waiting for,
+ * then follows the wait-for chain through the exclusive owners of the locks. If the chain comes back to
+ * the current thread, a deadlock is reported with the stacks of all threads in the cycle.
+ * Shared owners are not visible from ReentrantReadWriteLock, so only cycles through exclusive owners
+ * can be detected.
+ * The detection only runs when enable_table_level_lock is true, otherwise the locks are acquired directly.
+ */
+public class DeadlockChecker {
+    private static final Logger LOG = LogManager.getLogger(DeadlockChecker.class);
+
+    // the longest wait-for chain to follow
+    private static final int MAX_CHAIN_LENGTH = 64;
+
+    // thread -> the lock it's waiting for
+    private static final Map<Thread, QueryableReentrantReadWriteLock> WAITING_THREADS = new ConcurrentHashMap<>();
+
+    private DeadlockChecker() {
+    }
+
+    public static void lock(QueryableReentrantReadWriteLock rwLock, Lock lock) {
+        if (!Config.enable_table_level_lock) {
+            lock.lock();
+            return;
+        }
+        // tryLock() without timeout doesn't honor the fairness setting, use a zero timeout instead
+        try {
+            if (lock.tryLock(0, TimeUnit.MILLISECONDS)) {
+                return;
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        Thread current = Thread.currentThread();
+        WAITING_THREADS.put(current, rwLock);
+        try {
+            while (true) {
+                try {
+                    if (lock.tryLock(Math.max(Config.deadlock_detection_interval_ms, 1), TimeUnit.MILLISECONDS)) {
+                        return;
+                    }
+                } catch (InterruptedException e) {
+                    // keep the semantic of Lock.lock(), which can't be interrupted
+                    LOG.warn("interrupted while waiting for lock, will continue to wait", e);
+                    current.interrupt();
+                    lock.lock();
+                    return;
+                }
+                List<Thread> cycle = findCycle(current, rwLock);
+                if (cycle != null) {
+                    logDeadlock(cycle);
+                }
+            }
+        } finally {
+            WAITING_THREADS.remove(current);
+        }
+    }
+
+    public static boolean tryLock(QueryableReentrantReadWriteLock rwLock, Lock lock, long timeout, TimeUnit unit)
+            throws InterruptedException {
+        if (!Config.enable_table_level_lock) {
+            return lock.tryLock(timeout, unit);
+        }
+        if (lock.tryLock(0, TimeUnit.MILLISECONDS)) {
+            return true;
+        }
+        Thread current = Thread.currentThread();
+        WAITING_THREADS.put(current, rwLock);
+        try {
+            return lock.tryLock(timeout, unit);
+        } finally {
+            WAITING_THREADS.remove(current);
+        }
+    }
+
+    /**
+     * Follow the exclusive owners from the lock `waitingFor`, return the threads in the cycle if the chain
+     * comes back to `start`, otherwise return null.
+     */
+    public static List<Thread> findCycle(Thread start, QueryableReentrantReadWriteLock waitingFor) {
+        List<Thread> chain = Lists.newArrayList(start);
+        QueryableReentrantReadWriteLock lock = waitingFor;
+        for (int i = 0; i < MAX_CHAIN_LENGTH && lock != null; i++) {
+            Thread owner = lock.getOwner();
+            if (owner == null) {
+                return null;
+            }
+            if (owner == start) {
+                return chain;
+            }
+            if (chain.contains(owner)) {
+                // a cycle not involving the start thread, it will be reported by the threads in it
+                return null;
+            }
+            chain.add(owner);
+            lock = WAITING_THREADS.get(owner);
+        }
+        return null;
+    }
+
+    private static void logDeadlock(List<Thread> cycle) {
+        StringBuilder sb = new StringBuilder("deadlock detected among ").append(cycle.size()).append(" threads:");
+        for (Thread thread : cycle) {
+            sb.append("\nthread id: ").append(thread.getId()).append(", name: ").append(thread.getName())
+                    .append(", stack: ").append(Util.dumpThread(thread, 50));
+        }
+        LOG.error(sb.toString());
+    }
+}
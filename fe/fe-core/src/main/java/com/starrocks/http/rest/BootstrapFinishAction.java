@@ -46,6 +46,8 @@ import com.starrocks.http.IllegalArgException;
 import com.starrocks.server.GlobalStateMgr;
 import io.netty.handler.codec.http.HttpMethod;
 
+import java.util.Map;
+
 /*
  * fe_host:fe_http_port/api/bootstrap
  * return:
@@ -61,6 +63,7 @@ public class BootstrapFinishAction extends RestBaseAction {
     public static final String RPC_PORT = "rpcPort";
     public static final String FE_START_TIME = "feStartTime";
     public static final String FE_VERSION = "feVersion";
+    public static final String PARTITION_SCAN_COUNTS = "partitionScanCounts";
 
     public BootstrapFinishAction(ActionController controller) {
         super(controller);
@@ -113,6 +116,11 @@ public class BootstrapFinishAction extends RestBaseAction {
                     result.setRpcPort(Config.rpc_port);
                     result.setFeStartTime(feStartTime);
                     result.setFeVersion(Version.STARROCKS_VERSION + "-" + Version.STARROCKS_COMMIT_HASH);
+                    if (!GlobalStateMgr.getCurrentState().isLeader()) {
+                        // the leader schedules lake compaction by the scans planned on all frontends
+                        result.setPartitionScanCounts(
+                                GlobalStateMgr.getCurrentState().getCompactionManager().drainPartitionScanCounts());
+                    }
                 }
             }
         } else {
@@ -131,6 +139,8 @@ public class BootstrapFinishAction extends RestBaseAction {
         private int rpcPort = 0;
         private long feStartTime = 0;
         private String feVersion;
+        // partition id -> number of scans of lake partitions planned on this frontend, null on the leader
+        private Map<Long, Long> partitionScanCounts;
 
         public BootstrapResult() {
             super();
@@ -180,6 +190,14 @@ public class BootstrapFinishAction extends RestBaseAction {
             this.feVersion = feVersion;
         }
 
+        public Map<Long, Long> getPartitionScanCounts() {
+            return partitionScanCounts;
+        }
+
+        public void setPartitionScanCounts(Map<Long, Long> partitionScanCounts) {
+            this.partitionScanCounts = partitionScanCounts;
+        }
+
         @Override
         public String toJson() {
             Gson gson = new Gson();
@@ -44,15 +44,21 @@ import com.starrocks.http.ActionController;
 import com.starrocks.http.BaseRequest;
 import com.starrocks.http.BaseResponse;
 import com.starrocks.http.IllegalArgException;
+import com.starrocks.load.streamload.StreamLoadGroupCommit;
+import com.starrocks.load.streamload.StreamLoadManager;
 import com.starrocks.server.GlobalStateMgr;
 import com.starrocks.system.Backend;
 import com.starrocks.thrift.TNetworkAddress;
 import com.starrocks.transaction.TransactionStatus;
+import io.netty.handler.codec.http.HttpHeaderNames;
 import io.netty.handler.codec.http.HttpMethod;
+import io.netty.handler.codec.http.HttpResponseStatus;
 import org.apache.commons.collections.CollectionUtils;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 
+import java.net.URI;
+import java.net.URISyntaxException;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
@@ -68,6 +74,7 @@ public class TransactionLoadAction extends RestBaseAction {
     private static final String TIMEOUT_KEY = "timeout";
     private static final String CHANNEL_NUM_STR = "channel_num";
     private static final String CHANNEL_ID_STR = "channel_id";
+    private static final String GROUP_COMMIT_KEY = "group_commit";
     private static TransactionLoadAction ac;
 
     private Map<String, Long> txnBackendMap = new LinkedHashMap<String, Long>(512, 0.75f, true) {
@@ -143,6 +150,52 @@ public class TransactionLoadAction extends RestBaseAction {
             throw new UserException("empty label.");
         }
 
+        // 0. stream loads in group commit mode share the transaction of the group commit of the table
+        StreamLoadManager streamLoadManager = GlobalStateMgr.getCurrentState().getStreamLoadManager();
+        if (op.equalsIgnoreCase(TXN_BEGIN) && channelIdStr == null
+                && "true".equalsIgnoreCase(request.getRequest().headers().get(GROUP_COMMIT_KEY))) {
+            TransactionResult resp = new TransactionResult();
+            long timeoutMillis = 20000;
+            if (timeout != null) {
+                timeoutMillis = Long.parseLong(timeout) * 1000;
+            }
+            streamLoadManager.beginGroupCommitLoad(dbName, tableName, label, timeoutMillis, resp);
+            sendResult(request, response, resp);
+            return;
+        }
+        StreamLoadGroupCommit groupCommit = channelIdStr == null ? streamLoadManager.getGroupCommit(label) : null;
+        if (groupCommit != null) {
+            TransactionResult resp = new TransactionResult();
+            if (op.equalsIgnoreCase(LOAD)) {
+                TNetworkAddress redirectAddr = streamLoadManager.executeGroupCommitLoad(
+                        label, request.getRequest().headers(), resp);
+                if (redirectAddr == null || !resp.stateOK() || resp.containMsg()) {
+                    sendResult(request, response, resp);
+                    return;
+                }
+                LOG.info("redirect group commit load to destination={}, db: {}, table: {}, label: {}, group label: {}",
+                        redirectAddr, dbName, tableName, label, groupCommit.getLabel());
+                redirectToGroupCommitChannel(request, response, redirectAddr, groupCommit.getLabel(),
+                        groupCommit.getChannelId(label));
+                return;
+            } else if (op.equalsIgnoreCase(TXN_COMMIT)) {
+                // the commit waits for the other loads of the group, so its response is sent asynchronously
+                // instead of blocking the http event loop, which has to serve the commits of the other loads
+                streamLoadManager.commitGroupCommitLoad(label, result -> {
+                    sendResult(request, response, result);
+                    // written out of the channel read, so it's not flushed by the http handler
+                    request.getContext().flush();
+                });
+                return;
+            } else if (op.equalsIgnoreCase(TXN_ROLLBACK)) {
+                streamLoadManager.rollbackGroupCommitLoad(label, resp);
+            } else {
+                throw new UserException("group commit stream load " + label + " does not support op " + op);
+            }
+            sendResult(request, response, resp);
+            return;
+        }
+
         // 1. handle commit/rollback PREPARED transaction
         if ((op.equalsIgnoreCase(TXN_COMMIT) || op.equalsIgnoreCase(TXN_ROLLBACK)) && channelIdStr == null) {
             TransactionResult resp = new TransactionResult();
@@ -275,5 +328,22 @@ public class TransactionLoadAction extends RestBaseAction {
                 redirectAddr, dbName, tableName, op, label);
         redirectTo(request, response, redirectAddr);
     }
+
+    // The label and the channel of the shared transaction are passed in the query string of the redirected
+    // request, since they differ from the label in the headers of a group commit load.
+    private void redirectToGroupCommitChannel(BaseRequest request, BaseResponse response, TNetworkAddress addr,
+                                              String groupLabel, int channelId) throws DdlException {
+        URI resultUriObj;
+        try {
+            URI urlObj = new URI(request.getRequest().uri());
+            resultUriObj = new URI("http", null, addr.getHostname(), addr.getPort(), urlObj.getPath(),
+                    LABEL_KEY + "=" + groupLabel + "&" + CHANNEL_ID_STR + "=" + channelId, null);
+        } catch (URISyntaxException e) {
+            LOG.warn(e.getMessage());
+            throw new DdlException(e.getMessage());
+        }
+        response.updateHeader(HttpHeaderNames.LOCATION.toString(), resultUriObj.toString());
+        writeResponse(request, response, HttpResponseStatus.TEMPORARY_REDIRECT);
+    }
 }
 
@@ -25,6 +25,7 @@ import org.apache.logging.log4j.Logger;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
 
 /**
  * An independent thread to write journals by batch asynchronously.
@@ -53,6 +54,18 @@ public class JournalWriter {
     private long startTimeNano;
     // batch size in bytes
     private long uncommittedEstimatedBytes;
+    // journal task taken from the queue while waiting for group commit, will be appended next
+    private JournalTask pendingJournal;
+    // time spent on waiting for more journals of this batch
+    private long groupCommitWaitMs;
+    // time spent on committing this batch
+    private long commitLatencyMs;
+    // the earliest betterCommitBeforeTime of the journals in this batch, -1 if none of them has one
+    private long batchCommitBeforeTimeMs;
+
+    // moving average of commit latency, used to decide how long to wait for group commit
+    protected double avgCommitLatencyMs = 0;
+    private static final double COMMIT_LATENCY_DECAY = 0.2;
 
     public JournalWriter(Journal journal, BlockingQueue<JournalTask> journalQueue) {
         this.journal = journal;
@@ -105,7 +118,7 @@ public class JournalWriter {
                     break;
                 }
 
-                currentJournal = journalQueue.take();
+                currentJournal = takeNextJournal();
             }
         } catch (JournalException e) {
             // abort current task
@@ -114,7 +127,9 @@ public class JournalWriter {
         } finally {
             try {
                 // commit
+                long commitStartNano = System.nanoTime();
                 journal.batchWriteCommit();
+                updateCommitLatency((System.nanoTime() - commitStartNano) / 1000000);
                 LOG.debug("batch write commit success, from {} - {}", nextVisibleJournalId, nextJournalId);
                 nextVisibleJournalId = nextJournalId;
                 markCurrentBatchSucceed();
@@ -139,9 +154,39 @@ public class JournalWriter {
     private void initBatch() {
         startTimeNano = System.nanoTime();
         uncommittedEstimatedBytes = 0;
+        groupCommitWaitMs = 0;
+        commitLatencyMs = 0;
+        batchCommitBeforeTimeMs = -1;
         currentBatchTasks.clear();
     }
 
+    private JournalTask takeNextJournal() throws InterruptedException {
+        if (pendingJournal != null) {
+            JournalTask task = pendingJournal;
+            pendingJournal = null;
+            return task;
+        }
+        return journalQueue.take();
+    }
+
+    private void updateCommitLatency(long latencyMs) {
+        commitLatencyMs = latencyMs;
+        avgCommitLatencyMs = avgCommitLatencyMs * (1 - COMMIT_LATENCY_DECAY) + latencyMs * COMMIT_LATENCY_DECAY;
+    }
+
+    /**
+     * The queue has drained, but it's worth waiting for more journals if a commit is expensive.
+     * We wait for half of the average commit latency at most, bounded by metadata_journal_group_commit_max_wait_ms,
+     * so a single journal is never delayed by more than the round trip it will pay anyway.
+     */
+    protected long getGroupCommitWaitMs() {
+        if (Config.metadata_journal_group_commit_max_wait_ms <= 0) {
+            return 0;
+        }
+        long remainMs = Math.min(Config.metadata_journal_group_commit_max_wait_ms, (long) (avgCommitLatencyMs / 2));
+        return remainMs - groupCommitWaitMs;
+    }
+
     private void markCurrentBatchSucceed() {
         for (JournalTask t : currentBatchTasks) {
             t.markSucceed();
@@ -168,13 +213,17 @@ public class JournalWriter {
         System.exit(-1);
     }
 
-    private boolean shouldCommitNow() {
-        // 1. check if is an emergency journal
-        if (currentJournal.getBetterCommitBeforeTime() > 0) {
-            long delayMillis = (System.nanoTime() - currentJournal.getBetterCommitBeforeTime()) / 1000000;
+    private boolean shouldCommitNow() throws InterruptedException {
+        // 1. check if is an emergency journal, or any journal of this batch expects to be committed by now
+        long commitBeforeTimeMs = currentJournal.getBetterCommitBeforeTime();
+        if (commitBeforeTimeMs > 0 && (batchCommitBeforeTimeMs < 0 || commitBeforeTimeMs < batchCommitBeforeTimeMs)) {
+            batchCommitBeforeTimeMs = commitBeforeTimeMs;
+        }
+        if (batchCommitBeforeTimeMs > 0) {
+            long delayMillis = System.currentTimeMillis() - batchCommitBeforeTimeMs;
             if (delayMillis >= 0) {
                 LOG.warn("journal expect commit before {} is delayed {} mills, will commit now",
-                        currentJournal.getBetterCommitBeforeTime(), delayMillis);
+                        batchCommitBeforeTimeMs, delayMillis);
                 return true;
             }
         }
@@ -194,8 +243,24 @@ public class JournalWriter {
             return true;
         }
 
-        // 4. no more journal in queue
-        return journalQueue.peek() == null;
+        // 4. more journals in queue
+        if (journalQueue.peek() != null) {
+            return false;
+        }
+
+        // 5. no more journal in queue, wait a while for group commit if commit is slow,
+        // but not beyond the time any journal of this batch expects to be committed
+        long waitMs = getGroupCommitWaitMs();
+        if (batchCommitBeforeTimeMs > 0) {
+            waitMs = Math.min(waitMs, batchCommitBeforeTimeMs - System.currentTimeMillis());
+        }
+        if (waitMs <= 0) {
+            return true;
+        }
+        long waitStartNano = System.nanoTime();
+        pendingJournal = journalQueue.poll(waitMs, TimeUnit.MILLISECONDS);
+        groupCommitWaitMs += (System.nanoTime() - waitStartNano) / 1000000;
+        return pendingJournal == null;
     }
 
     /**
@@ -207,6 +272,8 @@ public class JournalWriter {
             MetricRepo.HISTO_JOURNAL_WRITE_LATENCY.update((System.nanoTime() - startTimeNano) / 1000000);
             MetricRepo.HISTO_JOURNAL_WRITE_BATCH.update(currentBatchTasks.size());
             MetricRepo.HISTO_JOURNAL_WRITE_BYTES.update(uncommittedEstimatedBytes);
+            MetricRepo.HISTO_JOURNAL_COMMIT_LATENCY.update(commitLatencyMs);
+            MetricRepo.HISTO_JOURNAL_GROUP_COMMIT_WAIT.update(groupCommitWaitMs);
             MetricRepo.GAUGE_STACKED_JOURNAL_NUM.setValue((long) journalQueue.size());
 
             for (JournalTask e : currentBatchTasks) {
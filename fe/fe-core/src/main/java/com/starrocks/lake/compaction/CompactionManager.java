@@ -28,8 +28,10 @@ import java.io.DataOutput;
 import java.io.IOException;
 import java.lang.reflect.InvocationTargetException;
 import java.util.Collection;
+import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.stream.Collectors;
@@ -43,6 +45,9 @@ public class CompactionManager {
     private final ConcurrentHashMap<PartitionIdentifier, PartitionStatistics> partitionStatisticsHashMap =
             new ConcurrentHashMap<>();
 
+    // partition id -> number of scans since last scheduling, not persisted
+    private final ConcurrentHashMap<Long, Long> partitionScanCounts = new ConcurrentHashMap<>();
+
     private Selector selector;
     private Sorter sorter;
     private CompactionScheduler compactionScheduler;
@@ -82,6 +87,7 @@ public class CompactionManager {
             }
             v.setCurrentVersion(currentVersion);
             v.setCompactionScore(compactionScore);
+            v.addLoadHeat(1, System.currentTimeMillis());
             if (v.getCompactionVersion() == null) {
                 // Set version-1 as last compaction version
                 v.setCompactionVersion(new PartitionVersion(version - 1, versionTime));
@@ -115,8 +121,52 @@ public class CompactionManager {
         return choosePartitionsToCompact().stream().filter(p -> !excludes.contains(p)).collect(Collectors.toList());
     }
 
+    /**
+     * Called when a query planned on this FE scans the partition of a lake table.
+     */
+    public void handlePartitionScanned(long partitionId) {
+        handlePartitionScanned(partitionId, 1L);
+    }
+
+    /**
+     * Called on the leader with the scans planned on a follower, see {@link #drainPartitionScanCounts()}.
+     */
+    public void handlePartitionScanned(long partitionId, long scans) {
+        partitionScanCounts.merge(partitionId, scans, Long::sum);
+    }
+
+    /**
+     * Take the scans recorded since the last call, a follower sends them to the leader in the heartbeat response.
+     */
+    public Map<Long, Long> drainPartitionScanCounts() {
+        Map<Long, Long> counts = new HashMap<>();
+        for (Long partitionId : partitionScanCounts.keySet()) {
+            Long scans = partitionScanCounts.remove(partitionId);
+            if (scans != null) {
+                counts.put(partitionId, scans);
+            }
+        }
+        return counts;
+    }
+
+    private void applyPartitionScanCounts() {
+        if (partitionScanCounts.isEmpty()) {
+            return;
+        }
+        long now = System.currentTimeMillis();
+        for (PartitionStatistics statistics : partitionStatisticsHashMap.values()) {
+            Long scans = partitionScanCounts.remove(statistics.getPartition().getPartitionId());
+            if (scans != null) {
+                statistics.addScanHeat(scans, now);
+            }
+        }
+        // the rest partitions have never been loaded, no need to compact them
+        partitionScanCounts.clear();
+    }
+
     @NotNull
     List<PartitionIdentifier> choosePartitionsToCompact() {
+        applyPartitionScanCounts();
         List<PartitionStatistics> selection = sorter.sort(selector.select(partitionStatisticsHashMap.values()));
         return selection.stream().map(PartitionStatistics::getPartition).collect(Collectors.toList());
     }
@@ -147,6 +197,13 @@ public class CompactionManager {
         }
     }
 
+    void setLastDecision(PartitionIdentifier partition, String decision) {
+        PartitionStatistics statistics = partitionStatisticsHashMap.get(partition);
+        if (statistics != null) {
+            statistics.setLastDecision(decision);
+        }
+    }
+
     void removePartition(PartitionIdentifier partition) {
         partitionStatisticsHashMap.remove(partition);
     }
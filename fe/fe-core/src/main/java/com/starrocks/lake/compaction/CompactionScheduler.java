@@ -67,6 +67,10 @@ public class CompactionScheduler extends Daemon {
     private static final long MIN_COMPACTION_INTERVAL_MS_ON_FAILURE = 6000L;
     private static final long PARTITION_CLEAN_INTERVAL_SECOND = 30;
 
+    static final String DECISION_STARTED = "STARTED";
+    static final String DECISION_WAIT_NODE_BUDGET = "WAIT_NODE_BUDGET";
+    static final String DECISION_SKIPPED = "SKIPPED";
+
     private boolean finishedWaiting = false;
     private long waitTxnId = -1;
     private final CompactionManager compactionManager;
@@ -158,21 +162,57 @@ public class CompactionScheduler extends Daemon {
             return;
         }
 
+        // be id -> number of running tasks, used to budget compaction tasks per node
+        Map<Long, Integer> beToRunningTasks = new HashMap<>();
+        for (CompactionContext context : runningCompactions.values()) {
+            addRunningTasks(beToRunningTasks, context.getBeToTablets());
+        }
+
         List<PartitionIdentifier> partitions = compactionManager.choosePartitionsToCompact(runningCompactions.keySet());
         while (numRunningTasks < compactionLimit && index < partitions.size()) {
             PartitionIdentifier partition = partitions.get(index++);
-            CompactionContext context = startCompaction(partition);
+            CompactionContext context = startCompaction(partition, beToRunningTasks);
             if (context == null) {
                 continue;
             }
             numRunningTasks += context.getNumCompactionTasks();
+            addRunningTasks(beToRunningTasks, context.getBeToTablets());
             runningCompactions.put(partition, context);
+            compactionManager.setLastDecision(partition, DECISION_STARTED);
             if (LOG.isDebugEnabled()) {
                 LOG.debug("Created new compaction job. partition={} txnId={}", partition, context.getTxnId());
             }
         }
     }
 
+    private static void addRunningTasks(Map<Long, Integer> beToRunningTasks, Map<Long, List<Long>> beToTablets) {
+        for (Map.Entry<Long, List<Long>> entry : beToTablets.entrySet()) {
+            beToRunningTasks.merge(entry.getKey(), entry.getValue().size(), Integer::sum);
+        }
+    }
+
+    // Returns true if all nodes involved have enough budget to run the compaction tasks of the partition.
+    // A node can always run the tasks of one partition, otherwise a big partition may never be compacted.
+    boolean hasNodeBudget(Map<Long, List<Long>> beToTablets, Map<Long, Integer> beToRunningTasks) {
+        if (Config.lake_compaction_max_tasks_per_node < 0) {
+            return true;
+        }
+        for (Map.Entry<Long, List<Long>> entry : beToTablets.entrySet()) {
+            int runningTasks = beToRunningTasks.getOrDefault(entry.getKey(), 0);
+            if (runningTasks > 0 && runningTasks + entry.getValue().size() > compactionTaskLimitPerNode(entry.getKey())) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    // leave room for queries on busy nodes
+    private int compactionTaskLimitPerNode(long beId) {
+        Backend backend = systemInfoService.getBackend(beId);
+        int cpuUsedPermille = backend == null ? 0 : Math.min(1000, Math.max(0, backend.getCpuUsedPermille()));
+        return Math.max(1, Config.lake_compaction_max_tasks_per_node * (1000 - cpuUsedPermille) / 1000);
+    }
+
     private int compactionTaskLimit() {
         if (Config.lake_compaction_max_tasks >= 0) {
             return Config.lake_compaction_max_tasks;
@@ -206,7 +246,8 @@ public class CompactionScheduler extends Daemon {
         }
     }
 
-    private CompactionContext startCompaction(PartitionIdentifier partitionIdentifier) {
+    private CompactionContext startCompaction(PartitionIdentifier partitionIdentifier,
+                                              Map<Long, Integer> beToRunningTasks) {
         Database db = stateMgr.getDb(partitionIdentifier.getDbId());
         if (db == null) {
             compactionManager.removePartition(partitionIdentifier);
@@ -244,6 +285,13 @@ public class CompactionScheduler extends Daemon {
             beToTablets = collectPartitionTablets(partition);
             if (beToTablets.isEmpty()) {
                 compactionManager.enableCompactionAfter(partitionIdentifier, MIN_COMPACTION_INTERVAL_MS_ON_FAILURE);
+                compactionManager.setLastDecision(partitionIdentifier, DECISION_SKIPPED);
+                return null;
+            }
+
+            // try again in next round when the nodes are not so busy
+            if (!hasNodeBudget(beToTablets, beToRunningTasks)) {
+                compactionManager.setLastDecision(partitionIdentifier, DECISION_WAIT_NODE_BUDGET);
                 return null;
             }
 
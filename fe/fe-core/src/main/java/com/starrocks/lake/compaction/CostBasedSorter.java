@@ -0,0 +1,45 @@
+// Copyright 2021-present StarRocks, Inc. All rights reserved.
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//     https://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+
+package com.starrocks.lake.compaction;
+
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+import javax.validation.constraints.NotNull;
+
+/**
+ * Sort partitions by compaction priority instead of compaction score only, so that fragmented partitions which are
+ * scanned or loaded frequently are compacted before cold ones, see PartitionStatistics.getCompactionPriority.
+ */
+public class CostBasedSorter implements Sorter {
+    @Override
+    @NotNull
+    public List<PartitionStatistics> sort(@NotNull List<PartitionStatistics> partitionStatistics) {
+        long now = System.currentTimeMillis();
+        Map<PartitionStatistics, Double> priorities = new HashMap<>();
+        for (PartitionStatistics statistics : partitionStatistics) {
+            if (statistics.getCompactionScore() != null) {
+                priorities.put(statistics, statistics.getCompactionPriority(now));
+            }
+        }
+        return partitionStatistics.stream()
+                .filter(priorities::containsKey)
+                .sorted(Comparator.comparingDouble((PartitionStatistics p) -> priorities.get(p)).reversed())
+                .collect(Collectors.toList());
+    }
+}
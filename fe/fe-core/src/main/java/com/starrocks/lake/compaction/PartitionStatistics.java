@@ -15,8 +15,9 @@
 
 package com.starrocks.lake.compaction;
 
-import com.google.gson.Gson;
 import com.google.gson.annotations.SerializedName;
+import com.starrocks.common.Config;
+import com.starrocks.persist.gson.GsonUtils;
 
 import javax.annotation.Nullable;
 
@@ -32,6 +33,14 @@ public class PartitionStatistics {
     @SerializedName(value = "compactionScore")
     private Quantiles compactionScore;
 
+    // decayed number of recent scans and loads, not persisted
+    private double scanHeat;
+    private double loadHeat;
+    private long heatUpdateTime;
+    // last decision of compaction scheduler, not persisted. Written by the scheduler and read by the proc node
+    // without the lock of the compaction manager
+    private volatile String lastDecision;
+
     public PartitionStatistics(PartitionIdentifier partition) {
         this.partition = partition;
         this.compactionVersion = null;
@@ -83,8 +92,61 @@ public class PartitionStatistics {
         return compactionScore;
     }
 
+    public synchronized void addScanHeat(double scans, long now) {
+        decayHeat(now);
+        scanHeat += scans;
+    }
+
+    public synchronized void addLoadHeat(double loads, long now) {
+        decayHeat(now);
+        loadHeat += loads;
+    }
+
+    public synchronized double getScanHeat(long now) {
+        decayHeat(now);
+        return scanHeat;
+    }
+
+    public synchronized double getLoadHeat(long now) {
+        decayHeat(now);
+        return loadHeat;
+    }
+
+    private void decayHeat(long now) {
+        if (now <= heatUpdateTime) {
+            return;
+        }
+        double halfLifeMs = Math.max(1L, Config.lake_compaction_heat_half_life_second) * 1000.0;
+        double factor = Math.pow(0.5, (now - heatUpdateTime) / halfLifeMs);
+        scanHeat *= factor;
+        loadHeat *= factor;
+        heatUpdateTime = now;
+    }
+
+    // compaction merges the rowsets of a tablet into about one, so the score above one is the saving of
+    // read amplification
+    public double getPredictedReadAmpSaving() {
+        if (compactionScore == null) {
+            return 0;
+        }
+        return Math.max(0, compactionScore.getAvg() - 1);
+    }
+
+    public double getCompactionPriority(long now) {
+        return getPredictedReadAmpSaving() * (1 + Config.lake_compaction_scan_heat_weight * getScanHeat(now)
+                + Config.lake_compaction_load_heat_weight * getLoadHeat(now));
+    }
+
+    public void setLastDecision(String lastDecision) {
+        this.lastDecision = lastDecision;
+    }
+
+    public String getLastDecision() {
+        return lastDecision;
+    }
+
     @Override
     public String toString() {
-        return new Gson().toJson(this);
+        return GsonUtils.GSON.toJson(this);
     }
 }
@@ -56,6 +56,7 @@ import com.starrocks.catalog.Replica;
 import com.starrocks.catalog.Replica.ReplicaState;
 import com.starrocks.catalog.TabletInvertedIndex;
 import com.starrocks.catalog.TabletMeta;
+import com.starrocks.clone.TabletChecker;
 import com.starrocks.clone.TabletSchedCtx;
 import com.starrocks.common.Config;
 import com.starrocks.common.FeConstants;
@@ -389,6 +390,12 @@ public class ReportHandler extends Daemon {
                 tabletRecoveryMap,
                 tabletWithoutPartitionId);
 
+        // replicas of these tablets are changed, let tablet checker check them in next round
+        TabletChecker tabletChecker = GlobalStateMgr.getCurrentState().getTabletChecker();
+        tabletChecker.markTabletsDirty(tabletSyncMap.values());
+        tabletChecker.markTabletsDirty(tabletDeleteFromMeta.values());
+        tabletChecker.markTabletsDirty(tabletRecoveryMap.values());
+
         // 2. sync
         sync(backendTablets, tabletSyncMap, backendId, backendReportVersion);
 
@@ -34,6 +34,7 @@
 
 package com.starrocks.load;
 
+import com.google.common.annotations.VisibleForTesting;
 import com.google.common.base.Preconditions;
 import com.google.common.base.Strings;
 import com.google.common.collect.Lists;
@@ -56,6 +57,7 @@ import com.starrocks.catalog.PrimitiveType;
 import com.starrocks.catalog.Replica;
 import com.starrocks.catalog.Table;
 import com.starrocks.catalog.TabletInvertedIndex;
+import com.starrocks.catalog.TabletMeta;
 import com.starrocks.catalog.Type;
 import com.starrocks.common.Config;
 import com.starrocks.common.DdlException;
@@ -88,6 +90,7 @@ import com.starrocks.sql.ast.PartitionNames;
 import com.starrocks.system.Backend;
 import com.starrocks.task.AgentClient;
 import com.starrocks.thrift.TAgentResult;
+import com.starrocks.thrift.TFileFormatType;
 import com.starrocks.thrift.THdfsProperties;
 import com.starrocks.thrift.TInternalScanRange;
 import com.starrocks.thrift.TNetworkAddress;
@@ -117,8 +120,8 @@ import java.util.concurrent.atomic.AtomicInteger;
 //       because we may change job's member concurrently.
 //
 // export file name format:
-// <prefix>_<task-number>_<instance-number>_<file-number>.csv  (if include_query_id is false)
-// <prefix>_<query-id>_<task-number>_<instance-number>_<file-number>.csv
+// <prefix>_<task-number>_<instance-id>_<file-number>.<csv|parquet>  (if include_query_id is false)
+// <prefix>_<query-id>_<task-number>_<instance-id>_<file-number>.<csv|parquet>
 public class ExportJob implements Writable {
     private static final Logger LOG = LogManager.getLogger(ExportJob.class);
     // descriptor used to register all column and table need
@@ -162,6 +165,8 @@ public class ExportJob implements Writable {
     private boolean isReplayed = false;
     private Thread doExportingThread;
     private List<TScanRangeLocations> tabletLocations = Lists.newArrayList();
+    // statistics of the tasks, in the order of task index. they are not persisted
+    private final List<ExportTaskStatistic> taskStatistics = Lists.newArrayList();
 
     public ExportJob() {
         this.id = -1;
@@ -281,6 +286,7 @@ public class ExportJob implements Writable {
         if (tabletLocations == null) {
             // not olap scan node
             PlanFragment fragment = genPlanFragment(exportTable.getType(), scanNode, 0);
+            taskStatistics.add(new ExportTaskStatistic(0, -1L));
             scanNodes.add(scanNode);
             fragments.add(fragment);
         } else {
@@ -290,10 +296,45 @@ public class ExportJob implements Writable {
                 tablet.setLocations(locations.subList(0, 1));
             }
 
-            long maxBytesPerBe = Config.export_max_bytes_per_be_per_task;
-            TabletInvertedIndex invertedIndex = GlobalStateMgr.getCurrentInvertedIndex();
-            List<TScanRangeLocations> copyTabletLocations = Lists.newArrayList(tabletLocations);
-            int taskIdx = 0;
+            List<Pair<Long, List<TScanRangeLocations>>> tasks = splitTabletLocations(tabletLocations,
+                    GlobalStateMgr.getCurrentInvertedIndex(), Config.export_max_bytes_per_be_per_task);
+            for (int taskIdx = 0; taskIdx < tasks.size(); taskIdx++) {
+                OlapScanNode taskScanNode = genOlapScanNodeByLocation(tasks.get(taskIdx).second);
+                scanNodes.add(taskScanNode);
+                taskStatistics.add(new ExportTaskStatistic(taskIdx, tasks.get(taskIdx).first));
+                PlanFragment fragment = genPlanFragment(exportTable.getType(), taskScanNode, taskIdx);
+                fragment.setParallelExecNum(Math.max(1, Config.export_instance_num_per_be));
+                fragments.add(fragment);
+            }
+
+            LOG.info("total {} tablets of export job {}, and assign them to {} coordinators",
+                    tabletLocations.size(), id, fragments.size());
+        }
+
+        genCoordinators(stmt, fragments, scanNodes);
+    }
+
+    /**
+     * Split the tablets into tasks of (partition id, tablets). Tablets of different partitions are never mixed in
+     * one task, so that the files of a task belong to one partition. Within a partition, a task stops taking
+     * tablets from a backend once it has taken maxBytesPerBe bytes there.
+     */
+    @VisibleForTesting
+    static List<Pair<Long, List<TScanRangeLocations>>> splitTabletLocations(List<TScanRangeLocations> tabletLocations,
+                                                                            TabletInvertedIndex invertedIndex,
+                                                                            long maxBytesPerBe) {
+        Map<Long, List<TScanRangeLocations>> partitionToTabletLocations = Maps.newLinkedHashMap();
+        for (TScanRangeLocations scanRangeLocations : tabletLocations) {
+            long tabletId = scanRangeLocations.getScan_range().getInternal_scan_range().getTablet_id();
+            TabletMeta tabletMeta = invertedIndex.getTabletMeta(tabletId);
+            long partitionId = tabletMeta != null ? tabletMeta.getPartitionId() : -1L;
+            partitionToTabletLocations.computeIfAbsent(partitionId, k -> Lists.newArrayList())
+                    .add(scanRangeLocations);
+        }
+
+        List<Pair<Long, List<TScanRangeLocations>>> tasks = Lists.newArrayList();
+        for (Map.Entry<Long, List<TScanRangeLocations>> entry : partitionToTabletLocations.entrySet()) {
+            List<TScanRangeLocations> copyTabletLocations = Lists.newArrayList(entry.getValue());
             while (!copyTabletLocations.isEmpty()) {
                 Map<Long, Long> bytesPerBe = Maps.newHashMap();
                 List<TScanRangeLocations> taskTabletLocations = Lists.newArrayList();
@@ -312,18 +353,10 @@ public class ExportJob implements Writable {
                         iter.remove();
                     }
                 }
-
-                OlapScanNode taskScanNode = genOlapScanNodeByLocation(taskTabletLocations);
-                scanNodes.add(taskScanNode);
-                PlanFragment fragment = genPlanFragment(exportTable.getType(), taskScanNode, taskIdx++);
-                fragments.add(fragment);
+                tasks.add(Pair.create(entry.getKey(), taskTabletLocations));
             }
-
-            LOG.info("total {} tablets of export job {}, and assign them to {} coordinators",
-                    tabletLocations.size(), id, fragments.size());
         }
-
-        genCoordinators(stmt, fragments, scanNodes);
+        return tasks;
     }
 
     private ScanNode genScanNode() throws UserException {
@@ -382,8 +415,17 @@ public class ExportJob implements Writable {
         if (!brokerDesc.hasBroker()) {
             HdfsUtil.getTProperties(exportTempPath, brokerDesc, hdfsProperties);
         }
-        fragment.setSink(new ExportSink(exportTempPath, fileNamePrefix + taskIdx + "_", columnSeparator,
-                rowDelimiter, brokerDesc, hdfsProperties));
+        ExportSink exportSink = new ExportSink(exportTempPath, fileNamePrefix + taskIdx + "_", columnSeparator,
+                rowDelimiter, brokerDesc, hdfsProperties);
+        exportSink.setFileFormat(getFileFormat().equals(ExportStmt.FORMAT_PARQUET) ?
+                TFileFormatType.FORMAT_PARQUET : TFileFormatType.FORMAT_CSV_PLAIN);
+        exportSink.setMaxFileSizeBytes(getMaxFileSizeBytes());
+        List<String> fileColumnNames = Lists.newArrayList();
+        for (SlotDescriptor slotDesc : exportTupleDesc.getSlots()) {
+            fileColumnNames.add(slotDesc.getColumn().getName());
+        }
+        exportSink.setFileColumnNames(fileColumnNames);
+        fragment.setSink(exportSink);
         try {
             fragment.createDataSink(TResultSinkType.MYSQL_PROTOCAL);
         } catch (Exception e) {
@@ -491,6 +533,31 @@ public class ExportJob implements Writable {
         }
     }
 
+    public String getFileFormat() {
+        return properties.getOrDefault(ExportStmt.FORMAT_PROP, ExportStmt.FORMAT_CSV);
+    }
+
+    // 0 means the files are not split by size
+    public long getMaxFileSizeBytes() {
+        if (properties.containsKey(ExportStmt.MAX_FILE_SIZE_PROP)) {
+            return Long.parseLong(properties.get(ExportStmt.MAX_FILE_SIZE_PROP));
+        } else {
+            return 0;
+        }
+    }
+
+    public boolean isWriteManifest() {
+        return Boolean.parseBoolean(properties.get(ExportStmt.WRITE_MANIFEST_PROP));
+    }
+
+    public String getManifestPath() {
+        return exportPath + "__starrocks_export_manifest_" + queryId.toString();
+    }
+
+    public String getExportTempPath() {
+        return exportTempPath;
+    }
+
     public List<String> getPartitions() {
         return partitions;
     }
@@ -541,6 +608,29 @@ public class ExportJob implements Writable {
         LOG.debug("exported files: {}", this.exportedFiles);
     }
 
+    public Set<String> getExportedFiles() {
+        return this.exportedFiles;
+    }
+
+    public synchronized void updateTaskStatistic(int taskIdx, long rows, long bytes, int fileNum) {
+        if (taskIdx < 0 || taskIdx >= taskStatistics.size()) {
+            return;
+        }
+        ExportTaskStatistic statistic = taskStatistics.get(taskIdx);
+        statistic.rows = rows;
+        statistic.bytes = bytes;
+        statistic.fileNum = fileNum;
+        statistic.finished = true;
+    }
+
+    public synchronized List<ExportTaskStatistic> getTaskStatistics() {
+        List<ExportTaskStatistic> statistics = Lists.newArrayList();
+        for (ExportTaskStatistic statistic : taskStatistics) {
+            statistics.add(statistic.copy());
+        }
+        return statistics;
+    }
+
     public synchronized Thread getDoExportingThread() {
         return doExportingThread;
     }
@@ -908,6 +998,55 @@ public class ExportJob implements Writable {
         CANCELLED,
     }
 
+    // rows, bytes and files exported by one task, collected from the load counters reported by the backends
+    public static class ExportTaskStatistic {
+        private final int taskIdx;
+        // -1 if the task is not bound to a partition
+        private final long partitionId;
+        private long rows = 0;
+        private long bytes = 0;
+        private int fileNum = 0;
+        private boolean finished = false;
+
+        public ExportTaskStatistic(int taskIdx, long partitionId) {
+            this.taskIdx = taskIdx;
+            this.partitionId = partitionId;
+        }
+
+        public int getTaskIdx() {
+            return taskIdx;
+        }
+
+        public long getPartitionId() {
+            return partitionId;
+        }
+
+        public long getRows() {
+            return rows;
+        }
+
+        public long getBytes() {
+            return bytes;
+        }
+
+        public int getFileNum() {
+            return fileNum;
+        }
+
+        public boolean isFinished() {
+            return finished;
+        }
+
+        private ExportTaskStatistic copy() {
+            ExportTaskStatistic statistic = new ExportTaskStatistic(taskIdx, partitionId);
+            statistic.rows = rows;
+            statistic.bytes = bytes;
+            statistic.fileNum = fileNum;
+            statistic.finished = finished;
+            return statistic;
+        }
+    }
+
     // for only persist op when switching job state.
     public static class StateTransfer implements Writable {
         long jobId;
@@ -280,6 +280,26 @@ public class ExportMgr {
                 infoMap.put("mem limit", job.getMemLimit());
                 infoMap.put("coord num", job.getCoordList().size());
                 infoMap.put("tablet num", job.getTabletLocations() == null ? -1 : job.getTabletLocations().size());
+                infoMap.put("format", job.getFileFormat());
+                infoMap.put("max file size", job.getMaxFileSizeBytes());
+                long exportedRows = 0;
+                long exportedBytes = 0;
+                List<Map<String, Object>> taskStats = Lists.newArrayList();
+                for (ExportJob.ExportTaskStatistic statistic : job.getTaskStatistics()) {
+                    exportedRows += statistic.getRows();
+                    exportedBytes += statistic.getBytes();
+                    Map<String, Object> taskStat = Maps.newLinkedHashMap();
+                    taskStat.put("task", statistic.getTaskIdx());
+                    taskStat.put("partition id", statistic.getPartitionId());
+                    taskStat.put("finished", statistic.isFinished());
+                    taskStat.put("rows", statistic.getRows());
+                    taskStat.put("bytes", statistic.getBytes());
+                    taskStat.put("files", statistic.getFileNum());
+                    taskStats.add(taskStat);
+                }
+                infoMap.put("exported rows", exportedRows);
+                infoMap.put("exported bytes", exportedBytes);
+                infoMap.put("task stats", taskStats);
                 jobInfo.add(new Gson().toJson(infoMap));
                 // path
                 jobInfo.add(job.getExportPath());
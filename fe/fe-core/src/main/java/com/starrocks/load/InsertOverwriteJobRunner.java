@@ -316,6 +316,9 @@ public class InsertOverwriteJobRunner {
                 InsertOverwriteStateChangeInfo info = new InsertOverwriteStateChangeInfo(job.getJobId(), job.getJobState(),
                         InsertOverwriteJobState.OVERWRITE_SUCCESS, job.getSourcePartitionIds(), job.getTmpPartitionIds());
                 GlobalStateMgr.getCurrentState().getEditLog().logInsertOverwriteStateChange(info);
+                // the temp partitions which replaced the source partitions are checked in next round
+                GlobalStateMgr.getCurrentState().getTabletChecker().markPartitionsDirty(dbId, tableId,
+                        job.getTmpPartitionIds());
             }
         } catch (Exception e) {
             LOG.warn("replace partitions failed when insert overwrite into dbId:{}, tableId:{}",
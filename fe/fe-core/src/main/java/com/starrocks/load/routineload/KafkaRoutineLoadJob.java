@@ -106,6 +106,14 @@ public class KafkaRoutineLoadJob extends RoutineLoadJob {
     // kafka properties, property prefix will be mapped to kafka custom parameters, which can be extended in the future
     private Map<String, String> customProperties = Maps.newHashMap();
     private Map<String, String> convertedCustomProperties = Maps.newHashMap();
+    // the latest offsets of kafka partitions fetched when checking whether the tasks are ready to execute,
+    // which are used to compute the lag of the job. They are not persisted.
+    private final Map<Integer, Long> latestPartitionOffsets = Maps.newConcurrentMap();
+    // num and bytes of the kafka messages consumed by the committed tasks, to estimate the size of a message.
+    // Updated under the write lock of the job when a task is committed, and read under the read lock.
+    // They are not persisted, so the job uses the max batch size again after a restart or on a new leader.
+    private long consumedMessageNum = 0;
+    private long consumedMessageBytes = 0;
 
     public KafkaRoutineLoadJob() {
         // for serialization, id is dummy
@@ -215,6 +223,24 @@ public class KafkaRoutineLoadJob extends RoutineLoadJob {
 
     @Override
     public int calculateCurrentConcurrentTaskNum() throws MetaNotFoundException {
+        currentTaskConcurrentNum = getMaxConcurrentTaskNum();
+        if (Config.enable_routine_load_adaptive_schedule && currentTaskConcurrentNum > 1) {
+            long totalLag = getTotalLag();
+            if (totalLag >= 0 && totalLag < maxBatchRows) {
+                // one task is able to catch up with all partitions, pack them into one task
+                // to avoid committing many tiny transactions
+                LOG.info(new LogBuilder(LogKey.ROUTINE_LOAD_JOB, id)
+                        .add("total_lag", totalLag)
+                        .add("max_batch_rows", maxBatchRows)
+                        .add("msg", "pack all kafka partitions into one task")
+                        .build());
+                currentTaskConcurrentNum = 1;
+            }
+        }
+        return currentTaskConcurrentNum;
+    }
+
+    private int getMaxConcurrentTaskNum() {
         SystemInfoService systemInfoService = GlobalStateMgr.getCurrentSystemInfo();
         int aliveBeNum = systemInfoService.getAliveBackendNumber();
         int partitionNum = currentKafkaPartitions.size();
@@ -225,9 +251,64 @@ public class KafkaRoutineLoadJob extends RoutineLoadJob {
         LOG.debug("current concurrent task number is min"
                         + "(partition num: {}, desire task concurrent num: {}, alive be num: {}, config: {})",
                 partitionNum, desireTaskConcurrentNum, aliveBeNum, Config.max_routine_load_task_concurrent_num);
-        currentTaskConcurrentNum = Math.min(Math.min(partitionNum, Math.min(desireTaskConcurrentNum, aliveBeNum)),
+        return Math.min(Math.min(partitionNum, Math.min(desireTaskConcurrentNum, aliveBeNum)),
                 Config.max_routine_load_task_concurrent_num);
-        return currentTaskConcurrentNum;
+    }
+
+    public void updateLatestPartitionOffsets(Map<Integer, Long> latestOffsets) {
+        latestPartitionOffsets.putAll(latestOffsets);
+    }
+
+    // <partition id, lag>, the lag of a partition is unknown until a task of it has been checked to execute
+    public Map<Integer, Long> getPartitionLags() {
+        Map<Integer, Long> partitionLags = Maps.newHashMap();
+        for (Map.Entry<Integer, Long> entry : ((KafkaProgress) progress).getPartitionIdToOffset().entrySet()) {
+            Long latestOffset = latestPartitionOffsets.get(entry.getKey());
+            // OFFSET_BEGINNING and OFFSET_END have not been converted to the real offset yet
+            if (latestOffset == null || entry.getValue() < 0) {
+                continue;
+            }
+            partitionLags.put(entry.getKey(), Math.max(latestOffset - entry.getValue(), 0L));
+        }
+        return partitionLags;
+    }
+
+    // returns -1 if the lag of any current partition is unknown
+    private long getTotalLag() {
+        Map<Integer, Long> partitionLags = getPartitionLags();
+        long totalLag = 0;
+        for (Integer partition : currentKafkaPartitions) {
+            Long lag = partitionLags.get(partition);
+            if (lag == null) {
+                return -1L;
+            }
+            totalLag += lag;
+        }
+        return totalLag;
+    }
+
+    // Returns the max bytes a task should consume for the given lag. The bytes of the pending messages is
+    // estimated by the size of the consumed messages, so that a task of a slow topic finishes once it catches up,
+    // instead of occupying the BE slot until routine_load_task_consume_second is reached.
+    public long getAdaptiveBatchSize(long lag) {
+        long maxBatchSize = Config.max_routine_load_batch_size;
+        long messageNum;
+        long messageBytes;
+        readLock();
+        try {
+            messageNum = consumedMessageNum;
+            messageBytes = consumedMessageBytes;
+        } finally {
+            readUnlock();
+        }
+        if (!Config.enable_routine_load_adaptive_schedule || lag <= 0 || messageNum <= 0) {
+            return maxBatchSize;
+        }
+        long avgMessageBytes = Math.max(messageBytes / messageNum, 1L);
+        if (lag >= maxBatchSize / avgMessageBytes) {
+            return maxBatchSize;
+        }
+        return lag * avgMessageBytes;
     }
 
     // Through the transaction status and attachment information, to determine whether the progress needs to be updated.
@@ -266,9 +347,29 @@ public class KafkaRoutineLoadJob extends RoutineLoadJob {
     @Override
     protected void updateProgress(RLTaskTxnCommitAttachment attachment) throws UserException {
         super.updateProgress(attachment);
+        updateConsumedMessages(attachment);
         this.progress.update(attachment);
     }
 
+    private void updateConsumedMessages(RLTaskTxnCommitAttachment attachment) {
+        if (attachment.getProgress() == null) {
+            return;
+        }
+        long messageNum = 0;
+        Map<Integer, Long> committedOffsets = ((KafkaProgress) attachment.getProgress()).getPartitionIdToOffset();
+        for (Map.Entry<Integer, Long> entry : committedOffsets.entrySet()) {
+            Long offset = ((KafkaProgress) progress).getOffsetByPartition(entry.getKey());
+            if (offset != null && offset >= 0) {
+                // the committed offset is the offset of the last consumed message
+                messageNum += entry.getValue() + 1 - offset;
+            }
+        }
+        if (messageNum > 0) {
+            consumedMessageNum += messageNum;
+            consumedMessageBytes += attachment.getReceivedBytes();
+        }
+    }
+
     @Override
     protected void replayUpdateProgress(RLTaskTxnCommitAttachment attachment) {
         super.replayUpdateProgress(attachment);
@@ -304,7 +405,7 @@ public class KafkaRoutineLoadJob extends RoutineLoadJob {
         if (this.state == JobState.RUNNING || this.state == JobState.NEED_SCHEDULE) {
             if (customKafkaPartitions != null && customKafkaPartitions.size() != 0) {
                 currentKafkaPartitions = customKafkaPartitions;
-                return false;
+                return unprotectNeedRescheduleByLag();
             } else {
                 List<Integer> newCurrentKafkaPartition;
                 try {
@@ -332,7 +433,7 @@ public class KafkaRoutineLoadJob extends RoutineLoadJob {
                         }
                         return true;
                     } else {
-                        return false;
+                        return unprotectNeedRescheduleByLag();
                     }
                 } else {
                     currentKafkaPartitions = newCurrentKafkaPartition;
@@ -359,6 +460,23 @@ public class KafkaRoutineLoadJob extends RoutineLoadJob {
         }
     }
 
+    // Reschedule a running job if the packing of its partitions does not fit the lag anymore.
+    // Only do it when no task is running, so that no transaction will be aborted by the rescheduling.
+    private boolean unprotectNeedRescheduleByLag() {
+        if (!Config.enable_routine_load_adaptive_schedule || state != JobState.RUNNING
+                || routineLoadTaskInfoList.stream().anyMatch(RoutineLoadTaskInfo::isRunning)) {
+            return false;
+        }
+        long totalLag = getTotalLag();
+        if (totalLag < 0) {
+            return false;
+        }
+        if (currentTaskConcurrentNum <= 1) {
+            return totalLag >= maxBatchRows * 2 && getMaxConcurrentTaskNum() > 1;
+        }
+        return totalLag < maxBatchRows / 2;
+    }
+
     @Override
     protected String getStatistic() {
         Map<String, Object> summary = Maps.newHashMap();
@@ -368,9 +486,10 @@ public class KafkaRoutineLoadJob extends RoutineLoadJob {
         summary.put("unselectedRows", Long.valueOf(unselectedRows));
         summary.put("receivedBytes", Long.valueOf(receivedBytes));
         summary.put("taskExecuteTimeMs", Long.valueOf(totalTaskExcutionTimeMs));
-        summary.put("receivedBytesRate", Long.valueOf(receivedBytes / totalTaskExcutionTimeMs * 1000));
+        summary.put("receivedBytesRate", Long.valueOf(receivedBytes * 1000 / totalTaskExcutionTimeMs));
         summary.put("loadRowsRate",
-                Long.valueOf((totalRows - errorRows - unselectedRows) / totalTaskExcutionTimeMs * 1000));
+                Long.valueOf((totalRows - errorRows - unselectedRows) * 1000 / totalTaskExcutionTimeMs));
+        summary.put("lag", Long.valueOf(getPartitionLags().values().stream().mapToLong(Long::longValue).sum()));
         summary.put("committedTaskNum", Long.valueOf(committedTaskNum));
         summary.put("abortedTaskNum", Long.valueOf(abortedTaskNum));
         Gson gson = new GsonBuilder().disableHtmlEscaping().create();
@@ -396,6 +515,11 @@ public class KafkaRoutineLoadJob extends RoutineLoadJob {
             Table table = db.getTable(stmt.getTableName());
             Load.checkMergeCondition(stmt.getMergeConditionStr(), (OlapTable) table);
             tableId = table.getId();
+            // the load properties are applied to every target table as well
+            for (String targetTable : stmt.getTargetTables()) {
+                unprotectedCheckMeta(db, targetTable, stmt.getRoutineLoadDesc());
+                Load.checkMergeCondition(stmt.getMergeConditionStr(), (OlapTable) db.getTable(targetTable));
+            }
         } finally {
             db.readUnlock();
         }
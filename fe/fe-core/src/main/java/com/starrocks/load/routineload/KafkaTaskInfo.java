@@ -50,6 +50,7 @@ import com.starrocks.thrift.TFileFormatType;
 import com.starrocks.thrift.TKafkaLoadInfo;
 import com.starrocks.thrift.TLoadSourceType;
 import com.starrocks.thrift.TPlanFragment;
+import com.starrocks.thrift.TRoutineLoadTablePlan;
 import com.starrocks.thrift.TRoutineLoadTask;
 import com.starrocks.thrift.TUniqueId;
 import org.apache.logging.log4j.LogManager;
@@ -100,6 +101,7 @@ public class KafkaTaskInfo extends RoutineLoadTaskInfo {
                 kafkaRoutineLoadJob.getTopic(),
                 ImmutableMap.copyOf(kafkaRoutineLoadJob.getConvertedCustomProperties()),
                 new ArrayList<>(partitionIdToOffset.keySet()));
+        kafkaRoutineLoadJob.updateLatestPartitionOffsets(latestOffsets);
         for (Map.Entry<Integer, Long> entry : partitionIdToOffset.entrySet()) {
             int partitionId = entry.getKey();
             Long latestOffset = latestOffsets.get(partitionId);
@@ -168,10 +170,21 @@ public class KafkaTaskInfo extends RoutineLoadTaskInfo {
         tKafkaLoadInfo.setProperties(routineLoadJob.getConvertedCustomProperties());
         tRoutineLoadTask.setKafka_load_info(tKafkaLoadInfo);
         tRoutineLoadTask.setType(TLoadSourceType.KAFKA);
-        tRoutineLoadTask.setParams(plan(routineLoadJob));
+        tRoutineLoadTask.setParams(plan(routineLoadJob, queryId, null));
+        // every target table is loaded by its own plan fragment,
+        // and all of them are committed in the transaction of this task
+        for (String targetTable : routineLoadJob.getTargetTables()) {
+            UUID loadId = UUID.randomUUID();
+            TUniqueId tableLoadId = new TUniqueId(loadId.getMostSignificantBits(), loadId.getLeastSignificantBits());
+            TRoutineLoadTablePlan tablePlan = new TRoutineLoadTablePlan();
+            tablePlan.setTbl(targetTable);
+            tablePlan.setLoad_id(tableLoadId);
+            tablePlan.setParams(plan(routineLoadJob, tableLoadId, targetTable));
+            tRoutineLoadTask.addToTable_plans(tablePlan);
+        }
         tRoutineLoadTask.setMax_interval_s(Config.routine_load_task_consume_second);
         tRoutineLoadTask.setMax_batch_rows(routineLoadJob.getMaxBatchRows());
-        tRoutineLoadTask.setMax_batch_size(Config.max_routine_load_batch_size);
+        tRoutineLoadTask.setMax_batch_size(routineLoadJob.getAdaptiveBatchSize(getLag()));
         if (!routineLoadJob.getFormat().isEmpty() && routineLoadJob.getFormat().equalsIgnoreCase("json")) {
             tRoutineLoadTask.setFormat(TFileFormatType.FORMAT_JSON);
         } else {
@@ -180,16 +193,32 @@ public class KafkaTaskInfo extends RoutineLoadTaskInfo {
         return tRoutineLoadTask;
     }
 
+    // returns -1 if the lag is unknown
+    private long getLag() {
+        if (latestPartOffset == null) {
+            return -1L;
+        }
+        long lag = 0;
+        for (Map.Entry<Integer, Long> entry : partitionIdToOffset.entrySet()) {
+            Long latestOffset = latestPartOffset.get(entry.getKey());
+            if (latestOffset == null || entry.getValue() < 0) {
+                return -1L;
+            }
+            lag += Math.max(latestOffset - entry.getValue(), 0L);
+        }
+        return lag;
+    }
+
     @Override
     protected String getTaskDataSourceProperties() {
         Gson gson = new Gson();
         return gson.toJson(partitionIdToOffset);
     }
 
-    private TExecPlanFragmentParams plan(RoutineLoadJob routineLoadJob) throws UserException {
-        TUniqueId loadId = new TUniqueId(id.getMostSignificantBits(), id.getLeastSignificantBits());
+    private TExecPlanFragmentParams plan(RoutineLoadJob routineLoadJob, TUniqueId loadId, String targetTable)
+            throws UserException {
         // plan for each task, in case table has change(rollup or schema change)
-        TExecPlanFragmentParams tExecPlanFragmentParams = routineLoadJob.plan(loadId, txnId);
+        TExecPlanFragmentParams tExecPlanFragmentParams = routineLoadJob.plan(loadId, txnId, targetTable);
         TPlanFragment tPlanFragment = tExecPlanFragmentParams.getFragment();
         tPlanFragment.getOutput_sink().getOlap_table_sink().setTxn_id(txnId);
         return tExecPlanFragmentParams;
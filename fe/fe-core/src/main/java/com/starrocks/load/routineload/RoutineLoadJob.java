@@ -205,6 +205,7 @@ public abstract class RoutineLoadJob extends AbstractTxnStateChangeCallback impl
     private static final String PROPS_STRIP_OUTER_ARRAY = "strip_outer_array";
     private static final String PROPS_JSONPATHS = "jsonpaths";
     private static final String PROPS_JSONROOT = "json_root";
+    private static final String PROPS_TARGET_TABLES = "target_tables";
 
     protected int currentTaskConcurrentNum;
     protected RoutineLoadProgress progress;
@@ -305,6 +306,9 @@ public abstract class RoutineLoadJob extends AbstractTxnStateChangeCallback impl
         if (stmt.getMergeConditionStr() != null) {
             jobProperties.put(LoadStmt.MERGE_CONDITION, stmt.getMergeConditionStr());
         }
+        if (!stmt.getTargetTables().isEmpty()) {
+            jobProperties.put(PROPS_TARGET_TABLES, Joiner.on(",").join(stmt.getTargetTables()));
+        }
         if (Strings.isNullOrEmpty(stmt.getFormat()) || stmt.getFormat().equals("csv")) {
             jobProperties.put(PROPS_FORMAT, "csv");
             jobProperties.put(PROPS_STRIP_OUTER_ARRAY, "false");
@@ -407,6 +411,41 @@ public abstract class RoutineLoadJob extends AbstractTxnStateChangeCallback impl
         return tableId;
     }
 
+    // the tables which messages are routed to by message key, besides the table of the job
+    public List<String> getTargetTables() {
+        String targetTables = jobProperties.get(PROPS_TARGET_TABLES);
+        if (Strings.isNullOrEmpty(targetTables)) {
+            return Lists.newArrayList();
+        }
+        return Lists.newArrayList(targetTables.split(","));
+    }
+
+    // all the tables written by a task, which are committed in the transaction of the task
+    public List<Long> getTxnTableIds() throws MetaNotFoundException {
+        List<Long> tableIds = Lists.newArrayList(tableId);
+        List<String> targetTables = getTargetTables();
+        if (targetTables.isEmpty()) {
+            return tableIds;
+        }
+        Database database = GlobalStateMgr.getCurrentState().getDb(dbId);
+        if (database == null) {
+            throw new MetaNotFoundException("Database " + dbId + "has been deleted");
+        }
+        database.readLock();
+        try {
+            for (String targetTable : targetTables) {
+                Table table = database.getTable(targetTable);
+                if (table == null) {
+                    throw new MetaNotFoundException("Failed to find table " + targetTable + " in db " + dbId);
+                }
+                tableIds.add(table.getId());
+            }
+        } finally {
+            database.readUnlock();
+        }
+        return tableIds;
+    }
+
     public String getTableName() throws MetaNotFoundException {
         Database database = GlobalStateMgr.getCurrentState().getDb(dbId);
         if (database == null) {
@@ -704,15 +743,21 @@ public abstract class RoutineLoadJob extends AbstractTxnStateChangeCallback impl
     }
 
     public TExecPlanFragmentParams plan(TUniqueId loadId, long txnId) throws UserException {
+        return plan(loadId, txnId, null);
+    }
+
+    // plan the load of the given target table, or the table of the job if the target table is null
+    public TExecPlanFragmentParams plan(TUniqueId loadId, long txnId, String targetTable) throws UserException {
         Database db = GlobalStateMgr.getCurrentState().getDb(dbId);
         if (db == null) {
             throw new MetaNotFoundException("db " + dbId + " does not exist");
         }
         db.readLock();
         try {
-            Table table = db.getTable(this.tableId);
+            Table table = targetTable == null ? db.getTable(this.tableId) : db.getTable(targetTable);
             if (table == null) {
-                throw new MetaNotFoundException("table " + this.tableId + " does not exist");
+                throw new MetaNotFoundException("table " + (targetTable == null ? this.tableId : targetTable)
+                        + " does not exist");
             }
             StreamLoadPlanner planner =
                     new StreamLoadPlanner(db, (OlapTable) table, StreamLoadInfo.fromRoutineLoadJob(this));
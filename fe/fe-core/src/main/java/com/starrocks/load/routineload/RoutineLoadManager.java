@@ -72,6 +72,7 @@ import java.io.DataOutput;
 import java.io.DataOutputStream;
 import java.io.IOException;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
@@ -151,6 +152,23 @@ public class RoutineLoadManager implements Writable {
         }
     }
 
+    // Take a slot of the given be only if it does not run more than one task over the idlest be,
+    // otherwise returns -1 so that the task can be allocated to the idlest be.
+    public long takeBeTaskSlotIfBalanced(long beId) {
+        slotLock.lock();
+        try {
+            Integer taskNum = beTasksNum.get(beId);
+            if (taskNum == null || taskNum >= Config.max_routine_load_task_num_per_be
+                    || taskNum - Collections.min(beTasksNum.values()) > 1) {
+                return -1L;
+            }
+            beTasksNum.put(beId, taskNum + 1);
+            return beId;
+        } finally {
+            slotLock.unlock();
+        }
+    }
+
     public void releaseBeTaskSlot(long beId) {
         slotLock.lock();
         try {
@@ -191,15 +209,19 @@ public class RoutineLoadManager implements Writable {
             throws UserException {
         // check load auth, in new RBAC framework, create routine load will be checked in PrivilegeCheckerV2
         if (!GlobalStateMgr.getCurrentState().isUsingNewPrivilege()) {
-            if (!GlobalStateMgr.getCurrentState().getAuth().checkTblPriv(ConnectContext.get(),
-                                                                         createRoutineLoadStmt.getDBName(),
-                                                                         createRoutineLoadStmt.getTableName(),
-                                                                         PrivPredicate.LOAD)) {
-                ErrorReport.reportAnalysisException(ErrorCode.ERR_TABLEACCESS_DENIED_ERROR, "LOAD",
-                                                    ConnectContext.get().getQualifiedUser(),
-                                                    ConnectContext.get().getRemoteIP(),
-                                                    createRoutineLoadStmt.getDBName(),
-                                                    createRoutineLoadStmt.getTableName());
+            List<String> tableNames = Lists.newArrayList(createRoutineLoadStmt.getTableName());
+            tableNames.addAll(createRoutineLoadStmt.getTargetTables());
+            for (String tableName : tableNames) {
+                if (!GlobalStateMgr.getCurrentState().getAuth().checkTblPriv(ConnectContext.get(),
+                                                                             createRoutineLoadStmt.getDBName(),
+                                                                             tableName,
+                                                                             PrivPredicate.LOAD)) {
+                    ErrorReport.reportAnalysisException(ErrorCode.ERR_TABLEACCESS_DENIED_ERROR, "LOAD",
+                                                        ConnectContext.get().getQualifiedUser(),
+                                                        ConnectContext.get().getRemoteIP(),
+                                                        createRoutineLoadStmt.getDBName(),
+                                                        tableName);
+                }
             }
         }
         RoutineLoadJob routineLoadJob = null;
@@ -357,7 +357,12 @@ public class RoutineLoadTaskScheduler extends LeaderDaemon {
     // throw exception if unrecoverable errors happen.
     private boolean allocateTaskToBe(RoutineLoadTaskInfo routineLoadTaskInfo) {
         if (routineLoadTaskInfo.getPreviousBeId() != -1L) {
-            if (routineLoadManager.takeBeTaskSlot(routineLoadTaskInfo.getPreviousBeId()) != -1L) {
+            long previousBeId = routineLoadTaskInfo.getPreviousBeId();
+            // keep using the previous be unless it is busier than the others
+            long beId = Config.enable_routine_load_adaptive_schedule
+                    ? routineLoadManager.takeBeTaskSlotIfBalanced(previousBeId)
+                    : routineLoadManager.takeBeTaskSlot(previousBeId);
+            if (beId != -1L) {
                 if (LOG.isDebugEnabled()) {
                     LOG.debug(new LogBuilder(LogKey.ROUTINE_LOAD_TASK, routineLoadTaskInfo.getId())
                             .add("job_id", routineLoadTaskInfo.getJobId())
@@ -370,7 +375,7 @@ public class RoutineLoadTaskScheduler extends LeaderDaemon {
             }
         }
 
-        // the previous BE is not available, try to find a better one
+        // the previous BE is not available or busy, try to find a better one
         long beId = routineLoadManager.takeBeTaskSlot();
         if (beId < 0) {
             return false;
@@ -0,0 +1,413 @@
+// Copyright 2021-present StarRocks, Inc. All rights reserved.
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//     https://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package com.starrocks.load.streamload;
+
+import com.google.common.base.Strings;
+import com.google.common.collect.Maps;
+import com.google.common.collect.Sets;
+import com.starrocks.common.Config;
+import com.starrocks.http.rest.TransactionResult;
+import com.starrocks.metric.MetricRepo;
+import com.starrocks.thrift.TNetworkAddress;
+import io.netty.handler.codec.http.HttpHeaders;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+// A group commit window of a table.
+// The stream loads which begin in group commit mode within the window join the group. Each of them writes its
+// data through its own channel of one shared StreamLoadTask, and they are committed by the transaction of that
+// task once the window is closed and every member has asked to commit.
+// A commit request does not block the caller, its result is delivered by a callback when the group is finished.
+// A member which has not loaded any data can be excluded from the group, by a rollback or by missing the deadline,
+// without affecting the others, since its channel is empty. The rows of a member which has loaded are already
+// written into the shared transaction, so its rollback or failure aborts the whole group.
+public class StreamLoadGroupCommit {
+    private static final Logger LOG = LogManager.getLogger(StreamLoadGroupCommit.class);
+
+    private final StreamLoadTask task;
+    private final long createTimeMs;
+    private final long deadlineMs;
+    // commits and aborts the shared transaction, and checks the group when the window or the deadline is reached
+    private final ScheduledExecutorService executor;
+    // label of the member load -> the channel of the shared task it writes to
+    private final Map<String, Integer> memberToChannel = Maps.newHashMap();
+    private final Set<String> committedMembers = Sets.newHashSet();
+    // members which have been redirected to their channels, so their data may be in the shared transaction
+    private final Set<String> loadedMembers = Sets.newHashSet();
+    // label of the member load -> the reason why it is excluded from the group
+    private final Map<String, String> excludedMembers = Maps.newHashMap();
+    // label of the member load -> the callback of its commit request which is waiting for the group
+    private final Map<String, Consumer<TransactionResult>> pendingCommits = Maps.newLinkedHashMap();
+    // the values of the plan headers of the first load, which plans the shared task
+    private Map<String, String> planHeaders = null;
+
+    // no more member can join a closed group
+    private boolean closed = false;
+    // the shared transaction is being committed or aborted
+    private boolean committing = false;
+    private boolean finished = false;
+    private String errorMsg = null;
+    private long commitTimeMs = -1;
+
+    public StreamLoadGroupCommit(StreamLoadTask task, long createTimeMs, long timeoutMs,
+                                 ScheduledExecutorService executor) {
+        this.task = task;
+        this.createTimeMs = createTimeMs;
+        this.deadlineMs = createTimeMs + timeoutMs;
+        this.executor = executor;
+    }
+
+    public StreamLoadTask getTask() {
+        return task;
+    }
+
+    public String getLabel() {
+        return task.getLabel();
+    }
+
+    public synchronized int getMemberNum() {
+        return memberToChannel.size();
+    }
+
+    public synchronized boolean isFinished() {
+        return finished;
+    }
+
+    public synchronized Integer getChannelId(String label) {
+        return memberToChannel.get(label);
+    }
+
+    private boolean isWindowClosed(long currentMs) {
+        return closed || currentMs - createTimeMs >= Config.stream_load_group_commit_interval_ms;
+    }
+
+    // Check the group when the window is closed and when the deadline is reached, in case no commit request
+    // comes in at those moments.
+    public void scheduleCheck() {
+        long currentMs = System.currentTimeMillis();
+        long windowCloseMs = createTimeMs + Config.stream_load_group_commit_interval_ms;
+        executor.schedule(() -> checkCommit(System.currentTimeMillis()),
+                Math.max(0, windowCloseMs - currentMs), TimeUnit.MILLISECONDS);
+        executor.schedule(() -> checkCommit(System.currentTimeMillis()),
+                Math.max(0, deadlineMs - currentMs), TimeUnit.MILLISECONDS);
+    }
+
+    // Return the channel assigned to the new member, or -1 if the group does not accept new members.
+    // Every member has its own channel, since a channel can't take concurrent loads.
+    public synchronized int join(String label, long currentMs) {
+        if (finished || committing || isWindowClosed(currentMs) || memberToChannel.size() >= task.getChannelNum()) {
+            closed = true;
+            return -1;
+        }
+        int channelId = memberToChannel.size();
+        memberToChannel.put(label, channelId);
+        if (memberToChannel.size() >= task.getChannelNum()) {
+            closed = true;
+        }
+        return channelId;
+    }
+
+    public TNetworkAddress load(String label, HttpHeaders headers, TransactionResult resp) {
+        Integer channelId;
+        synchronized (this) {
+            channelId = memberToChannel.get(label);
+            if (channelId == null) {
+                resp.setErrorMsg("stream load " + label + " is not a member of group commit " + getLabel());
+                return null;
+            }
+            if (excludedMembers.containsKey(label)) {
+                resp.setErrorMsg("stream load " + label + " can not load data any more, it is aborted: "
+                        + excludedMembers.get(label));
+                return null;
+            }
+            if (finished || committing || committedMembers.contains(label)) {
+                resp.setErrorMsg("stream load " + label + " can not load data any more, group commit " + getLabel()
+                        + " is " + (!finished ? "committing" : errorMsg == null ? "committed" : "aborted: " + errorMsg));
+                return null;
+            }
+            String mismatchKey = checkPlanHeaders(headers);
+            if (mismatchKey != null) {
+                resp.setErrorMsg("stream load " + label + " has different '" + mismatchKey + "' from the other loads of "
+                        + "group commit " + getLabel());
+                return null;
+            }
+            // count the member as loaded before it may be redirected, so that it can't be excluded meanwhile
+            loadedMembers.add(label);
+        }
+        TNetworkAddress redirectAddr = task.tryLoad(channelId, resp);
+        if (redirectAddr == null && resp.stateOK() && !resp.containMsg()) {
+            // the first load of the group plans the shared task with its headers
+            redirectAddr = task.executeTask(channelId, headers, resp);
+        }
+        if (redirectAddr == null) {
+            // no data is sent to the channel
+            synchronized (this) {
+                loadedMembers.remove(label);
+            }
+        }
+        return redirectAddr;
+    }
+
+    // All the loads of a group share one plan, so they must have the same plan headers.
+    // Return the key of the first header which differs from the first load, or null if none.
+    private String checkPlanHeaders(HttpHeaders headers) {
+        Map<String, String> values = Maps.newHashMap();
+        for (String key : StreamLoadParam.PLAN_HEADER_KEYS) {
+            values.put(key, Strings.nullToEmpty(headers.get(key)));
+        }
+        if (planHeaders == null) {
+            planHeaders = values;
+            return null;
+        }
+        for (String key : StreamLoadParam.PLAN_HEADER_KEYS) {
+            if (!Objects.equals(planHeaders.get(key), values.get(key))) {
+                return key;
+            }
+        }
+        return null;
+    }
+
+    // Ask to commit the member. The callback is called with the result once the shared transaction is committed
+    // or aborted. The member which finds the window closed and all members committed triggers the commit of the
+    // whole group, which runs in the executor.
+    public void commit(String label, Consumer<TransactionResult> callback) {
+        TransactionResult resp = null;
+        synchronized (this) {
+            if (!memberToChannel.containsKey(label)) {
+                resp = new TransactionResult();
+                resp.setErrorMsg("stream load " + label + " is not a member of group commit " + getLabel());
+            } else if (finished || excludedMembers.containsKey(label)) {
+                resp = new TransactionResult();
+                fillResult(label, resp);
+            } else {
+                committedMembers.add(label);
+                pendingCommits.put(label, callback);
+            }
+        }
+        if (resp != null) {
+            callback.accept(resp);
+            return;
+        }
+        checkCommit(System.currentTimeMillis());
+    }
+
+    // Commit the group if the window is closed and all the members not excluded have asked to commit.
+    // Once the deadline is reached, the members which have not loaded any data are excluded, and the group is
+    // aborted only if a member which has loaded data still has not asked to commit.
+    void checkCommit(long currentMs) {
+        boolean abort;
+        synchronized (this) {
+            if (finished || committing) {
+                return;
+            }
+            if (currentMs >= deadlineMs) {
+                closed = true;
+                for (String label : memberToChannel.keySet()) {
+                    if (!committedMembers.contains(label) && !loadedMembers.contains(label)
+                            && !excludedMembers.containsKey(label)) {
+                        exclude(label, "stream load " + label + " has not loaded any data before the deadline of "
+                                + "group commit " + getLabel());
+                    }
+                }
+            }
+            if (isWindowClosed(currentMs) && allMembersCommitted()) {
+                abort = false;
+            } else if (currentMs >= deadlineMs) {
+                abort = true;
+            } else {
+                return;
+            }
+            closed = true;
+            committing = true;
+        }
+        executor.execute(() -> {
+            if (abort) {
+                abortTxn("group commit " + getLabel() + " timeout waiting for all members to commit");
+            } else {
+                commitTxn();
+            }
+        });
+    }
+
+    private boolean allMembersCommitted() {
+        return memberToChannel.keySet().stream()
+                .allMatch(label -> committedMembers.contains(label) || excludedMembers.containsKey(label));
+    }
+
+    // Exclude a member which has not loaded any data. Return the callback of its pending commit request if any,
+    // which should be answered out of the lock.
+    private Consumer<TransactionResult> exclude(String label, String reason) {
+        excludedMembers.put(label, reason);
+        committedMembers.remove(label);
+        LOG.info("exclude stream load {} from group commit {}: {}", label, getLabel(), reason);
+        return pendingCommits.remove(label);
+    }
+
+    // Roll back a member. A member which has not loaded any data is excluded and the others go on, otherwise
+    // its data can't be separated from the others, so the shared transaction is aborted.
+    public void rollback(String label, TransactionResult resp) {
+        String reason = "stream load " + label + " of group commit " + getLabel() + " is aborted by user";
+        Consumer<TransactionResult> excludedCallback = null;
+        boolean abortGroup;
+        synchronized (this) {
+            if (!memberToChannel.containsKey(label)) {
+                resp.setErrorMsg("stream load " + label + " is not a member of group commit " + getLabel());
+                return;
+            }
+            if (finished || committing) {
+                resp.setOKMsg("stream load " + label + " abort fail, group commit " + getLabel()
+                        + " is committing or finished");
+                return;
+            }
+            abortGroup = loadedMembers.contains(label);
+            if (abortGroup) {
+                closed = true;
+                committing = true;
+            } else if (!excludedMembers.containsKey(label)) {
+                excludedCallback = exclude(label, reason);
+            }
+        }
+        if (abortGroup) {
+            abortTxn(reason);
+        } else {
+            if (excludedCallback != null) {
+                TransactionResult excludedResp = new TransactionResult();
+                synchronized (this) {
+                    fillResult(label, excludedResp);
+                }
+                excludedCallback.accept(excludedResp);
+            }
+            // the others may be all committed now
+            checkCommit(System.currentTimeMillis());
+        }
+        resp.addResultEntry("Label", label);
+        resp.addResultEntry("GroupCommitLabel", getLabel());
+        resp.setOKMsg("stream load " + label + " abort");
+    }
+
+    private void abortTxn(String reason) {
+        String cancelMsg = task.cancelTask(reason);
+        finish(cancelMsg == null ? reason : reason + ", " + cancelMsg);
+    }
+
+    private void commitTxn() {
+        long startTimeMs = System.currentTimeMillis();
+        boolean hasData;
+        Map<String, Integer> committedChannels = Maps.newLinkedHashMap();
+        synchronized (this) {
+            hasData = !loadedMembers.isEmpty();
+            memberToChannel.entrySet().stream()
+                    .filter(entry -> !excludedMembers.containsKey(entry.getKey()))
+                    .sorted(Map.Entry.comparingByValue())
+                    .forEach(entry -> committedChannels.put(entry.getKey(), entry.getValue()));
+        }
+        if (!hasData) {
+            task.cancelTask("no data loaded by group commit " + getLabel());
+            finish("no data loaded by group commit " + getLabel());
+            return;
+        }
+
+        TransactionResult groupResp = new TransactionResult();
+        try {
+            for (Map.Entry<String, Integer> entry : committedChannels.entrySet()) {
+                task.prepareChannel(entry.getValue(), null, groupResp);
+                if (!groupResp.stateOK()) {
+                    groupResp.setErrorMsg("failed to prepare the channel of stream load " + entry.getKey() + ": "
+                            + groupResp.msg);
+                    break;
+                }
+            }
+            // The channels of the excluded members and the unused ones carry no data. They are closed as well,
+            // since the shared plan reads every channel and can't finish until all of them are closed.
+            for (int channelId = 0; channelId < task.getChannelNum() && groupResp.stateOK(); channelId++) {
+                if (!committedChannels.containsValue(channelId)) {
+                    task.prepareChannel(channelId, null, groupResp);
+                }
+            }
+            if (groupResp.stateOK() && task.checkNeedPrepareTxn()) {
+                task.waitCoordFinishAndPrepareTxn(groupResp);
+            }
+            if (groupResp.stateOK()) {
+                task.commitTxn(groupResp);
+            }
+        } catch (Exception e) {
+            groupResp.setErrorMsg(e.getMessage());
+        }
+
+        if (task.isCommitted()) {
+            long commitLatencyMs = System.currentTimeMillis() - startTimeMs;
+            if (MetricRepo.isInit) {
+                MetricRepo.HISTO_STREAM_LOAD_GROUP_COMMIT_BATCH.update(committedChannels.size());
+                MetricRepo.HISTO_STREAM_LOAD_GROUP_COMMIT_LATENCY.update(commitLatencyMs);
+            }
+            LOG.info("group commit {} committed {} stream loads. db: {}, tbl: {}, cost: {}ms",
+                    getLabel(), committedChannels.size(), task.getDBName(), task.getTableName(), commitLatencyMs);
+            finish(null);
+        } else {
+            String reason = groupResp.stateOK() ? "group commit " + getLabel() + " is not committed: " + groupResp.msg
+                    : groupResp.msg;
+            task.cancelTask(reason);
+            finish(reason);
+        }
+    }
+
+    // Finish the group and answer the pending commit requests.
+    private void finish(String errorMsg) {
+        Map<String, TransactionResult> results = Maps.newLinkedHashMap();
+        Map<String, Consumer<TransactionResult>> callbacks;
+        synchronized (this) {
+            this.errorMsg = errorMsg;
+            this.commitTimeMs = System.currentTimeMillis();
+            this.finished = true;
+            callbacks = Maps.newLinkedHashMap(pendingCommits);
+            pendingCommits.clear();
+            for (String label : callbacks.keySet()) {
+                TransactionResult resp = new TransactionResult();
+                fillResult(label, resp);
+                results.put(label, resp);
+            }
+        }
+        for (Map.Entry<String, Consumer<TransactionResult>> entry : callbacks.entrySet()) {
+            try {
+                entry.getValue().accept(results.get(entry.getKey()));
+            } catch (Exception e) {
+                LOG.warn("failed to reply the commit of stream load {} in group commit {}",
+                        entry.getKey(), getLabel(), e);
+            }
+        }
+    }
+
+    private void fillResult(String label, TransactionResult resp) {
+        resp.addResultEntry("Label", label);
+        resp.addResultEntry("GroupCommitLabel", getLabel());
+        resp.addResultEntry("TxnId", task.getTxnId());
+        resp.addResultEntry("GroupCommitLoads", memberToChannel.size() - excludedMembers.size());
+        if (excludedMembers.containsKey(label)) {
+            resp.setErrorMsg(excludedMembers.get(label));
+        } else if (errorMsg != null) {
+            resp.setErrorMsg(errorMsg);
+        } else {
+            resp.addResultEntry("GroupCommitTimeMs", commitTimeMs - createTimeMs);
+            resp.setOKMsg("stream load " + label + " commit with group commit " + getLabel());
+        }
+    }
+}
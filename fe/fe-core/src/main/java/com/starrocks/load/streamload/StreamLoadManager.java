@@ -21,9 +21,11 @@ import com.starrocks.catalog.MaterializedView;
 import com.starrocks.catalog.OlapTable;
 import com.starrocks.catalog.Table;
 import com.starrocks.common.AnalysisException;
+import com.starrocks.common.Config;
 import com.starrocks.common.ErrorCode;
 import com.starrocks.common.ErrorReport;
 import com.starrocks.common.MetaNotFoundException;
+import com.starrocks.common.ThreadPoolManager;
 import com.starrocks.common.UserException;
 import com.starrocks.common.util.LogBuilder;
 import com.starrocks.common.util.LogKey;
@@ -43,14 +45,24 @@ import java.util.Comparator;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
 
 public class StreamLoadManager {
     private static final Logger LOG = LogManager.getLogger(StreamLoadManager.class);
+    private static final String GROUP_COMMIT_LABEL_PREFIX = "group_commit_";
 
     private Map<String, StreamLoadTask> idToStreamLoadTask;
     private Map<Long, Map<String, StreamLoadTask>> dbToLabelToStreamLoadTask;
+    // table id -> the group commit which the stream loads of the table are joining
+    private Map<Long, StreamLoadGroupCommit> tableToGroupCommit;
+    // label of a group commit stream load -> the group commit it joined
+    private Map<String, StreamLoadGroupCommit> labelToGroupCommit;
+    // commits the shared transactions of group commits, created on the first group commit
+    private ScheduledExecutorService groupCommitExecutor;
     private ReentrantReadWriteLock lock;
 
     private void writeLock() {
@@ -77,6 +89,8 @@ public class StreamLoadManager {
         LOG.debug("begin to init stream load manager");
         idToStreamLoadTask = Maps.newConcurrentMap();
         dbToLabelToStreamLoadTask = Maps.newConcurrentMap();
+        tableToGroupCommit = Maps.newConcurrentMap();
+        labelToGroupCommit = Maps.newConcurrentMap();
         lock = new ReentrantReadWriteLock(true);
     }
 
@@ -121,6 +135,105 @@ public class StreamLoadManager {
         }
     }
 
+    // Join the group commit of the table, and create a new one with a shared transaction if the window of
+    // the current group commit has been closed. The stream loads of a group commit are committed together.
+    public void beginGroupCommitLoad(String dbName, String tableName, String label, long timeoutMillis,
+                                     TransactionResult resp) throws UserException {
+        Database db = checkDbName(dbName);
+        Table table;
+        db.readLock();
+        try {
+            unprotectedCheckMeta(db, tableName);
+            table = db.getTable(tableName);
+        } finally {
+            db.readUnlock();
+        }
+
+        StreamLoadTask task = null;
+        StreamLoadGroupCommit groupCommit;
+        int channelId;
+        writeLock();
+        try {
+            if (labelToGroupCommit.containsKey(label) || idToStreamLoadTask.containsKey(label)) {
+                throw new UserException("stream load label " + label + " has already been used");
+            }
+            long currentMs = System.currentTimeMillis();
+            groupCommit = tableToGroupCommit.get(table.getId());
+            channelId = groupCommit == null ? -1 : groupCommit.join(label, currentMs);
+            if (channelId < 0) {
+                String groupLabel = GROUP_COMMIT_LABEL_PREFIX + UUID.randomUUID().toString().replace("-", "_");
+                task = createLoadTask(db, tableName, groupLabel, timeoutMillis,
+                        Math.max(1, Config.stream_load_group_commit_max_requests), 0);
+                LOG.info(new LogBuilder(LogKey.STREAM_LOAD_TASK, task.getId())
+                        .add("msg", "create group commit load task").build());
+                addLoadTask(task);
+                task.beginTxn(0, task.getChannelNum(), resp);
+                groupCommit = new StreamLoadGroupCommit(task, currentMs, timeoutMillis, getGroupCommitExecutor());
+                if (resp.stateOK()) {
+                    tableToGroupCommit.put(table.getId(), groupCommit);
+                    groupCommit.scheduleCheck();
+                    channelId = groupCommit.join(label, currentMs);
+                }
+            }
+            if (resp.stateOK()) {
+                labelToGroupCommit.put(label, groupCommit);
+                resp.addResultEntry("Label", label);
+                resp.addResultEntry("GroupCommitLabel", groupCommit.getLabel());
+                resp.addResultEntry("TxnId", groupCommit.getTask().getTxnId());
+                resp.addResultEntry("ChannelId", channelId);
+            }
+        } finally {
+            writeUnlock();
+        }
+        if (task != null) {
+            GlobalStateMgr.getCurrentState().getEditLog().logCreateStreamLoadJob(task);
+        }
+    }
+
+    public StreamLoadGroupCommit getGroupCommit(String label) {
+        return labelToGroupCommit.get(label);
+    }
+
+    public TNetworkAddress executeGroupCommitLoad(String label, HttpHeaders headers, TransactionResult resp)
+            throws UserException {
+        StreamLoadGroupCommit groupCommit = labelToGroupCommit.get(label);
+        if (groupCommit == null) {
+            throw new UserException("group commit stream load " + label + " does not exist");
+        }
+        return groupCommit.load(label, headers, resp);
+    }
+
+    // The commit of a group commit load waits for the other loads of the group, its result is passed to the
+    // callback asynchronously, so the caller is not blocked.
+    public void commitGroupCommitLoad(String label, Consumer<TransactionResult> callback) throws UserException {
+        StreamLoadGroupCommit groupCommit = labelToGroupCommit.get(label);
+        if (groupCommit == null) {
+            throw new UserException("group commit stream load " + label + " does not exist");
+        }
+        groupCommit.commit(label, resp -> {
+            if (groupCommit.isFinished()) {
+                labelToGroupCommit.remove(label);
+            }
+            callback.accept(resp);
+        });
+    }
+
+    private synchronized ScheduledExecutorService getGroupCommitExecutor() {
+        if (groupCommitExecutor == null) {
+            groupCommitExecutor = ThreadPoolManager.newDaemonScheduledThreadPool(
+                    Math.max(1, Config.stream_load_group_commit_thread_num), "stream-load-group-commit", true);
+        }
+        return groupCommitExecutor;
+    }
+
+    public void rollbackGroupCommitLoad(String label, TransactionResult resp) throws UserException {
+        StreamLoadGroupCommit groupCommit = labelToGroupCommit.get(label);
+        if (groupCommit == null) {
+            throw new UserException("group commit stream load " + label + " does not exist");
+        }
+        groupCommit.rollback(label, resp);
+    }
+
     public StreamLoadTask createLoadTask(Database db, String tableName, String label, long timeoutMillis,
                                          int channelNum, int channelId) throws UserException {
         Table table;
@@ -317,6 +430,11 @@ public class StreamLoadManager {
                     );
                 }
             }
+
+            // the members of a finished group commit are not used any more, also drop the ones which never
+            // asked to commit
+            labelToGroupCommit.values().removeIf(groupCommit -> groupCommit.getTask().isFinalState());
+            tableToGroupCommit.values().removeIf(groupCommit -> groupCommit.getTask().isFinalState());
         } finally {
             writeUnlock();
         }
@@ -14,12 +14,15 @@
 
 package com.starrocks.load.streamload;
 
+import com.google.common.collect.ImmutableList;
 import com.starrocks.common.Config;
 import com.starrocks.common.UserException;
 import com.starrocks.thrift.TFileFormatType;
 import com.starrocks.thrift.TFileType;
 import io.netty.handler.codec.http.HttpHeaders;
 
+import java.util.List;
+
 public class StreamLoadParam {
     private static final String FORMAT_KEY = "format";
     private static final String COLUMNS = "columns";
@@ -43,6 +46,11 @@ public class StreamLoadParam {
     private static final String MAX_FILTER_RATIO = "max_filter_ratio";
     private static final String IDLE_TRANSACTION_TIMEOUT = "idle_transaction_timeout";
 
+    // the headers which change the plan of a load, the loads sharing one plan must have the same values of them
+    static final List<String> PLAN_HEADER_KEYS = ImmutableList.of(FORMAT_KEY, COLUMNS, WHERE, COLUMN_SEPARATOR,
+            ROW_DELIMITER, PARTITIONS, TEMP_PARTITIONS, NEGATIVE, STRICT_MODE, TIMEZONE, JSONPATHS, JSONROOT,
+            STRIP_OUTER_ARRAY, PARTIAL_UPDATE, MAX_FILTER_RATIO);
+
     public TFileFormatType formatType = TFileFormatType.FORMAT_CSV_PLAIN;
     public TFileType fileType = TFileType.FILE_STREAM;
     public int jsonMaxBodyBytes = Config.max_stream_load_batch_size_mb * 1024 * 1024;
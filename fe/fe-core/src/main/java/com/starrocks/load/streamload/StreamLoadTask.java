@@ -1140,6 +1140,10 @@ public class StreamLoadTask extends AbstractTxnStateChangeCallback implements Wr
         return state == State.PREPARED || state == State.CANCELLED || state == State.COMMITED || state == State.FINISHED;
     }
 
+    public boolean isCommitted() {
+        return state == State.COMMITED || state == State.FINISHED;
+    }
+
     public String getDBName() {
         return dbName;
     }
@@ -1160,6 +1164,14 @@ public class StreamLoadTask extends AbstractTxnStateChangeCallback implements Wr
         return id;
     }
 
+    public long getTxnId() {
+        return txnId;
+    }
+
+    public int getChannelNum() {
+        return channelNum;
+    }
+
     public String getStateName() {
         return state.name();
     }
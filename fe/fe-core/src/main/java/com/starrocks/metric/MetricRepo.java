@@ -94,6 +94,12 @@ public final class MetricRepo {
     public static LongCounterMetric COUNTER_QUERY_TIMEOUT;
     public static LongCounterMetric COUNTER_QUERY_SUCCESS;
     public static LongCounterMetric COUNTER_SLOW_QUERY;
+    public static LongCounterMetric COUNTER_STMT_FORWARD_TO_LEADER;
+    public static LongCounterMetric COUNTER_STMT_SERVED_BY_FOLLOWER;
+    public static LongCounterMetric COUNTER_FOLLOWER_READ_WAIT_TIMEOUT;
+
+    public static LongCounterMetric COUNTER_MV_REFRESH_SCAN_ROWS;
+    public static LongCounterMetric COUNTER_MV_REFRESH_OUTPUT_ROWS;
 
     public static LongCounterMetric COUNTER_QUERY_QUEUE_PENDING;
     public static LongCounterMetric COUNTER_QUERY_QUEUE_TOTAL;
@@ -120,6 +126,25 @@ public final class MetricRepo {
     public static Histogram HISTO_JOURNAL_WRITE_LATENCY;
     public static Histogram HISTO_JOURNAL_WRITE_BATCH;
     public static Histogram HISTO_JOURNAL_WRITE_BYTES;
+    public static Histogram HISTO_JOURNAL_COMMIT_LATENCY;
+    public static Histogram HISTO_JOURNAL_GROUP_COMMIT_WAIT;
+    public static Histogram HISTO_TXN_PUBLISH_BATCH_SIZE;
+    public static Histogram HISTO_TXN_PUBLISH_LATENCY;
+    public static Histogram HISTO_STREAM_LOAD_GROUP_COMMIT_BATCH;
+    public static Histogram HISTO_BACKUP_UPLOAD_THROUGHPUT;
+    public static Histogram HISTO_RESTORE_DOWNLOAD_THROUGHPUT;
+    public static Histogram HISTO_STREAM_LOAD_GROUP_COMMIT_LATENCY;
+    public static Histogram HISTO_MV_REFRESH_QUEUE_TIME;
+    public static Histogram HISTO_MV_REFRESH_DURATION;
+    public static Histogram HISTO_TABLET_CHECKER_FULL_CHECK_LATENCY;
+    public static Histogram HISTO_TABLET_CHECKER_DIRTY_CHECK_LATENCY;
+
+    public static final String LOCK_TYPE_DB_READ = "db_read";
+    public static final String LOCK_TYPE_DB_WRITE = "db_write";
+    public static final String LOCK_TYPE_TABLE_READ = "table_read";
+    public static final String LOCK_TYPE_TABLE_WRITE = "table_write";
+    // lock type -> lock wait time, only registered if enable_table_level_lock is true
+    public static Map<String, Histogram> HISTO_LOCK_WAIT_LATENCY;
 
     // following metrics will be updated by metric calculator
     public static GaugeMetricImpl<Double> GAUGE_QUERY_PER_SECOND;
@@ -135,6 +160,7 @@ public final class MetricRepo {
     public static GaugeMetricImpl<Double> GAUGE_QUERY_LATENCY_P999;
     public static GaugeMetricImpl<Long> GAUGE_MAX_TABLET_COMPACTION_SCORE;
     public static GaugeMetricImpl<Long> GAUGE_STACKED_JOURNAL_NUM;
+    public static GaugeMetricImpl<Double> GAUGE_TABLET_HEAT_SKEW_SCORE;
 
     public static List<GaugeMetricImpl<Long>> GAUGE_ROUTINE_LOAD_LAGS;
 
@@ -251,6 +277,20 @@ public final class MetricRepo {
         };
         STARROCKS_METRIC_REGISTER.addMetric(scheduledTabletNum);
 
+        // partitions waiting to be checked by tablet checker
+        GaugeMetric<Long> dirtyPartitionNum = new GaugeMetric<Long>(
+                "tablet_checker_dirty_partition_num", MetricUnit.NOUNIT,
+                "number of dirty partitions waiting to be checked by tablet checker") {
+            @Override
+            public Long getValue() {
+                if (!GlobalStateMgr.getCurrentState().isLeader()) {
+                    return 0L;
+                }
+                return GlobalStateMgr.getCurrentState().getTabletChecker().getDirtyPartitionNum();
+            }
+        };
+        STARROCKS_METRIC_REGISTER.addMetric(dirtyPartitionNum);
+
         // routine load jobs
         RoutineLoadManager routineLoadManger = GlobalStateMgr.getCurrentState().getRoutineLoadManager();
         for (RoutineLoadJob.JobState state : RoutineLoadJob.JobState.values()) {
@@ -292,6 +332,11 @@ public final class MetricRepo {
         GAUGE_STACKED_JOURNAL_NUM.setValue(0L);
         STARROCKS_METRIC_REGISTER.addMetric(GAUGE_STACKED_JOURNAL_NUM);
 
+        GAUGE_TABLET_HEAT_SKEW_SCORE = new GaugeMetricImpl<>("tablet_heat_skew_score",
+                MetricUnit.NOUNIT, "(max - min) / avg workload of all backends, computed by heat balance");
+        GAUGE_TABLET_HEAT_SKEW_SCORE.setValue(0.0);
+        STARROCKS_METRIC_REGISTER.addMetric(GAUGE_TABLET_HEAT_SKEW_SCORE);
+
         GAUGE_QUERY_LATENCY_MEAN =
                 new GaugeMetricImpl<>("query_latency", MetricUnit.MILLISECONDS, "mean of query latency");
         GAUGE_QUERY_LATENCY_MEAN.addLabel(new MetricLabel("type", "mean"));
@@ -347,6 +392,21 @@ public final class MetricRepo {
         STARROCKS_METRIC_REGISTER.addMetric(COUNTER_QUERY_SUCCESS);
         COUNTER_SLOW_QUERY = new LongCounterMetric("slow_query", MetricUnit.REQUESTS, "total slow query");
         STARROCKS_METRIC_REGISTER.addMetric(COUNTER_SLOW_QUERY);
+        COUNTER_STMT_FORWARD_TO_LEADER = new LongCounterMetric("stmt_forward_to_leader", MetricUnit.REQUESTS,
+                "total statements forwarded to leader");
+        STARROCKS_METRIC_REGISTER.addMetric(COUNTER_STMT_FORWARD_TO_LEADER);
+        COUNTER_STMT_SERVED_BY_FOLLOWER = new LongCounterMetric("stmt_served_by_follower", MetricUnit.REQUESTS,
+                "total statements served locally by non-leader FE");
+        STARROCKS_METRIC_REGISTER.addMetric(COUNTER_STMT_SERVED_BY_FOLLOWER);
+        COUNTER_FOLLOWER_READ_WAIT_TIMEOUT = new LongCounterMetric("follower_read_wait_timeout", MetricUnit.REQUESTS,
+                "total statements forwarded to leader because follower failed to catch up in time");
+        STARROCKS_METRIC_REGISTER.addMetric(COUNTER_FOLLOWER_READ_WAIT_TIMEOUT);
+        COUNTER_MV_REFRESH_SCAN_ROWS = new LongCounterMetric("mv_refresh_scan_rows", MetricUnit.ROWS,
+                "total rows of base tables scanned by materialized view refresh");
+        STARROCKS_METRIC_REGISTER.addMetric(COUNTER_MV_REFRESH_SCAN_ROWS);
+        COUNTER_MV_REFRESH_OUTPUT_ROWS = new LongCounterMetric("mv_refresh_output_rows", MetricUnit.ROWS,
+                "total rows written into materialized views by materialized view refresh");
+        STARROCKS_METRIC_REGISTER.addMetric(COUNTER_MV_REFRESH_OUTPUT_ROWS);
         COUNTER_QUERY_QUEUE_PENDING = new LongCounterMetric("query_queue_pending", MetricUnit.REQUESTS,
                 "total pending query");
         STARROCKS_METRIC_REGISTER.addMetric(COUNTER_QUERY_QUEUE_PENDING);
@@ -409,6 +469,39 @@ public final class MetricRepo {
                 METRIC_REGISTER.histogram(MetricRegistry.name("journal", "write", "batch"));
         HISTO_JOURNAL_WRITE_BYTES =
                 METRIC_REGISTER.histogram(MetricRegistry.name("journal", "write", "bytes"));
+        HISTO_JOURNAL_COMMIT_LATENCY =
+                METRIC_REGISTER.histogram(MetricRegistry.name("journal", "commit", "latency", "ms"));
+        HISTO_JOURNAL_GROUP_COMMIT_WAIT =
+                METRIC_REGISTER.histogram(MetricRegistry.name("journal", "group_commit", "wait", "ms"));
+        HISTO_TXN_PUBLISH_BATCH_SIZE =
+                METRIC_REGISTER.histogram(MetricRegistry.name("txn", "publish", "batch"));
+        HISTO_TXN_PUBLISH_LATENCY =
+                METRIC_REGISTER.histogram(MetricRegistry.name("txn", "publish", "latency", "ms"));
+        HISTO_STREAM_LOAD_GROUP_COMMIT_BATCH =
+                METRIC_REGISTER.histogram(MetricRegistry.name("stream_load", "group_commit", "batch"));
+        HISTO_STREAM_LOAD_GROUP_COMMIT_LATENCY =
+                METRIC_REGISTER.histogram(MetricRegistry.name("stream_load", "group_commit", "latency", "ms"));
+        HISTO_BACKUP_UPLOAD_THROUGHPUT =
+                METRIC_REGISTER.histogram(MetricRegistry.name("backup", "upload", "throughput", "bytes_per_second"));
+        HISTO_RESTORE_DOWNLOAD_THROUGHPUT =
+                METRIC_REGISTER.histogram(MetricRegistry.name("restore", "download", "throughput", "bytes_per_second"));
+        HISTO_MV_REFRESH_QUEUE_TIME =
+                METRIC_REGISTER.histogram(MetricRegistry.name("mv_refresh", "queue_time", "ms"));
+        HISTO_MV_REFRESH_DURATION =
+                METRIC_REGISTER.histogram(MetricRegistry.name("mv_refresh", "duration", "ms"));
+        HISTO_TABLET_CHECKER_FULL_CHECK_LATENCY =
+                METRIC_REGISTER.histogram(MetricRegistry.name("tablet_checker", "full_check", "latency", "ms"));
+        HISTO_TABLET_CHECKER_DIRTY_CHECK_LATENCY =
+                METRIC_REGISTER.histogram(MetricRegistry.name("tablet_checker", "dirty_check", "latency", "ms"));
+        if (Config.enable_table_level_lock) {
+            ImmutableMap.Builder<String, Histogram> lockWaitBuilder = ImmutableMap.builder();
+            for (String lockType : new String[] {LOCK_TYPE_DB_READ, LOCK_TYPE_DB_WRITE,
+                    LOCK_TYPE_TABLE_READ, LOCK_TYPE_TABLE_WRITE}) {
+                lockWaitBuilder.put(lockType,
+                        METRIC_REGISTER.histogram(MetricRegistry.name("meta_lock", lockType, "wait", "ms")));
+            }
+            HISTO_LOCK_WAIT_LATENCY = lockWaitBuilder.build();
+        }
 
         // init system metrics
         initSystemMetrics();
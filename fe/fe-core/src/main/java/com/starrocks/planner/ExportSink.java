@@ -44,10 +44,13 @@ import com.starrocks.thrift.TDataSinkType;
 import com.starrocks.thrift.TExplainLevel;
 import com.starrocks.thrift.THdfsProperties;
 import com.starrocks.thrift.TExportSink;
+import com.starrocks.thrift.TFileFormatType;
 import com.starrocks.thrift.TFileType;
 import com.starrocks.thrift.TNetworkAddress;
 import org.apache.commons.lang.StringEscapeUtils;
 
+import java.util.List;
+
 public class ExportSink extends DataSink {
     private final String exportPath;
     private String fileNamePrefix;
@@ -55,6 +58,11 @@ public class ExportSink extends DataSink {
     private final String rowDelimiter;
     private final BrokerDesc brokerDesc;
     private final THdfsProperties hdfsProperties;
+    // csv if not set
+    private TFileFormatType fileFormat;
+    // 0 means no limit
+    private long maxFileSizeBytes = 0;
+    private List<String> fileColumnNames;
 
     public ExportSink(String exportPath, String fileNamePrefix, String columnSeparator,
                       String rowDelimiter, BrokerDesc brokerDesc, THdfsProperties hdfsProperties) {
@@ -80,6 +88,18 @@ public class ExportSink extends DataSink {
         this.fileNamePrefix = fileNamePrefix;
     }
 
+    public void setFileFormat(TFileFormatType fileFormat) {
+        this.fileFormat = fileFormat;
+    }
+
+    public void setMaxFileSizeBytes(long maxFileSizeBytes) {
+        this.maxFileSizeBytes = maxFileSizeBytes;
+    }
+
+    public void setFileColumnNames(List<String> fileColumnNames) {
+        this.fileColumnNames = fileColumnNames;
+    }
+
     @Override
     public String getExplainString(String prefix, TExplainLevel explainLevel) {
         StringBuilder sb = new StringBuilder();
@@ -89,6 +109,12 @@ public class ExportSink extends DataSink {
                 + StringEscapeUtils.escapeJava(columnSeparator) + "\n");
         sb.append(prefix + "  rowDelimiter="
                 + StringEscapeUtils.escapeJava(rowDelimiter) + "\n");
+        if (fileFormat != null) {
+            sb.append(prefix + "  format=" + fileFormat.name() + "\n");
+        }
+        if (maxFileSizeBytes > 0) {
+            sb.append(prefix + "  maxFileSize=" + maxFileSizeBytes + "\n");
+        }
         sb.append(prefix + "  broker_name=" + brokerDesc.getName() + " property("
                 + new PrintableMap<String, String>(
                 brokerDesc.getProperties(), "=", true, false)
@@ -116,6 +142,15 @@ public class ExportSink extends DataSink {
         if (fileNamePrefix != null) {
             tExportSink.setFile_name_prefix(fileNamePrefix);
         }
+        if (fileFormat != null) {
+            tExportSink.setFile_format(fileFormat);
+        }
+        if (maxFileSizeBytes > 0) {
+            tExportSink.setMax_file_size_bytes(maxFileSizeBytes);
+        }
+        if (fileColumnNames != null) {
+            tExportSink.setFile_column_names(fileColumnNames);
+        }
 
         result.setExport_sink(tExportSink);
         return result;
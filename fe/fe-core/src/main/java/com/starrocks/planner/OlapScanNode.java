@@ -337,6 +337,11 @@ public class OlapScanNode extends ScanNode {
         String visibleVersionStr = String.valueOf(visibleVersion);
         selectedPartitionNames.add(partition.getName());
         selectedPartitionVersions.add(visibleVersion);
+        // record partition scans for compaction scheduling of lake tables,
+        // the scans planned on followers are sent to the leader by the frontend heartbeat
+        if (olapTable.isLakeTable()) {
+            GlobalStateMgr.getCurrentState().getCompactionManager().handlePartitionScanned(partition.getId());
+        }
         for (Tablet tablet : tablets) {
             long tabletId = tablet.getId();
             LOG.debug("{} tabletId={}", (logNum++), tabletId);
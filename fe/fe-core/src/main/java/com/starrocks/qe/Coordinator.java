@@ -160,6 +160,8 @@ public class Coordinator {
     private int numReceivedRows = 0;
     private List<String> deltaUrls;
     private Map<String, String> loadCounters;
+    // rows read from the source by the finished instances of a load
+    private long sourceLoadRows = 0;
     private String trackingUrl;
     // for export
     private List<String> exportFiles;
@@ -340,6 +342,10 @@ public class Coordinator {
         return loadCounters;
     }
 
+    public long getSourceLoadRows() {
+        return sourceLoadRows;
+    }
+
     public String getTrackingUrl() {
         return trackingUrl;
     }
@@ -1201,6 +1207,15 @@ public class Coordinator {
         }
     }
 
+    private void updateSourceLoadRows(long rows) {
+        lock.lock();
+        try {
+            sourceLoadRows += rows;
+        } finally {
+            lock.unlock();
+        }
+    }
+
     private void updateCommitInfos(List<TTabletCommitInfo> commitInfos) {
         lock.lock();
         try {
@@ -1399,6 +1414,9 @@ public class Coordinator {
             if (params.isSetLoad_counters()) {
                 updateLoadCounters(params.getLoad_counters());
             }
+            if (params.isSetSource_load_rows()) {
+                updateSourceLoadRows(params.getSource_load_rows());
+            }
             if (params.isSetTracking_url()) {
                 trackingUrl = params.tracking_url;
             }
@@ -46,7 +46,7 @@ public class JournalObservable {
     }
 
     public void waitOn(Long expectedJournalVersion, int timeoutMs) throws DdlException {
-        LOG.info("waiting for the observer to replay journal to {} with timeout: {} ms",
+        LOG.debug("waiting for the observer to replay journal to {} with timeout: {} ms",
                 expectedJournalVersion, timeoutMs);
 
         JournalObserver observer = new JournalObserver(expectedJournalVersion);
@@ -58,6 +58,26 @@ public class JournalObservable {
         }
     }
 
+    /**
+     * Wait until the journal is replayed to expectedJournalVersion.
+     * Returns false if it is not replayed within timeoutMs or the waiting is interrupted.
+     */
+    public boolean tryWaitOn(long expectedJournalVersion, long timeoutMs) {
+        LOG.debug("try waiting for the observer to replay journal to {} with timeout: {} ms",
+                expectedJournalVersion, timeoutMs);
+
+        JournalObserver observer = new JournalObserver(expectedJournalVersion);
+        addObserver(observer);
+        try {
+            return observer.awaitReplay(timeoutMs);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        } finally {
+            deleteObserver(observer);
+        }
+    }
+
     // return min pos which is bigger than value
     public static int upperBound(Object[] array, int size, Long value) {
         int left = 0;
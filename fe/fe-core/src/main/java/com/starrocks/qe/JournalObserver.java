@@ -76,41 +76,49 @@ public class JournalObserver implements Comparable<JournalObserver> {
      * waiting unnecessary long time.
      */
     public void waitForReplay(int timeoutMs) throws DdlException {
-        long leftTimeoutMs = timeoutMs;
-        final long minIntervalMs = 1000;
-
+        if (timeoutMs <= 0) {
+            return;
+        }
         try {
-            boolean ok = false;
-            do {
-                // check if the replayed journal version is already larger than the expected version
-                long replayedJournalId = GlobalStateMgr.getCurrentState().getReplayedJournalId();
-                if (replayedJournalId >= targetJournalVersion || timeoutMs <= 0) {
-                    LOG.debug("the replayed journal version {} already large than expected version: {}",
-                            replayedJournalId, targetJournalVersion);
-                    return;
-                }
-
-                // waiting for notification
-                ok = latch.await(minIntervalMs, TimeUnit.MILLISECONDS);
-                if (ok) {
-                    break;
-                }
-
-                // decrease the left timeout
-                leftTimeoutMs -= minIntervalMs;
-            } while (leftTimeoutMs > 0);
-
-            if (!ok) {
+            if (!awaitReplay(timeoutMs)) {
                 LOG.warn("timeout waiting result from log replayer thread. timeout ms: {}", timeoutMs);
                 throw new DdlException("Execute timeout, the command may be succeed, you'd better retry");
             }
-
         } catch (InterruptedException e) {
             throw new DdlException("Interrupted exception happens, "
                     + "the command may be succeed, you'd better retry");
         }
     }
 
+    /**
+     * Same as waitForReplay, but returns false instead of throwing if the journal is not replayed within timeoutMs.
+     */
+    public boolean awaitReplay(long timeoutMs) throws InterruptedException {
+        long leftTimeoutMs = timeoutMs;
+        final long minIntervalMs = 1000;
+        while (true) {
+            // check if the replayed journal version is already larger than the expected version
+            long replayedJournalId = GlobalStateMgr.getCurrentState().getReplayedJournalId();
+            if (replayedJournalId >= targetJournalVersion) {
+                LOG.debug("the replayed journal version {} already large than expected version: {}",
+                        replayedJournalId, targetJournalVersion);
+                return true;
+            }
+            if (leftTimeoutMs <= 0) {
+                return false;
+            }
+
+            // waiting for notification
+            long waitMs = Math.min(minIntervalMs, leftTimeoutMs);
+            if (latch.await(waitMs, TimeUnit.MILLISECONDS)) {
+                return true;
+            }
+
+            // decrease the left timeout
+            leftTimeoutMs -= waitMs;
+        }
+    }
+
     @Override
     public int compareTo(JournalObserver jo) {
         if (this.targetJournalVersion < jo.targetJournalVersion) {
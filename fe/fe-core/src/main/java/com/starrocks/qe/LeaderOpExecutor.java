@@ -93,6 +93,13 @@ public class LeaderOpExecutor {
         forward();
         LOG.info("forwarding to master get result max journal id: {}", result.maxJournalId);
         ctx.getGlobalStateMgr().getJournalObservable().waitOn(result.maxJournalId, waitTimeoutMs);
+        // remember the journal id of this write, so that following reads of this session can be served
+        // by this follower once it has replayed to this id.
+        SessionVariable sessionVariable = ctx.getSessionVariable();
+        if (sessionVariable.isEnableFollowerReadYourWrites()
+                && result.maxJournalId > sessionVariable.getFollowerReadMinJournalId()) {
+            sessionVariable.setFollowerReadMinJournalId(result.maxJournalId);
+        }
 
         if (result.state != null) {
             MysqlStateType state = MysqlStateType.fromString(result.state);
@@ -335,6 +335,10 @@ public class SessionVariable implements Serializable, Writable, Cloneable {
 
     public static final String CBO_REORDER_THRESHOLD_USE_EXHAUSTIVE = "cbo_reorder_threshold_use_exhaustive";
 
+    public static final String ENABLE_FOLLOWER_READ_YOUR_WRITES = "enable_follower_read_your_writes";
+    public static final String FOLLOWER_READ_MIN_JOURNAL_ID = "follower_read_min_journal_id";
+    public static final String FOLLOWER_READ_WAIT_TIMEOUT_MS = "follower_read_wait_timeout_ms";
+
     public static final List<String> DEPRECATED_VARIABLES = ImmutableList.<String>builder()
             .add(CODEGEN_LEVEL)
             .add(ENABLE_SPILLING)
@@ -828,6 +832,20 @@ public class SessionVariable implements Serializable, Writable, Cloneable {
     @VarAttr(name = CBO_REORDER_THRESHOLD_USE_EXHAUSTIVE)
     private int cboReorderThresholdUseExhaustive = 6;
 
+    // If enabled, statements executed on a follower will wait until the follower has replayed
+    // the journal id in follower_read_min_journal_id before being served locally.
+    @VarAttr(name = ENABLE_FOLLOWER_READ_YOUR_WRITES)
+    private boolean enableFollowerReadYourWrites = false;
+
+    // The max journal id this session has observed. It's raised automatically after a write is
+    // forwarded to the leader, and can be set by the client to carry the consistency across sessions.
+    @VarAttr(name = FOLLOWER_READ_MIN_JOURNAL_ID)
+    private long followerReadMinJournalId = 0;
+
+    // The max time to wait for a follower to catch up, the statement will be forwarded to leader on timeout.
+    @VarAttr(name = FOLLOWER_READ_WAIT_TIMEOUT_MS)
+    private int followerReadWaitTimeoutMs = 1000;
+
     public boolean getEnablePopulateBlockCache() {
         return enablePopulateBlockCache;
     }
@@ -1558,6 +1576,30 @@ public class SessionVariable implements Serializable, Writable, Cloneable {
         this.cboReorderThresholdUseExhaustive = cboReorderThresholdUseExhaustive;
     }
 
+    public boolean isEnableFollowerReadYourWrites() {
+        return enableFollowerReadYourWrites;
+    }
+
+    public void setEnableFollowerReadYourWrites(boolean enableFollowerReadYourWrites) {
+        this.enableFollowerReadYourWrites = enableFollowerReadYourWrites;
+    }
+
+    public long getFollowerReadMinJournalId() {
+        return followerReadMinJournalId;
+    }
+
+    public void setFollowerReadMinJournalId(long followerReadMinJournalId) {
+        this.followerReadMinJournalId = followerReadMinJournalId;
+    }
+
+    public int getFollowerReadWaitTimeoutMs() {
+        return followerReadWaitTimeoutMs;
+    }
+
+    public void setFollowerReadWaitTimeoutMs(int followerReadWaitTimeoutMs) {
+        this.followerReadWaitTimeoutMs = followerReadWaitTimeoutMs;
+    }
+
     // Serialize to thrift object
     // used for rest api
     public TQueryOptions toThrift() {
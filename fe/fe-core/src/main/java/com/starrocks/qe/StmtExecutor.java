@@ -34,6 +34,7 @@
 
 package com.starrocks.qe;
 
+import com.google.common.annotations.VisibleForTesting;
 import com.google.common.base.Preconditions;
 import com.google.common.base.Strings;
 import com.google.common.collect.Lists;
@@ -128,6 +129,7 @@ import com.starrocks.sql.common.DmlException;
 import com.starrocks.sql.common.ErrorType;
 import com.starrocks.sql.common.MetaUtils;
 import com.starrocks.sql.common.StarRocksPlannerException;
+import com.starrocks.sql.optimizer.statistics.PlanFeedbackManager;
 import com.starrocks.sql.parser.ParsingException;
 import com.starrocks.sql.plan.ExecPlan;
 import com.starrocks.statistic.AnalyzeManager;
@@ -185,6 +187,7 @@ public class StmtExecutor {
     private RuntimeProfile profile;
     private Coordinator coord = null;
     private LeaderOpExecutor leaderOpExecutor = null;
+    private boolean forceForwardToLeader = false;
     private RedirectStatus redirectStatus = null;
     private final boolean isProxy;
     private List<ByteBuffer> proxyResultBuffer = null;
@@ -286,6 +289,11 @@ public class StmtExecutor {
             return false;
         }
 
+        // this follower failed to catch up with the journal this session has observed
+        if (forceForwardToLeader) {
+            return true;
+        }
+
         // this is a query stmt, but this non-master FE can not read, forward it to master
         if (parsedStmt instanceof QueryStatement && !GlobalStateMgr.getCurrentState().isLeader()
                 && !GlobalStateMgr.getCurrentState().canRead()) {
@@ -372,6 +380,10 @@ public class StmtExecutor {
 
             try (PlannerProfile.ScopedTimer timer = PlannerProfile.getScopedTimer("Total")) {
                 redirectStatus = parsedStmt.getRedirectStatus();
+                if (!isForwardToLeader() && !waitForFollowerConsistentRead()) {
+                    // this follower failed to catch up with the journal this session has observed
+                    forceForwardToLeader = true;
+                }
                 if (!isForwardToLeader()) {
                     context.getDumpInfo().reset();
                     context.getDumpInfo().setOriginStmt(parsedStmt.getOrigStmt().originStmt);
@@ -413,6 +425,9 @@ public class StmtExecutor {
                 return;
             } else {
                 LOG.debug("no need to transfer to Leader. stmt: {}", context.getStmtId());
+                if (MetricRepo.isInit && !GlobalStateMgr.getCurrentState().isLeader()) {
+                    MetricRepo.COUNTER_STMT_SERVED_BY_FOLLOWER.increase(1L);
+                }
             }
 
             if (parsedStmt instanceof QueryStatement) {
@@ -446,7 +461,7 @@ public class StmtExecutor {
                         handleQueryStmt(execPlan);
 
                         if (context.getSessionVariable().isEnableProfile()) {
-                            writeProfile(beginTimeInNanoSecond);
+                            writeProfile(execPlan, beginTimeInNanoSecond);
                         }
                         break;
                     } catch (RpcException e) {
@@ -484,7 +499,7 @@ public class StmtExecutor {
                 try {
                     handleDMLStmt(execPlan, (DmlStmt) parsedStmt);
                     if (context.getSessionVariable().isEnableProfile()) {
-                        writeProfile(beginTimeInNanoSecond);
+                        writeProfile(execPlan, beginTimeInNanoSecond);
                     }
                 } catch (Throwable t) {
                     LOG.warn("DML statement(" + originStmt.originStmt + ") process failed.", t);
@@ -571,7 +586,7 @@ public class StmtExecutor {
             ExecPlan execPlan = new StatementPlanner().plan(insertStmt, context);
             handleDMLStmt(execPlan, ((CreateTableAsSelectStmt) parsedStmt).getInsertStmt());
             if (context.getSessionVariable().isEnableProfile()) {
-                writeProfile(beginTimeInNanoSecond);
+                writeProfile(execPlan, beginTimeInNanoSecond);
             }
             if (context.getState().getStateType() == MysqlStateType.ERR) {
                 ((CreateTableAsSelectStmt) parsedStmt).dropTable(context);
@@ -606,13 +621,47 @@ public class StmtExecutor {
         }
     }
 
+    /**
+     * If read-your-writes is enabled, wait until this follower has replayed the journal id observed by the session
+     * before serving the statement locally.
+     *
+     * @return false if the follower can't catch up within follower_read_wait_timeout_ms,
+     * and the statement should be forwarded to leader
+     */
+    @VisibleForTesting
+    boolean waitForFollowerConsistentRead() {
+        GlobalStateMgr globalStateMgr = GlobalStateMgr.getCurrentState();
+        SessionVariable sessionVariable = context.getSessionVariable();
+        if (globalStateMgr.isLeader() || !sessionVariable.isEnableFollowerReadYourWrites()) {
+            return true;
+        }
+        long targetJournalId = sessionVariable.getFollowerReadMinJournalId();
+        if (targetJournalId <= 0 || globalStateMgr.getReplayedJournalId() >= targetJournalId) {
+            return true;
+        }
+
+        int timeoutMs = sessionVariable.getFollowerReadWaitTimeoutMs();
+        if (timeoutMs > 0 && globalStateMgr.getJournalObservable().tryWaitOn(targetJournalId, timeoutMs)) {
+            return true;
+        }
+        LOG.info("follower replayed journal id {} is behind {} after waiting {}ms, forward stmt {} to leader",
+                globalStateMgr.getReplayedJournalId(), targetJournalId, timeoutMs, context.getStmtId());
+        if (MetricRepo.isInit) {
+            MetricRepo.COUNTER_FOLLOWER_READ_WAIT_TIMEOUT.increase(1L);
+        }
+        return false;
+    }
+
     private void forwardToLeader() throws Exception {
+        if (MetricRepo.isInit) {
+            MetricRepo.COUNTER_STMT_FORWARD_TO_LEADER.increase(1L);
+        }
         leaderOpExecutor = new LeaderOpExecutor(parsedStmt, originStmt, context, redirectStatus);
         LOG.debug("need to transfer to Leader. stmt: {}", context.getStmtId());
         leaderOpExecutor.execute();
     }
 
-    private void writeProfile(long beginTimeInNanoSecond) {
+    private void writeProfile(ExecPlan execPlan, long beginTimeInNanoSecond) {
         long profileBeginTime = System.currentTimeMillis();
         initProfile(beginTimeInNanoSecond);
         profile.computeTimeInChildProfile();
@@ -626,6 +675,9 @@ public class StmtExecutor {
         if (context.getQueryDetail() != null) {
             context.getQueryDetail().setProfile(profileContent);
         }
+        if (Config.enable_plan_feedback && context.getState().getStateType() != MysqlStateType.ERR) {
+            PlanFeedbackManager.getInstance().record(execPlan, profile);
+        }
     }
 
     // Analyze one statement to structure in memory.
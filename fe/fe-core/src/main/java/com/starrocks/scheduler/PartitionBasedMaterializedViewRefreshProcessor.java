@@ -46,10 +46,12 @@ import com.starrocks.common.io.DeepCopy;
 import com.starrocks.common.util.RangeUtils;
 import com.starrocks.common.util.UUIDUtil;
 import com.starrocks.connector.PartitionUtil;
+import com.starrocks.metric.MetricRepo;
 import com.starrocks.persist.ChangeMaterializedViewRefreshSchemeLog;
 import com.starrocks.planner.OlapScanNode;
 import com.starrocks.planner.ScanNode;
 import com.starrocks.qe.ConnectContext;
+import com.starrocks.qe.Coordinator;
 import com.starrocks.qe.QeProcessorImpl;
 import com.starrocks.qe.StmtExecutor;
 import com.starrocks.server.GlobalStateMgr;
@@ -72,6 +74,7 @@ import com.starrocks.sql.common.PartitionDiff;
 import com.starrocks.sql.common.SyncPartitionUtils;
 import com.starrocks.sql.parser.SqlParser;
 import com.starrocks.sql.plan.ExecPlan;
+import com.starrocks.task.LoadEtlTask;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 
@@ -126,6 +129,7 @@ public class PartitionBasedMaterializedViewRefreshProcessor extends BaseTaskRunP
 
         InsertStmt insertStmt = null;
         ExecPlan execPlan = null;
+        long sourcePartitionRows = 0;
         int retryNum = 0;
         boolean checked = false;
         while (!checked) {
@@ -168,6 +172,8 @@ public class PartitionBasedMaterializedViewRefreshProcessor extends BaseTaskRunP
                 LOG.debug("materialized view:{} source partitions :{}",
                         materializedView.getName(), sourceTablePartitions);
 
+                sourcePartitionRows = getSourcePartitionRowCount(sourceTablePartitions);
+
                 // create ExecPlan
                 insertStmt = generateInsertStmt(partitionsToRefresh, sourceTablePartitions);
                 execPlan = generateRefreshPlan(mvContext.getCtx(), insertStmt);
@@ -178,6 +184,7 @@ public class PartitionBasedMaterializedViewRefreshProcessor extends BaseTaskRunP
 
         // execute the ExecPlan of insert outside lock
         refreshMaterializedView(mvContext, execPlan, insertStmt);
+        reportRefreshRowStats(sourcePartitionRows);
 
         // insert execute successfully, update the meta of materialized view according to ExecPlan
         updateMeta(execPlan);
@@ -315,6 +322,53 @@ public class PartitionBasedMaterializedViewRefreshProcessor extends BaseTaskRunP
         }
     }
 
+    /**
+     * Rows of the olap source partitions to refresh, which is what a full partition refresh reads.
+     * It comes from the tablet reports and is only used to compare with the rows the refresh actually scanned.
+     */
+    private long getSourcePartitionRowCount(Map<String, Set<String>> sourceTablePartitions) {
+        long rowCount = 0;
+        for (Pair<MaterializedView.BaseTableInfo, Table> tablePair : snapshotBaseTables.values()) {
+            Table table = tablePair.second;
+            Set<String> partitionNames = sourceTablePartitions.get(table.getName());
+            if (!table.isOlapTable() || partitionNames == null) {
+                continue;
+            }
+            for (String partitionName : partitionNames) {
+                Partition partition = table.getPartition(partitionName);
+                if (partition != null) {
+                    rowCount += partition.getRowCount();
+                }
+            }
+        }
+        return rowCount;
+    }
+
+    /**
+     * The refresh runs through handleDMLStmt, so the rows are taken from its coordinator:
+     * the rows read from the source reported by the finished instances, and the loaded rows.
+     */
+    @VisibleForTesting
+    public void reportRefreshRowStats(long sourcePartitionRows) {
+        StmtExecutor executor = mvContext.getCtx().getExecutor();
+        Coordinator coord = executor == null ? null : executor.getCoordinator();
+        if (coord == null) {
+            return;
+        }
+        long scanRows = coord.getSourceLoadRows();
+        long outputRows = 0;
+        Map<String, String> loadCounters = coord.getLoadCounters();
+        if (loadCounters != null && loadCounters.get(LoadEtlTask.DPP_NORMAL_ALL) != null) {
+            outputRows = Long.parseLong(loadCounters.get(LoadEtlTask.DPP_NORMAL_ALL));
+        }
+        LOG.info("materialized view:{} refreshed, scanned rows:{}, output rows:{}, rows of the source partitions:{}",
+                materializedView.getName(), scanRows, outputRows, sourcePartitionRows);
+        if (MetricRepo.isInit) {
+            MetricRepo.COUNTER_MV_REFRESH_SCAN_ROWS.increase(scanRows);
+            MetricRepo.COUNTER_MV_REFRESH_OUTPUT_ROWS.increase(outputRows);
+        }
+    }
+
     private void prepare(TaskRunContext context) {
         Map<String, String> properties = context.getProperties();
         // NOTE: mvId is set in Task's properties when creating
@@ -15,15 +15,22 @@
 
 package com.starrocks.scheduler;
 
+import com.google.common.annotations.VisibleForTesting;
 import com.google.common.collect.Maps;
 import com.google.common.collect.Queues;
+import com.google.common.collect.Sets;
+import com.starrocks.catalog.Database;
+import com.starrocks.catalog.MaterializedView;
+import com.starrocks.catalog.Table;
 import com.starrocks.common.Config;
 import com.starrocks.common.util.QueryableReentrantLock;
 import com.starrocks.common.util.UUIDUtil;
 import com.starrocks.common.util.Util;
+import com.starrocks.metric.MetricRepo;
 import com.starrocks.qe.ConnectContext;
 import com.starrocks.scheduler.persist.TaskRunStatus;
 import com.starrocks.scheduler.persist.TaskRunStatusChange;
+import com.starrocks.server.CatalogMgr;
 import com.starrocks.server.GlobalStateMgr;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
@@ -32,6 +39,7 @@ import org.jetbrains.annotations.Nullable;
 import java.util.Iterator;
 import java.util.Map;
 import java.util.Queue;
+import java.util.Set;
 import java.util.concurrent.Future;
 import java.util.concurrent.PriorityBlockingQueue;
 import java.util.concurrent.TimeUnit;
@@ -56,6 +64,9 @@ public class TaskRunManager {
 
     private final QueryableReentrantLock taskRunLock = new QueryableReentrantLock(true);
 
+    // taskId -> the time the pending refresh of a materialized view was first held for its upstream
+    private final Map<Long, Long> taskIdToHoldStartTime = Maps.newHashMap();
+
     public SubmitResult submitTaskRun(TaskRun taskRun, ExecuteOption option) {
         // duplicate submit
         if (taskRun.getStatus() != null) {
@@ -167,6 +178,7 @@ public class TaskRunManager {
             Future<?> future = taskRun.getFuture();
             if (future.isDone()) {
                 runningIterator.remove();
+                updateTaskRunMetrics(taskRun);
                 taskRunHistory.addHistory(taskRun.getStatus());
                 TaskRunStatusChange statusChange = new TaskRunStatusChange(taskRun.getTaskId(), taskRun.getStatus(),
                         Constants.TaskRunState.RUNNING, taskRun.getStatus().getState());
@@ -175,9 +187,28 @@ public class TaskRunManager {
         }
     }
 
+    private void updateTaskRunMetrics(TaskRun taskRun) {
+        TaskRunStatus status = taskRun.getStatus();
+        if (getMvId(taskRun) == -1 || status.getProcessStartTime() <= 0) {
+            return;
+        }
+        long queueTimeMs = status.getProcessStartTime() - status.getCreateTime();
+        long durationMs = status.getFinishTime() - status.getProcessStartTime();
+        LOG.info("refresh of task {} finished with state {}, queue time {}ms, duration {}ms",
+                status.getTaskName(), status.getState(), queueTimeMs, durationMs);
+        if (MetricRepo.isInit) {
+            MetricRepo.HISTO_MV_REFRESH_QUEUE_TIME.update(Math.max(0, queueTimeMs));
+            MetricRepo.HISTO_MV_REFRESH_DURATION.update(Math.max(0, durationMs));
+        }
+    }
+
     // schedule the pending TaskRun that can be run into running TaskRun map
     public void scheduledPendingTaskRun() {
         int currentRunning = runningTaskRunMap.size();
+        // materialized views which have a pending or running refresh, and the upstream materialized views of
+        // the materialized views checked in this round
+        Set<Long> refreshingMvIds = getRefreshingMvIds();
+        Map<Long, Set<Long>> mvIdToUpstreamMvIds = Maps.newHashMap();
 
         Iterator<Long> pendingIterator = pendingTaskRunMap.keySet().iterator();
         while (pendingIterator.hasNext()) {
@@ -187,10 +218,18 @@ public class TaskRunManager {
                 Queue<TaskRun> taskRunQueue = pendingTaskRunMap.get(taskId);
                 if (taskRunQueue.size() == 0) {
                     pendingIterator.remove();
+                    taskIdToHoldStartTime.remove(taskId);
                 } else {
                     if (currentRunning >= Config.task_runs_concurrency) {
                         break;
                     }
+                    if (shouldHoldMvRefresh(taskId, taskRunQueue.peek(), refreshingMvIds, mvIdToUpstreamMvIds,
+                            System.currentTimeMillis())) {
+                        // wait for the upstream materialized views to finish refreshing, the refresh triggered by
+                        // them will be merged into this pending one
+                        continue;
+                    }
+                    taskIdToHoldStartTime.remove(taskId);
                     TaskRun pendingTaskRun = taskRunQueue.poll();
                     taskRunExecutor.executeTaskRun(pendingTaskRun);
                     runningTaskRunMap.put(taskId, pendingTaskRun);
@@ -204,6 +243,97 @@ public class TaskRunManager {
         }
     }
 
+    private static long getMvId(TaskRun taskRun) {
+        Task task = taskRun == null ? null : taskRun.getTask();
+        if (task == null || task.getSource() != Constants.TaskSource.MV || task.getProperties() == null) {
+            return -1;
+        }
+        String mvId = task.getProperties().get(PartitionBasedMaterializedViewRefreshProcessor.MV_ID);
+        return mvId == null ? -1 : Long.parseLong(mvId);
+    }
+
+    private Set<Long> getRefreshingMvIds() {
+        Set<Long> mvIds = Sets.newHashSet();
+        for (TaskRun taskRun : runningTaskRunMap.values()) {
+            mvIds.add(getMvId(taskRun));
+        }
+        for (PriorityBlockingQueue<TaskRun> taskRuns : pendingTaskRunMap.values()) {
+            TaskRun taskRun = taskRuns.peek();
+            if (taskRun != null) {
+                mvIds.add(getMvId(taskRun));
+            }
+        }
+        mvIds.remove(-1L);
+        return mvIds;
+    }
+
+    /**
+     * Whether to hold the pending refresh for its upstream materialized views. A refresh held longer than
+     * mv_refresh_dependency_max_wait_second is promoted, since the merged task run keeps the latest create time
+     * the hold time is tracked separately.
+     */
+    @VisibleForTesting
+    boolean shouldHoldMvRefresh(long taskId, TaskRun taskRun, Set<Long> refreshingMvIds,
+                                Map<Long, Set<Long>> mvIdToUpstreamMvIds, long now) {
+        if (!Config.enable_mv_refresh_dependency_schedule ||
+                !hasRefreshingUpstreamMv(taskRun, refreshingMvIds, mvIdToUpstreamMvIds)) {
+            return false;
+        }
+        long holdStartTime = taskIdToHoldStartTime.computeIfAbsent(taskId, k -> now);
+        if (now - holdStartTime >= Config.mv_refresh_dependency_max_wait_second * 1000L) {
+            LOG.info("refresh of task {} has waited {}ms for upstream materialized views, schedule it anyway",
+                    taskRun.getTask().getName(), now - holdStartTime);
+            return false;
+        }
+        return true;
+    }
+
+    /**
+     * Whether any materialized view this task run's materialized view depends on, directly or transitively,
+     * still has a refresh to do. Refreshing downstream first would be wasted since it must be done again.
+     */
+    @VisibleForTesting
+    boolean hasRefreshingUpstreamMv(TaskRun taskRun, Set<Long> refreshingMvIds,
+                                    Map<Long, Set<Long>> mvIdToUpstreamMvIds) {
+        long mvId = getMvId(taskRun);
+        if (mvId == -1) {
+            return false;
+        }
+        Database db = GlobalStateMgr.getCurrentState().getDb(taskRun.getTask().getDbName());
+        if (db == null) {
+            return false;
+        }
+        Set<Long> upstreamMvIds = mvIdToUpstreamMvIds.get(mvId);
+        if (upstreamMvIds == null) {
+            upstreamMvIds = Sets.newHashSet();
+            collectUpstreamMvIds(db.getTable(mvId), upstreamMvIds);
+            mvIdToUpstreamMvIds.put(mvId, upstreamMvIds);
+        }
+        for (Long upstreamMvId : upstreamMvIds) {
+            if (refreshingMvIds.contains(upstreamMvId)) {
+                LOG.debug("refresh of materialized view {} waits for upstream materialized view {}",
+                        mvId, upstreamMvId);
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private void collectUpstreamMvIds(Table table, Set<Long> upstreamMvIds) {
+        if (!(table instanceof MaterializedView)) {
+            return;
+        }
+        for (MaterializedView.BaseTableInfo baseTableInfo : ((MaterializedView) table).getBaseTableInfos()) {
+            if (!CatalogMgr.isInternalCatalog(baseTableInfo.getCatalogName())) {
+                continue;
+            }
+            Table baseTable = baseTableInfo.getTable();
+            if (baseTable instanceof MaterializedView && upstreamMvIds.add(baseTable.getId())) {
+                collectUpstreamMvIds(baseTable, upstreamMvIds);
+            }
+        }
+    }
+
     public boolean tryTaskRunLock() {
         try {
             if (!taskRunLock.tryLock(5, TimeUnit.SECONDS)) {
@@ -40,6 +40,9 @@ public class TaskRunStatus implements Writable {
     @SerializedName("finishTime")
     private long finishTime;
 
+    @SerializedName("processStartTime")
+    private long processStartTime;
+
     @SerializedName("state")
     private Constants.TaskRunState state = Constants.TaskRunState.PENDING;
 
@@ -103,6 +106,14 @@ public class TaskRunStatus implements Writable {
         this.finishTime = finishTime;
     }
 
+    public long getProcessStartTime() {
+        return processStartTime;
+    }
+
+    public void setProcessStartTime(long processStartTime) {
+        this.processStartTime = processStartTime;
+    }
+
     public Constants.TaskRunState getState() {
         return state;
     }
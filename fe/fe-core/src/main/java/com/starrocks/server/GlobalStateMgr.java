@@ -750,6 +750,10 @@ public class GlobalStateMgr {
         return tabletChecker;
     }
 
+    public TabletStatMgr getTabletStatMgr() {
+        return tabletStatMgr;
+    }
+
     public ConcurrentHashMap<String, Database> getFullNameToDb() {
         return localMetastore.getFullNameToDb();
     }
@@ -237,6 +237,7 @@ import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
 import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.TimeUnit;
@@ -591,6 +592,10 @@ public class LocalMetastore implements ConnectorMetadata {
             if (!recycleBin.recoverTable(db, tableName)) {
                 ErrorReport.reportDdlException(ErrorCode.ERR_BAD_TABLE_ERROR, tableName);
             }
+            Table recoveredTable = db.getTable(tableName);
+            if (recoveredTable instanceof OlapTable) {
+                stateMgr.getTabletChecker().markTableDirty(db.getId(), (OlapTable) recoveredTable);
+            }
         } finally {
             db.writeUnlock();
         }
@@ -623,6 +628,11 @@ public class LocalMetastore implements ConnectorMetadata {
             }
 
             recycleBin.recoverPartition(db.getId(), olapTable, partitionName);
+            Partition recoveredPartition = olapTable.getPartition(partitionName);
+            if (recoveredPartition != null) {
+                stateMgr.getTabletChecker().markPartitionsDirty(db.getId(), olapTable.getId(),
+                        Lists.newArrayList(recoveredPartition.getId()));
+            }
         } finally {
             db.writeUnlock();
         }
@@ -1400,6 +1410,10 @@ public class LocalMetastore implements ConnectorMetadata {
                 // add partition log
                 addPartitionLog(db, olapTable, partitionDescs, addPartitionClause, partitionInfo, partitionList,
                         existPartitionNameSet);
+
+                // let tablet checker check new partitions in next round instead of waiting for a full check
+                stateMgr.getTabletChecker().markPartitionsDirty(db.getId(), olapTable.getId(),
+                        partitionList.stream().map(Partition::getId).collect(Collectors.toList()));
             } finally {
                 cleanExistPartitionNameSet(existPartitionNameSet, partitionNameToTabletSet);
                 db.writeUnlock();
@@ -2422,6 +2436,8 @@ public class LocalMetastore implements ConnectorMetadata {
                 addToColocateGroupSuccess = true;
             }
             LOG.info("Successfully create table[{};{}]", tableName, tableId);
+            // let tablet checker check the new table in next round instead of waiting for a full check
+            stateMgr.getTabletChecker().markTableDirty(db.getId(), olapTable);
             // register or remove table from DynamicPartition after table created
             DynamicPartitionUtil.registerOrRemoveDynamicPartitionTable(db.getId(), olapTable);
             stateMgr.getDynamicPartitionScheduler().createOrUpdateRuntimeInfo(
@@ -3924,6 +3940,8 @@ public class LocalMetastore implements ConnectorMetadata {
         ModifyPartitionInfo info = new ModifyPartitionInfo(db.getId(), table.getId(), partition.getId(),
                 newDataProperty, replicationNum, isInMemory);
         editLog.logModifyPartition(info);
+        stateMgr.getTabletChecker().markPartitionsDirty(db.getId(), table.getId(),
+                Lists.newArrayList(partition.getId()));
         LOG.info("modify partition[{}-{}-{}] replication num to {}", db.getOriginName(), table.getName(),
                 partition.getName(), replicationNum);
     }
@@ -3970,6 +3988,8 @@ public class LocalMetastore implements ConnectorMetadata {
         if (isUnpartitionedTable) {
             Preconditions.checkNotNull(partition);
             partitionInfo.setReplicationNum(partition.getId(), tableProperty.getReplicationNum());
+            stateMgr.getTabletChecker().markPartitionsDirty(db.getId(), table.getId(),
+                    Lists.newArrayList(partition.getId()));
         }
 
         // log
@@ -4535,6 +4555,8 @@ public class LocalMetastore implements ConnectorMetadata {
             TruncateTableInfo info = new TruncateTableInfo(db.getId(), olapTable.getId(), newPartitions,
                     truncateEntireTable);
             editLog.logTruncateTable(info);
+            stateMgr.getTabletChecker().markPartitionsDirty(db.getId(), olapTable.getId(),
+                    newPartitions.stream().map(Partition::getId).collect(Collectors.toList()));
 
             // refresh mv
             Set<MvId> relatedMvs = olapTable.getRelatedMaterializedViews();
@@ -4755,6 +4777,9 @@ public class LocalMetastore implements ConnectorMetadata {
             ReplacePartitionOperationLog info = new ReplacePartitionOperationLog(db.getId(), olapTable.getId(),
                     partitionNames, tempPartitionNames, isStrictRange, useTempPartitionName);
             editLog.logReplaceTempPartition(info);
+            stateMgr.getTabletChecker().markPartitionsDirty(db.getId(), olapTable.getId(),
+                    partitionNames.stream().map(olapTable::getPartition).filter(Objects::nonNull)
+                            .map(Partition::getId).collect(Collectors.toList()));
             LOG.info("finished to replace partitions {} with temp partitions {} from table: {}",
                     clause.getPartitionNames(), clause.getTempPartitionNames(), tableName);
         } finally {
@@ -4830,6 +4855,7 @@ public class LocalMetastore implements ConnectorMetadata {
                         SetReplicaStatusOperationLog log =
                                 new SetReplicaStatusOperationLog(backendId, tabletId, status);
                         editLog.logSetReplicaStatus(log);
+                        stateMgr.getTabletChecker().markTabletsDirty(Lists.newArrayList(tabletId));
                     }
                     LOG.info("set replica {} of tablet {} on backend {} as {}. is replay: {}",
                             replica.getId(), tabletId, backendId, status, isReplay);
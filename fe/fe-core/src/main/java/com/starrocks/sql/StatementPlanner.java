@@ -15,6 +15,7 @@
 package com.starrocks.sql;
 
 import com.starrocks.catalog.Database;
+import com.starrocks.common.Config;
 import com.starrocks.planner.PlanFragment;
 import com.starrocks.planner.ResultSink;
 import com.starrocks.qe.ConnectContext;
@@ -40,8 +41,10 @@ import com.starrocks.sql.plan.ExecPlan;
 import com.starrocks.sql.plan.PlanFragmentBuilder;
 import com.starrocks.thrift.TResultSinkType;
 
+import java.util.Collections;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import java.util.stream.Collectors;
 
 public class StatementPlanner {
@@ -57,12 +60,16 @@ public class StatementPlanner {
         }
 
         Map<String, Database> dbs = AnalyzerUtils.collectAllDatabase(session, stmt);
+        Map<Long, Set<Long>> tableIds = Collections.emptyMap();
+        if (Config.enable_table_level_lock) {
+            tableIds = AnalyzerUtils.collectAllTableIds(session, stmt, dbs);
+        }
         Map<String, Database> dbLocks = null;
         if (lockDb) {
             dbLocks = dbs;
         }
         try {
-            lock(dbLocks);
+            lock(dbLocks, tableIds);
             try (PlannerProfile.ScopedTimer ignored = PlannerProfile.getScopedTimer("Analyzer")) {
                 Analyzer.analyze(stmt, session);
             }
@@ -88,7 +95,7 @@ public class StatementPlanner {
                 return new DeletePlanner().plan((DeleteStmt) stmt, session);
             }
         } finally {
-            unLock(dbLocks);
+            unLock(dbLocks, tableIds);
         }
         return null;
     }
@@ -131,23 +138,23 @@ public class StatementPlanner {
         }
     }
 
-    // Lock all database before analyze
-    private static void lock(Map<String, Database> dbs) {
+    // Lock all database before analyze, only the referenced tables are locked if table level lock is enabled
+    private static void lock(Map<String, Database> dbs, Map<Long, Set<Long>> tableIds) {
         if (dbs == null) {
             return;
         }
         for (Database db : dbs.values()) {
-            db.readLock();
+            db.readLockTables(tableIds.getOrDefault(db.getId(), Collections.emptySet()));
         }
     }
 
     // unLock all database after analyze
-    private static void unLock(Map<String, Database> dbs) {
+    private static void unLock(Map<String, Database> dbs, Map<Long, Set<Long>> tableIds) {
         if (dbs == null) {
             return;
         }
         for (Database db : dbs.values()) {
-            db.readUnlock();
+            db.readUnlockTables(tableIds.getOrDefault(db.getId(), Collections.emptySet()));
         }
     }
 
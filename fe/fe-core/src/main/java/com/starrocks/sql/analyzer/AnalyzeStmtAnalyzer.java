@@ -56,6 +56,9 @@ public class AnalyzeStmtAnalyzer {
             StatsConstants.HISTOGRAM_BUCKET_NUM,
             StatsConstants.HISTOGRAM_MCV_SIZE,
             StatsConstants.HISTOGRAM_SAMPLE_RATIO,
+            StatsConstants.HISTOGRAM_COLLECT_METHOD,
+
+            StatsConstants.MULTI_COLUMN_STATS,
 
             //Deprecated , just not throw exception
             StatsConstants.PRO_SAMPLE_RATIO,
@@ -100,6 +103,7 @@ public class AnalyzeStmtAnalyzer {
             }
 
             analyzeProperties(statement.getProperties());
+            analyzeMultiColumnStats(analyzeTable, statement.getProperties());
             analyzeAnalyzeTypeDesc(session, statement, statement.getAnalyzeTypeDesc());
             return null;
         }
@@ -139,6 +143,7 @@ public class AnalyzeStmtAnalyzer {
                         }
                     }
 
+                    analyzeMultiColumnStats(analyzeTable, statement.getProperties());
                     statement.setDbId(db.getId());
                     statement.setTableId(analyzeTable.getId());
                 }
@@ -161,6 +166,38 @@ public class AnalyzeStmtAnalyzer {
             }
         }
 
+        private void analyzeMultiColumnStats(Table analyzeTable, Map<String, String> properties) {
+            if (!properties.containsKey(StatsConstants.MULTI_COLUMN_STATS)) {
+                return;
+            }
+            List<List<String>> groups =
+                    StatisticUtils.parseColumnGroups(properties.get(StatsConstants.MULTI_COLUMN_STATS));
+            if (groups.isEmpty()) {
+                throw new SemanticException("Property '%s' must be column groups like 'c1,c2;c3,c4'",
+                        StatsConstants.MULTI_COLUMN_STATS);
+            }
+            for (List<String> group : groups) {
+                Set<String> groupColumns = Sets.newTreeSet(String.CASE_INSENSITIVE_ORDER);
+                for (String colName : group) {
+                    Column col = analyzeTable.getColumn(colName);
+                    if (col == null) {
+                        throw new SemanticException("Unknown column '%s' in '%s'", colName, analyzeTable.getName());
+                    }
+                    if (!col.getType().canStatistic()) {
+                        throw new SemanticException("Can't create multi-column statistics on column type is %s",
+                                col.getType().toSql());
+                    }
+                    if (!groupColumns.add(colName)) {
+                        throw new SemanticException("Column '%s' specified twice", colName);
+                    }
+                }
+                if (groupColumns.size() < 2) {
+                    throw new SemanticException("Multi-column statistics need at least 2 columns, but got '%s'",
+                            String.join(",", group));
+                }
+            }
+        }
+
         private void analyzeAnalyzeTypeDesc(ConnectContext session, AnalyzeStmt statement,
                                             AnalyzeTypeDesc analyzeTypeDesc) {
             if (analyzeTypeDesc instanceof AnalyzeHistogramDesc) {
@@ -189,6 +226,15 @@ public class AnalyzeStmtAnalyzer {
                         p -> String.valueOf(Config.histogram_mcv_size));
                 properties.computeIfAbsent(StatsConstants.HISTOGRAM_SAMPLE_RATIO,
                         p -> String.valueOf(Config.histogram_sample_ratio));
+                properties.computeIfAbsent(StatsConstants.HISTOGRAM_COLLECT_METHOD,
+                        p -> Config.histogram_collect_method);
+                String collectMethod = properties.get(StatsConstants.HISTOGRAM_COLLECT_METHOD);
+                if (!StatsConstants.HISTOGRAM_COLLECT_METHOD_SAMPLE.equalsIgnoreCase(collectMethod)
+                        && !StatsConstants.HISTOGRAM_COLLECT_METHOD_SKETCH.equalsIgnoreCase(collectMethod)) {
+                    throw new SemanticException("Property '%s' must be '%s' or '%s'",
+                            StatsConstants.HISTOGRAM_COLLECT_METHOD, StatsConstants.HISTOGRAM_COLLECT_METHOD_SAMPLE,
+                            StatsConstants.HISTOGRAM_COLLECT_METHOD_SKETCH);
+                }
 
                 long totalRows = analyzeTable.getRowCount();
                 long sampleRows = (long) (totalRows *
@@ -19,6 +19,7 @@ import com.google.common.base.Splitter;
 import com.google.common.base.Strings;
 import com.google.common.collect.Lists;
 import com.google.common.collect.Maps;
+import com.google.common.collect.Sets;
 import com.starrocks.analysis.AnalyticExpr;
 import com.starrocks.analysis.DateLiteral;
 import com.starrocks.analysis.Expr;
@@ -33,11 +34,13 @@ import com.starrocks.catalog.AggregateFunction;
 import com.starrocks.catalog.ArrayType;
 import com.starrocks.catalog.Database;
 import com.starrocks.catalog.Function;
+import com.starrocks.catalog.MaterializedView;
 import com.starrocks.catalog.OlapTable;
 import com.starrocks.catalog.PrimitiveType;
 import com.starrocks.catalog.ScalarType;
 import com.starrocks.catalog.Table;
 import com.starrocks.catalog.Type;
+import com.starrocks.catalog.View;
 import com.starrocks.common.AnalysisException;
 import com.starrocks.common.Config;
 import com.starrocks.common.ErrorCode;
@@ -77,6 +80,7 @@ import java.time.format.DateTimeFormatter;
 import java.util.Collections;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 
 public class AnalyzerUtils {
 
@@ -209,16 +213,29 @@ public class AnalyzerUtils {
     //Get all the db used, the query needs to add locks to them
     public static Map<String, Database> collectAllDatabase(ConnectContext session, StatementBase statementBase) {
         Map<String, Database> dbs = Maps.newHashMap();
-        new AnalyzerUtils.DBCollector(dbs, session).visit(statementBase);
+        new AnalyzerUtils.DBCollector(dbs, null, session).visit(statementBase);
         return dbs;
     }
 
+    // Get the ids of the tables read by the statement, grouped by db id, including the tables reached through
+    // the definitions of views and the base tables of materialized views.
+    // The dbs of the tables reached through views and materialized views are added to dbs, so they are locked too.
+    public static Map<Long, Set<Long>> collectAllTableIds(ConnectContext session, StatementBase statementBase,
+                                                          Map<String, Database> dbs) {
+        Map<Long, Set<Long>> tableIds = Maps.newHashMap();
+        new AnalyzerUtils.DBCollector(dbs, tableIds, session).visit(statementBase);
+        return tableIds;
+    }
+
     private static class DBCollector extends AstVisitor<Void, Void> {
         private final Map<String, Database> dbs;
+        // null if tables are not collected
+        private final Map<Long, Set<Long>> tableIds;
         private final ConnectContext session;
 
-        public DBCollector(Map<String, Database> dbs, ConnectContext session) {
+        public DBCollector(Map<String, Database> dbs, Map<Long, Set<Long>> tableIds, ConnectContext session) {
             this.dbs = dbs;
+            this.tableIds = tableIds;
             this.session = session;
         }
 
@@ -317,6 +334,35 @@ public class AnalyzerUtils {
                 return;
             }
             dbs.put(db.getFullName(), db);
+
+            if (tableIds != null) {
+                collectTable(db, db.getTable(tableName.getTbl()));
+            }
+        }
+
+        private void collectTable(Database db, Table table) {
+            if (table == null) {
+                return;
+            }
+            if (!tableIds.computeIfAbsent(db.getId(), k -> Sets.newHashSet()).add(table.getId())) {
+                // already collected, which also stops the recursion on cyclic references
+                return;
+            }
+            if (table instanceof View) {
+                visit(((View) table).getQueryStatement());
+            } else if (table instanceof MaterializedView) {
+                for (MaterializedView.BaseTableInfo baseTableInfo : ((MaterializedView) table).getBaseTableInfos()) {
+                    if (!CatalogMgr.isInternalCatalog(baseTableInfo.getCatalogName())) {
+                        continue;
+                    }
+                    Database baseDb = session.getGlobalStateMgr().getDb(baseTableInfo.getDbId());
+                    if (baseDb == null) {
+                        continue;
+                    }
+                    dbs.put(baseDb.getFullName(), baseDb);
+                    collectTable(baseDb, baseDb.getTable(baseTableInfo.getTableId()));
+                }
+            }
         }
     }
 
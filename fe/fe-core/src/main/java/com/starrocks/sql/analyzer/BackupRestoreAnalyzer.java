@@ -58,6 +58,8 @@ public class BackupRestoreAnalyzer {
         private static final String PROP_TIMEOUT = "timeout";
         private static final long MIN_TIMEOUT_MS = 600_000L; // 10 min
         private static final String PROP_TYPE = "type";
+        private static final String PROP_BASE_SNAPSHOT = "base_snapshot";
+        private static final String PROP_BASE_TIMESTAMP = "base_timestamp";
         private static final String PROP_ALLOW_LOAD = "allow_load";
         private static final String PROP_REPLICATION_NUM = "replication_num";
         private static final String PROP_BACKUP_TIMESTAMP = "backup_timestamp";
@@ -117,12 +119,29 @@ public class BackupRestoreAnalyzer {
                         }
                         iterator.remove();
                         break;
+                    case PROP_BASE_SNAPSHOT:
+                        backupStmt.setBaseSnapshot(value);
+                        iterator.remove();
+                        break;
+                    case PROP_BASE_TIMESTAMP:
+                        backupStmt.setBaseTimestamp(value);
+                        iterator.remove();
+                        break;
                     default:
                         copiedProperties.put(next.getKey(), value);
                         break;
                 }
             }
 
+            if (backupStmt.getType() == BackupStmt.BackupType.INCREMENTAL
+                    && Strings.isNullOrEmpty(backupStmt.getBaseSnapshot())) {
+                ErrorReport.reportSemanticException(ErrorCode.ERR_COMMON_ERROR,
+                        "Missing " + PROP_BASE_SNAPSHOT + " property for incremental backup");
+            }
+            if (backupStmt.getType() == BackupStmt.BackupType.FULL && backupStmt.getBaseSnapshot() != null) {
+                ErrorReport.reportSemanticException(ErrorCode.ERR_COMMON_ERROR,
+                        PROP_BASE_SNAPSHOT + " can only be set for incremental backup");
+            }
             backupStmt.setTimeoutMs(timeoutMs);
             if (!copiedProperties.isEmpty()) {
                 ErrorReport.reportSemanticException(ErrorCode.ERR_COMMON_ERROR,
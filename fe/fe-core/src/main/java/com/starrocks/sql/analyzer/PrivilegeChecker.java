@@ -14,6 +14,7 @@
 
 package com.starrocks.sql.analyzer;
 
+import com.google.common.collect.Lists;
 import com.starrocks.analysis.CompoundPredicate;
 import com.starrocks.analysis.ResourcePattern;
 import com.starrocks.analysis.TableName;
@@ -1204,9 +1205,12 @@ public class PrivilegeChecker {
         @Override
         public Void visitCreateRoutineLoadStatement(CreateRoutineLoadStmt statement, ConnectContext session) {
             String db = statement.getDBName();
-            String table = statement.getTableName();
-            if (!GlobalStateMgr.getCurrentState().getAuth().checkTblPriv(session, db, table, PrivPredicate.LOAD)) {
-                ErrorReport.reportSemanticException(ErrorCode.ERR_DB_ACCESS_DENIED, session.getQualifiedUser(), db);
+            List<String> tables = Lists.newArrayList(statement.getTableName());
+            tables.addAll(statement.getTargetTables());
+            for (String table : tables) {
+                if (!GlobalStateMgr.getCurrentState().getAuth().checkTblPriv(session, db, table, PrivPredicate.LOAD)) {
+                    ErrorReport.reportSemanticException(ErrorCode.ERR_DB_ACCESS_DENIED, session.getQualifiedUser(), db);
+                }
             }
             return null;
         }
@@ -503,6 +503,9 @@ public class PrivilegeCheckerV2 {
         public Void visitCreateRoutineLoadStatement(CreateRoutineLoadStmt statement, ConnectContext context) {
             checkTableAction(context, statement.getDBName(), statement.getTableName(),
                     PrivilegeType.TableAction.INSERT);
+            for (String targetTable : statement.getTargetTables()) {
+                checkTableAction(context, statement.getDBName(), targetTable, PrivilegeType.TableAction.INSERT);
+            }
             return null;
         }
 
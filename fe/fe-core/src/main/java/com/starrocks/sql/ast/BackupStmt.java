@@ -27,6 +27,9 @@ public class BackupStmt extends AbstractBackupStmt {
     }
 
     private BackupType type = BackupType.FULL;
+    // label and optional timestamp of the snapshot which an incremental backup is based on
+    private String baseSnapshot;
+    private String baseTimestamp;
 
     public BackupStmt(LabelName labelName, String repoName, List<TableRef> tblRefs, Map<String, String> properties) {
         super(labelName, repoName, tblRefs, properties);
@@ -48,6 +51,22 @@ public class BackupStmt extends AbstractBackupStmt {
         this.type = type;
     }
 
+    public String getBaseSnapshot() {
+        return baseSnapshot;
+    }
+
+    public void setBaseSnapshot(String baseSnapshot) {
+        this.baseSnapshot = baseSnapshot;
+    }
+
+    public String getBaseTimestamp() {
+        return baseTimestamp;
+    }
+
+    public void setBaseTimestamp(String baseTimestamp) {
+        this.baseTimestamp = baseTimestamp;
+    }
+
     @Override
     public <R, C> R accept(AstVisitor<R, C> visitor, C context) {
         return visitor.visitBackupStatement(this, context);
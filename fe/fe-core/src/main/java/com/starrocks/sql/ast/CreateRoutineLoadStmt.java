@@ -102,6 +102,8 @@ public class CreateRoutineLoadStmt extends DdlStmt {
     public static final String STRIP_OUTER_ARRAY = "strip_outer_array";
     public static final String JSONPATHS = "jsonpaths";
     public static final String JSONROOT = "json_root";
+    // kafka only, the tables which messages are routed to by message key, besides the table of the job
+    public static final String TARGET_TABLES = "target_tables";
 
     // kafka type properties
     public static final String KAFKA_BROKER_LIST_PROPERTY = "kafka_broker_list";
@@ -137,6 +139,7 @@ public class CreateRoutineLoadStmt extends DdlStmt {
             .add(LoadStmt.TIMEZONE)
             .add(LoadStmt.PARTIAL_UPDATE)
             .add(LoadStmt.MERGE_CONDITION)
+            .add(TARGET_TABLES)
             .build();
 
     private static final ImmutableSet<String> KAFKA_PROPERTIES_SET = new ImmutableSet.Builder<String>()
@@ -174,6 +177,7 @@ public class CreateRoutineLoadStmt extends DdlStmt {
     private String timezone = TimeUtils.DEFAULT_TIME_ZONE;
     private boolean partialUpdate = false;
     private String mergeConditionStr;
+    private List<String> targetTables = Lists.newArrayList();
     /**
      * RoutineLoad support json data.
      * Require Params:
@@ -293,6 +297,10 @@ public class CreateRoutineLoadStmt extends DdlStmt {
         return mergeConditionStr;
     }
 
+    public List<String> getTargetTables() {
+        return targetTables;
+    }
+
     public String getFormat() {
         return format;
     }
@@ -465,6 +473,22 @@ public class CreateRoutineLoadStmt extends DdlStmt {
 
         mergeConditionStr = jobProperties.get(LoadStmt.MERGE_CONDITION);
 
+        String targetTablesStr = jobProperties.get(TARGET_TABLES);
+        if (targetTablesStr != null) {
+            targetTables = Lists.newArrayList();
+            for (String targetTable : targetTablesStr.split(",")) {
+                targetTable = targetTable.trim();
+                if (targetTable.isEmpty() || targetTable.equals(tableName) || targetTables.contains(targetTable)) {
+                    throw new AnalysisException(TARGET_TABLES + " should be distinct tables other than " + tableName);
+                }
+                targetTables.add(targetTable);
+            }
+            if (targetTables.size() > Config.max_routine_load_target_table_num) {
+                throw new AnalysisException(TARGET_TABLES + " should not be more than "
+                        + Config.max_routine_load_target_table_num + " tables");
+            }
+        }
+
         if (ConnectContext.get() != null) {
             timezone = ConnectContext.get().getSessionVariable().getTimeZone();
         }
@@ -640,6 +664,9 @@ public class CreateRoutineLoadStmt extends DdlStmt {
     }
 
     private void checkPulsarProperties() throws AnalysisException {
+        if (!targetTables.isEmpty()) {
+            throw new AnalysisException(TARGET_TABLES + " is only supported by kafka routine load");
+        }
         Optional<String> optional = dataSourceProperties.keySet().stream()
                 .filter(entity -> !PULSAR_PROPERTIES_SET.contains(entity))
                 .filter(entity -> !entity.startsWith("property.")).findFirst();
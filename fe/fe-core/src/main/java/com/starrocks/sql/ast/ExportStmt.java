@@ -53,6 +53,16 @@ import java.util.Set;
 public class ExportStmt extends StatementBase {
 
     private static final String INCLUDE_QUERY_ID_PROP = "include_query_id";
+    // format of the exported files, csv or parquet
+    public static final String FORMAT_PROP = "format";
+    // a new file is started once the current file of a task instance reaches this size in bytes
+    public static final String MAX_FILE_SIZE_PROP = "max_file_size";
+    // write a manifest listing all exported files when the job finishes
+    public static final String WRITE_MANIFEST_PROP = "write_manifest";
+
+    public static final String FORMAT_CSV = "csv";
+    public static final String FORMAT_PARQUET = "parquet";
+    private static final String FORMAT_ORC = "orc";
 
     private static final String DEFAULT_COLUMN_SEPARATOR = "\t";
     private static final String DEFAULT_LINE_DELIMITER = "\n";
@@ -281,6 +291,41 @@ public class ExportStmt extends StatementBase {
             }
             includeQueryId = Boolean.parseBoolean(properties.get(INCLUDE_QUERY_ID_PROP));
         }
+
+        // format
+        if (properties.containsKey(FORMAT_PROP)) {
+            String format = properties.get(FORMAT_PROP).toLowerCase();
+            if (format.equals(FORMAT_ORC)) {
+                throw new AnalysisException("Export format " + format + " is not supported yet");
+            }
+            if (!format.equals(FORMAT_CSV) && !format.equals(FORMAT_PARQUET)) {
+                throw new AnalysisException("Invalid export format: " + properties.get(FORMAT_PROP)
+                        + ", only csv and parquet are supported");
+            }
+            properties.put(FORMAT_PROP, format);
+        }
+
+        // max file size
+        if (properties.containsKey(MAX_FILE_SIZE_PROP)) {
+            long maxFileSize;
+            try {
+                maxFileSize = Long.parseLong(properties.get(MAX_FILE_SIZE_PROP));
+            } catch (NumberFormatException e) {
+                throw new AnalysisException("Invalid max file size value: " + e.getMessage());
+            }
+            if (maxFileSize <= 0) {
+                throw new AnalysisException("Max file size should be greater than 0: " + maxFileSize);
+            }
+        }
+
+        // write manifest
+        if (properties.containsKey(WRITE_MANIFEST_PROP)) {
+            String writeManifestStr = properties.get(WRITE_MANIFEST_PROP);
+            if (!writeManifestStr.equalsIgnoreCase("true")
+                    && !writeManifestStr.equalsIgnoreCase("false")) {
+                throw new AnalysisException("Invalid write manifest value: " + writeManifestStr);
+            }
+        }
     }
 
     @Override
@@ -74,6 +74,13 @@ public class ExpressionContext {
         }
     }
 
+    public GroupExpression getGroupExpression() {
+        if (groupExpression != null) {
+            return groupExpression;
+        }
+        return expression.getGroupExpression();
+    }
+
     public Operator getOp() {
         if (expression != null) {
             return expression.getOp();
@@ -15,10 +15,13 @@
 
 package com.starrocks.sql.optimizer;
 
+import com.google.common.collect.ImmutableSet;
 import com.starrocks.catalog.MaterializedView;
+import com.starrocks.catalog.Table;
 import com.starrocks.sql.optimizer.base.ColumnRefFactory;
 import com.starrocks.sql.optimizer.operator.Operator;
 import com.starrocks.sql.optimizer.operator.scalar.ColumnRefOperator;
+import com.starrocks.sql.optimizer.rule.transformation.materialization.MvUtils;
 
 import java.util.Map;
 import java.util.Set;
@@ -43,6 +46,9 @@ public class MaterializationContext {
 
     private Set<String> mvPartitionNamesToRefresh;
 
+    // tables scanned by the query of materialized view, used as the signature to index candidate mvs
+    private final Set<Table> mvTables;
+
     public MaterializationContext(MaterializedView mv,
                                   OptExpression mvExpression,
                                   ColumnRefFactory queryColumnRefFactory,
@@ -53,6 +59,7 @@ public class MaterializationContext {
         this.queryRefFactory = queryColumnRefFactory;
         this.mvColumnRefFactory = mvColumnRefFactory;
         this.mvPartitionNamesToRefresh = mvPartitionNamesToRefresh;
+        this.mvTables = ImmutableSet.copyOf(MvUtils.getAllTables(mvExpression));
     }
 
     public MaterializedView getMv() {
@@ -110,4 +117,8 @@ public class MaterializationContext {
     public Set<String> getMvPartitionNamesToRefresh() {
         return mvPartitionNamesToRefresh;
     }
+
+    public Set<Table> getMvTables() {
+        return mvTables;
+    }
 }
@@ -20,6 +20,7 @@ import com.google.common.collect.ImmutableList;
 import com.google.common.collect.ImmutableMap;
 import com.google.common.collect.Lists;
 import com.google.common.collect.Maps;
+import com.google.common.collect.Sets;
 import com.starrocks.catalog.Column;
 import com.starrocks.catalog.DistributionInfo;
 import com.starrocks.catalog.HashDistributionInfo;
@@ -30,6 +31,7 @@ import com.starrocks.catalog.PartitionInfo;
 import com.starrocks.catalog.SinglePartitionInfo;
 import com.starrocks.catalog.Table;
 import com.starrocks.qe.ConnectContext;
+import com.starrocks.server.CatalogMgr;
 import com.starrocks.sql.ast.PartitionNames;
 import com.starrocks.sql.optimizer.base.ColumnRefFactory;
 import com.starrocks.sql.optimizer.base.DistributionSpec;
@@ -67,10 +69,19 @@ public class MvRewritePreprocessor {
         Set<MaterializedView> relatedMvs =
                 MvUtils.getRelatedMvs(connectContext.getSessionVariable().getNestedMvRewriteMaxLevel(), tables);
 
+        // only mvs whose base tables all show up in the query, or are mvs which may be rewritten into the query
+        // (nested mv), can match any part of the query. Filter the others before the costly mv plan building.
+        Set<Long> candidateBaseTableIds = Sets.newHashSet();
+        tables.forEach(table -> candidateBaseTableIds.add(table.getId()));
+        relatedMvs.forEach(mv -> candidateBaseTableIds.add(mv.getId()));
+
         for (MaterializedView mv : relatedMvs) {
             if (!mv.isActive()) {
                 continue;
             }
+            if (!isBaseTablesContained(mv, candidateBaseTableIds)) {
+                continue;
+            }
             Set<String> partitionNamesToRefresh = mv.getPartitionNamesToRefreshForMv();
             PartitionInfo partitionInfo = mv.getPartitionInfo();
             if (partitionInfo instanceof SinglePartitionInfo) {
@@ -121,6 +132,17 @@ public class MvRewritePreprocessor {
         }
     }
 
+    private boolean isBaseTablesContained(MaterializedView mv, Set<Long> tableIds) {
+        for (MaterializedView.BaseTableInfo baseTableInfo : mv.getBaseTableInfos()) {
+            // external table ids are not stable across queries, leave them to the structural match
+            if (CatalogMgr.isInternalCatalog(baseTableInfo.getCatalogName())
+                    && !tableIds.contains(baseTableInfo.getTableId())) {
+                return false;
+            }
+        }
+        return true;
+    }
+
     private LogicalOlapScanOperator createScanMvOperator(MaterializationContext materializationContext) {
         MaterializedView mv = materializationContext.getMv();
 
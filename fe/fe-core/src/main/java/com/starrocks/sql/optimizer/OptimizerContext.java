@@ -15,7 +15,10 @@
 
 package com.starrocks.sql.optimizer;
 
+import com.google.common.collect.ImmutableSet;
 import com.google.common.collect.Lists;
+import com.google.common.collect.Maps;
+import com.starrocks.catalog.Table;
 import com.starrocks.qe.ConnectContext;
 import com.starrocks.qe.SessionVariable;
 import com.starrocks.qe.VariableMgr;
@@ -27,7 +30,11 @@ import com.starrocks.sql.optimizer.task.SeriallyTaskScheduler;
 import com.starrocks.sql.optimizer.task.TaskContext;
 import com.starrocks.sql.optimizer.task.TaskScheduler;
 
+import java.util.Collection;
+import java.util.Collections;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 
 public class OptimizerContext {
     private final Memo memo;
@@ -42,6 +49,9 @@ public class OptimizerContext {
     private OptimizerTraceInfo traceInfo;
     private OptimizerConfig optimizerConfig;
     private List<MaterializationContext> candidateMvs;
+    // candidate mvs indexed by the tables of their queries. Only complete match of tables is supported in
+    // mv rewrite now, so a query expression can only be rewritten by mvs with the same tables
+    private final Map<Set<Table>, List<MaterializationContext>> tablesToCandidateMvs = Maps.newHashMap();
 
     public OptimizerContext(Memo memo, ColumnRefFactory columnRefFactory) {
         this.memo = memo;
@@ -138,5 +148,15 @@ public class OptimizerContext {
 
     public void addCandidateMvs(MaterializationContext candidateMv) {
         this.candidateMvs.add(candidateMv);
+        this.tablesToCandidateMvs.computeIfAbsent(candidateMv.getMvTables(), k -> Lists.newArrayList())
+                .add(candidateMv);
+    }
+
+    /**
+     * Get the candidate mvs which scan the same tables as the query expression, other mvs can not be
+     * used to rewrite it and are skipped without trying the structural match.
+     */
+    public List<MaterializationContext> getCandidateMvs(Collection<Table> queryTables) {
+        return tablesToCandidateMvs.getOrDefault(ImmutableSet.copyOf(queryTables), Collections.emptyList());
     }
 }
@@ -26,6 +26,10 @@ public class OptimizerTraceInfo {
     private final UUID queryId;
     private final Map<String, Integer> rulesAppliedTimes = new HashMap<>();
     private final Stopwatch stopwatch;
+    // count of materialized view rewrite tried and succeeded, and the time spent on them
+    private int mvRewriteAttempts = 0;
+    private int mvRewriteSuccesses = 0;
+    private long mvRewriteTimeNs = 0;
 
     public OptimizerTraceInfo(UUID queryId) {
         this.queryId = queryId;
@@ -36,6 +40,26 @@ public class OptimizerTraceInfo {
         rulesAppliedTimes.merge(rule, 1, Integer::sum);
     }
 
+    public void recordMvRewrite(boolean success, long timeNs) {
+        mvRewriteAttempts++;
+        if (success) {
+            mvRewriteSuccesses++;
+        }
+        mvRewriteTimeNs += timeNs;
+    }
+
+    public int getMvRewriteAttempts() {
+        return mvRewriteAttempts;
+    }
+
+    public int getMvRewriteSuccesses() {
+        return mvRewriteSuccesses;
+    }
+
+    public long getMvRewriteTimeNs() {
+        return mvRewriteTimeNs;
+    }
+
     public Map<String, Integer> getRulesAppliedTimes() {
         return rulesAppliedTimes;
     }
@@ -52,6 +76,9 @@ public class OptimizerTraceInfo {
     public String toString() {
         StringBuilder sb = new StringBuilder("OptimizerTraceInfo");
         sb.append("\nRules' applied times\n").append(rulesAppliedTimes);
+        sb.append("\nMV rewrite attempts: ").append(mvRewriteAttempts)
+                .append(", successes: ").append(mvRewriteSuccesses)
+                .append(", time: ").append(mvRewriteTimeNs / 1000000).append("ms");
         return sb.toString();
     }
 }
@@ -16,13 +16,16 @@
 package com.starrocks.sql.optimizer.rule.transformation.materialization.rule;
 
 import com.google.common.collect.Lists;
+import com.starrocks.catalog.Table;
 import com.starrocks.sql.optimizer.MaterializationContext;
 import com.starrocks.sql.optimizer.OptExpression;
 import com.starrocks.sql.optimizer.OptimizerContext;
+import com.starrocks.sql.optimizer.OptimizerTraceInfo;
 import com.starrocks.sql.optimizer.operator.pattern.Pattern;
 import com.starrocks.sql.optimizer.rule.RuleType;
 import com.starrocks.sql.optimizer.rule.transformation.TransformationRule;
 import com.starrocks.sql.optimizer.rule.transformation.materialization.MaterializedViewRewriter;
+import com.starrocks.sql.optimizer.rule.transformation.materialization.MvUtils;
 
 import java.util.List;
 
@@ -40,14 +43,21 @@ public abstract class BaseMaterializedViewRewriteRule extends TransformationRule
     @Override
     public List<OptExpression> transform(OptExpression queryExpression, OptimizerContext context) {
         List<OptExpression> results = Lists.newArrayList();
-        for (MaterializationContext mvContext : context.getCandidateMvs()) {
+        List<Table> queryTables = MvUtils.getAllTables(queryExpression);
+        OptimizerTraceInfo traceInfo = context.getTraceInfo();
+        for (MaterializationContext mvContext : context.getCandidateMvs(queryTables)) {
+            long startTime = System.nanoTime();
             mvContext.setQueryExpression(queryExpression);
             mvContext.setOptimizerContext(context);
             MaterializedViewRewriter rewriter = getMaterializedViewRewrite(mvContext);
             List<OptExpression> rewritten = rewriter.rewrite();
-            if (rewritten != null && !rewritten.isEmpty()) {
+            boolean success = rewritten != null && !rewritten.isEmpty();
+            if (success) {
                 results.addAll(rewritten);
             }
+            if (traceInfo != null) {
+                traceInfo.recordMvRewrite(success, System.nanoTime() - startTime);
+            }
         }
         return results;
     }
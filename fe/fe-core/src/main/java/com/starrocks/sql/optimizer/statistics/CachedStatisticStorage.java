@@ -25,11 +25,14 @@ import com.starrocks.catalog.Table;
 import com.starrocks.common.Config;
 import com.starrocks.common.Pair;
 import com.starrocks.server.GlobalStateMgr;
+import com.starrocks.statistic.BasicStatsMeta;
 import com.starrocks.statistic.StatisticUtils;
+import com.starrocks.statistic.StatsConstants;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -58,6 +61,12 @@ public class CachedStatisticStorage implements StatisticStorage {
             .maximumSize(Config.statistic_cache_columns)
             .buildAsync(new ColumnHistogramStatsCacheLoader());
 
+    AsyncLoadingCache<Long, List<MultiColumnStatistic>> multiColumnStatsCache = Caffeine.newBuilder()
+            .expireAfterWrite(Config.statistic_update_interval_sec * 2, TimeUnit.SECONDS)
+            .refreshAfterWrite(Config.statistic_update_interval_sec, TimeUnit.SECONDS)
+            .maximumSize(Config.statistic_cache_columns)
+            .buildAsync(new MultiColumnStatsCacheLoader());
+
     @Override
     public TableStatistic getTableStatistic(Long tableId, Long partitionId) {
         try {
@@ -299,6 +308,35 @@ public class CachedStatisticStorage implements StatisticStorage {
         histogramCache.synchronous().invalidateAll(allKeys);
     }
 
+    @Override
+    public List<MultiColumnStatistic> getMultiColumnStatistics(Table table) {
+        Preconditions.checkState(table != null);
+
+        // only query the tables which declare multi-column statistics
+        BasicStatsMeta basicStatsMeta = GlobalStateMgr.getCurrentAnalyzeMgr().getBasicStatsMetaMap().get(table.getId());
+        if (basicStatsMeta == null || basicStatsMeta.getProperties() == null
+                || !basicStatsMeta.getProperties().containsKey(StatsConstants.MULTI_COLUMN_STATS)) {
+            return Collections.emptyList();
+        }
+
+        try {
+            CompletableFuture<List<MultiColumnStatistic>> result = multiColumnStatsCache.get(table.getId());
+            if (result.isDone()) {
+                return result.get();
+            } else {
+                return Collections.emptyList();
+            }
+        } catch (Exception e) {
+            LOG.warn(e);
+            return Collections.emptyList();
+        }
+    }
+
+    @Override
+    public void expireMultiColumnStatistics(Long tableId) {
+        multiColumnStatsCache.synchronous().invalidate(tableId);
+    }
+
     private List<ColumnStatistic> getDefaultColumnStatisticList(List<String> columns) {
         List<ColumnStatistic> columnStatisticList = new ArrayList<>();
         for (int i = 0; i < columns.size(); ++i) {
@@ -0,0 +1,74 @@
+// Copyright 2021-present StarRocks, Inc. All rights reserved.
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//     https://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package com.starrocks.sql.optimizer.statistics;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Joint statistics of a column group: the number of distinct value combinations and
+ * the most common value combinations, the values of a combination are in the order of columns.
+ */
+public class MultiColumnStatistic {
+    private final List<String> columns;
+    private final double distinctValuesCount;
+    private final double rowCount;
+    private final Map<List<String>, Long> mcv;
+
+    public MultiColumnStatistic(List<String> columns, double distinctValuesCount, double rowCount,
+                                Map<List<String>, Long> mcv) {
+        this.columns = columns;
+        this.distinctValuesCount = distinctValuesCount;
+        this.rowCount = rowCount;
+        this.mcv = mcv;
+    }
+
+    public List<String> getColumns() {
+        return columns;
+    }
+
+    public double getDistinctValuesCount() {
+        return distinctValuesCount;
+    }
+
+    public double getRowCount() {
+        return rowCount;
+    }
+
+    public Map<List<String>, Long> getMCV() {
+        return mcv;
+    }
+
+    /**
+     * Selectivity of the equal predicates on all columns of the group, values are in the order of columns.
+     * The value combination which is not a most common value is assumed to be uniformly distributed
+     * in the remaining rows.
+     */
+    public double getEqualSelectivity(List<String> values) {
+        if (rowCount <= 0 || distinctValuesCount <= 0) {
+            return 1;
+        }
+
+        Long count = mcv.get(values);
+        if (count != null) {
+            return Math.min(1, count / rowCount);
+        }
+
+        long mcvRows = mcv.values().stream().reduce(Long::sum).orElse(0L);
+        double remainingRows = Math.max(1, rowCount - mcvRows);
+        double remainingDistinct = Math.max(1, distinctValuesCount - mcv.size());
+        return Math.min(1, remainingRows / remainingDistinct / rowCount);
+    }
+}
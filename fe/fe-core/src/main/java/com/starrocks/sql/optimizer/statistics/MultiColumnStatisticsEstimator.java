@@ -0,0 +1,153 @@
+// Copyright 2021-present StarRocks, Inc. All rights reserved.
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//     https://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package com.starrocks.sql.optimizer.statistics;
+
+import com.starrocks.sql.optimizer.Utils;
+import com.starrocks.sql.optimizer.operator.scalar.BinaryPredicateOperator;
+import com.starrocks.sql.optimizer.operator.scalar.ColumnRefOperator;
+import com.starrocks.sql.optimizer.operator.scalar.ConstantOperator;
+import com.starrocks.sql.optimizer.operator.scalar.ScalarOperator;
+import com.starrocks.statistic.StatisticUtils;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Use the multi-column statistics to correct the estimation which assumes that the columns are independent,
+ * which underestimates the correlated conjunctive predicates and overestimates the multi-column group by.
+ */
+public class MultiColumnStatisticsEstimator {
+    private MultiColumnStatisticsEstimator() {
+    }
+
+    /**
+     * Find the disjoint column groups with multi-column statistics whose columns are all in the given columns,
+     * the group with more columns is preferred.
+     */
+    public static List<List<ColumnRefOperator>> matchColumnGroups(Collection<ColumnRefOperator> columns,
+                                                                  Statistics statistics) {
+        List<List<ColumnRefOperator>> candidates = new ArrayList<>();
+        for (List<ColumnRefOperator> group : statistics.getMultiColumnStatistics().keySet()) {
+            if (columns.containsAll(group)) {
+                candidates.add(group);
+            }
+        }
+        candidates.sort(Comparator.comparingInt((List<ColumnRefOperator> g) -> g.size()).reversed());
+
+        List<List<ColumnRefOperator>> result = new ArrayList<>();
+        Set<ColumnRefOperator> used = new HashSet<>();
+        for (List<ColumnRefOperator> group : candidates) {
+            if (group.stream().noneMatch(used::contains)) {
+                result.add(group);
+                used.addAll(group);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Replace the selectivity of the equal predicates on a column group, which is estimated by
+     * multiplying the selectivity of each column in independentResult, with the joint selectivity.
+     */
+    public static Statistics estimateConjuncts(ScalarOperator predicate, Statistics inputStatistics,
+                                               Statistics independentResult) {
+        if (inputStatistics.getMultiColumnStatistics().isEmpty() || inputStatistics.getOutputRowCount() <= 0) {
+            return independentResult;
+        }
+
+        Map<ColumnRefOperator, ConstantOperator> equalValues = new HashMap<>();
+        Map<ColumnRefOperator, ScalarOperator> equalPredicates = new HashMap<>();
+        for (ScalarOperator conjunct : Utils.extractConjuncts(predicate)) {
+            if (!(conjunct instanceof BinaryPredicateOperator)) {
+                continue;
+            }
+            BinaryPredicateOperator binary = (BinaryPredicateOperator) conjunct;
+            if (binary.getBinaryType() != BinaryPredicateOperator.BinaryType.EQ) {
+                continue;
+            }
+            ScalarOperator left = binary.getChild(0);
+            ScalarOperator right = binary.getChild(1);
+            if (left.isConstantRef() && right.isColumnRef()) {
+                ScalarOperator tmp = left;
+                left = right;
+                right = tmp;
+            }
+            if (left.isColumnRef() && right.isConstantRef() && !((ConstantOperator) right).isNull()) {
+                equalValues.put((ColumnRefOperator) left, (ConstantOperator) right);
+                equalPredicates.put((ColumnRefOperator) left, conjunct);
+            }
+        }
+        if (equalValues.size() < 2) {
+            return independentResult;
+        }
+
+        double factor = 1;
+        for (List<ColumnRefOperator> group : matchColumnGroups(equalValues.keySet(), inputStatistics)) {
+            MultiColumnStatistic statistic = inputStatistics.getMultiColumnStatistics().get(group);
+            List<String> values = new ArrayList<>();
+            List<ScalarOperator> predicates = new ArrayList<>();
+            for (ColumnRefOperator column : group) {
+                values.add(equalValues.get(column).toString());
+                predicates.add(equalPredicates.get(column));
+            }
+
+            double independentSelectivity = PredicateStatisticsCalculator.statisticsCalculate(
+                    Utils.compoundAnd(predicates), inputStatistics).getOutputRowCount()
+                    / inputStatistics.getOutputRowCount();
+            if (independentSelectivity <= 0) {
+                continue;
+            }
+            factor *= statistic.getEqualSelectivity(values) / independentSelectivity;
+        }
+
+        double rowCount = Math.min(inputStatistics.getOutputRowCount(), independentResult.getOutputRowCount() * factor);
+        return Statistics.buildFrom(independentResult).setOutputRowCount(rowCount).build();
+    }
+
+    /**
+     * The cardinality of the group by columns, a column group with multi-column statistics is counted once
+     * by its distinct value combinations, other columns are counted by their own distinct values.
+     * The cardinality of each column is computed by columnCardinality.
+     */
+    public static List<Double> groupByCardinalities(List<ColumnRefOperator> groupBys, Statistics inputStatistics,
+                                                    Map<ColumnRefOperator, Double> columnCardinality) {
+        List<List<ColumnRefOperator>> groups = matchColumnGroups(groupBys, inputStatistics);
+        Map<ColumnRefOperator, List<ColumnRefOperator>> columnToGroup = new HashMap<>();
+        groups.forEach(g -> g.forEach(c -> columnToGroup.put(c, g)));
+
+        List<Double> cardinalities = new ArrayList<>();
+        Set<List<ColumnRefOperator>> visitedGroups = new HashSet<>();
+        for (ColumnRefOperator column : groupBys) {
+            List<ColumnRefOperator> group = columnToGroup.get(column);
+            if (group == null) {
+                cardinalities.add(columnCardinality.get(column));
+            } else if (visitedGroups.add(group)) {
+                double product = 1;
+                for (ColumnRefOperator groupColumn : group) {
+                    product = StatisticUtils.multiplyRowCount(product, columnCardinality.get(groupColumn));
+                }
+                double groupNdv = inputStatistics.getMultiColumnStatistics().get(group).getDistinctValuesCount();
+                cardinalities.add(Math.max(1, Math.min(groupNdv, product)));
+            }
+        }
+        return cardinalities;
+    }
+}
@@ -0,0 +1,94 @@
+// Copyright 2021-present StarRocks, Inc. All rights reserved.
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//     https://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package com.starrocks.sql.optimizer.statistics;
+
+import com.github.benmanes.caffeine.cache.AsyncCacheLoader;
+import com.google.gson.JsonArray;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+import com.starrocks.qe.ConnectContext;
+import com.starrocks.statistic.StatisticExecutor;
+import com.starrocks.statistic.StatisticUtils;
+import com.starrocks.thrift.TStatisticData;
+import org.checkerframework.checker.nullness.qual.NonNull;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+
+public class MultiColumnStatsCacheLoader implements AsyncCacheLoader<Long, List<MultiColumnStatistic>> {
+    private final StatisticExecutor statisticExecutor = new StatisticExecutor();
+
+    @Override
+    public @NonNull CompletableFuture<List<MultiColumnStatistic>> asyncLoad(@NonNull Long tableId,
+                                                                            @NonNull Executor executor) {
+        return CompletableFuture.supplyAsync(() -> {
+            try {
+                ConnectContext connectContext = StatisticUtils.buildConnectContext();
+                connectContext.setThreadLocalInfo();
+                List<TStatisticData> statisticData =
+                        statisticExecutor.queryMultiColumnStatistics(connectContext, tableId);
+                List<MultiColumnStatistic> result = new ArrayList<>();
+                for (TStatisticData data : statisticData) {
+                    result.add(convert2MultiColumnStatistic(data));
+                }
+                return result;
+            } catch (RuntimeException e) {
+                throw e;
+            } catch (Exception e) {
+                throw new CompletionException(e);
+            }
+        }, executor);
+    }
+
+    @Override
+    public CompletableFuture<List<MultiColumnStatistic>> asyncReload(
+            @NonNull Long tableId, @NonNull List<MultiColumnStatistic> oldValue, @NonNull Executor executor) {
+        return asyncLoad(tableId, executor);
+    }
+
+    public static MultiColumnStatistic convert2MultiColumnStatistic(TStatisticData statisticData) {
+        List<String> columns = Arrays.asList(statisticData.columnName.split(","));
+        JsonObject jsonObject = JsonParser.parseString(statisticData.histogram).getAsJsonObject();
+        double ndv = jsonObject.get("ndv").getAsDouble();
+        double rowCount = jsonObject.get("row_count").getAsDouble();
+
+        Map<List<String>, Long> mcv = new HashMap<>();
+        JsonElement mcvElement = jsonObject.get("mcv");
+        if (mcvElement != null && !mcvElement.isJsonNull()) {
+            if (mcvElement.isJsonPrimitive()) {
+                // mcv is stored as varchar
+                mcvElement = JsonParser.parseString(mcvElement.getAsString());
+            }
+            JsonArray mcvArray = mcvElement.getAsJsonArray();
+            for (int i = 0; i < mcvArray.size(); ++i) {
+                JsonArray item = mcvArray.get(i).getAsJsonArray();
+                JsonArray valuesArray = item.get(0).getAsJsonArray();
+                List<String> values = new ArrayList<>();
+                for (int j = 0; j < valuesArray.size(); ++j) {
+                    values.add(valuesArray.get(j).getAsString());
+                }
+                mcv.put(values, Long.parseLong(item.get(1).getAsString()));
+            }
+        }
+        return new MultiColumnStatistic(columns, ndv, rowCount, mcv);
+    }
+}
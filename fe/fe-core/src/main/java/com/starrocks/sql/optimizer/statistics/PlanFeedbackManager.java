@@ -0,0 +1,270 @@
+// Copyright 2021-present StarRocks, Inc. All rights reserved.
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//     https://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+
+package com.starrocks.sql.optimizer.statistics;
+
+import com.starrocks.common.Config;
+import com.starrocks.common.util.Counter;
+import com.starrocks.common.util.RuntimeProfile;
+import com.starrocks.planner.ExchangeNode;
+import com.starrocks.planner.PlanFragment;
+import com.starrocks.planner.PlanNode;
+import com.starrocks.planner.SortNode;
+import com.starrocks.sql.optimizer.Group;
+import com.starrocks.sql.optimizer.OptExpression;
+import com.starrocks.sql.plan.ExecPlan;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Plan feedback records the estimated and actual rows of the sub plans from the executed query profiles,
+ * keyed by {@link PlanFingerprint}. The learned correction factor (actual rows / estimated rows) is applied
+ * by {@link StatisticsCalculator} when the same sub plan is planned again, which is useful for recurring queries.
+ * The entries are kept in memory only, and the least recently used one is evicted.
+ */
+public class PlanFeedbackManager {
+    private static final Logger LOG = LogManager.getLogger(PlanFeedbackManager.class);
+
+    // operator profile of pipeline engine, e.g. "HASH_JOIN_PROBE (plan_node_id=3)"
+    private static final Pattern PIPELINE_OPERATOR_PATTERN = Pattern.compile("^(\\S+) \\(plan_node_id=(-?\\d+)\\)$");
+    // exec node profile of non-pipeline engine, e.g. "HASH_JOIN_NODE (id=3)"
+    private static final Pattern EXEC_NODE_PATTERN = Pattern.compile("^(\\S+) \\(id=(\\d+)\\)$");
+    private static final String PULL_ROW_NUM = "PullRowNum";
+    private static final String ROWS_RETURNED = "RowsReturned";
+
+    private static final PlanFeedbackManager INSTANCE = new PlanFeedbackManager();
+
+    private final Map<String, FeedbackEntry> entries = new LinkedHashMap<String, FeedbackEntry>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, FeedbackEntry> eldest) {
+            return size() > Config.plan_feedback_max_entry_num;
+        }
+    };
+
+    public static PlanFeedbackManager getInstance() {
+        return INSTANCE;
+    }
+
+    public static class FeedbackEntry {
+        private final String fingerprint;
+        private final String description;
+        private final double estimatedRows;
+        private final long actualRows;
+        private final double correctionFactor;
+        private final long updateTime;
+
+        public FeedbackEntry(String fingerprint, String description, double estimatedRows, long actualRows,
+                             double correctionFactor) {
+            this.fingerprint = fingerprint;
+            this.description = description;
+            this.estimatedRows = estimatedRows;
+            this.actualRows = actualRows;
+            this.correctionFactor = correctionFactor;
+            this.updateTime = System.currentTimeMillis();
+        }
+
+        public String getFingerprint() {
+            return fingerprint;
+        }
+
+        public String getDescription() {
+            return description;
+        }
+
+        public double getEstimatedRows() {
+            return estimatedRows;
+        }
+
+        public long getActualRows() {
+            return actualRows;
+        }
+
+        public double getCorrectionFactor() {
+            return correctionFactor;
+        }
+
+        public double getErrorRatio() {
+            return errorRatio(correctionFactor);
+        }
+
+        public long getUpdateTime() {
+            return updateTime;
+        }
+    }
+
+    public synchronized boolean isEmpty() {
+        return entries.isEmpty();
+    }
+
+    public synchronized double getCorrectionFactor(String fingerprint) {
+        if (fingerprint == null) {
+            return 1.0;
+        }
+        FeedbackEntry entry = entries.get(fingerprint);
+        return entry == null ? 1.0 : entry.getCorrectionFactor();
+    }
+
+    public synchronized List<FeedbackEntry> getEntries() {
+        return new ArrayList<>(entries.values());
+    }
+
+    public synchronized void clear() {
+        entries.clear();
+    }
+
+    /**
+     * Record the feedback of an executed plan.
+     * The estimated rows of a plan node already contains the correction factor applied in planning,
+     * so the factor is divided out to get the raw estimation of the sub plan.
+     */
+    public void record(ExecPlan execPlan, RuntimeProfile profile) {
+        if (execPlan == null || profile == null || execPlan.getPlanNodeExpressions().isEmpty()) {
+            return;
+        }
+        try {
+            Map<Integer, Long> actualRows = collectActualRows(profile);
+            Set<Integer> truncatedNodes = collectTruncatedNodes(execPlan.getFragments());
+            PlanFingerprint planFingerprint = new PlanFingerprint();
+            for (Map.Entry<Integer, OptExpression> entry : execPlan.getPlanNodeExpressions().entrySet()) {
+                OptExpression optExpression = entry.getValue();
+                Long actual = actualRows.get(entry.getKey());
+                if (actual == null || truncatedNodes.contains(entry.getKey()) ||
+                        optExpression.getGroupExpression() == null || optExpression.getStatistics() == null) {
+                    continue;
+                }
+                Group group = optExpression.getGroupExpression().getGroup();
+                String fingerprint = planFingerprint.fingerprint(group);
+                if (fingerprint == null) {
+                    continue;
+                }
+                double estimated = optExpression.getStatistics().getOutputRowCount() / getCorrectionFactor(fingerprint);
+                update(fingerprint, PlanFingerprint.describe(group), estimated, actual);
+            }
+        } catch (Exception e) {
+            LOG.warn("record plan feedback failed", e);
+        }
+    }
+
+    synchronized void update(String fingerprint, String description, double estimatedRows, long actualRows) {
+        double correctionFactor = Math.max(actualRows, 1) / Math.max(estimatedRows, 1);
+        if (errorRatio(correctionFactor) < Config.plan_feedback_min_error_ratio) {
+            entries.remove(fingerprint);
+        } else {
+            entries.put(fingerprint, new FeedbackEntry(fingerprint, description, estimatedRows, actualRows,
+                    correctionFactor));
+        }
+    }
+
+    private static double errorRatio(double correctionFactor) {
+        return Math.max(correctionFactor, 1 / correctionFactor);
+    }
+
+    /**
+     * Sum the output rows of each plan node from all instances in the profile.
+     * A plan node may be split into several operators, e.g. the build and probe side of hash join,
+     * the operator with the most output rows is regarded as the output of the plan node.
+     */
+    static Map<Integer, Long> collectActualRows(RuntimeProfile profile) {
+        Map<Integer, Map<String, Long>> operatorRows = new HashMap<>();
+        collectOperatorRows(profile, operatorRows);
+
+        Map<Integer, Long> actualRows = new HashMap<>();
+        operatorRows.forEach((nodeId, rows) ->
+                actualRows.put(nodeId, rows.values().stream().mapToLong(Long::longValue).max().orElse(0)));
+        return actualRows;
+    }
+
+    private static void collectOperatorRows(RuntimeProfile profile, Map<Integer, Map<String, Long>> operatorRows) {
+        Matcher matcher = PIPELINE_OPERATOR_PATTERN.matcher(profile.getName());
+        String counterName = PULL_ROW_NUM;
+        if (!matcher.matches()) {
+            matcher = EXEC_NODE_PATTERN.matcher(profile.getName());
+            counterName = ROWS_RETURNED;
+        }
+
+        if (matcher.matches()) {
+            Counter counter = findCounter(profile, counterName);
+            if (counter != null) {
+                operatorRows.computeIfAbsent(Integer.parseInt(matcher.group(2)), k -> new HashMap<>())
+                        .merge(matcher.group(1), counter.getValue(), Long::sum);
+            }
+            return;
+        }
+
+        for (RuntimeProfile child : profile.getChildMap().values()) {
+            collectOperatorRows(child, operatorRows);
+        }
+    }
+
+    // the counters of pipeline operator are in the "CommonMetrics" child
+    private static Counter findCounter(RuntimeProfile profile, String counterName) {
+        Counter counter = profile.getCounter(counterName);
+        if (counter != null) {
+            return counter;
+        }
+        for (RuntimeProfile child : profile.getChildMap().values()) {
+            counter = child.getCounter(counterName);
+            if (counter != null) {
+                return counter;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * The plan nodes under a limit may be cancelled before producing all the rows, so their actual rows
+     * can't be used as feedback. Top-n sort consumes all the input, so it's not regarded as a truncating limit.
+     */
+    static Set<Integer> collectTruncatedNodes(List<PlanFragment> fragments) {
+        Map<Integer, List<PlanFragment>> exchangeSources = new HashMap<>();
+        for (PlanFragment fragment : fragments) {
+            ExchangeNode destNode = fragment.getDestNode();
+            if (destNode != null) {
+                exchangeSources.computeIfAbsent(destNode.getId().asInt(), k -> new ArrayList<>()).add(fragment);
+            }
+        }
+
+        Set<Integer> truncatedNodes = new HashSet<>();
+        if (!fragments.isEmpty()) {
+            collectTruncatedNodes(fragments.get(0).getPlanRoot(), false, exchangeSources, truncatedNodes);
+        }
+        return truncatedNodes;
+    }
+
+    private static void collectTruncatedNodes(PlanNode node, boolean truncated,
+                                              Map<Integer, List<PlanFragment>> exchangeSources,
+                                              Set<Integer> truncatedNodes) {
+        if (truncated) {
+            truncatedNodes.add(node.getId().asInt());
+        }
+        boolean childTruncated = truncated || (node.hasLimit() && !(node instanceof SortNode));
+        for (PlanNode child : node.getChildren()) {
+            collectTruncatedNodes(child, childTruncated, exchangeSources, truncatedNodes);
+        }
+        for (PlanFragment fragment : exchangeSources.getOrDefault(node.getId().asInt(), new ArrayList<>())) {
+            collectTruncatedNodes(fragment.getPlanRoot(), childTruncated, exchangeSources, truncatedNodes);
+        }
+    }
+}
@@ -0,0 +1,152 @@
+// Copyright 2021-present StarRocks, Inc. All rights reserved.
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//     https://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+
+package com.starrocks.sql.optimizer.statistics;
+
+import com.google.common.hash.Hashing;
+import com.starrocks.sql.optimizer.Group;
+import com.starrocks.sql.optimizer.GroupExpression;
+import com.starrocks.sql.optimizer.operator.Operator;
+import com.starrocks.sql.optimizer.operator.logical.LogicalAggregationOperator;
+import com.starrocks.sql.optimizer.operator.logical.LogicalJoinOperator;
+import com.starrocks.sql.optimizer.operator.logical.LogicalScanOperator;
+import com.starrocks.sql.optimizer.operator.scalar.BinaryPredicateOperator;
+import com.starrocks.sql.optimizer.operator.scalar.CallOperator;
+import com.starrocks.sql.optimizer.operator.scalar.ColumnRefOperator;
+import com.starrocks.sql.optimizer.operator.scalar.CompoundPredicateOperator;
+import com.starrocks.sql.optimizer.operator.scalar.InPredicateOperator;
+import com.starrocks.sql.optimizer.operator.scalar.ScalarOperator;
+
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Fingerprint of the logical sub plan rooted at a memo group, used as the key of plan feedback.
+ * The fingerprint is built from the first logical expression of each group, with the column reference ids and the
+ * constants removed, so the same sub plan of a recurring query gets the same fingerprint with different literals.
+ */
+public class PlanFingerprint {
+    private final Map<Group, String> groupDigests = new HashMap<>();
+
+    public String fingerprint(Group group) {
+        if (group == null) {
+            return null;
+        }
+        String digest = digest(group);
+        return digest == null ? null : Hashing.murmur3_128().hashString(digest, StandardCharsets.UTF_8).toString();
+    }
+
+    /**
+     * Short readable description of the sub plan, e.g. "HASH_JOIN(OLAP_SCAN(t0),OLAP_SCAN(t1))".
+     */
+    public static String describe(Group group) {
+        GroupExpression expression = group.getFirstLogicalExpression();
+        if (expression == null) {
+            return "";
+        }
+        StringBuilder builder = new StringBuilder(expression.getOp().getOpType().name());
+        if (expression.getOp() instanceof LogicalScanOperator) {
+            builder.append('(').append(((LogicalScanOperator) expression.getOp()).getTable().getName()).append(')');
+        } else if (expression.arity() > 0) {
+            builder.append('(');
+            for (int i = 0; i < expression.arity(); i++) {
+                builder.append(i > 0 ? "," : "").append(describe(expression.inputAt(i)));
+            }
+            builder.append(')');
+        }
+        return builder.toString();
+    }
+
+    private String digest(Group group) {
+        if (groupDigests.containsKey(group)) {
+            return groupDigests.get(group);
+        }
+        GroupExpression expression = group.getFirstLogicalExpression();
+        String digest = null;
+        if (expression != null) {
+            StringBuilder builder = new StringBuilder();
+            appendOperator(expression.getOp(), builder);
+            builder.append('[');
+            for (int i = 0; i < expression.arity(); i++) {
+                String childDigest = digest(expression.inputAt(i));
+                if (childDigest == null) {
+                    builder = null;
+                    break;
+                }
+                builder.append(i > 0 ? "," : "").append(childDigest);
+            }
+            digest = builder == null ? null : builder.append(']').toString();
+        }
+        groupDigests.put(group, digest);
+        return digest;
+    }
+
+    private static void appendOperator(Operator operator, StringBuilder builder) {
+        builder.append(operator.getOpType().name());
+        if (operator instanceof LogicalScanOperator) {
+            builder.append(' ').append(((LogicalScanOperator) operator).getTable().getId());
+        } else if (operator instanceof LogicalJoinOperator) {
+            LogicalJoinOperator join = (LogicalJoinOperator) operator;
+            builder.append(' ').append(join.getJoinType()).append(' ');
+            appendScalar(join.getOnPredicate(), builder);
+        } else if (operator instanceof LogicalAggregationOperator) {
+            LogicalAggregationOperator aggregation = (LogicalAggregationOperator) operator;
+            builder.append(' ').append(aggregation.getType());
+            for (ColumnRefOperator key : aggregation.getGroupingKeys()) {
+                builder.append(' ').append(key.getName());
+            }
+        }
+        builder.append(' ');
+        appendScalar(operator.getPredicate(), builder);
+        if (operator.getLimit() >= 0) {
+            builder.append(" LIMIT ").append(operator.getLimit());
+        }
+    }
+
+    private static void appendScalar(ScalarOperator scalar, StringBuilder builder) {
+        if (scalar == null) {
+            return;
+        }
+        if (scalar.isColumnRef()) {
+            builder.append(((ColumnRefOperator) scalar).getName());
+            return;
+        }
+        if (scalar.isConstantRef()) {
+            builder.append('?');
+            return;
+        }
+
+        if (scalar instanceof BinaryPredicateOperator) {
+            builder.append(((BinaryPredicateOperator) scalar).getBinaryType());
+        } else if (scalar instanceof CompoundPredicateOperator) {
+            builder.append(((CompoundPredicateOperator) scalar).getCompoundType());
+        } else if (scalar instanceof InPredicateOperator) {
+            builder.append(((InPredicateOperator) scalar).isNotIn() ? "NOT_IN" : "IN");
+        } else if (scalar instanceof CallOperator) {
+            builder.append(((CallOperator) scalar).getFnName());
+        } else {
+            builder.append(scalar.getClass().getSimpleName());
+        }
+        builder.append('(');
+        for (int i = 0; i < scalar.getChildren().size(); i++) {
+            if (i > 0) {
+                builder.append(',');
+            }
+            appendScalar(scalar.getChildren().get(i), builder);
+        }
+        builder.append(')');
+    }
+}
@@ -18,6 +18,7 @@ package com.starrocks.sql.optimizer.statistics;
 import com.google.common.collect.Maps;
 import com.starrocks.catalog.Table;
 
+import java.util.Collections;
 import java.util.List;
 import java.util.Map;
 
@@ -51,6 +52,13 @@ public interface StatisticStorage {
     default void expireHistogramStatistics(Long tableId, List<String> columns) {
     }
 
+    default List<MultiColumnStatistic> getMultiColumnStatistics(Table table) {
+        return Collections.emptyList();
+    }
+
+    default void expireMultiColumnStatistics(Long tableId) {
+    }
+
     default void expireTableAndColumnStatistics(Table table, List<String> columns) {
     }
 
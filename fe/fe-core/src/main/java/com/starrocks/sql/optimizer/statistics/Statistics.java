@@ -21,6 +21,7 @@ import com.starrocks.sql.optimizer.base.ColumnRefSet;
 import com.starrocks.sql.optimizer.operator.scalar.ColumnRefOperator;
 
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 
 import static java.lang.Double.NaN;
@@ -32,11 +33,14 @@ public class Statistics {
     // Table row count in FE depends on BE reporting，but FE may not get report from BE which just started，
     // this causes the table row count stored in FE to be inaccurate.
     private final boolean tableRowCountMayInaccurate;
+    // Joint statistics of column groups, the column refs are in the order of the columns of the statistic
+    private final Map<List<ColumnRefOperator>, MultiColumnStatistic> multiColumnStatistics;
 
     private Statistics(Builder builder) {
         this.outputRowCount = builder.outputRowCount;
         this.columnStatistics = builder.columnStatistics;
         this.tableRowCountMayInaccurate = builder.tableRowCountMayInaccurate;
+        this.multiColumnStatistics = builder.multiColumnStatistics;
     }
 
     public double getOutputRowCount() {
@@ -88,6 +92,10 @@ public class Statistics {
         return this.tableRowCountMayInaccurate;
     }
 
+    public Map<List<ColumnRefOperator>, MultiColumnStatistic> getMultiColumnStatistics() {
+        return multiColumnStatistics;
+    }
+
     public ColumnRefSet getUsedColumns() {
         ColumnRefSet usedColumns = new ColumnRefSet();
         for (Map.Entry<ColumnRefOperator, ColumnStatistic> entry : columnStatistics.entrySet()) {
@@ -97,7 +105,8 @@ public class Statistics {
     }
 
     public static Builder buildFrom(Statistics other) {
-        return new Builder(other.getOutputRowCount(), other.columnStatistics, other.tableRowCountMayInaccurate);
+        return new Builder(other.getOutputRowCount(), other.columnStatistics, other.tableRowCountMayInaccurate,
+                other.multiColumnStatistics);
     }
 
     public static Builder builder() {
@@ -108,16 +117,19 @@ public class Statistics {
         private double outputRowCount;
         private final Map<ColumnRefOperator, ColumnStatistic> columnStatistics;
         private boolean tableRowCountMayInaccurate;
+        private final Map<List<ColumnRefOperator>, MultiColumnStatistic> multiColumnStatistics;
 
         public Builder() {
-            this(NaN, new HashMap<>(), false);
+            this(NaN, new HashMap<>(), false, new HashMap<>());
         }
 
         private Builder(double outputRowCount, Map<ColumnRefOperator, ColumnStatistic> columnStatistics,
-                        boolean tableRowCountMayInaccurate) {
+                        boolean tableRowCountMayInaccurate,
+                        Map<List<ColumnRefOperator>, MultiColumnStatistic> multiColumnStatistics) {
             this.outputRowCount = outputRowCount;
             this.columnStatistics = new HashMap<>(columnStatistics);
             this.tableRowCountMayInaccurate = tableRowCountMayInaccurate;
+            this.multiColumnStatistics = new HashMap<>(multiColumnStatistics);
         }
 
         public Builder setOutputRowCount(double outputRowCount) {
@@ -149,6 +161,16 @@ public class Statistics {
             return this;
         }
 
+        public Builder addMultiColumnStatistic(List<ColumnRefOperator> columns, MultiColumnStatistic statistic) {
+            this.multiColumnStatistics.put(columns, statistic);
+            return this;
+        }
+
+        public Builder addMultiColumnStatistics(Map<List<ColumnRefOperator>, MultiColumnStatistic> statistics) {
+            this.multiColumnStatistics.putAll(statistics);
+            return this;
+        }
+
         public ColumnStatistic getColumnStatistics(ColumnRefOperator columnRefOperator) {
             return this.columnStatistics.get(columnRefOperator);
         }
@@ -34,6 +34,7 @@ import com.starrocks.catalog.RangePartitionInfo;
 import com.starrocks.catalog.Table;
 import com.starrocks.catalog.Type;
 import com.starrocks.common.AnalysisException;
+import com.starrocks.common.Config;
 import com.starrocks.common.Pair;
 import com.starrocks.connector.iceberg.ScalarOperatorToIcebergExpr;
 import com.starrocks.qe.ConnectContext;
@@ -171,6 +172,23 @@ public class StatisticsCalculator extends OperatorVisitor<Void, ExpressionContex
 
     public void estimatorStats() {
         expressionContext.getOp().accept(this, expressionContext);
+        applyPlanFeedback();
+    }
+
+    // correct the estimated rows by the feedback from the previous executions of the same sub plan
+    private void applyPlanFeedback() {
+        if (!Config.enable_plan_feedback || PlanFeedbackManager.getInstance().isEmpty() ||
+                expressionContext.getGroupExpression() == null || expressionContext.getStatistics() == null) {
+            return;
+        }
+        String fingerprint = new PlanFingerprint().fingerprint(expressionContext.getGroupExpression().getGroup());
+        double correctionFactor = PlanFeedbackManager.getInstance().getCorrectionFactor(fingerprint);
+        if (correctionFactor == 1.0) {
+            return;
+        }
+        Statistics statistics = expressionContext.getStatistics();
+        expressionContext.setStatistics(Statistics.buildFrom(statistics)
+                .setOutputRowCount(Math.max(1, statistics.getOutputRowCount() * correctionFactor)).build());
     }
 
     @Override
@@ -424,9 +442,37 @@ public class StatisticsCalculator extends OperatorVisitor<Void, ExpressionContex
                     .addTableStatistics(table, requiredColumnRefs.get(i).getName(), columnStatisticList.get(i));
         }
 
+        if (Config.enable_multi_column_statistics) {
+            addMultiColumnStatistics(builder, table, colRefToColumnMetaMap);
+        }
         return builder;
     }
 
+    private void addMultiColumnStatistics(Statistics.Builder builder, Table table,
+                                          Map<ColumnRefOperator, Column> colRefToColumnMetaMap) {
+        List<MultiColumnStatistic> multiColumnStatistics =
+                GlobalStateMgr.getCurrentStatisticStorage().getMultiColumnStatistics(table);
+        if (multiColumnStatistics.isEmpty()) {
+            return;
+        }
+
+        Map<String, ColumnRefOperator> nameToColumnRef = Maps.newTreeMap(String.CASE_INSENSITIVE_ORDER);
+        colRefToColumnMetaMap.forEach((columnRef, column) -> nameToColumnRef.put(column.getName(), columnRef));
+        for (MultiColumnStatistic multiColumnStatistic : multiColumnStatistics) {
+            List<ColumnRefOperator> columnRefs = new ArrayList<>();
+            for (String columnName : multiColumnStatistic.getColumns()) {
+                ColumnRefOperator columnRef = nameToColumnRef.get(columnName);
+                if (columnRef == null) {
+                    break;
+                }
+                columnRefs.add(columnRef);
+            }
+            if (columnRefs.size() == multiColumnStatistic.getColumns().size()) {
+                builder.addMultiColumnStatistic(columnRefs, multiColumnStatistic);
+            }
+        }
+    }
+
     private Void computeNormalExternalTableScanNode(Operator node, ExpressionContext context, Table table,
                                                     Map<ColumnRefOperator, Column> colRefToColumnMetaMap,
                                                     int outputRowCount) {
@@ -672,6 +718,12 @@ public class StatisticsCalculator extends OperatorVisitor<Void, ExpressionContex
             builder.addColumnStatistic(requiredColumnRefOperator, outputStatistic);
             allBuilder.addColumnStatistic(requiredColumnRefOperator, outputStatistic);
         }
+        // keep the multi-column statistics whose columns are all passed through
+        inputStatistics.getMultiColumnStatistics().forEach((columns, statistic) -> {
+            if (columns.stream().allMatch(c -> c.equals(columnRefMap.get(c)))) {
+                builder.addMultiColumnStatistic(columns, statistic);
+            }
+        });
 
         context.setStatistics(builder.build());
         return visitOperator(context.getOp(), context);
@@ -743,11 +795,18 @@ public class StatisticsCalculator extends OperatorVisitor<Void, ExpressionContex
                 }
             }
         } else {
-            for (int groupByIndex = 0; groupByIndex < groupBys.size(); ++groupByIndex) {
-                ColumnRefOperator groupByColumn = groupBys.get(groupByIndex);
+            Map<ColumnRefOperator, Double> columnCardinality = new HashMap<>();
+            for (ColumnRefOperator groupByColumn : groupBys) {
                 ColumnStatistic groupByColumnStatics = inputStatistics.getColumnStatistic(groupByColumn);
-                double cardinality = groupByColumnStatics.getDistinctValuesCount() +
-                        ((groupByColumnStatics.getNullsFraction() == 0.0) ? 0 : 1);
+                columnCardinality.put(groupByColumn, groupByColumnStatics.getDistinctValuesCount() +
+                        ((groupByColumnStatics.getNullsFraction() == 0.0) ? 0 : 1));
+            }
+            // correlated columns with multi-column statistics are counted together
+            List<Double> cardinalities = Config.enable_multi_column_statistics ?
+                    MultiColumnStatisticsEstimator.groupByCardinalities(groupBys, inputStatistics, columnCardinality) :
+                    groupBys.stream().map(columnCardinality::get).collect(Collectors.toList());
+            for (int groupByIndex = 0; groupByIndex < cardinalities.size(); ++groupByIndex) {
+                double cardinality = cardinalities.get(groupByIndex);
                 if (groupByIndex == 0) {
                     rowCount *= cardinality;
                 } else {
@@ -1287,6 +1346,7 @@ public class StatisticsCalculator extends OperatorVisitor<Void, ExpressionContex
 
         Statistics.Builder builder = Statistics.builder();
         builder.addColumnStatistics(inputStatistics.getColumnStatistics());
+        builder.addMultiColumnStatistics(inputStatistics.getMultiColumnStatistics());
         builder.setOutputRowCount(inputStatistics.getOutputRowCount());
 
         context.setStatistics(builder.build());
@@ -1327,6 +1387,9 @@ public class StatisticsCalculator extends OperatorVisitor<Void, ExpressionContex
         Statistics result = statistics;
         for (ScalarOperator predicate : predicateList) {
             result = PredicateStatisticsCalculator.statisticsCalculate(predicate, statistics);
+            if (Config.enable_multi_column_statistics) {
+                result = MultiColumnStatisticsEstimator.estimateConjuncts(predicate, statistics, result);
+            }
         }
 
         // avoid sample statistics filter all data, save one rows least
@@ -45,6 +45,8 @@ public class ExecPlan {
     private final Map<ColumnRefOperator, Expr> colRefToExpr = new HashMap<>();
     private final ArrayList<PlanFragment> fragments = new ArrayList<>();
     private final Map<Integer, PlanFragment> cteProduceFragments = Maps.newHashMap();
+    // plan node id -> the physical expression which produces the output of plan node, only used by plan feedback
+    private final Map<Integer, OptExpression> planNodeExpressions = new HashMap<>();
     private int planCount = 0;
 
     private final OptExpression physicalPlan;
@@ -122,6 +124,10 @@ public class ExecPlan {
         return cteProduceFragments;
     }
 
+    public Map<Integer, OptExpression> getPlanNodeExpressions() {
+        return planNodeExpressions;
+    }
+
     public OptExpression getPhysicalPlan() {
         return physicalPlan;
     }
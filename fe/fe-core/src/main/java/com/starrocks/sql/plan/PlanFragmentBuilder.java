@@ -348,6 +348,9 @@ public class PlanFragmentBuilder {
         @Override
         public PlanFragment visit(OptExpression optExpression, ExecPlan context) {
             PlanFragment fragment = optExpression.getOp().accept(this, optExpression, context);
+            if (Config.enable_plan_feedback && fragment != null && fragment.getPlanRoot() != null) {
+                context.getPlanNodeExpressions().put(fragment.getPlanRoot().getId().asInt(), optExpression);
+            }
             Projection projection = (optExpression.getOp()).getProjection();
 
             if (projection == null) {
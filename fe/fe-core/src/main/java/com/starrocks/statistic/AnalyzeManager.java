@@ -275,6 +275,9 @@ public class AnalyzeManager implements Writable {
             // collecting statistics types, leaving some discarded statistics data.
             statisticExecutor.dropTableStatistics(statsConnectCtx, tableId, StatsConstants.AnalyzeType.SAMPLE);
             statisticExecutor.dropTableStatistics(statsConnectCtx, tableId, StatsConstants.AnalyzeType.FULL);
+            // multi-column statistics are collected together with the basic statistics
+            statisticExecutor.dropMultiColumnStatistics(statsConnectCtx, tableId);
+            GlobalStateMgr.getCurrentStatisticStorage().expireMultiColumnStatistics(tableId);
             GlobalStateMgr.getCurrentState().getEditLog().logRemoveBasicStatsMeta(basicStatsMetaMap.get(tableId));
             basicStatsMetaMap.remove(tableId);
         }
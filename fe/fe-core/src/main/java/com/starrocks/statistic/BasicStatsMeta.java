@@ -29,6 +29,7 @@ import java.io.DataOutput;
 import java.io.IOException;
 import java.time.LocalDateTime;
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 
@@ -54,6 +55,10 @@ public class BasicStatsMeta implements Writable {
     @SerializedName("updateRows")
     private long updateRows;
 
+    // partition id -> visible version of the partition when its full statistics were collected
+    @SerializedName("partitionVersions")
+    private Map<Long, Long> partitionVersions;
+
     public BasicStatsMeta(long dbId, long tableId, List<String> columns,
                           StatsConstants.AnalyzeType type,
                           LocalDateTime updateTime,
@@ -146,6 +151,30 @@ public class BasicStatsMeta implements Writable {
         return healthy;
     }
 
+    public Map<Long, Long> getPartitionVersions() {
+        // May be null after deserialization of the old meta, or if the statistics were collected by sample
+        if (partitionVersions == null) {
+            return Collections.emptyMap();
+        }
+        return partitionVersions;
+    }
+
+    public void setPartitionVersions(Map<Long, Long> partitionVersions) {
+        this.partitionVersions = partitionVersions == null ? null : new HashMap<>(partitionVersions);
+    }
+
+    /**
+     * Whether the partition was changed since its statistics were recorded in this meta.
+     * Fall back to compare the update time if the version of the partition was not recorded.
+     */
+    public boolean isPartitionChanged(Partition partition) {
+        Long collectedVersion = getPartitionVersions().get(partition.getId());
+        if (collectedVersion != null) {
+            return collectedVersion != partition.getVisibleVersion();
+        }
+        return updateTime.isBefore(StatisticUtils.getPartitionLastUpdateTime(partition));
+    }
+
     public long getUpdateRows() {
         return updateRows;
     }
@@ -25,6 +25,7 @@ import com.starrocks.server.GlobalStateMgr;
 import org.apache.velocity.VelocityContext;
 
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 
@@ -38,6 +39,9 @@ public class FullStatisticsCollectJob extends StatisticsCollectJob {
 
     private final List<Long> partitionIdList;
 
+    // visible versions of the collected partitions, taken before the collection starts
+    private final Map<Long, Long> collectedPartitionVersions = new HashMap<>();
+
     public FullStatisticsCollectJob(Database db, Table table, List<Long> partitionIdList, List<String> columns,
                                     StatsConstants.AnalyzeType type, StatsConstants.ScheduleType scheduleType,
                                     Map<String, String> properties) {
@@ -47,6 +51,16 @@ public class FullStatisticsCollectJob extends StatisticsCollectJob {
 
     @Override
     public void collect(ConnectContext context, AnalyzeStatus analyzeStatus) throws Exception {
+        // Record the versions before collecting, a load finished during the collection
+        // makes the partition be collected again next time
+        collectedPartitionVersions.clear();
+        for (Long partitionId : partitionIdList) {
+            Partition partition = table.getPartition(partitionId);
+            if (partition != null) {
+                collectedPartitionVersions.put(partitionId, partition.getVisibleVersion());
+            }
+        }
+
         long finishedSQLNum = 0;
         int parallelism = Math.max(1, context.getSessionVariable().getStatisticCollectParallelism());
         List<List<String>> collectSQLList = buildCollectSQLList(parallelism);
@@ -74,6 +88,14 @@ public class FullStatisticsCollectJob extends StatisticsCollectJob {
         }
     }
 
+    public List<Long> getPartitionIdList() {
+        return partitionIdList;
+    }
+
+    public Map<Long, Long> getCollectedPartitionVersions() {
+        return collectedPartitionVersions;
+    }
+
     /*
      * Split tasks at the partition and column levels,
      * and the number of rows to scan is the number of rows in the partition
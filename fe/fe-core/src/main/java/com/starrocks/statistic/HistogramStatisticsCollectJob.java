@@ -15,19 +15,26 @@
 package com.starrocks.statistic;
 
 import com.google.common.base.Joiner;
+import com.google.gson.JsonArray;
+import com.google.gson.JsonParser;
 import com.starrocks.catalog.Column;
 import com.starrocks.catalog.Database;
+import com.starrocks.catalog.Partition;
 import com.starrocks.catalog.Table;
 import com.starrocks.common.Config;
+import com.starrocks.common.Pair;
 import com.starrocks.qe.ConnectContext;
 import com.starrocks.server.GlobalStateMgr;
 import com.starrocks.thrift.TStatisticData;
 import org.apache.velocity.VelocityContext;
 
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.stream.Collectors;
 
 import static com.starrocks.statistic.StatsConstants.HISTOGRAM_STATISTICS_TABLE_NAME;
 
@@ -53,6 +60,31 @@ public class HistogramStatisticsCollectJob extends StatisticsCollectJob {
                     "group by `$columnName` " +
                     "order by count(`$columnName`) desc limit $topN ) t";
 
+    private static final String COLLECT_PARTITION_SKETCH_TEMPLATE =
+            "SELECT $tableId, $partitionId, '$columnName', $dbId, '$dbName.$tableName'," +
+                    " COUNT(`$columnName`), IFNULL(hll_raw(`$columnName`), hll_empty())," +
+                    " IFNULL(percentile_union(percentile_hash(cast(`$columnName` as double))), percentile_empty())," +
+                    " NOW() FROM partition_data";
+
+    private static final String QUERY_MERGED_SKETCH_TEMPLATE =
+            "SELECT cast(" + StatsConstants.STATISTIC_HISTOGRAM_VERSION + " as INT), cast(db_id as BIGINT), " +
+                    "cast(table_id as BIGINT), cast(column_name as varchar), " +
+                    "cast(concat_ws(',', cast(sum(row_count) as varchar), cast(hll_union_agg(ndv) as varchar), " +
+                    "$quantiles) as varchar) " +
+                    "FROM " + StatsConstants.HISTOGRAM_SKETCH_STATISTICS_TABLE_NAME +
+                    " WHERE table_id = $tableId and column_name in ($columnNames) and partition_id in ($partitionIds)" +
+                    " GROUP BY db_id, table_id, column_name";
+
+    private static final String COLLECT_COLUMN_MCV_TEMPLATE =
+            "SELECT * FROM (SELECT json_array('$columnName', cast(`$columnName` as varchar)) as column_key, " +
+                    "count(1) as column_value FROM sample_data WHERE `$columnName` is not null " +
+                    "GROUP BY `$columnName` ORDER BY count(1) DESC LIMIT $topN) t_$index";
+
+    // columns collected by sketch, and the visible versions of the partitions whose sketches are stored,
+    // taken before the sketches are collected
+    private final List<String> sketchColumns = new ArrayList<>();
+    private final Map<Long, Long> sketchPartitionVersions = new HashMap<>();
+
     public HistogramStatisticsCollectJob(Database db, Table table, List<String> columns,
                                          StatsConstants.AnalyzeType type, StatsConstants.ScheduleType scheduleType,
                                          Map<String, String> properties) {
@@ -67,10 +99,28 @@ public class HistogramStatisticsCollectJob extends StatisticsCollectJob {
         long bucketNum = Long.parseLong(properties.get(StatsConstants.HISTOGRAM_BUCKET_NUM));
         long mcvSize = Long.parseLong(properties.get(StatsConstants.HISTOGRAM_MCV_SIZE));
 
+        sketchColumns.clear();
+        sketchPartitionVersions.clear();
+        List<String> sampleColumns = new ArrayList<>();
+        for (String column : columns) {
+            if (isCollectBySketch() && table.getColumn(column).getType().isNumericType()) {
+                sketchColumns.add(column);
+            } else {
+                sampleColumns.add(column);
+            }
+        }
+
         long finishedSQLNum = 0;
-        long totalCollectSQL = columns.size();
+        long totalCollectSQL = sampleColumns.size() + (sketchColumns.isEmpty() ? 0 : 1);
 
-        for (String column : columns) {
+        if (!sketchColumns.isEmpty()) {
+            collectBySketch(context, sketchColumns, sampleRatio, bucketNum, mcvSize);
+            finishedSQLNum++;
+            analyzeStatus.setProgress(finishedSQLNum * 100 / totalCollectSQL);
+            GlobalStateMgr.getCurrentAnalyzeMgr().addAnalyzeStatus(analyzeStatus);
+        }
+
+        for (String column : sampleColumns) {
             String sql = buildCollectMCV(db, table, mcvSize, column);
             StatisticExecutor statisticExecutor = new StatisticExecutor();
             List<TStatisticData> mcv = statisticExecutor.queryMCV(context, sql);
@@ -89,6 +139,265 @@ public class HistogramStatisticsCollectJob extends StatisticsCollectJob {
         }
     }
 
+    /**
+     * The partition versions to record in the meta of the column, or null if the column was not collected
+     * by sketch.
+     */
+    public Map<Long, Long> getSketchPartitionVersions(String column) {
+        return sketchColumns.contains(column) ? sketchPartitionVersions : null;
+    }
+
+    private boolean isCollectBySketch() {
+        String method = properties.get(StatsConstants.HISTOGRAM_COLLECT_METHOD);
+        return StatsConstants.HISTOGRAM_COLLECT_METHOD_SKETCH.equalsIgnoreCase(method);
+    }
+
+    /*
+     * Collect the histograms of numeric columns by quantile sketch:
+     * 1. For each partition changed since the last collection, compute the row count, HLL and quantile sketch
+     *    of all columns in one scan, and store them in histogram_sketch_statistics.
+     * 2. Merge the sketches of all partitions to get the quantiles and NDV of each column.
+     * 3. Compute the most common values of all columns from one sample scan.
+     * 4. Build the equi-height buckets from the quantiles, excluding the rows of the most common values.
+     */
+    private void collectBySketch(ConnectContext context, List<String> sketchColumns, double sampleRatio,
+                                 long bucketNum, long mcvSize) throws Exception {
+        // all union branches read the same data, so make them share one scan. The context may be shared with
+        // other jobs, so restore the settings afterwards
+        boolean cboCteReuse = context.getSessionVariable().isCboCteReuse();
+        double cboCteReuseRatio = context.getSessionVariable().getCboCTERuseRatio();
+        context.getSessionVariable().setCboCteReuse(true);
+        context.getSessionVariable().setCboCTERuseRatio(0);
+        try {
+            collectBySketchWithCteReuse(context, sketchColumns, sampleRatio, bucketNum, mcvSize);
+        } finally {
+            context.getSessionVariable().setCboCteReuse(cboCteReuse);
+            context.getSessionVariable().setCboCTERuseRatio(cboCteReuseRatio);
+        }
+    }
+
+    private void collectBySketchWithCteReuse(ConnectContext context, List<String> sketchColumns, double sampleRatio,
+                                             long bucketNum, long mcvSize) throws Exception {
+        List<HistogramStatsMeta> metas = new ArrayList<>();
+        for (String column : sketchColumns) {
+            HistogramStatsMeta meta = GlobalStateMgr.getCurrentAnalyzeMgr().getHistogramStatsMetaMap()
+                    .get(new Pair<>(table.getId(), column));
+            if (meta == null || !isCollectBySketch(meta)) {
+                // the sketches of all columns are collected together, collect all partitions again
+                metas = null;
+                break;
+            }
+            metas.add(meta);
+        }
+
+        List<Long> partitionIds = new ArrayList<>();
+        for (Partition partition : table.getPartitions()) {
+            if (!partition.hasData()) {
+                continue;
+            }
+            partitionIds.add(partition.getId());
+            // Record the version before collecting, a load finished during the collection
+            // makes the partition be collected again next time
+            long version = partition.getVisibleVersion();
+            if (isPartitionSketchChanged(metas, partition)) {
+                collectStatisticSync(buildCollectPartitionSketch(db, table, partition, sketchColumns), context);
+            }
+            sketchPartitionVersions.put(partition.getId(), version);
+        }
+        if (partitionIds.isEmpty()) {
+            return;
+        }
+
+        StatisticExecutor statisticExecutor = new StatisticExecutor();
+        Map<String, String> mergedSketches = new HashMap<>();
+        for (TStatisticData data : statisticExecutor.queryMCV(context,
+                buildQueryMergedSketch(table, sketchColumns, partitionIds, bucketNum))) {
+            mergedSketches.put(data.columnName, data.histogram);
+        }
+
+        Map<String, Map<String, Long>> mostCommonValues = new HashMap<>();
+        for (TStatisticData data : statisticExecutor.queryMCV(context,
+                buildCollectSampleMCV(db, table, sketchColumns, sampleRatio, mcvSize))) {
+            JsonArray key = JsonParser.parseString(data.columnName).getAsJsonArray();
+            // the sample count is scaled to the whole table
+            mostCommonValues.computeIfAbsent(key.get(0).getAsString(), k -> new HashMap<>())
+                    .put(key.get(1).getAsString(), (long) (Long.parseLong(data.histogram) / sampleRatio));
+        }
+
+        List<String> histogramSQLs = new ArrayList<>();
+        for (String column : sketchColumns) {
+            String merged = mergedSketches.get(column);
+            if (merged == null) {
+                continue;
+            }
+            List<Double> values;
+            try {
+                values = Arrays.stream(merged.split(",")).map(Double::parseDouble).collect(Collectors.toList());
+            } catch (NumberFormatException e) {
+                // the sketch of a column without any non-null value has no quantile
+                continue;
+            }
+            if (values.size() != bucketNum + 3) {
+                continue;
+            }
+            Map<String, Long> mcv = mostCommonValues.getOrDefault(column, Collections.emptyMap());
+            String buckets = buildBucketsFromQuantiles(values.subList(2, values.size()),
+                    values.get(0).longValue(), values.get(1), mcv);
+            histogramSQLs.add(buildSketchHistogram(db, table, column, buckets, mcv));
+        }
+        if (!histogramSQLs.isEmpty()) {
+            collectStatisticSync("INSERT INTO " + HISTOGRAM_STATISTICS_TABLE_NAME + " "
+                    + Joiner.on(" UNION ALL ").join(histogramSQLs), context);
+        }
+    }
+
+    /**
+     * Whether the stored sketch of the partition is out of date for any of the columns. The metas are null
+     * if any column has no sketch collected before.
+     */
+    static boolean isPartitionSketchChanged(List<HistogramStatsMeta> metas, Partition partition) {
+        return metas == null || metas.stream().anyMatch(meta -> meta.isPartitionChanged(partition));
+    }
+
+    private boolean isCollectBySketch(HistogramStatsMeta meta) {
+        return meta.getProperties() != null && StatsConstants.HISTOGRAM_COLLECT_METHOD_SKETCH.equalsIgnoreCase(
+                meta.getProperties().get(StatsConstants.HISTOGRAM_COLLECT_METHOD));
+    }
+
+    private String buildCollectPartitionSketch(Database database, Table table, Partition partition,
+                                               List<String> sketchColumns) {
+        StringBuilder builder = new StringBuilder("INSERT INTO ")
+                .append(StatsConstants.HISTOGRAM_SKETCH_STATISTICS_TABLE_NAME)
+                .append(" WITH partition_data AS (SELECT ")
+                .append(Joiner.on(", ").join(sketchColumns.stream().map(c -> "`" + c + "`")
+                        .collect(Collectors.toList())))
+                .append(" FROM ").append(database.getOriginName()).append(".").append(table.getName())
+                .append(" PARTITION ").append(partition.getName()).append(") ");
+
+        List<String> unions = new ArrayList<>();
+        for (String column : sketchColumns) {
+            VelocityContext context = new VelocityContext();
+            context.put("tableId", table.getId());
+            context.put("partitionId", partition.getId());
+            context.put("columnName", column);
+            context.put("dbId", database.getId());
+            context.put("dbName", database.getOriginName());
+            context.put("tableName", table.getName());
+            unions.add(build(context, COLLECT_PARTITION_SKETCH_TEMPLATE));
+        }
+        builder.append(Joiner.on(" UNION ALL ").join(unions));
+        return builder.toString();
+    }
+
+    private String buildQueryMergedSketch(Table table, List<String> sketchColumns, List<Long> partitionIds,
+                                          long bucketNum) {
+        List<String> quantiles = new ArrayList<>();
+        for (long i = 0; i <= bucketNum; i++) {
+            quantiles.add("cast(percentile_approx_raw(percentile_union(sketch), "
+                    + ((double) i / bucketNum) + ") as varchar)");
+        }
+
+        VelocityContext context = new VelocityContext();
+        context.put("tableId", table.getId());
+        context.put("quantiles", Joiner.on(", ").join(quantiles));
+        context.put("columnNames", Joiner.on(", ").join(sketchColumns.stream().map(c -> "'" + c + "'")
+                .collect(Collectors.toList())));
+        context.put("partitionIds", Joiner.on(", ").join(partitionIds));
+        return build(context, QUERY_MERGED_SKETCH_TEMPLATE);
+    }
+
+    private String buildCollectSampleMCV(Database database, Table table, List<String> sketchColumns,
+                                         double sampleRatio, long topN) {
+        StringBuilder builder = new StringBuilder("WITH sample_data AS (SELECT ")
+                .append(Joiner.on(", ").join(sketchColumns.stream().map(c -> "`" + c + "`")
+                        .collect(Collectors.toList())))
+                .append(" FROM ").append(database.getOriginName()).append(".").append(table.getName())
+                .append(" WHERE rand() <= ").append(sampleRatio).append(") ")
+                .append("SELECT cast(").append(StatsConstants.STATISTIC_HISTOGRAM_VERSION).append(" as INT), ")
+                .append("cast(").append(database.getId()).append(" as BIGINT), ")
+                .append("cast(").append(table.getId()).append(" as BIGINT), ")
+                .append("cast(column_key as varchar), cast(column_value as varchar) FROM (");
+
+        List<String> unions = new ArrayList<>();
+        for (int i = 0; i < sketchColumns.size(); i++) {
+            VelocityContext context = new VelocityContext();
+            context.put("columnName", sketchColumns.get(i));
+            context.put("topN", topN);
+            context.put("index", i);
+            unions.add(build(context, COLLECT_COLUMN_MCV_TEMPLATE));
+        }
+        builder.append(Joiner.on(" UNION ALL ").join(unions)).append(") t");
+        return builder.toString();
+    }
+
+    private String buildSketchHistogram(Database database, Table table, String column, String buckets,
+                                        Map<String, Long> mostCommonValues) {
+        String mcv;
+        if (mostCommonValues.isEmpty()) {
+            mcv = "NULL";
+        } else {
+            List<String> mcvList = new ArrayList<>();
+            for (Map.Entry<String, Long> entry : mostCommonValues.entrySet()) {
+                mcvList.add("[\"" + entry.getKey() + "\",\"" + entry.getValue() + "\"]");
+            }
+            mcv = "'[" + Joiner.on(",").join(mcvList) + "]'";
+        }
+        return "SELECT " + table.getId() + ", '" + column + "', " + database.getId() + ", '"
+                + database.getOriginName() + "." + table.getName() + "', '" + buckets + "', " + mcv + ", NOW()";
+    }
+
+    /**
+     * Build the equi-height buckets in the format of histogram function from the quantiles
+     * [q0, q1, ..., qn] of the non-null values. The rows of the most common values are excluded from the
+     * buckets, because they are estimated by the mcv directly. The count of bucket is cumulative,
+     * and the repeats of the upper bound are estimated by the average rows per distinct value.
+     */
+    static String buildBucketsFromQuantiles(List<Double> quantiles, long rowCount, double ndv,
+                                            Map<String, Long> mostCommonValues) {
+        int bucketNum = quantiles.size() - 1;
+        if (bucketNum <= 0 || rowCount <= 0) {
+            return "[]";
+        }
+
+        double[] bucketRows = new double[bucketNum];
+        Arrays.fill(bucketRows, (double) rowCount / bucketNum);
+        for (Map.Entry<String, Long> entry : mostCommonValues.entrySet()) {
+            double value;
+            try {
+                value = Double.parseDouble(entry.getKey());
+            } catch (NumberFormatException e) {
+                continue;
+            }
+            for (int i = 0; i < bucketNum; i++) {
+                if (value >= quantiles.get(i) && value <= quantiles.get(i + 1)) {
+                    bucketRows[i] = Math.max(0, bucketRows[i] - entry.getValue());
+                    break;
+                }
+            }
+        }
+
+        double distinctPerBucket = Math.max(1, (ndv - mostCommonValues.size()) / bucketNum);
+        List<String> buckets = new ArrayList<>();
+        double cumulativeRows = 0;
+        double lower = quantiles.get(0);
+        double rows = 0;
+        for (int i = 0; i < bucketNum; i++) {
+            rows += bucketRows[i];
+            double upper = quantiles.get(i + 1);
+            // merge the buckets with the same upper bound, which happens on skewed data
+            if (i + 1 < bucketNum && quantiles.get(i + 2) == upper) {
+                continue;
+            }
+            cumulativeRows += rows;
+            long upperRepeats = (long) Math.max(1, rows / distinctPerBucket);
+            buckets.add("[\"" + lower + "\",\"" + upper + "\",\"" + (long) cumulativeRows + "\",\""
+                    + upperRepeats + "\"]");
+            lower = upper;
+            rows = 0;
+        }
+        return "[" + Joiner.on(",").join(buckets) + "]";
+    }
+
     private String buildCollectMCV(Database database, Table table, Long topN, String columnName) {
         VelocityContext context = new VelocityContext();
         context.put("tableId", table.getId());
@@ -16,6 +16,7 @@
 package com.starrocks.statistic;
 
 import com.google.gson.annotations.SerializedName;
+import com.starrocks.catalog.Partition;
 import com.starrocks.common.io.Text;
 import com.starrocks.common.io.Writable;
 import com.starrocks.persist.gson.GsonUtils;
@@ -24,6 +25,8 @@ import java.io.DataInput;
 import java.io.DataOutput;
 import java.io.IOException;
 import java.time.LocalDateTime;
+import java.util.Collections;
+import java.util.HashMap;
 import java.util.Map;
 
 public class HistogramStatsMeta implements Writable {
@@ -45,6 +48,10 @@ public class HistogramStatsMeta implements Writable {
     @SerializedName("properties")
     private Map<String, String> properties;
 
+    // partition id -> visible version of the partition when its sketch was collected
+    @SerializedName("partitionVersions")
+    private Map<Long, Long> partitionVersions;
+
     public HistogramStatsMeta(long dbId, long tableId, String column,
                               StatsConstants.AnalyzeType type,
                               LocalDateTime updateTime,
@@ -92,4 +99,28 @@ public class HistogramStatsMeta implements Writable {
     public Map<String, String> getProperties() {
         return properties;
     }
+
+    public Map<Long, Long> getPartitionVersions() {
+        // May be null after deserialization of the old meta, or if the histogram was collected by sample
+        if (partitionVersions == null) {
+            return Collections.emptyMap();
+        }
+        return partitionVersions;
+    }
+
+    public void setPartitionVersions(Map<Long, Long> partitionVersions) {
+        this.partitionVersions = partitionVersions == null ? null : new HashMap<>(partitionVersions);
+    }
+
+    /**
+     * Whether the partition was changed since its sketch was recorded in this meta.
+     * Fall back to compare the update time if the version of the partition was not recorded.
+     */
+    public boolean isPartitionChanged(Partition partition) {
+        Long collectedVersion = getPartitionVersions().get(partition.getId());
+        if (collectedVersion != null) {
+            return collectedVersion != partition.getVisibleVersion();
+        }
+        return updateTime.isBefore(StatisticUtils.getPartitionLastUpdateTime(partition));
+    }
 }
@@ -0,0 +1,166 @@
+// Copyright 2021-present StarRocks, Inc. All rights reserved.
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//     https://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package com.starrocks.statistic;
+
+import com.google.common.annotations.VisibleForTesting;
+import com.google.common.base.Joiner;
+import com.google.gson.JsonArray;
+import com.google.gson.JsonParser;
+import com.starrocks.catalog.Database;
+import com.starrocks.catalog.Table;
+import com.starrocks.common.Config;
+import com.starrocks.qe.ConnectContext;
+import com.starrocks.thrift.TStatisticData;
+import org.apache.velocity.VelocityContext;
+
+import java.text.MessageFormat;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import static com.starrocks.statistic.StatsConstants.MULTI_COLUMN_STATISTICS_TABLE_NAME;
+
+/**
+ * Collect the joint statistics of the declared column groups: the number of distinct value combinations
+ * and the most common value combinations, which are used to estimate the correlated predicates and group by.
+ * The statistics are collected from a sample of tablets, like the sample statistics, so the cost doesn't grow
+ * with the table. The row count and the counts of the most common values are those of the sample, since the
+ * optimizer only uses their ratio, and the number of distinct combinations is scaled to the whole table.
+ */
+public class MultiColumnStatisticsCollectJob extends StatisticsCollectJob {
+    private static final String COLLECT_MULTI_COLUMN_STATISTIC_TEMPLATE =
+            "SELECT $tableId, '$columnNames', $dbId, '$dbName.$tableName'," +
+                    " $countDistinctFunction, IFNULL(SUM(t1.count), 0), $mcv, NOW()" +
+                    " FROM (" +
+                    "SELECT t0.combination, COUNT(1) as count" +
+                    " FROM (SELECT murmur_hash3_32($hashColumns) as combination" +
+                    " FROM $dbName.$tableName $hints) as t0" +
+                    " GROUP BY t0.combination" +
+                    ") as t1";
+
+    private static final String COLLECT_MULTI_COLUMN_MCV_TEMPLATE =
+            "select cast(version as INT), cast(db_id as BIGINT), cast(table_id as BIGINT), " +
+                    "cast(column_key as varchar), cast(column_value as varchar) from (" +
+                    "select " + StatsConstants.STATISTIC_HISTOGRAM_VERSION + " as version, " +
+                    "$dbId as db_id, " +
+                    "$tableId as table_id, " +
+                    "json_array($valueColumns) as column_key, " +
+                    "count(1) as column_value " +
+                    "from (select $groupColumns from $dbName.$tableName $hints) t0 where $notNullPredicate " +
+                    "group by $groupColumns " +
+                    "order by count(1) desc limit $topN ) t";
+
+    private final List<List<String>> columnGroups;
+
+    public MultiColumnStatisticsCollectJob(Database db, Table table, List<List<String>> columnGroups,
+                                           StatsConstants.AnalyzeType type, StatsConstants.ScheduleType scheduleType,
+                                           Map<String, String> properties) {
+        super(db, table, columnGroups.stream().flatMap(List::stream).distinct().collect(Collectors.toList()),
+                type, scheduleType, properties);
+        this.columnGroups = columnGroups;
+    }
+
+    public List<List<String>> getColumnGroups() {
+        return columnGroups;
+    }
+
+    @Override
+    public void collect(ConnectContext context, AnalyzeStatus analyzeStatus) throws Exception {
+        long sampleRowCount = Config.statistic_sample_collect_rows;
+        if (properties != null && properties.containsKey(StatsConstants.STATISTIC_SAMPLE_COLLECT_ROWS)) {
+            sampleRowCount = Long.parseLong(properties.get(StatsConstants.STATISTIC_SAMPLE_COLLECT_ROWS));
+        }
+        SampleStatisticsCollectJob.TabletSample sample = SampleStatisticsCollectJob.sampleTablets(table, sampleRowCount);
+
+        StatisticExecutor statisticExecutor = new StatisticExecutor();
+        for (List<String> group : columnGroups) {
+            if (group.stream().anyMatch(c -> table.getColumn(c) == null)) {
+                // column has been dropped after the group was declared
+                continue;
+            }
+
+            String sql = buildCollectMCV(db, table, sample, Config.multi_column_statistics_mcv_size, group);
+            List<TStatisticData> mcv = statisticExecutor.queryMCV(context, sql);
+
+            JsonArray mcvArray = new JsonArray();
+            for (TStatisticData tStatisticData : mcv) {
+                JsonArray item = new JsonArray();
+                item.add(JsonParser.parseString(tStatisticData.columnName));
+                item.add(tStatisticData.histogram);
+                mcvArray.add(item);
+            }
+
+            sql = buildCollectMultiColumnStatistics(db, table, sample, group, mcvArray);
+            collectStatisticSync(sql, context);
+        }
+    }
+
+    @VisibleForTesting
+    String buildCollectMCV(Database database, Table table, SampleStatisticsCollectJob.TabletSample sample,
+                           Long topN, List<String> group) {
+        VelocityContext context = new VelocityContext();
+        context.put("tableId", table.getId());
+        context.put("dbId", database.getId());
+        context.put("dbName", database.getOriginName());
+        context.put("tableName", table.getName());
+        context.put("topN", topN);
+        context.put("hints", sample.hints);
+
+        context.put("valueColumns", Joiner.on(", ").join(group.stream()
+                .map(c -> "cast(`" + c + "` as varchar)").collect(Collectors.toList())));
+        context.put("notNullPredicate", Joiner.on(" and ").join(group.stream()
+                .map(c -> "`" + c + "` is not null").collect(Collectors.toList())));
+        context.put("groupColumns", Joiner.on(", ").join(group.stream()
+                .map(c -> "`" + c + "`").collect(Collectors.toList())));
+
+        return build(context, COLLECT_MULTI_COLUMN_MCV_TEMPLATE);
+    }
+
+    @VisibleForTesting
+    String buildCollectMultiColumnStatistics(Database database, Table table,
+                                             SampleStatisticsCollectJob.TabletSample sample,
+                                             List<String> group, JsonArray mcvArray) {
+        StringBuilder builder = new StringBuilder("INSERT INTO ").append(MULTI_COLUMN_STATISTICS_TABLE_NAME)
+                .append(" ");
+
+        VelocityContext context = new VelocityContext();
+        context.put("tableId", table.getId());
+        context.put("columnNames", Joiner.on(",").join(group));
+        context.put("dbId", database.getId());
+        context.put("dbName", database.getOriginName());
+        context.put("tableName", table.getName());
+        context.put("hashColumns", Joiner.on(", ").join(group.stream()
+                .map(c -> "IFNULL(cast(`" + c + "` as varchar), 'NULL')").collect(Collectors.toList())));
+        context.put("hints", sample.hints);
+        if (sample.ratio <= 1) {
+            // the whole table is read
+            context.put("countDistinctFunction", "COUNT(1)");
+        } else {
+            // the same estimation as the sample statistics: n*d / (n - f1 + f1*n/N)
+            String fn = MessageFormat.format("{0} * {1} / ({0} - {2} + {2} * {0} / {3})", "SUM(t1.count)",
+                    "COUNT(1)", "SUM(IF(t1.count = 1, 1, 0))", String.valueOf(sample.totalRows));
+            context.put("countDistinctFunction", "IFNULL(" + fn + ", COUNT(1))");
+        }
+
+        if (mcvArray.size() == 0) {
+            context.put("mcv", "NULL");
+        } else {
+            context.put("mcv", "'" + mcvArray.toString().replace("\\", "\\\\").replace("'", "\\'") + "'");
+        }
+
+        builder.append(build(context, COLLECT_MULTI_COLUMN_STATISTIC_TEMPLATE));
+        return builder.toString();
+    }
+}
@@ -79,9 +79,23 @@ public class SampleStatisticsCollectJob extends StatisticsCollectJob {
         }
     }
 
-    private String buildSampleInsertSQL(Long dbId, Long tableId, List<String> columnNames, long rows) {
-        Table table = MetaUtils.getTable(dbId, tableId);
+    /**
+     * The tablets sampled to read about the given number of rows, and the ratio to scale the sampled result.
+     */
+    static class TabletSample {
+        // the tablet hint and limit appended to the table name
+        final String hints;
+        final long ratio;
+        final long totalRows;
+
+        TabletSample(String hints, long ratio, long totalRows) {
+            this.hints = hints;
+            this.ratio = ratio;
+            this.totalRows = totalRows;
+        }
+    }
 
+    static TabletSample sampleTablets(Table table, long rows) {
         long hitRows = 1;
         long totalRows = 0;
         long totalTablet = 0;
@@ -124,6 +138,15 @@ public class SampleStatisticsCollectJob extends StatisticsCollectJob {
         } else {
             hintTablets = " Tablet(" + String.join(", ", randomTablets) + ")" + " LIMIT " + rows;
         }
+        return new TabletSample(hintTablets, ratio, totalRows);
+    }
+
+    private String buildSampleInsertSQL(Long dbId, Long tableId, List<String> columnNames, long rows) {
+        Table table = MetaUtils.getTable(dbId, tableId);
+        TabletSample sample = sampleTablets(table, rows);
+        long ratio = sample.ratio;
+        long totalRows = sample.totalRows;
+        String hintTablets = sample.hints;
 
         StringBuilder builder = new StringBuilder(INSERT_STATISTIC_TEMPLATE).append(" ");
 
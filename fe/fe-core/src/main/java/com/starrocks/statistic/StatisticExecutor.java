@@ -15,6 +15,7 @@
 
 package com.starrocks.statistic;
 
+import com.google.common.annotations.VisibleForTesting;
 import com.google.common.base.Preconditions;
 import com.google.common.collect.Lists;
 import com.starrocks.catalog.Column;
@@ -23,6 +24,7 @@ import com.starrocks.catalog.InternalCatalog;
 import com.starrocks.catalog.OlapTable;
 import com.starrocks.catalog.Partition;
 import com.starrocks.catalog.Table;
+import com.starrocks.common.Config;
 import com.starrocks.common.Pair;
 import com.starrocks.common.Status;
 import com.starrocks.qe.ConnectContext;
@@ -48,7 +50,10 @@ import org.apache.thrift.protocol.TCompactProtocol;
 import java.nio.ByteBuffer;
 import java.time.LocalDateTime;
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
 
 public class StatisticExecutor {
     private static final Logger LOG = LogManager.getLogger(StatisticExecutor.class);
@@ -112,24 +117,45 @@ public class StatisticExecutor {
         }
     }
 
+    public void dropMultiColumnStatistics(ConnectContext statsConnectCtx, Long tableId) {
+        String sql = StatisticSQLBuilder.buildDropMultiColumnStatisticsSQL(tableId);
+        LOG.debug("Expire multi-column statistic SQL: {}", sql);
+
+        StatementBase parsedStmt;
+        try {
+            parsedStmt = SqlParser.parseFirstStatement(sql, statsConnectCtx.getSessionVariable().getSqlMode());
+            StmtExecutor executor = new StmtExecutor(statsConnectCtx, parsedStmt);
+            executor.execute();
+        } catch (Exception e) {
+            LOG.warn("Execute statistic table expire fail.", e);
+        }
+    }
+
     public List<TStatisticData> queryHistogram(ConnectContext statsConnectCtx, Long tableId, List<String> columnNames) {
         String sql = StatisticSQLBuilder.buildQueryHistogramStatisticsSQL(tableId, columnNames);
         return executeDQL(statsConnectCtx, sql);
     }
 
+    public List<TStatisticData> queryMultiColumnStatistics(ConnectContext statsConnectCtx, Long tableId) {
+        String sql = StatisticSQLBuilder.buildQueryMultiColumnStatisticsSQL(tableId);
+        return executeDQL(statsConnectCtx, sql);
+    }
+
     public List<TStatisticData> queryMCV(ConnectContext statsConnectCtx, String sql) {
         return executeDQL(statsConnectCtx, sql);
     }
 
     public void dropHistogram(ConnectContext statsConnectCtx, Long tableId, List<String> columnNames) {
-        String sql = StatisticSQLBuilder.buildDropHistogramSQL(tableId, columnNames);
-        StatementBase parsedStmt;
-        try {
-            parsedStmt = SqlParser.parseFirstStatement(sql, statsConnectCtx.getSessionVariable().getSqlMode());
-            StmtExecutor executor = new StmtExecutor(statsConnectCtx, parsedStmt);
-            executor.execute();
-        } catch (Exception e) {
-            LOG.warn("Execute statistic table expire fail.", e);
+        for (String sql : Lists.newArrayList(StatisticSQLBuilder.buildDropHistogramSQL(tableId, columnNames),
+                StatisticSQLBuilder.buildDropHistogramSketchSQL(tableId, columnNames))) {
+            StatementBase parsedStmt;
+            try {
+                parsedStmt = SqlParser.parseFirstStatement(sql, statsConnectCtx.getSessionVariable().getSqlMode());
+                StmtExecutor executor = new StmtExecutor(statsConnectCtx, parsedStmt);
+                executor.execute();
+            } catch (Exception e) {
+                LOG.warn("Execute statistic table expire fail.", e);
+            }
         }
     }
 
@@ -225,6 +251,13 @@ public class StatisticExecutor {
         analyzeStatus.setStatus(StatsConstants.ScheduleStatus.RUNNING);
         GlobalStateMgr.getCurrentAnalyzeMgr().replayAddAnalyzeStatus(analyzeStatus);
 
+        if (statsJob.getScheduleType() == StatsConstants.ScheduleType.SCHEDULE
+                && !Config.statistic_collect_resource_group.isEmpty()) {
+            // Run the background collection in a dedicated (usually low priority) resource group,
+            // so that it does not compete with user queries
+            statsConnectCtx.getSessionVariable().setResourceGroup(Config.statistic_collect_resource_group);
+        }
+
         try {
             GlobalStateMgr.getCurrentAnalyzeMgr().registerConnection(analyzeStatus.getId(), statsConnectCtx);
             statsJob.collect(statsConnectCtx, analyzeStatus);
@@ -239,6 +272,16 @@ public class StatisticExecutor {
             GlobalStateMgr.getCurrentAnalyzeMgr().unregisterConnection(analyzeStatus.getId(), false);
         }
 
+        List<List<String>> columnGroups = Collections.emptyList();
+        boolean multiColumnCollected = false;
+        if (!statsJob.getType().equals(StatsConstants.AnalyzeType.HISTOGRAM)) {
+            columnGroups = getMultiColumnGroups(statsJob);
+            if (!columnGroups.isEmpty() && needCollectMultiColumnStatistics(statsJob)) {
+                collectMultiColumnStatistics(statsConnectCtx, statsJob, columnGroups, analyzeStatus);
+                multiColumnCollected = true;
+            }
+        }
+
         analyzeStatus.setStatus(StatsConstants.ScheduleStatus.FINISH);
         analyzeStatus.setEndTime(LocalDateTime.now());
         GlobalStateMgr.getCurrentAnalyzeMgr().addAnalyzeStatus(analyzeStatus);
@@ -247,21 +290,106 @@ public class StatisticExecutor {
                 HistogramStatsMeta histogramStatsMeta = new HistogramStatsMeta(db.getId(),
                         table.getId(), columnName, statsJob.getType(), analyzeStatus.getEndTime(),
                         statsJob.getProperties());
+                if (statsJob instanceof HistogramStatisticsCollectJob) {
+                    histogramStatsMeta.setPartitionVersions(
+                            ((HistogramStatisticsCollectJob) statsJob).getSketchPartitionVersions(columnName));
+                }
                 GlobalStateMgr.getCurrentAnalyzeMgr().addHistogramStatsMeta(histogramStatsMeta);
                 GlobalStateMgr.getCurrentAnalyzeMgr().refreshHistogramStatisticsCache(
                         histogramStatsMeta.getDbId(), histogramStatsMeta.getTableId(),
                         Lists.newArrayList(histogramStatsMeta.getColumn()), refreshAsync);
             }
         } else {
+            Map<String, String> properties = statsJob.getProperties();
+            if (!columnGroups.isEmpty()) {
+                // keep the declared column groups, so that the scheduled collection collects them too
+                properties = properties == null ? new HashMap<>() : new HashMap<>(properties);
+                properties.put(StatsConstants.MULTI_COLUMN_STATS, columnGroups.stream()
+                        .map(g -> String.join(",", g)).collect(Collectors.joining(";")));
+            }
             BasicStatsMeta basicStatsMeta = new BasicStatsMeta(db.getId(), table.getId(),
-                    statsJob.getColumns(), statsJob.getType(), analyzeStatus.getEndTime(), statsJob.getProperties());
+                    statsJob.getColumns(), statsJob.getType(), analyzeStatus.getEndTime(), properties);
+            if (statsJob instanceof FullStatisticsCollectJob) {
+                basicStatsMeta.setPartitionVersions(mergePartitionVersions(table,
+                        GlobalStateMgr.getCurrentAnalyzeMgr().getBasicStatsMetaMap().get(table.getId()),
+                        ((FullStatisticsCollectJob) statsJob).getCollectedPartitionVersions()));
+            }
             GlobalStateMgr.getCurrentAnalyzeMgr().addBasicStatsMeta(basicStatsMeta);
             GlobalStateMgr.getCurrentAnalyzeMgr().refreshBasicStatisticsCache(
                     basicStatsMeta.getDbId(), basicStatsMeta.getTableId(), basicStatsMeta.getColumns(), refreshAsync);
+            if (multiColumnCollected) {
+                GlobalStateMgr.getCurrentStatisticStorage().expireMultiColumnStatistics(table.getId());
+            }
         }
         return analyzeStatus;
     }
 
+    /**
+     * The column groups of multi-column statistics declared by the job,
+     * or declared by the previous collection of the table if the job doesn't declare any.
+     */
+    private List<List<String>> getMultiColumnGroups(StatisticsCollectJob statsJob) {
+        String columnGroups = statsJob.getProperties() == null ? null :
+                statsJob.getProperties().get(StatsConstants.MULTI_COLUMN_STATS);
+        if (columnGroups == null) {
+            BasicStatsMeta previousMeta =
+                    GlobalStateMgr.getCurrentAnalyzeMgr().getBasicStatsMetaMap().get(statsJob.getTable().getId());
+            if (previousMeta != null && previousMeta.getProperties() != null) {
+                columnGroups = previousMeta.getProperties().get(StatsConstants.MULTI_COLUMN_STATS);
+            }
+        }
+        return StatisticUtils.parseColumnGroups(columnGroups);
+    }
+
+    /**
+     * The multi-column statistics are collected if the job declares the column groups explicitly,
+     * or if it's a full collection of changed partitions. The groups inherited by the sample collections
+     * keep their previous statistics, so that the frequent sample collections don't scan them again.
+     */
+    @VisibleForTesting
+    static boolean needCollectMultiColumnStatistics(StatisticsCollectJob statsJob) {
+        if (statsJob.getProperties() != null && statsJob.getProperties().containsKey(StatsConstants.MULTI_COLUMN_STATS)) {
+            return true;
+        }
+        return statsJob instanceof FullStatisticsCollectJob
+                && !((FullStatisticsCollectJob) statsJob).getPartitionIdList().isEmpty();
+    }
+
+    /**
+     * The failure doesn't fail the basic statistics collection.
+     */
+    private void collectMultiColumnStatistics(ConnectContext statsConnectCtx, StatisticsCollectJob statsJob,
+                                              List<List<String>> groups, AnalyzeStatus analyzeStatus) {
+        try {
+            GlobalStateMgr.getCurrentAnalyzeMgr().registerConnection(analyzeStatus.getId(), statsConnectCtx);
+            new MultiColumnStatisticsCollectJob(statsJob.getDb(), statsJob.getTable(), groups,
+                    statsJob.getType(), statsJob.getScheduleType(), statsJob.getProperties())
+                    .collect(statsConnectCtx, analyzeStatus);
+        } catch (Exception e) {
+            LOG.warn("Collect multi-column statistics error ", e);
+        } finally {
+            GlobalStateMgr.getCurrentAnalyzeMgr().unregisterConnection(analyzeStatus.getId(), false);
+        }
+    }
+
+    /**
+     * The full statistics are stored by partition, so the partitions which were not collected this time
+     * keep their previous versions, as long as the previous statistics were also collected in full.
+     */
+    static Map<Long, Long> mergePartitionVersions(Table table, BasicStatsMeta previousMeta,
+                                                  Map<Long, Long> collectedPartitionVersions) {
+        Map<Long, Long> partitionVersions = new HashMap<>();
+        if (previousMeta != null && previousMeta.getType() == StatsConstants.AnalyzeType.FULL) {
+            for (Map.Entry<Long, Long> entry : previousMeta.getPartitionVersions().entrySet()) {
+                if (table.getPartition(entry.getKey()) != null) {
+                    partitionVersions.put(entry.getKey(), entry.getValue());
+                }
+            }
+        }
+        partitionVersions.putAll(collectedPartitionVersions);
+        return partitionVersions;
+    }
+
     private List<TStatisticData> executeDQL(ConnectContext context, String sql) {
         StatementBase parsedStmt = SqlParser.parseFirstStatement(sql, context.getSessionVariable().getSqlMode());
         ExecPlan execPlan = StatementPlanner.plan(parsedStmt, context, true, TResultSinkType.STATISTIC);
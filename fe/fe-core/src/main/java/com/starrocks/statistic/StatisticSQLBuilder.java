@@ -59,6 +59,12 @@ public class StatisticSQLBuilder {
                     + " FROM " + StatsConstants.HISTOGRAM_STATISTICS_TABLE_NAME
                     + " WHERE $predicate";
 
+    private static final String QUERY_MULTI_COLUMN_STATISTIC_TEMPLATE =
+            "SELECT cast(" + STATISTIC_HISTOGRAM_VERSION + " as INT), db_id, table_id, column_names,"
+                    + " cast(json_object(\"ndv\", ndv, \"row_count\", row_count, \"mcv\", mcv) as varchar)"
+                    + " FROM " + StatsConstants.MULTI_COLUMN_STATISTICS_TABLE_NAME
+                    + " WHERE $predicate";
+
     private static final VelocityEngine DEFAULT_VELOCITY_ENGINE;
 
     static {
@@ -133,6 +139,10 @@ public class StatisticSQLBuilder {
         return "DELETE FROM " + tableName + " WHERE TABLE_ID = " + tableId;
     }
 
+    public static String buildDropMultiColumnStatisticsSQL(Long tableId) {
+        return "DELETE FROM " + StatsConstants.MULTI_COLUMN_STATISTICS_TABLE_NAME + " WHERE TABLE_ID = " + tableId;
+    }
+
     public static String buildQueryHistogramStatisticsSQL(Long tableId, List<String> columnNames) {
         VelocityContext context = new VelocityContext();
 
@@ -150,12 +160,24 @@ public class StatisticSQLBuilder {
         return build(context, QUERY_HISTOGRAM_STATISTIC_TEMPLATE);
     }
 
+    public static String buildQueryMultiColumnStatisticsSQL(Long tableId) {
+        VelocityContext context = new VelocityContext();
+        context.put("predicate", "table_id = " + tableId);
+        return build(context, QUERY_MULTI_COLUMN_STATISTIC_TEMPLATE);
+    }
+
     public static String buildDropHistogramSQL(Long tableId, List<String> columnNames) {
         return "delete from " + StatsConstants.HISTOGRAM_STATISTICS_TABLE_NAME + " where table_id = "
                 + tableId + " and column_name in (" + Joiner.on(", ")
                 .join(columnNames.stream().map(c -> "'" + c + "'").collect(Collectors.toList())) + ")";
     }
 
+    public static String buildDropHistogramSketchSQL(Long tableId, List<String> columnNames) {
+        return "delete from " + StatsConstants.HISTOGRAM_SKETCH_STATISTICS_TABLE_NAME + " where table_id = "
+                + tableId + " and column_name in (" + Joiner.on(", ")
+                .join(columnNames.stream().map(c -> "'" + c + "'").collect(Collectors.toList())) + ")";
+    }
+
     private static String build(VelocityContext context, String template) {
         StringWriter sw = new StringWriter();
         DEFAULT_VELOCITY_ENGINE.evaluate(context, sw, "", template);
@@ -45,8 +45,10 @@ import java.time.Clock;
 import java.time.Instant;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Collectors;
 
 import static com.starrocks.sql.optimizer.Utils.getLongFromDateTime;
 
@@ -105,7 +107,8 @@ public class StatisticUtils {
         }
         Database db = GlobalStateMgr.getCurrentState().getDb(StatsConstants.STATISTICS_DB_NAME);
         List<String> tableNameList = Lists.newArrayList(StatsConstants.SAMPLE_STATISTICS_TABLE_NAME,
-                StatsConstants.FULL_STATISTICS_TABLE_NAME, StatsConstants.HISTOGRAM_STATISTICS_TABLE_NAME);
+                StatsConstants.FULL_STATISTICS_TABLE_NAME, StatsConstants.HISTOGRAM_STATISTICS_TABLE_NAME,
+                StatsConstants.MULTI_COLUMN_STATISTICS_TABLE_NAME, StatsConstants.HISTOGRAM_SKETCH_STATISTICS_TABLE_NAME);
 
         // check database
         if (db == null) {
@@ -213,6 +216,30 @@ public class StatisticUtils {
                             true, ColumnDef.DefaultValueDef.NOT_SET, ""),
                     new ColumnDef("update_time", new TypeDef(ScalarType.createType(PrimitiveType.DATETIME)))
             );
+        } else if (tableName.equals(StatsConstants.HISTOGRAM_SKETCH_STATISTICS_TABLE_NAME)) {
+            return ImmutableList.of(
+                    new ColumnDef("table_id", new TypeDef(ScalarType.createType(PrimitiveType.BIGINT))),
+                    new ColumnDef("partition_id", new TypeDef(ScalarType.createType(PrimitiveType.BIGINT))),
+                    new ColumnDef("column_name", new TypeDef(columnNameType)),
+                    new ColumnDef("db_id", new TypeDef(ScalarType.createType(PrimitiveType.BIGINT))),
+                    new ColumnDef("table_name", new TypeDef(tableNameType)),
+                    new ColumnDef("row_count", new TypeDef(ScalarType.createType(PrimitiveType.BIGINT))),
+                    new ColumnDef("ndv", new TypeDef(ScalarType.createType(PrimitiveType.HLL))),
+                    new ColumnDef("sketch", new TypeDef(ScalarType.createType(PrimitiveType.PERCENTILE))),
+                    new ColumnDef("update_time", new TypeDef(ScalarType.createType(PrimitiveType.DATETIME)))
+            );
+        } else if (tableName.equals(StatsConstants.MULTI_COLUMN_STATISTICS_TABLE_NAME)) {
+            return ImmutableList.of(
+                    new ColumnDef("table_id", new TypeDef(ScalarType.createType(PrimitiveType.BIGINT))),
+                    new ColumnDef("column_names", new TypeDef(columnNameType)),
+                    new ColumnDef("db_id", new TypeDef(ScalarType.createType(PrimitiveType.BIGINT))),
+                    new ColumnDef("table_name", new TypeDef(tableNameType)),
+                    new ColumnDef("ndv", new TypeDef(ScalarType.createType(PrimitiveType.BIGINT))),
+                    new ColumnDef("row_count", new TypeDef(ScalarType.createType(PrimitiveType.BIGINT))),
+                    new ColumnDef("mcv", new TypeDef(mostCommonValueType), false, null,
+                            true, ColumnDef.DefaultValueDef.NOT_SET, ""),
+                    new ColumnDef("update_time", new TypeDef(ScalarType.createType(PrimitiveType.DATETIME)))
+            );
         } else {
             throw new StarRocksPlannerException("Not support stats table " + tableName, ErrorType.INTERNAL_ERROR);
         }
@@ -265,6 +292,24 @@ public class StatisticUtils {
         return columns;
     }
 
+    /**
+     * Parse the column groups of multi-column statistics, e.g. "c1,c2;c3,c4" to [[c1, c2], [c3, c4]]
+     */
+    public static List<List<String>> parseColumnGroups(String columnGroups) {
+        List<List<String>> groups = new ArrayList<>();
+        if (columnGroups == null || columnGroups.trim().isEmpty()) {
+            return groups;
+        }
+        for (String group : columnGroups.split(";")) {
+            List<String> columns = Arrays.stream(group.split(",")).map(String::trim)
+                    .filter(c -> !c.isEmpty()).collect(Collectors.toList());
+            if (!columns.isEmpty()) {
+                groups.add(columns);
+            }
+        }
+        return groups;
+    }
+
     public static double multiplyRowCount(double left, double right) {
         left = Math.min(left, StatisticsEstimateCoefficient.MAXIMUM_ROW_COUNT);
         right = Math.min(right, StatisticsEstimateCoefficient.MAXIMUM_ROW_COUNT);
@@ -113,7 +113,7 @@ public class StatisticsCollectJobFactory {
                     && job.getAnalyzeType().equals(StatsConstants.AnalyzeType.FULL)
                     && table.getPartitions().stream()
                     .noneMatch(p -> p.getDataSize() > Config.statistic_max_full_collect_data_size)) {
-                createFullStatsJob(allTableJobMap, job, LocalDateTime.MIN, db, table, columns);
+                createFullStatsJob(allTableJobMap, job, null, db, table, columns);
                 return;
             }
 
@@ -136,11 +136,7 @@ public class StatisticsCollectJobFactory {
             allTableJobMap.add(buildStatisticsCollectJob(db, table, null, columns,
                     job.getAnalyzeType(), job.getScheduleType(), job.getProperties()));
         } else if (job.getAnalyzeType().equals(StatsConstants.AnalyzeType.FULL)) {
-            if (basicStatsMeta == null) {
-                createFullStatsJob(allTableJobMap, job, LocalDateTime.MIN, db, table, columns);
-            } else {
-                createFullStatsJob(allTableJobMap, job, basicStatsMeta.getUpdateTime(), db, table, columns);
-            }
+            createFullStatsJob(allTableJobMap, job, basicStatsMeta, db, table, columns);
         } else {
             throw new StarRocksPlannerException("Unknown analyze type " + job.getAnalyzeType(),
                     ErrorType.INTERNAL_ERROR);
@@ -148,28 +144,53 @@ public class StatisticsCollectJobFactory {
     }
 
     private static void createFullStatsJob(List<StatisticsCollectJob> allTableJobMap,
-                                           AnalyzeJob job, LocalDateTime statsLastUpdateTime,
+                                           AnalyzeJob job, BasicStatsMeta basicStatsMeta,
                                            Database db, Table table, List<String> columns) {
+        List<Partition> changedPartitions = getChangedPartitions(table, basicStatsMeta);
+        if (changedPartitions.isEmpty()) {
+            return;
+        }
+
+        // The full statistics are stored by partition and merged into the table statistics when queried,
+        // so if the table statistics were collected in full before, only the changed partitions need to be
+        // collected, and it's cheap enough to collect them in full even if other partitions of the table are huge.
+        boolean incremental = Config.enable_statistic_incremental_collect && basicStatsMeta != null
+                && basicStatsMeta.getType() == StatsConstants.AnalyzeType.FULL;
+        List<Partition> sizeCheckPartitions = incremental ? changedPartitions : Lists.newArrayList(table.getPartitions());
+
         StatsConstants.AnalyzeType analyzeType;
-        if (table.getPartitions().stream().anyMatch(
+        if (sizeCheckPartitions.stream().anyMatch(
                 p -> p.getDataSize() > Config.statistic_max_full_collect_data_size)) {
             analyzeType = StatsConstants.AnalyzeType.SAMPLE;
         } else {
             analyzeType = StatsConstants.AnalyzeType.FULL;
         }
 
-        List<Partition> partitions = Lists.newArrayList(table.getPartitions());
-        List<Long> partitionIdList = new ArrayList<>();
-        for (Partition partition : partitions) {
-            LocalDateTime partitionUpdateTime = StatisticUtils.getPartitionLastUpdateTime(partition);
-            if (statsLastUpdateTime.isBefore(partitionUpdateTime) && partition.hasData()) {
-                partitionIdList.add(partition.getId());
-            }
-        }
+        List<Long> partitionIdList = changedPartitions.stream().map(Partition::getId).collect(Collectors.toList());
+        allTableJobMap.add(buildStatisticsCollectJob(db, table, partitionIdList, columns,
+                analyzeType, job.getScheduleType(), Maps.newHashMap()));
+    }
 
-        if (!partitionIdList.isEmpty()) {
-            allTableJobMap.add(buildStatisticsCollectJob(db, table, partitionIdList, columns,
-                    analyzeType, job.getScheduleType(), Maps.newHashMap()));
+    /**
+     * Returns the partitions with data which were changed since the statistics recorded in basicStatsMeta.
+     * All partitions with data are returned if basicStatsMeta is null.
+     */
+    static List<Partition> getChangedPartitions(Table table, BasicStatsMeta basicStatsMeta) {
+        List<Partition> partitions = new ArrayList<>();
+        for (Partition partition : table.getPartitions()) {
+            if (!partition.hasData()) {
+                continue;
+            }
+            if (basicStatsMeta == null) {
+                partitions.add(partition);
+            } else if (Config.enable_statistic_incremental_collect) {
+                if (basicStatsMeta.isPartitionChanged(partition)) {
+                    partitions.add(partition);
+                }
+            } else if (basicStatsMeta.getUpdateTime().isBefore(StatisticUtils.getPartitionLastUpdateTime(partition))) {
+                partitions.add(partition);
+            }
         }
+        return partitions;
     }
 }
@@ -128,6 +128,14 @@ public class StatisticsMetaManager extends LeaderDaemon {
             "table_id", "column_name"
     );
 
+    private static final List<String> HISTOGRAM_SKETCH_KEY_COLUMNS = ImmutableList.of(
+            "table_id", "partition_id", "column_name"
+    );
+
+    private static final List<String> MULTI_COLUMN_KEY_COLUMNS = ImmutableList.of(
+            "table_id", "column_names"
+    );
+
     private boolean createSampleStatisticsTable(ConnectContext context) {
         LOG.info("create statistics table start");
         TableName tableName = new TableName(StatsConstants.STATISTICS_DB_NAME,
@@ -233,6 +241,70 @@ public class StatisticsMetaManager extends LeaderDaemon {
         return checkTableExist(StatsConstants.HISTOGRAM_STATISTICS_TABLE_NAME);
     }
 
+    private boolean createHistogramSketchStatisticsTable(ConnectContext context) {
+        LOG.info("create histogram sketch statistics table start");
+        TableName tableName = new TableName(StatsConstants.STATISTICS_DB_NAME,
+                StatsConstants.HISTOGRAM_SKETCH_STATISTICS_TABLE_NAME);
+        Map<String, String> properties = Maps.newHashMap();
+        int defaultReplicationNum = Math.min(3, GlobalStateMgr.getCurrentSystemInfo().getTotalBackendNumber());
+        properties.put(PropertyAnalyzer.PROPERTIES_REPLICATION_NUM, Integer.toString(defaultReplicationNum));
+        // if use_staros, create lake table, which not support primary key
+        String engine = Config.use_staros ? CreateTableStmt.LAKE_ENGINE_NAME : "olap";
+        KeysType keysType = Config.use_staros ? KeysType.UNIQUE_KEYS : KeysType.PRIMARY_KEYS;
+        CreateTableStmt stmt = new CreateTableStmt(false, false,
+                tableName,
+                StatisticUtils.buildStatsColumnDef(StatsConstants.HISTOGRAM_SKETCH_STATISTICS_TABLE_NAME),
+                engine,
+                new KeysDesc(keysType, HISTOGRAM_SKETCH_KEY_COLUMNS),
+                null,
+                new HashDistributionDesc(10, HISTOGRAM_SKETCH_KEY_COLUMNS),
+                properties,
+                null,
+                "");
+
+        Analyzer.analyze(stmt, context);
+        try {
+            GlobalStateMgr.getCurrentState().createTable(stmt);
+        } catch (DdlException e) {
+            LOG.warn("Failed to create table" + e.getMessage());
+            return false;
+        }
+        LOG.info("create histogram sketch statistics table done");
+        return checkTableExist(StatsConstants.HISTOGRAM_SKETCH_STATISTICS_TABLE_NAME);
+    }
+
+    private boolean createMultiColumnStatisticsTable(ConnectContext context) {
+        LOG.info("create multi-column statistics table start");
+        TableName tableName = new TableName(StatsConstants.STATISTICS_DB_NAME,
+                StatsConstants.MULTI_COLUMN_STATISTICS_TABLE_NAME);
+        Map<String, String> properties = Maps.newHashMap();
+        int defaultReplicationNum = Math.min(3, GlobalStateMgr.getCurrentSystemInfo().getTotalBackendNumber());
+        properties.put(PropertyAnalyzer.PROPERTIES_REPLICATION_NUM, Integer.toString(defaultReplicationNum));
+        // if use_staros, create lake table, which not support primary key
+        String engine = Config.use_staros ? CreateTableStmt.LAKE_ENGINE_NAME : "olap";
+        KeysType keysType = Config.use_staros ? KeysType.UNIQUE_KEYS : KeysType.PRIMARY_KEYS;
+        CreateTableStmt stmt = new CreateTableStmt(false, false,
+                tableName,
+                StatisticUtils.buildStatsColumnDef(StatsConstants.MULTI_COLUMN_STATISTICS_TABLE_NAME),
+                engine,
+                new KeysDesc(keysType, MULTI_COLUMN_KEY_COLUMNS),
+                null,
+                new HashDistributionDesc(10, MULTI_COLUMN_KEY_COLUMNS),
+                properties,
+                null,
+                "");
+
+        Analyzer.analyze(stmt, context);
+        try {
+            GlobalStateMgr.getCurrentState().createTable(stmt);
+        } catch (DdlException e) {
+            LOG.warn("Failed to create table" + e.getMessage());
+            return false;
+        }
+        LOG.info("create multi-column statistics table done");
+        return checkTableExist(StatsConstants.MULTI_COLUMN_STATISTICS_TABLE_NAME);
+    }
+
     private void refreshAnalyzeJob() {
         for (Map.Entry<Long, BasicStatsMeta> entry :
                 GlobalStateMgr.getCurrentAnalyzeMgr().getBasicStatsMetaMap().entrySet()) {
@@ -281,6 +353,10 @@ public class StatisticsMetaManager extends LeaderDaemon {
             return createFullStatisticsTable(context);
         } else if (tableName.equals(StatsConstants.HISTOGRAM_STATISTICS_TABLE_NAME)) {
             return createHistogramStatisticsTable(context);
+        } else if (tableName.equals(StatsConstants.MULTI_COLUMN_STATISTICS_TABLE_NAME)) {
+            return createMultiColumnStatisticsTable(context);
+        } else if (tableName.equals(StatsConstants.HISTOGRAM_SKETCH_STATISTICS_TABLE_NAME)) {
+            return createHistogramSketchStatisticsTable(context);
         } else {
             throw new StarRocksPlannerException("Error table name " + tableName, ErrorType.INTERNAL_ERROR);
         }
@@ -320,6 +396,8 @@ public class StatisticsMetaManager extends LeaderDaemon {
         refreshStatisticsTable(StatsConstants.SAMPLE_STATISTICS_TABLE_NAME);
         refreshStatisticsTable(StatsConstants.FULL_STATISTICS_TABLE_NAME);
         refreshStatisticsTable(StatsConstants.HISTOGRAM_STATISTICS_TABLE_NAME);
+        refreshStatisticsTable(StatsConstants.MULTI_COLUMN_STATISTICS_TABLE_NAME);
+        refreshStatisticsTable(StatsConstants.HISTOGRAM_SKETCH_STATISTICS_TABLE_NAME);
 
         GlobalStateMgr.getCurrentAnalyzeMgr().clearStatisticFromDroppedTable();
         GlobalStateMgr.getCurrentAnalyzeMgr().clearExpiredAnalyzeStatus();
@@ -27,6 +27,8 @@ public class StatsConstants {
     public static final String SAMPLE_STATISTICS_TABLE_NAME = "table_statistic_v1";
     public static final String FULL_STATISTICS_TABLE_NAME = "column_statistics";
     public static final String HISTOGRAM_STATISTICS_TABLE_NAME = "histogram_statistics";
+    public static final String MULTI_COLUMN_STATISTICS_TABLE_NAME = "multi_column_statistics";
+    public static final String HISTOGRAM_SKETCH_STATISTICS_TABLE_NAME = "histogram_sketch_statistics";
 
     public static final String INFORMATION_SCHEMA = "information_schema";
 
@@ -38,6 +40,14 @@ public class StatsConstants {
     public static final String HISTOGRAM_BUCKET_NUM = "histogram_bucket_num";
     public static final String HISTOGRAM_MCV_SIZE = "histogram_mcv_size";
     public static final String HISTOGRAM_SAMPLE_RATIO = "histogram_sample_ratio";
+    // "sample": build histogram by sorting the sample rows of each column
+    // "sketch": build histogram from the mergeable quantile sketches of partitions
+    public static final String HISTOGRAM_COLLECT_METHOD = "histogram_collect_method";
+    public static final String HISTOGRAM_COLLECT_METHOD_SAMPLE = "sample";
+    public static final String HISTOGRAM_COLLECT_METHOD_SKETCH = "sketch";
+
+    //Multi-column statistics properties, column groups like "c1,c2;c3,c4"
+    public static final String MULTI_COLUMN_STATS = "multi_column_stats";
 
     /**
      * Deprecated stats properties
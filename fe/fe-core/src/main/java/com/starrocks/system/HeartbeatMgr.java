@@ -46,6 +46,7 @@ import com.starrocks.common.Version;
 import com.starrocks.common.util.LeaderDaemon;
 import com.starrocks.common.util.Util;
 import com.starrocks.http.rest.BootstrapFinishAction;
+import com.starrocks.lake.compaction.CompactionManager;
 import com.starrocks.persist.HbPackage;
 import com.starrocks.server.GlobalStateMgr;
 import com.starrocks.service.FrontendOptions;
@@ -398,6 +399,7 @@ public class HeartbeatMgr extends LeaderDaemon {
                     int rpcPort = root.getInt(BootstrapFinishAction.RPC_PORT);
                     long feStartTime = root.getLong(BootstrapFinishAction.FE_START_TIME);
                     String feVersion = root.getString(BootstrapFinishAction.FE_VERSION);
+                    handlePartitionScanCounts(root.optJSONObject(BootstrapFinishAction.PARTITION_SCAN_COUNTS));
                     return new FrontendHbResponse(fe.getNodeName(), queryPort, rpcPort, replayedJournalId,
                             System.currentTimeMillis(), feStartTime, feVersion);
                 }
@@ -406,6 +408,17 @@ public class HeartbeatMgr extends LeaderDaemon {
                         Strings.isNullOrEmpty(e.getMessage()) ? "got exception" : e.getMessage());
             }
         }
+
+        // merge the scans of lake partitions planned on the follower, they are used to schedule compaction
+        private void handlePartitionScanCounts(JSONObject scanCounts) {
+            if (scanCounts == null) {
+                return;
+            }
+            CompactionManager compactionManager = GlobalStateMgr.getCurrentState().getCompactionManager();
+            for (String partitionId : scanCounts.keySet()) {
+                compactionManager.handlePartitionScanned(Long.parseLong(partitionId), scanCounts.getLong(partitionId));
+            }
+        }
     }
 
     // broker heartbeat handler
@@ -34,6 +34,7 @@
 
 package com.starrocks.task;
 
+import com.google.common.annotations.VisibleForTesting;
 import com.google.common.base.Strings;
 import com.google.common.collect.Lists;
 import com.starrocks.common.MarkedCountDownLatch;
@@ -49,6 +50,7 @@ import com.starrocks.fs.HdfsUtil;
 import com.starrocks.load.ExportChecker;
 import com.starrocks.load.ExportFailMsg;
 import com.starrocks.load.ExportJob;
+import com.starrocks.load.loadv2.LoadJob;
 import com.starrocks.qe.Coordinator;
 import com.starrocks.qe.QeProcessorImpl;
 import com.starrocks.server.GlobalStateMgr;
@@ -57,7 +59,10 @@ import com.starrocks.thrift.TUniqueId;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 
+import java.nio.charset.StandardCharsets;
+import java.util.Collections;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
 import java.util.UUID;
 import java.util.concurrent.TimeUnit;
@@ -157,6 +162,19 @@ public class ExportExportingTask extends PriorityLeaderTask {
             return;
         }
 
+        // the manifest is renamed to its final path after all the files are moved,
+        // so readers can take its existence as the commit point of the export
+        if (job.isWriteManifest()) {
+            Status manifestStatus = writeManifest();
+            if (!manifestStatus.ok()) {
+                job.cancelInternal(ExportFailMsg.CancelType.RUN_FAIL,
+                        "write export manifest fail, " + manifestStatus.getErrorMsg());
+                LOG.warn("write export manifest fail. job:{}", job);
+                registerProfile();
+                return;
+            }
+        }
+
         // finish job
         job.finish();
         registerProfile();
@@ -291,6 +309,34 @@ public class ExportExportingTask extends PriorityLeaderTask {
         return Status.OK;
     }
 
+    @VisibleForTesting
+    Status writeManifest() {
+        List<String> exportedFiles = Lists.newArrayList(job.getExportedFiles());
+        Collections.sort(exportedFiles);
+        StringBuilder sb = new StringBuilder();
+        for (String exportedFile : exportedFiles) {
+            sb.append(exportedFile).append("\n");
+        }
+        byte[] data = sb.toString().getBytes(StandardCharsets.UTF_8);
+
+        String manifestPath = job.getManifestPath();
+        String tmpManifestPath = job.getExportTempPath() + "/manifest";
+        int timeoutMs = Math.min(Math.max(1, getLeftTimeSecond()), 3600) * 1000;
+        try {
+            if (!job.getBrokerDesc().hasBroker()) {
+                HdfsUtil.writeFile(data, tmpManifestPath, job.getBrokerDesc());
+                HdfsUtil.rename(tmpManifestPath, manifestPath, job.getBrokerDesc(), timeoutMs);
+            } else {
+                BrokerUtil.writeFile(data, tmpManifestPath, job.getBrokerDesc());
+                BrokerUtil.rename(tmpManifestPath, manifestPath, job.getBrokerDesc(), timeoutMs);
+            }
+        } catch (UserException e) {
+            return new Status(TStatusCode.INTERNAL_ERROR, e.getMessage());
+        }
+        LOG.info("write export manifest {} with {} files. job id: {}", manifestPath, exportedFiles.size(), job.getId());
+        return Status.OK;
+    }
+
     private class ExportExportingSubTask extends PriorityLeaderTask {
         private final Coordinator coord;
         private final int taskIdx;
@@ -387,7 +433,7 @@ public class ExportExportingTask extends PriorityLeaderTask {
             if (coord.join(leftTimeSecond)) {
                 Status status = coord.getExecStatus();
                 if (status.ok()) {
-                    onSubTaskFinished(coord.getExportFiles());
+                    onSubTaskFinished(coord.getExportFiles(), coord.getLoadCounters());
                 } else {
                     throw new UserException(status.getErrorMsg());
                 }
@@ -396,8 +442,15 @@ public class ExportExportingTask extends PriorityLeaderTask {
             }
         }
 
-        private void onSubTaskFinished(List<String> exportFiles) {
+        private void onSubTaskFinished(List<String> exportFiles, Map<String, String> loadCounters) {
             job.addExportedTempFiles(exportFiles);
+            long rows = 0;
+            long bytes = 0;
+            if (loadCounters != null) {
+                rows = Long.parseLong(loadCounters.getOrDefault(LoadJob.DPP_NORMAL_ALL, "0"));
+                bytes = Long.parseLong(loadCounters.getOrDefault(LoadJob.LOADED_BYTES, "0"));
+            }
+            job.updateTaskStatistic(taskIdx, rows, bytes, exportFiles.size());
             synchronized (subTasksDoneSignal) {
                 subTasksDoneSignal.markedCountDown(taskIdx, -1 /* dummy value */);
                 job.setProgress((int) (coordSize - subTasksDoneSignal.getCount()) * 100 / coordSize);
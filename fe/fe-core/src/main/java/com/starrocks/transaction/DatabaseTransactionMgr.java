@@ -86,6 +86,7 @@ import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.locks.ReentrantReadWriteLock;
 import java.util.stream.Collectors;
 import javax.annotation.Nullable;
@@ -109,18 +110,35 @@ public class DatabaseTransactionMgr {
 
     // the lock is used to control the access to transaction states
     // no other locks should be inside this lock
+    // commit and publish only hold its read lock, so the transactions on different tables can commit and publish
+    // concurrently, they are serialized by the table locks of the db instead. the bookkeeping shared by all
+    // transactions of the db is changed under stateLock by them, see unprotectUpsertTransactionState().
     private ReentrantReadWriteLock transactionLock = new ReentrantReadWriteLock(true);
 
+    private final Object stateLock = new Object();
+
     // transactionId -> running TransactionState
-    private Map<Long, TransactionState> idToRunningTransactionState = Maps.newHashMap();
+    // modified under transactionLock, but can be read without lock, see getTransactionState()
+    private final Map<Long, TransactionState> idToRunningTransactionState = Maps.newConcurrentMap();
 
     // transactionId -> final status TransactionState
-    private Map<Long, TransactionState> idToFinalStatusTransactionState = Maps.newHashMap();
+    // modified under transactionLock, but can be read without lock, see getTransactionState()
+    private final Map<Long, TransactionState> idToFinalStatusTransactionState = Maps.newConcurrentMap();
+
+    // tableId -> running transaction ids, so the running transactions of some tables can be found
+    // without scanning all running transactions of the database.
+    // modified under transactionLock, but can be read without lock.
+    private final Map<Long, Set<Long>> tableIdToRunningTxnIds = Maps.newConcurrentMap();
+
+    // running transaction ids whose tables are unknown yet, they may relate to any table
+    private final Set<Long> runningTxnIdsWithUnknownTable = ConcurrentHashMap.newKeySet();
 
     // to store transtactionStates with final status
+    // guarded by stateLock if the transactionLock is not write locked
     private ArrayDeque<TransactionState> finalStatusTransactionStateDeque = new ArrayDeque<>();
 
     // store committed transactions' dependency relationships
+    // guarded by stateLock if the transactionLock is not write locked
     private TransactionGraph transactionGraph = new TransactionGraph();
 
     // label -> txn ids
@@ -129,7 +147,7 @@ public class DatabaseTransactionMgr {
     // this member should be consistent with idToTransactionState,
     // which means if a txn exist in idToRunningTransactionState or idToFinalStatusTransactionState
     // it must exists in dbIdToTxnLabels, and vice versa
-    private Map<String, Set<Long>> labelToTxnIds = Maps.newHashMap();
+    private final Map<String, Set<Long>> labelToTxnIds = Maps.newConcurrentMap();
 
     // count the number of running txns of database, except for the routine load txn
     private int runningTxnNums = 0;
@@ -146,6 +164,7 @@ public class DatabaseTransactionMgr {
     // not realtime usedQuota value to make a fast check for database data quota
     private volatile long usedQuotaDataBytes = -1;
 
+    // guarded by stateLock
     private long maxCommitTs = 0;
 
     private final TransactionStateListenerFactory stateListenerFactory = new TransactionStateListenerFactory();
@@ -179,17 +198,16 @@ public class DatabaseTransactionMgr {
         return dbId;
     }
 
+    /**
+     * Lock free, a transaction is put into idToFinalStatusTransactionState before it's removed from
+     * idToRunningTransactionState, so it can always be found in one of them.
+     */
     public TransactionState getTransactionState(Long transactionId) {
-        readLock();
-        try {
-            TransactionState transactionState = idToRunningTransactionState.get(transactionId);
-            if (transactionState != null) {
-                return transactionState;
-            } else {
-                return idToFinalStatusTransactionState.get(transactionId);
-            }
-        } finally {
-            readUnlock();
+        TransactionState transactionState = idToRunningTransactionState.get(transactionId);
+        if (transactionState != null) {
+            return transactionState;
+        } else {
+            return idToFinalStatusTransactionState.get(transactionId);
         }
     }
 
@@ -231,7 +249,9 @@ public class DatabaseTransactionMgr {
             if (running) {
                 transactionStateCollection = idToRunningTransactionState.values();
             } else {
-                transactionStateCollection = finalStatusTransactionStateDeque;
+                synchronized (stateLock) {
+                    transactionStateCollection = Lists.newArrayList(finalStatusTransactionStateDeque);
+                }
             }
             // get transaction order by txn id desc limit 'limit'
             transactionStateCollection.stream()
@@ -465,12 +485,13 @@ public class DatabaseTransactionMgr {
 
         Span unprotectedCommitSpan = TraceManager.startSpan("unprotectedCommitTransaction", txnSpan);
 
-        writeLock();
+        // the caller holds the locks of the tables, so only the read lock is needed
+        readLock();
         try {
             unprotectedCommitTransaction(transactionState, stateListeners);
             txnOperated = true;
         } finally {
-            writeUnlock();
+            readUnlock();
             int numPartitions = 0;
             for (Map.Entry<Long, TableCommitInfo> entry : transactionState.getIdToTableCommitInfos().entrySet()) {
                 numPartitions += entry.getValue().getIdToPartitionCommitInfo().size();
@@ -764,7 +785,12 @@ public class DatabaseTransactionMgr {
     public List<TransactionState> getReadyToPublishTxnList() {
         readLock();
         try {
-            List<Long> txnIds = transactionGraph.getTxnsWithoutDependency();
+            // consecutive txns on the same table(s) are published together, the backends apply them in commit order
+            List<Long> txnIds;
+            synchronized (stateLock) {
+                txnIds = transactionGraph.getTxnsWithTxnDependencyBatch(
+                        Math.max(1, Config.publish_version_max_batch_txn_num));
+            }
             return txnIds.stream().map(id -> idToRunningTransactionState.get(id)).collect(Collectors.toList());
         } finally {
             readUnlock();
@@ -779,7 +805,8 @@ public class DatabaseTransactionMgr {
         if (db == null) {
             return true;
         }
-        db.readLock();
+        List<Long> lockedTableIds = Lists.newArrayList(txn.getTableIdList());
+        db.readLockTables(lockedTableIds);
         long currentTs = System.currentTimeMillis();
         try {
             // check each table involved in transaction
@@ -862,7 +889,7 @@ public class DatabaseTransactionMgr {
                 }
             }
         } finally {
-            db.readUnlock();
+            db.readUnlockTables(lockedTableIds);
         }
         return true;
     }
@@ -898,7 +925,9 @@ public class DatabaseTransactionMgr {
             }
         }
         Span finishSpan = TraceManager.startSpan("finishTransaction", transactionState.getTxnSpan());
-        db.writeLock();
+        // publish only changes versions of the tables in this transaction
+        List<Long> lockedTableIds = Lists.newArrayList(transactionState.getTableIdList());
+        db.writeLockTables(lockedTableIds);
         try {
             boolean hasError = false;
             for (TableCommitInfo tableCommitInfo : transactionState.getIdToTableCommitInfos().values()) {
@@ -1018,7 +1047,8 @@ public class DatabaseTransactionMgr {
                 return;
             }
             boolean txnOperated = false;
-            writeLock();
+            // the tables are locked, so only the read lock is needed
+            readLock();
             try {
                 transactionState.setErrorReplicas(errorReplicaIds);
                 transactionState.setFinishTime(System.currentTimeMillis());
@@ -1033,7 +1063,7 @@ public class DatabaseTransactionMgr {
                 // So I add a log here for observation.
                 LOG.debug("after set transaction {} to visible", transactionState);
             } finally {
-                writeUnlock();
+                readUnlock();
                 transactionState.afterStateTransform(TransactionStatus.VISIBLE, txnOperated);
             }
             Span updateCatalogSpan = TraceManager.startSpan("updateCatalogAfterVisible", finishSpan);
@@ -1043,7 +1073,7 @@ public class DatabaseTransactionMgr {
                 updateCatalogSpan.end();
             }
         } finally {
-            db.writeUnlock();
+            db.writeUnlockTables(lockedTableIds);
             finishSpan.end();
         }
         LOG.info("finish transaction {} successfully", transactionState);
@@ -1051,15 +1081,15 @@ public class DatabaseTransactionMgr {
 
     protected void unprotectedCommitTransaction(TransactionState transactionState,
                                                 List<TransactionStateListener> stateListeners) {
-        // transaction state is modified during check if the transaction could committed
-        if (transactionState.getTransactionStatus() != TransactionStatus.PREPARE) {
-            return;
+        synchronized (stateLock) {
+            // transaction state is modified during check if the transaction could committed
+            if (transactionState.getTransactionStatus() != TransactionStatus.PREPARE) {
+                return;
+            }
+            transactionState.setCommitTime(unprotectedNextCommitTs());
+            // update transaction state version
+            transactionState.setTransactionStatus(TransactionStatus.COMMITTED);
         }
-        // commit timestamps needs to be strictly monotonically increasing
-        long commitTs = Math.max(System.currentTimeMillis(), maxCommitTs + 1);
-        transactionState.setCommitTime(commitTs);
-        // update transaction state version
-        transactionState.setTransactionStatus(TransactionStatus.COMMITTED);
 
         for (TransactionStateListener listener : stateListeners) {
             listener.preWriteCommitLog(transactionState);
@@ -1101,8 +1131,10 @@ public class DatabaseTransactionMgr {
         if (transactionState.getTransactionStatus() != TransactionStatus.PREPARED) {
             return;
         }
-        // commit timestamps needs to be strictly monotonically increasing
-        long commitTs = Math.max(System.currentTimeMillis(), maxCommitTs + 1);
+        long commitTs;
+        synchronized (stateLock) {
+            commitTs = unprotectedNextCommitTs();
+        }
         transactionState.setCommitTime(commitTs);
         // update transaction state version
         transactionState.setTransactionStatus(TransactionStatus.COMMITTED);
@@ -1144,7 +1176,16 @@ public class DatabaseTransactionMgr {
 
     }
 
+    // must be called under stateLock
+    private long unprotectedNextCommitTs() {
+        // commit timestamps needs to be strictly monotonically increasing
+        maxCommitTs = Math.max(System.currentTimeMillis(), maxCommitTs + 1);
+        return maxCommitTs;
+    }
+
     // for add/update/delete TransactionState
+    // the edit log is written outside stateLock, so commit and publish of transactions on different tables
+    // don't wait for the edit log of each other
     protected void unprotectUpsertTransactionState(TransactionState transactionState, boolean isReplay) {
         // if this is a replay operation, we should not log it
         if (!isReplay) {
@@ -1161,36 +1202,93 @@ public class DatabaseTransactionMgr {
                         System.currentTimeMillis() - start);
             }
         }
-        // it's OK if getCommitTime() returns -1
-        maxCommitTs = Math.max(maxCommitTs, transactionState.getCommitTime());
-        if (!transactionState.getTransactionStatus().isFinalStatus()) {
-            if (idToRunningTransactionState.put(transactionState.getTransactionId(), transactionState) == null) {
-                if (transactionState.getSourceType() == TransactionState.LoadJobSourceType.ROUTINE_LOAD_TASK) {
-                    runningRoutineLoadTxnNums++;
-                } else {
-                    runningTxnNums++;
+        synchronized (stateLock) {
+            // it's OK if getCommitTime() returns -1
+            maxCommitTs = Math.max(maxCommitTs, transactionState.getCommitTime());
+            if (!transactionState.getTransactionStatus().isFinalStatus()) {
+                if (idToRunningTransactionState.put(transactionState.getTransactionId(), transactionState) == null) {
+                    if (transactionState.getSourceType() == TransactionState.LoadJobSourceType.ROUTINE_LOAD_TASK) {
+                        runningRoutineLoadTxnNums++;
+                    } else {
+                        runningTxnNums++;
+                    }
                 }
+                if (Config.enable_new_publish_mechanism &&
+                        transactionState.getTransactionStatus() == TransactionStatus.COMMITTED) {
+                    transactionGraph.add(transactionState.getTransactionId(), transactionState.getTableIdList());
+                }
+                addRunningTxnToTableIndex(transactionState);
+            } else {
+                // put into final status map first, so that lock free readers can always find the transaction
+                idToFinalStatusTransactionState.put(transactionState.getTransactionId(), transactionState);
+                finalStatusTransactionStateDeque.add(transactionState);
+                if (idToRunningTransactionState.remove(transactionState.getTransactionId()) != null) {
+                    if (transactionState.getSourceType() == TransactionState.LoadJobSourceType.ROUTINE_LOAD_TASK) {
+                        runningRoutineLoadTxnNums--;
+                    } else {
+                        runningTxnNums--;
+                    }
+                }
+                removeRunningTxnFromTableIndex(transactionState);
+                transactionGraph.remove(transactionState.getTransactionId());
             }
-            if (Config.enable_new_publish_mechanism && transactionState.getTransactionStatus() == TransactionStatus.COMMITTED) {
-                transactionGraph.add(transactionState.getTransactionId(), transactionState.getTableIdList());
-            }
-        } else {
-            if (idToRunningTransactionState.remove(transactionState.getTransactionId()) != null) {
-                if (transactionState.getSourceType() == TransactionState.LoadJobSourceType.ROUTINE_LOAD_TASK) {
-                    runningRoutineLoadTxnNums--;
-                } else {
-                    runningTxnNums--;
+            updateTxnLabels(transactionState);
+        }
+    }
+
+    private void addRunningTxnToTableIndex(TransactionState transactionState) {
+        long txnId = transactionState.getTransactionId();
+        List<Long> tableIds = transactionState.getTableIdList();
+        if (tableIds.isEmpty()) {
+            runningTxnIdsWithUnknownTable.add(txnId);
+            return;
+        }
+        for (Long tableId : tableIds) {
+            tableIdToRunningTxnIds.computeIfAbsent(tableId, k -> ConcurrentHashMap.newKeySet()).add(txnId);
+        }
+        // tables may be known at commit time
+        runningTxnIdsWithUnknownTable.remove(txnId);
+    }
+
+    private void removeRunningTxnFromTableIndex(TransactionState transactionState) {
+        long txnId = transactionState.getTransactionId();
+        runningTxnIdsWithUnknownTable.remove(txnId);
+        for (Long tableId : transactionState.getTableIdList()) {
+            Set<Long> txnIds = tableIdToRunningTxnIds.get(tableId);
+            if (txnIds != null) {
+                txnIds.remove(txnId);
+                if (txnIds.isEmpty()) {
+                    tableIdToRunningTxnIds.remove(tableId);
                 }
             }
-            transactionGraph.remove(transactionState.getTransactionId());
-            idToFinalStatusTransactionState.put(transactionState.getTransactionId(), transactionState);
-            finalStatusTransactionStateDeque.add(transactionState);
         }
-        updateTxnLabels(transactionState);
+    }
+
+    /**
+     * Lock free, get the running transactions which may write to any of the tables.
+     * Transactions whose tables are unknown are included.
+     */
+    public List<TransactionState> getRunningTxnsOfTables(List<Long> tableIds) {
+        Set<Long> txnIds = Sets.newHashSet(runningTxnIdsWithUnknownTable);
+        for (Long tableId : tableIds) {
+            Set<Long> ids = tableIdToRunningTxnIds.get(tableId);
+            if (ids != null) {
+                txnIds.addAll(ids);
+            }
+        }
+        List<TransactionState> result = Lists.newArrayListWithCapacity(txnIds.size());
+        for (Long txnId : txnIds) {
+            TransactionState transactionState = idToRunningTransactionState.get(txnId);
+            if (transactionState != null) {
+                result.add(transactionState);
+            }
+        }
+        return result;
     }
 
     private void updateTxnLabels(TransactionState transactionState) {
-        Set<Long> txnIds = labelToTxnIds.computeIfAbsent(transactionState.getLabel(), k -> Sets.newHashSet());
+        Set<Long> txnIds =
+                labelToTxnIds.computeIfAbsent(transactionState.getLabel(), k -> ConcurrentHashMap.newKeySet());
         txnIds.add(transactionState.getTransactionId());
     }
 
@@ -1522,22 +1620,27 @@ public class DatabaseTransactionMgr {
         return true;
     }
 
+    /**
+     * Lock free, transactions before the watermark have all been put into idToRunningTransactionState,
+     * a transaction finishing concurrently may be seen as running, which only makes the caller retry later.
+     */
     public boolean isPreviousTransactionsFinished(long endTransactionId, List<Long> tableIdList) {
-        readLock();
-        try {
-            for (Map.Entry<Long, TransactionState> entry : idToRunningTransactionState.entrySet()) {
-                if (entry.getValue().getDbId() != dbId || !isIntersectionNotEmpty(entry.getValue().getTableIdList(),
-                        tableIdList) || !entry.getValue().isRunning()) {
-                    continue;
-                }
-                if (entry.getKey() <= endTransactionId) {
-                    LOG.debug("find a running txn with txn_id: {} on db: {}, less than watermark txn_id {}",
-                            entry.getKey(), dbId, endTransactionId);
-                    return false;
-                }
+        Collection<TransactionState> candidates;
+        if (CollectionUtils.isEmpty(tableIdList)) {
+            candidates = idToRunningTransactionState.values();
+        } else {
+            candidates = getRunningTxnsOfTables(tableIdList);
+        }
+        for (TransactionState transactionState : candidates) {
+            if (transactionState.getDbId() != dbId || !isIntersectionNotEmpty(transactionState.getTableIdList(),
+                    tableIdList) || !transactionState.isRunning()) {
+                continue;
+            }
+            if (transactionState.getTransactionId() <= endTransactionId) {
+                LOG.debug("find a running txn with txn_id: {} on db: {}, less than watermark txn_id {}",
+                        transactionState.getTransactionId(), dbId, endTransactionId);
+                return false;
             }
-        } finally {
-            readUnlock();
         }
         return true;
     }
@@ -1661,11 +1764,13 @@ public class DatabaseTransactionMgr {
             }
         }
         Span finishSpan = TraceManager.startSpan("finishTransaction", transactionState.getTxnSpan());
-        db.writeLock();
+        List<Long> lockedTableIds = Lists.newArrayList(transactionState.getTableIdList());
+        db.writeLockTables(lockedTableIds);
         finishSpan.addEvent("db_lock");
         try {
             boolean txnOperated = false;
-            writeLock();
+            // the tables are locked, so only the read lock is needed
+            readLock();
             finishSpan.addEvent("txnmgr_lock");
             try {
                 transactionState.setErrorReplicas(publishErrorReplicas);
@@ -1677,7 +1782,7 @@ public class DatabaseTransactionMgr {
                 transactionState.notifyVisible();
                 txnOperated = true;
             } finally {
-                writeUnlock();
+                readUnlock();
                 transactionState.afterStateTransform(TransactionStatus.VISIBLE, txnOperated);
             }
             Span updateCatalogSpan = TraceManager.startSpan("updateCatalogAfterVisible", finishSpan);
@@ -1687,7 +1792,7 @@ public class DatabaseTransactionMgr {
                 updateCatalogSpan.end();
             }
         } finally {
-            db.writeUnlock();
+            db.writeUnlockTables(lockedTableIds);
             finishSpan.end();
         }
         LOG.info("finish transaction {} successfully", transactionState);
@@ -36,6 +36,7 @@ package com.starrocks.transaction;
 
 import com.google.common.collect.Lists;
 import com.google.common.collect.Maps;
+import com.google.common.collect.Sets;
 import com.starrocks.catalog.Database;
 import com.starrocks.common.AnalysisException;
 import com.starrocks.common.Config;
@@ -408,14 +409,15 @@ public class GlobalTransactionMgr implements Writable {
         VisibleStateWaiter waiter;
         StopWatch stopWatch = new StopWatch();
         stopWatch.start();
-        if (!db.tryWriteLock(timeoutMillis, TimeUnit.MILLISECONDS)) {
+        List<Long> tableIds = getTableIdsToLock(db.getId(), transactionId);
+        if (!db.tryWriteLockTables(tableIds, timeoutMillis, TimeUnit.MILLISECONDS)) {
             throw new UserException("get database write lock timeout, database="
                     + db.getFullName() + ", timeoutMillis=" + timeoutMillis);
         }
         try {
             waiter = getDatabaseTransactionMgr(db.getId()).commitPreparedTransaction(transactionId);
         } finally {
-            db.writeUnlock();
+            db.writeUnlockTables(tableIds);
         }
 
         stopWatch.stop();
@@ -442,7 +444,8 @@ public class GlobalTransactionMgr implements Writable {
             throws UserException {
         StopWatch stopWatch = new StopWatch();
         stopWatch.start();
-        if (!db.tryWriteLock(timeoutMillis, TimeUnit.MILLISECONDS)) {
+        List<Long> tableIds = getTableIdsToLock(db.getId(), transactionId);
+        if (!db.tryWriteLockTables(tableIds, timeoutMillis, TimeUnit.MILLISECONDS)) {
             throw new UserException("get database write lock timeout, database="
                     + db.getOriginName() + ", timeoutMillis=" + timeoutMillis);
         }
@@ -451,7 +454,7 @@ public class GlobalTransactionMgr implements Writable {
             waiter = commitTransaction(db.getId(), transactionId, tabletCommitInfos, tabletFailInfos,
                     txnCommitAttachment);
         } finally {
-            db.writeUnlock();
+            db.writeUnlockTables(tableIds);
         }
         stopWatch.stop();
         long publishTimeoutMillis = timeoutMillis - stopWatch.getTime();
@@ -515,7 +518,15 @@ public class GlobalTransactionMgr implements Writable {
             return !dbTransactionMgr.getCommittedTxnList().isEmpty();
         }
 
-        for (TransactionState transactionState : dbTransactionMgr.getCommittedTxnList()) {
+        if (tableId == null) {
+            return false;
+        }
+        // only look up the running transactions of this table
+        List<TransactionState> runningTxns = dbTransactionMgr.getRunningTxnsOfTables(Lists.newArrayList(tableId));
+        for (TransactionState transactionState : runningTxns) {
+            if (transactionState.getTransactionStatus() != TransactionStatus.COMMITTED) {
+                continue;
+            }
             if (transactionState.getTableIdList().contains(tableId)) {
                 if (partitionId == null) {
                     return true;
@@ -539,11 +550,126 @@ public class GlobalTransactionMgr implements Writable {
         dbTransactionMgr.finishTransaction(transactionId, errorReplicaIds);
     }
 
+    /**
+     * Finish a batch of published transactions of the same database in commit order.
+     * The tables of the whole batch are locked once, so transactions committed close together
+     * become visible together instead of contending the lock one by one.
+     * A failure of one transaction does not stop the others, it will be retried by the next publish round.
+     */
+    public void finishTransactionBatch(long dbId, List<TransactionState> transactionStates,
+                                       Map<Long, Set<Long>> txnIdToErrorReplicas) {
+        Database db = globalStateMgr.getDb(dbId);
+        int maxBatchNum = Math.max(1, Config.publish_version_max_batch_txn_num);
+        for (int start = 0; start < transactionStates.size(); start += maxBatchNum) {
+            List<TransactionState> batch =
+                    transactionStates.subList(start, Math.min(start + maxBatchNum, transactionStates.size()));
+            if (db == null || batch.size() == 1) {
+                finishTransactionsInBatch(dbId, batch, txnIdToErrorReplicas);
+                continue;
+            }
+            List<Long> tableIds = getTableIdsToLock(batch);
+            db.writeLockTables(tableIds);
+            try {
+                finishTransactionsInBatch(dbId, batch, txnIdToErrorReplicas);
+            } finally {
+                db.writeUnlockTables(tableIds);
+            }
+        }
+    }
+
+    /**
+     * The tables to lock when committing the transaction, empty means the whole database should be locked.
+     */
+    public List<Long> getTableIdsToLock(long dbId, long transactionId) {
+        TransactionState transactionState = getTransactionState(dbId, transactionId);
+        if (transactionState == null) {
+            return Lists.newArrayList();
+        }
+        return Lists.newArrayList(transactionState.getTableIdList());
+    }
+
+    /**
+     * The tables to lock when finishing the transactions together. A transaction without known tables
+     * locks the whole database, so does the batch, otherwise finishing it would try to upgrade the database
+     * lock while holding the table locks.
+     */
+    static List<Long> getTableIdsToLock(List<TransactionState> transactionStates) {
+        Set<Long> tableIds = Sets.newHashSet();
+        for (TransactionState transactionState : transactionStates) {
+            List<Long> txnTableIds = transactionState.getTableIdList();
+            if (txnTableIds.isEmpty()) {
+                return Lists.newArrayList();
+            }
+            tableIds.addAll(txnTableIds);
+        }
+        return Lists.newArrayList(tableIds);
+    }
+
+    private void finishTransactionsInBatch(long dbId, List<TransactionState> batch,
+                                           Map<Long, Set<Long>> txnIdToErrorReplicas) {
+        for (TransactionState transactionState : batch) {
+            long txnId = transactionState.getTransactionId();
+            try {
+                finishTransaction(dbId, txnId, txnIdToErrorReplicas.get(txnId));
+            } catch (UserException e) {
+                LOG.warn("failed to finish transaction {} in db {}, will retry later", txnId, dbId, e);
+            }
+        }
+    }
+
     public void finishTransactionNew(TransactionState txnState, Set<Long> publishErrorReplicas) throws UserException {
         DatabaseTransactionMgr dbTransactionMgr = getDatabaseTransactionMgr(txnState.getDbId());
         dbTransactionMgr.finishTransactionNew(txnState, publishErrorReplicas);
     }
 
+    /**
+     * Finish a batch of published transactions of the same database under the new publish mechanism.
+     * The transactions must be in dependency order, and the tables of each sub batch are locked once.
+     * Once a transaction fails to finish, the following ones writing the same tables are skipped,
+     * since they can not become visible before it. Returns the transactions finished.
+     */
+    public List<TransactionState> finishTransactionNewBatch(long dbId, List<TransactionState> transactionStates,
+                                                            Map<Long, Set<Long>> txnIdToErrorReplicas) {
+        Database db = globalStateMgr.getDb(dbId);
+        List<TransactionState> finishedTxns = Lists.newArrayList();
+        Set<Long> failedTableIds = Sets.newHashSet();
+        int maxBatchNum = Math.max(1, Config.publish_version_max_batch_txn_num);
+        for (int start = 0; start < transactionStates.size(); start += maxBatchNum) {
+            List<TransactionState> batch =
+                    transactionStates.subList(start, Math.min(start + maxBatchNum, transactionStates.size()));
+            if (db == null || batch.size() == 1) {
+                finishTransactionsNewInBatch(batch, txnIdToErrorReplicas, failedTableIds, finishedTxns);
+                continue;
+            }
+            List<Long> tableIds = getTableIdsToLock(batch);
+            db.writeLockTables(tableIds);
+            try {
+                finishTransactionsNewInBatch(batch, txnIdToErrorReplicas, failedTableIds, finishedTxns);
+            } finally {
+                db.writeUnlockTables(tableIds);
+            }
+        }
+        return finishedTxns;
+    }
+
+    private void finishTransactionsNewInBatch(List<TransactionState> batch, Map<Long, Set<Long>> txnIdToErrorReplicas,
+                                              Set<Long> failedTableIds, List<TransactionState> finishedTxns) {
+        for (TransactionState transactionState : batch) {
+            List<Long> tableIds = transactionState.getTableIdList();
+            if (tableIds.stream().anyMatch(failedTableIds::contains)) {
+                failedTableIds.addAll(tableIds);
+                continue;
+            }
+            try {
+                finishTransactionNew(transactionState, txnIdToErrorReplicas.get(transactionState.getTransactionId()));
+                finishedTxns.add(transactionState);
+            } catch (Exception e) {
+                LOG.warn("failed to finish transaction {}, will retry later", transactionState, e);
+                failedTableIds.addAll(tableIds);
+            }
+        }
+    }
+
     public boolean canTxnFinished(TransactionState txn, Set<Long> errReplicas,
                                   Set<Long> unfinishedBackends) throws UserException {
         DatabaseTransactionMgr dbTransactionMgr = getDatabaseTransactionMgr(txn.getDbId());
@@ -43,6 +43,7 @@ import com.starrocks.catalog.MvId;
 import com.starrocks.catalog.Partition;
 import com.starrocks.catalog.Table;
 import com.starrocks.catalog.Tablet;
+import com.starrocks.catalog.TabletInvertedIndex;
 import com.starrocks.common.Config;
 import com.starrocks.common.DdlException;
 import com.starrocks.common.MetaNotFoundException;
@@ -52,6 +53,7 @@ import com.starrocks.common.util.LeaderDaemon;
 import com.starrocks.lake.LakeTable;
 import com.starrocks.lake.Utils;
 import com.starrocks.lake.compaction.Quantiles;
+import com.starrocks.metric.MetricRepo;
 import com.starrocks.rpc.RpcException;
 import com.starrocks.scheduler.Constants;
 import com.starrocks.server.GlobalStateMgr;
@@ -66,6 +68,7 @@ import org.apache.logging.log4j.Logger;
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
@@ -150,6 +153,9 @@ public class PublishVersionDaemon extends LeaderDaemon {
         }
 
         // try to finish the transaction, if failed just retry in next loop
+        // finishable transactions of the same database are made visible together in one batch
+        Map<Long, List<TransactionState>> dbIdToFinishableTxns = new LinkedHashMap<>();
+        Map<Long, Set<Long>> txnIdToErrorReplicas = new HashMap<>();
         for (TransactionState transactionState : readyTransactionStates) {
             Map<Long, PublishVersionTask> transTasks = transactionState.getPublishVersionTasks();
             Set<Long> publishErrorReplicaIds = Sets.newHashSet();
@@ -179,52 +185,108 @@ public class PublishVersionDaemon extends LeaderDaemon {
             }
 
             if (shouldFinishTxn) {
-                globalTransactionMgr.finishTransaction(transactionState.getDbId(), transactionState.getTransactionId(),
-                        publishErrorReplicaIds);
+                dbIdToFinishableTxns.computeIfAbsent(transactionState.getDbId(), k -> new ArrayList<>())
+                        .add(transactionState);
+                txnIdToErrorReplicas.put(transactionState.getTransactionId(), publishErrorReplicaIds);
+            }
+        } // end for readyTransactionStates
+
+        for (Map.Entry<Long, List<TransactionState>> entry : dbIdToFinishableTxns.entrySet()) {
+            List<TransactionState> batch = entry.getValue();
+            globalTransactionMgr.finishTransactionBatch(entry.getKey(), batch, txnIdToErrorReplicas);
+            for (TransactionState transactionState : batch) {
                 if (transactionState.getTransactionStatus() != TransactionStatus.VISIBLE) {
                     transactionState.updateSendTaskTime();
                     LOG.debug("publish version for transaction {} failed, has {} error replicas during publish",
-                            transactionState, publishErrorReplicaIds.size());
-                } else {
-                    for (PublishVersionTask task : transactionState.getPublishVersionTasks().values()) {
-                        AgentTaskQueue.removeTask(task.getBackendId(), TTaskType.PUBLISH_VERSION, task.getSignature());
-                    }
-                    // clear publish version tasks to reduce memory usage when state changed to visible.
-                    transactionState.clearAfterPublished();
-
-                    // Refresh materialized view when base table update transaction has been visible if necessary
-                    refreshMvIfNecessary(transactionState);
+                            transactionState, txnIdToErrorReplicas.get(transactionState.getTransactionId()).size());
                 }
             }
-        } // end for readyTransactionStates
+            onTransactionsVisible(batch);
+        }
+    }
+
+    private void onTransactionsVisible(List<TransactionState> batch) {
+        int visibleTxnNum = 0;
+        for (TransactionState transactionState : batch) {
+            if (transactionState.getTransactionStatus() != TransactionStatus.VISIBLE) {
+                continue;
+            }
+            visibleTxnNum++;
+            updatePublishLatencyMetric(transactionState);
+            for (PublishVersionTask task : transactionState.getPublishVersionTasks().values()) {
+                AgentTaskQueue.removeTask(task.getBackendId(), TTaskType.PUBLISH_VERSION, task.getSignature());
+            }
+            // clear publish version tasks to reduce memory usage when state changed to visible.
+            transactionState.clearAfterPublished();
+            markErrorReplicasDirty(transactionState);
+
+            // Refresh materialized view when base table update transaction has been visible if necessary
+            refreshMvIfNecessary(transactionState);
+        }
+        if (MetricRepo.isInit && visibleTxnNum > 0) {
+            MetricRepo.HISTO_TXN_PUBLISH_BATCH_SIZE.update(visibleTxnNum);
+        }
     }
 
+    // replicas failed to publish lag behind the visible version, let tablet checker repair them soon
+    private void markErrorReplicasDirty(TransactionState transactionState) {
+        Set<Long> errorReplicaIds = transactionState.getErrorReplicas();
+        if (errorReplicaIds == null || errorReplicaIds.isEmpty()) {
+            return;
+        }
+        TabletInvertedIndex invertedIndex = GlobalStateMgr.getCurrentInvertedIndex();
+        List<Long> tabletIds = new ArrayList<>();
+        for (Long replicaId : errorReplicaIds) {
+            Long tabletId = invertedIndex.getTabletIdByReplica(replicaId);
+            if (tabletId != null) {
+                tabletIds.add(tabletId);
+            }
+        }
+        GlobalStateMgr.getCurrentState().getTabletChecker().markTabletsDirty(tabletIds);
+    }
+
+    private void updatePublishLatencyMetric(TransactionState transactionState) {
+        if (MetricRepo.isInit && transactionState.getCommitTime() > 0
+                && transactionState.getFinishTime() >= transactionState.getCommitTime()) {
+            MetricRepo.HISTO_TXN_PUBLISH_LATENCY.update(
+                    transactionState.getFinishTime() - transactionState.getCommitTime());
+        }
+    }
+
+    /**
+     * The txns are in dependency order, consecutive txns on the same table(s) are published together.
+     * A txn can only be finished after all its previous txns on the same table(s), so once a txn is not
+     * finishable, the following txns writing any of its tables wait for the next round.
+     */
     private void publishVersionNew(GlobalTransactionMgr globalTransactionMgr, List<TransactionState> txns) {
+        Map<Long, List<TransactionState>> dbIdToFinishableTxns = new LinkedHashMap<>();
+        Map<Long, Set<Long>> txnIdToErrorReplicas = new HashMap<>();
+        Set<Long> blockedTableIds = Sets.newHashSet();
         for (TransactionState transactionState : txns) {
+            List<Long> tableIds = transactionState.getTableIdList();
             Set<Long> publishErrorReplicas = Sets.newHashSet();
-            if (!transactionState.allPublishTasksFinishedOrQuorumWaitTimeout(publishErrorReplicas)) {
-                continue;
+            if (tableIds.stream().noneMatch(blockedTableIds::contains)
+                    && transactionState.allPublishTasksFinishedOrQuorumWaitTimeout(publishErrorReplicas)
+                    && transactionState.checkCanFinish()) {
+                dbIdToFinishableTxns.computeIfAbsent(transactionState.getDbId(), k -> new ArrayList<>())
+                        .add(transactionState);
+                txnIdToErrorReplicas.put(transactionState.getTransactionId(), publishErrorReplicas);
+            } else {
+                blockedTableIds.addAll(tableIds);
             }
-            try {
-                if (transactionState.checkCanFinish()) {
-                    globalTransactionMgr.finishTransactionNew(transactionState, publishErrorReplicas);
-                }
+        }
+
+        for (Map.Entry<Long, List<TransactionState>> entry : dbIdToFinishableTxns.entrySet()) {
+            List<TransactionState> batch = entry.getValue();
+            globalTransactionMgr.finishTransactionNewBatch(entry.getKey(), batch, txnIdToErrorReplicas);
+            for (TransactionState transactionState : batch) {
                 if (transactionState.getTransactionStatus() != TransactionStatus.VISIBLE) {
                     transactionState.updateSendTaskTime();
                     LOG.debug("publish version for transaction {} failed, has {} error replicas during publish",
-                            transactionState, transactionState.getErrorReplicas().size());
-                } else {
-                    for (PublishVersionTask task : transactionState.getPublishVersionTasks().values()) {
-                        AgentTaskQueue.removeTask(task.getBackendId(), TTaskType.PUBLISH_VERSION, task.getSignature());
-                    }
-                    // clear publish version tasks to reduce memory usage when state changed to visible.
-                    transactionState.clearAfterPublished();
-                    // Refresh materialized view when base table update transaction has been visible if necessary
-                    refreshMvIfNecessary(transactionState);
+                            transactionState, txnIdToErrorReplicas.get(transactionState.getTransactionId()).size());
                 }
-            } catch (UserException e) {
-                LOG.error("errors while publish version to all backends", e);
             }
+            onTransactionsVisible(batch);
         }
     }
 
@@ -18,6 +18,10 @@ import com.google.common.base.Preconditions;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Deque;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
@@ -150,4 +154,40 @@ public class TransactionGraph {
     public List<Long> getTxnsWithoutDependency() {
         return nodesWithoutIns.stream().map(n -> n.txnId).collect(Collectors.toList());
     }
+
+    /**
+     * Return the txns without dependency together with their successors whose dependencies are all returned,
+     * in topological order. Each chain of consecutive txns on the same table(s) contains at most
+     * {@code maxBatchSize} txns, so {@code maxBatchSize <= 1} is the same as {@link #getTxnsWithoutDependency()}.
+     */
+    public List<Long> getTxnsWithTxnDependencyBatch(int maxBatchSize) {
+        List<Long> result = new ArrayList<>();
+        // node -> number of its dependencies not returned yet
+        Map<Node, Integer> unresolvedIns = new HashMap<>();
+        // node -> length of the longest chain ending with it
+        Map<Node, Integer> depths = new HashMap<>();
+        Deque<Node> queue = new ArrayDeque<>();
+        nodesWithoutIns.stream().sorted(Comparator.comparingLong(n -> n.txnId)).forEach(n -> {
+            depths.put(n, 1);
+            queue.add(n);
+        });
+        while (!queue.isEmpty()) {
+            Node node = queue.poll();
+            result.add(node.txnId);
+            int depth = depths.get(node);
+            if (node.outs == null || depth >= maxBatchSize) {
+                continue;
+            }
+            for (Node next : node.outs.stream().sorted(Comparator.comparingLong(n -> n.txnId))
+                    .collect(Collectors.toList())) {
+                depths.merge(next, depth + 1, Math::max);
+                int remaining = unresolvedIns.getOrDefault(next, next.ins.size()) - 1;
+                unresolvedIns.put(next, remaining);
+                if (remaining == 0) {
+                    queue.add(next);
+                }
+            }
+        }
+        return result;
+    }
 }
@@ -143,6 +143,61 @@ public class CreateRoutineLoadStmtTest {
         Assert.assertEquals(0, createRoutineLoadStmt.getLoadPropertyList().size());
     }
 
+    @Test
+    public void testTargetTables() {
+        String sql = "CREATE ROUTINE LOAD testdb.routine_name ON table1"
+                + " PROPERTIES(\"format\" = \"json\", \"target_tables\" = \"table2, table3\")"
+                + " FROM KAFKA (\"kafka_topic\" = \"my_topic\", "
+                + "\"kafka_broker_list\" = \"kafkahost1:9092,kafkahost2:9092\")";
+        List<StatementBase> stmts = com.starrocks.sql.parser.SqlParser.parse(sql, 32);
+        CreateRoutineLoadStmt createRoutineLoadStmt = (CreateRoutineLoadStmt) stmts.get(0);
+        CreateRoutineLoadAnalyzer.analyze(createRoutineLoadStmt, connectContext);
+        Assert.assertEquals(Lists.newArrayList("table2", "table3"), createRoutineLoadStmt.getTargetTables());
+
+        // the table of the job can not be a target table
+        sql = "CREATE ROUTINE LOAD testdb.routine_name ON table1"
+                + " PROPERTIES(\"target_tables\" = \"table2,table1\")"
+                + " FROM KAFKA (\"kafka_topic\" = \"my_topic\", "
+                + "\"kafka_broker_list\" = \"kafkahost1:9092,kafkahost2:9092\")";
+        stmts = com.starrocks.sql.parser.SqlParser.parse(sql, 32);
+        try {
+            CreateRoutineLoadAnalyzer.analyze((CreateRoutineLoadStmt) stmts.get(0), connectContext);
+            Assert.fail();
+        } catch (RuntimeException e) {
+            Assert.assertTrue(e.getMessage(), e.getMessage().contains("target_tables"));
+        }
+
+        // too many target tables
+        int oldMaxTargetTableNum = Config.max_routine_load_target_table_num;
+        Config.max_routine_load_target_table_num = 1;
+        sql = "CREATE ROUTINE LOAD testdb.routine_name ON table1"
+                + " PROPERTIES(\"target_tables\" = \"table2,table3\")"
+                + " FROM KAFKA (\"kafka_topic\" = \"my_topic\", "
+                + "\"kafka_broker_list\" = \"kafkahost1:9092,kafkahost2:9092\")";
+        stmts = com.starrocks.sql.parser.SqlParser.parse(sql, 32);
+        try {
+            CreateRoutineLoadAnalyzer.analyze((CreateRoutineLoadStmt) stmts.get(0), connectContext);
+            Assert.fail();
+        } catch (RuntimeException e) {
+            Assert.assertTrue(e.getMessage(), e.getMessage().contains("should not be more than 1"));
+        } finally {
+            Config.max_routine_load_target_table_num = oldMaxTargetTableNum;
+        }
+
+        // only kafka supports target tables
+        sql = "CREATE ROUTINE LOAD testdb.routine_name ON table1"
+                + " PROPERTIES(\"target_tables\" = \"table2\")"
+                + " FROM PULSAR (\"pulsar_service_url\" = \"pulsar://localhost:6650\", "
+                + "\"pulsar_topic\" = \"my_topic\", \"pulsar_subscription\" = \"my_sub\")";
+        stmts = com.starrocks.sql.parser.SqlParser.parse(sql, 32);
+        try {
+            CreateRoutineLoadAnalyzer.analyze((CreateRoutineLoadStmt) stmts.get(0), connectContext);
+            Assert.fail();
+        } catch (RuntimeException e) {
+            Assert.assertTrue(e.getMessage(), e.getMessage().contains("target_tables"));
+        }
+    }
+
     @Test
     public void testLoadColumns() {
         String sql = "CREATE ROUTINE LOAD testdb.routine_name ON table1" +
@@ -163,6 +163,40 @@ public class ExportRelativeStmtTest {
     }
 
 
+    @Test
+    public void testExportFileProperties() {
+        FsBroker fsBroker = new FsBroker("127.0.0.1", 8118);
+        BrokerHbResponse hbResponse = new BrokerHbResponse("broker", "127.0.0.1", 8118, System.currentTimeMillis());
+        fsBroker.handleHbResponse(hbResponse, false);
+        GlobalStateMgr.getCurrentState().getBrokerMgr().replayAddBrokers("broker", Lists.newArrayList(fsBroker));
+
+        String originStmt = "EXPORT TABLE tp TO \"hdfs://hdfs_host:port/a/b/c/\" PROPERTIES " +
+                "(\"format\" = \"PARQUET\", \"max_file_size\" = \"1073741824\", \"write_manifest\" = \"true\") " +
+                "WITH BROKER \"broker\" (\"username\"=\"test\", \"password\"=\"test\");";
+        ExportStmt stmt = (ExportStmt) analyzeSuccess(originStmt);
+        Map<String, String> properties = stmt.getProperties();
+        Assert.assertEquals("parquet", properties.get(ExportStmt.FORMAT_PROP));
+        Assert.assertEquals("1073741824", properties.get(ExportStmt.MAX_FILE_SIZE_PROP));
+        Assert.assertEquals("true", properties.get(ExportStmt.WRITE_MANIFEST_PROP));
+
+        // orc is not supported yet
+        originStmt = "EXPORT TABLE tp TO \"hdfs://hdfs_host:port/a/b/c/\" PROPERTIES (\"format\" = \"orc\") " +
+                "WITH BROKER \"broker\" (\"username\"=\"test\", \"password\"=\"test\");";
+        analyzeFail(originStmt);
+        originStmt = "EXPORT TABLE tp TO \"hdfs://hdfs_host:port/a/b/c/\" PROPERTIES (\"format\" = \"json\") " +
+                "WITH BROKER \"broker\" (\"username\"=\"test\", \"password\"=\"test\");";
+        analyzeFail(originStmt);
+        originStmt = "EXPORT TABLE tp TO \"hdfs://hdfs_host:port/a/b/c/\" PROPERTIES (\"max_file_size\" = \"0\") " +
+                "WITH BROKER \"broker\" (\"username\"=\"test\", \"password\"=\"test\");";
+        analyzeFail(originStmt);
+        originStmt = "EXPORT TABLE tp TO \"hdfs://hdfs_host:port/a/b/c/\" PROPERTIES (\"max_file_size\" = \"1g\") " +
+                "WITH BROKER \"broker\" (\"username\"=\"test\", \"password\"=\"test\");";
+        analyzeFail(originStmt);
+        originStmt = "EXPORT TABLE tp TO \"hdfs://hdfs_host:port/a/b/c/\" PROPERTIES (\"write_manifest\" = \"yes\") " +
+                "WITH BROKER \"broker\" (\"username\"=\"test\", \"password\"=\"test\");";
+        analyzeFail(originStmt);
+    }
+
     @Test
     public void testShowExport() {
         String originStmt = "Show Export limit 10";
@@ -17,6 +17,16 @@
 
 package com.starrocks.backup;
 
+import com.google.common.collect.Lists;
+import com.google.common.collect.Maps;
+import com.starrocks.backup.BackupJobInfo.BackupPartitionInfo;
+import com.starrocks.backup.RestoreFileMapping.IdChain;
+import com.starrocks.catalog.Database;
+import com.starrocks.catalog.KeysType;
+import com.starrocks.catalog.OlapTable;
+import com.starrocks.catalog.Partition;
+import com.starrocks.catalog.Table;
+import com.starrocks.common.util.UnitTestUtil;
 import org.junit.AfterClass;
 import org.junit.Assert;
 import org.junit.BeforeClass;
@@ -30,6 +40,8 @@ import java.io.FileNotFoundException;
 import java.io.FileOutputStream;
 import java.io.IOException;
 import java.io.PrintWriter;
+import java.util.List;
+import java.util.Map;
 
 public class BackupJobInfoTest {
 
@@ -177,4 +189,49 @@ public class BackupJobInfoTest {
             tmpFile.delete();
         }
     }
+
+    @Test
+    public void testIncrementalBackup() throws IOException {
+        Database db = UnitTestUtil.createDb(1, 2, 3, 4, 5, 6, 10, KeysType.AGG_KEYS);
+        OlapTable tbl = (OlapTable) db.getTable(2);
+        Partition partition = tbl.getPartition(3);
+        List<Table> tbls = Lists.newArrayList(tbl);
+        Map<Long, SnapshotInfo> snapshotInfos = Maps.newHashMap();
+        snapshotInfos.put(5L, new SnapshotInfo(1, 2, 3, 4, 5, 6, tbl.getSchemaHashByIndexId(4L), "/path",
+                Lists.newArrayList("10.dat.checksum", "5.hdr.checksum")));
+
+        BackupJobInfo base = BackupJobInfo.fromCatalog(1L, "base", db.getFullName(), db.getId(), tbls, snapshotInfos);
+        Assert.assertNotNull(base.getUnchangedPartition(tbl, partition));
+
+        // unchanged partition reuses the files of base snapshot
+        BackupJobInfo incr = BackupJobInfo.fromCatalog(2L, "incr", db.getFullName(), db.getId(), tbls,
+                Maps.newHashMap(), base);
+        BackupPartitionInfo partInfo = incr.getTableInfo(tbl.getName()).getPartInfo(partition.getName());
+        Assert.assertEquals("base", partInfo.sourceLabel);
+        Assert.assertEquals(2, partInfo.getIdx(tbl.getName()).getTablet(5L).files.size());
+        Assert.assertEquals("base", incr.getSourceLabel(new IdChain(2L, 3L, 4L, 5L, 7L)));
+
+        // source label is kept in job info file and points to the first snapshot of the chain
+        File tmpFile = new File("./incr_job_info");
+        try {
+            incr.writeToFile(tmpFile);
+            BackupJobInfo readInfo = BackupJobInfo.fromFile(tmpFile.getPath());
+            Assert.assertEquals("base", readInfo.getSourceLabel(new IdChain(2L, 3L, 4L, 5L, 7L)));
+            BackupJobInfo incr2 = BackupJobInfo.fromCatalog(3L, "incr2", db.getFullName(), db.getId(), tbls,
+                    Maps.newHashMap(), readInfo);
+            Assert.assertEquals("base", incr2.getSourceLabel(new IdChain(2L, 3L, 4L, 5L, 7L)));
+        } finally {
+            tmpFile.delete();
+        }
+
+        // partition with new version is backed up again
+        partition.setVisibleVersion(11, System.currentTimeMillis());
+        Assert.assertNull(base.getUnchangedPartition(tbl, partition));
+        snapshotInfos.put(5L, new SnapshotInfo(1, 2, 3, 4, 5, 6, tbl.getSchemaHashByIndexId(4L), "/path",
+                Lists.newArrayList("11.dat.checksum", "5.hdr.checksum")));
+        BackupJobInfo incr3 = BackupJobInfo.fromCatalog(4L, "incr3", db.getFullName(), db.getId(), tbls,
+                snapshotInfos, base);
+        Assert.assertNull(incr3.getTableInfo(tbl.getName()).getPartInfo(partition.getName()).sourceLabel);
+        Assert.assertEquals("incr3", incr3.getSourceLabel(new IdChain(2L, 3L, 4L, 5L, 7L)));
+    }
 }
@@ -300,7 +300,9 @@ public class BackupJobTest {
         tabletFiles.add("1.dat.4f158689243a3d6030352fec3cfd3798");
         tabletFiles.add("1.idx.4f158689243a3d6030352fec3cfd3798");
         tabletFiles.add("1.hdr.4f158689243a3d6030352fec3cfd3798");
+        request.setCopy_size(1024L);
         Assert.assertTrue(job.finishSnapshotUploadTask(upTask, request));
+        Assert.assertEquals(1024L, job.getTransferredBytes());
         job.run();
         Assert.assertEquals(Status.OK, job.getStatus());
         Assert.assertEquals(BackupJobState.SAVE_META, job.getState());
@@ -356,4 +358,12 @@ public class BackupJobTest {
         Assert.assertEquals(Status.ErrCode.NOT_FOUND, job.getStatus().getErrCode());
         Assert.assertEquals(BackupJobState.CANCELLED, job.getState());
     }
+
+    @Test
+    public void testThroughput() {
+        Assert.assertEquals(2048L, AbstractJob.getThroughputBytesPerSecond(4096L, 2000L));
+        // cost less than 1ms is treated as 1ms
+        Assert.assertEquals(4096000L, AbstractJob.getThroughputBytesPerSecond(4096L, 0L));
+        Assert.assertEquals(0L, AbstractJob.getThroughputBytesPerSecond(0L, 1000L));
+    }
 }
@@ -0,0 +1,104 @@
+// Licensed to the Apache Software Foundation (ASF) under one
+// or more contributor license agreements.  See the NOTICE file
+// distributed with this work for additional information
+// regarding copyright ownership.  The ASF licenses this file
+// to you under the Apache License, Version 2.0 (the
+// "License"); you may not use this file except in compliance
+// with the License.  You may obtain a copy of the License at
+//
+//   http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing,
+// software distributed under the License is distributed on an
+// "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+// KIND, either express or implied.  See the License for the
+
+package com.starrocks.backup;
+
+import com.starrocks.common.Config;
+import org.junit.Assert;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.file.Files;
+import java.util.Arrays;
+import java.util.Random;
+
+public class ParallelDownloaderTest {
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    // read at most 1000 bytes at a time to simulate the short read of broker
+    private static class LocalRangeReader implements ParallelDownloader.RangeReader {
+        private final RandomAccessFile file;
+
+        LocalRangeReader(File file) throws IOException {
+            this.file = new RandomAccessFile(file, "r");
+        }
+
+        @Override
+        public byte[] read(long offset, long length) throws IOException {
+            byte[] data = new byte[(int) Math.min(length, 1000)];
+            file.seek(offset);
+            int n = file.read(data);
+            return n <= 0 ? new byte[0] : Arrays.copyOf(data, n);
+        }
+
+        @Override
+        public void close() throws IOException {
+            file.close();
+        }
+    }
+
+    @Test
+    public void testDownload() throws IOException {
+        byte[] content = new byte[3 * 1024 * 1024 + 123];
+        new Random(0).nextBytes(content);
+        File remote = folder.newFile("remote");
+        Files.write(remote.toPath(), content);
+        File local = folder.newFile("local");
+
+        ParallelDownloader downloader = new ParallelDownloader("bucket", () -> new LocalRangeReader(remote),
+                4, 1024 * 1024);
+        Status status = downloader.download(local, content.length);
+        Assert.assertTrue(status.getErrMsg(), status.ok());
+        Assert.assertEquals(content.length, downloader.getDownloadedBytes());
+        Assert.assertArrayEquals(content, Files.readAllBytes(local.toPath()));
+    }
+
+    @Test
+    public void testDownloadTruncatedFile() throws IOException {
+        byte[] content = new byte[2 * 1024 * 1024];
+        File remote = folder.newFile("remote");
+        Files.write(remote.toPath(), content);
+        File local = folder.newFile("local");
+
+        ParallelDownloader downloader = new ParallelDownloader("bucket", () -> new LocalRangeReader(remote),
+                2, 1024 * 1024);
+        Status status = downloader.download(local, content.length + 1024 * 1024);
+        Assert.assertFalse(status.ok());
+    }
+
+    @Test
+    public void testShouldDownloadInParallel() {
+        int oldConcurrency = Config.backup_blob_download_concurrency;
+        long oldPartSize = Config.backup_blob_download_part_size_mb;
+        try {
+            Config.backup_blob_download_concurrency = 4;
+            Config.backup_blob_download_part_size_mb = 64;
+            Assert.assertFalse(ParallelDownloader.shouldDownloadInParallel(64L * 1024 * 1024));
+            Assert.assertTrue(ParallelDownloader.shouldDownloadInParallel(128L * 1024 * 1024));
+
+            Config.backup_blob_download_concurrency = 1;
+            Assert.assertFalse(ParallelDownloader.shouldDownloadInParallel(1024L * 1024 * 1024));
+        } finally {
+            Config.backup_blob_download_concurrency = oldConcurrency;
+            Config.backup_blob_download_part_size_mb = oldPartSize;
+        }
+    }
+}
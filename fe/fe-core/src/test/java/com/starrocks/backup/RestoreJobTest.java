@@ -341,8 +341,10 @@ public class RestoreJobTest {
             TFinishTaskRequest request = new TFinishTaskRequest(tBackend, TTaskType.MAKE_SNAPSHOT,
                     agentTask.getSignature(), taskStatus);
             request.setDownloaded_tablet_ids(downloadedTabletIds);
+            request.setCopy_size(100L);
             Assert.assertTrue(job.finishTabletDownloadTask((DownloadTask) agentTask, request));
         }
+        Assert.assertEquals(900L, job.getTransferredBytes());
 
         job.run();
         Assert.assertEquals(Status.OK, job.getStatus());
@@ -36,6 +36,7 @@ package com.starrocks.catalog;
 
 import com.google.common.collect.Lists;
 import com.starrocks.catalog.MaterializedIndex.IndexState;
+import com.starrocks.common.Config;
 import com.starrocks.common.FeConstants;
 import com.starrocks.common.jmockit.Deencapsulation;
 import com.starrocks.persist.CreateTableInfo;
@@ -116,6 +117,47 @@ public class DatabaseTest {
         }
     }
 
+    @Test
+    public void tableLockTest() throws Exception {
+        boolean enableTableLevelLock = Config.enable_table_level_lock;
+        Config.enable_table_level_lock = true;
+        try {
+            db.writeLockTables(Lists.newArrayList(1L));
+            try {
+                List<Boolean> results = Lists.newArrayList();
+                Thread t = new Thread(() -> {
+                    // other tables are not blocked
+                    boolean locked = db.tryWriteLockTables(Lists.newArrayList(2L), 0, TimeUnit.SECONDS);
+                    results.add(locked);
+                    if (locked) {
+                        db.writeUnlockTables(Lists.newArrayList(2L));
+                    }
+                    // same table is blocked
+                    locked = db.tryWriteLockTables(Lists.newArrayList(2L, 1L), 0, TimeUnit.SECONDS);
+                    results.add(locked);
+                    if (locked) {
+                        db.writeUnlockTables(Lists.newArrayList(2L, 1L));
+                    }
+                    // database wide lock is blocked
+                    locked = db.tryWriteLock(0, TimeUnit.SECONDS);
+                    results.add(locked);
+                    if (locked) {
+                        db.writeUnlock();
+                    }
+                });
+                t.start();
+                t.join();
+                Assert.assertEquals(Lists.newArrayList(true, false, false), results);
+            } finally {
+                db.writeUnlockTables(Lists.newArrayList(1L));
+            }
+            Assert.assertTrue(db.tryWriteLock(0, TimeUnit.SECONDS));
+            db.writeUnlock();
+        } finally {
+            Config.enable_table_level_lock = enableTableLevelLock;
+        }
+    }
+
     @Test
     public void createAndDropPartitionTest() {
         Assert.assertEquals("dbTest", db.getOriginName());
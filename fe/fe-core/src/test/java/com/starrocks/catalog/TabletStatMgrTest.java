@@ -17,6 +17,7 @@ package com.starrocks.catalog;
 
 import com.google.common.collect.Lists;
 import com.google.common.collect.Maps;
+import com.starrocks.common.Config;
 import com.starrocks.common.jmockit.Deencapsulation;
 import com.starrocks.lake.LakeTable;
 import com.starrocks.lake.LakeTablet;
@@ -242,4 +243,56 @@ public class TabletStatMgrTest {
                 Deencapsulation.getField(tabletStatMgr, "partitionToUpdatedVersion");
         Assert.assertEquals(2L, (long) partitionToUpdatedVersion.get(partitionId));
     }
-}
\ No newline at end of file
+
+    @Test
+    public void testTabletHeat(@Mocked GlobalStateMgr globalStateMgr) {
+        new Expectations() {
+            {
+                GlobalStateMgr.getCurrentInvertedIndex();
+                result = new TabletInvertedIndex();
+                minTimes = 0;
+            }
+        };
+
+        TabletStatMgr tabletStatMgr = new TabletStatMgr();
+        boolean oldValue = Config.tablet_sched_enable_heat_balance;
+        try {
+            Config.tablet_sched_enable_heat_balance = false;
+            tabletStatMgr.updateLocalTabletStat(10L, buildTabletStatResult(1L, 5L));
+            tabletStatMgr.updateLocalTabletStat(10L, buildTabletStatResult(1L, 10L));
+            Assert.assertEquals(0.0, tabletStatMgr.getTabletHeat(1L), 1e-6);
+
+            Config.tablet_sched_enable_heat_balance = true;
+            // the first report is the base of read count
+            tabletStatMgr.updateLocalTabletStat(10L, buildTabletStatResult(1L, 10L));
+            Assert.assertEquals(0.0, tabletStatMgr.getTabletHeat(1L), 1e-6);
+            // reads on all replicas of the tablet are counted
+            tabletStatMgr.updateLocalTabletStat(11L, buildTabletStatResult(1L, 3L));
+            tabletStatMgr.updateLocalTabletStat(10L, buildTabletStatResult(1L, 11L));
+            tabletStatMgr.updateLocalTabletStat(11L, buildTabletStatResult(1L, 4L));
+            Assert.assertEquals(2.0, tabletStatMgr.getTabletHeat(1L), 1e-6);
+            Assert.assertEquals(0.0, tabletStatMgr.getTabletHeat(2L), 1e-6);
+            // backend restarted, read count starts from 0
+            tabletStatMgr.updateLocalTabletStat(10L, buildTabletStatResult(1L, 2L));
+            Assert.assertEquals(4.0, tabletStatMgr.getTabletHeat(1L), 1e-6);
+
+            // heat is halved every round
+            Deencapsulation.invoke(tabletStatMgr, "decayTabletHeat");
+            Assert.assertEquals(2.0, tabletStatMgr.getTabletHeat(1L), 1e-6);
+            for (int i = 0; i < 10; i++) {
+                Deencapsulation.invoke(tabletStatMgr, "decayTabletHeat");
+            }
+            Assert.assertEquals(0.0, tabletStatMgr.getTabletHeat(1L), 1e-6);
+        } finally {
+            Config.tablet_sched_enable_heat_balance = oldValue;
+        }
+    }
+
+    private static TTabletStatResult buildTabletStatResult(long tabletId, long readCount) {
+        TTabletStat stat = new TTabletStat(tabletId);
+        stat.setRead_count(readCount);
+        Map<Long, TTabletStat> stats = Maps.newHashMap();
+        stats.put(tabletId, stat);
+        return new TTabletStatResult(stats);
+    }
+}
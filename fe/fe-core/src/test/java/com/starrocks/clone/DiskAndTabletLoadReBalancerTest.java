@@ -35,6 +35,7 @@ import com.starrocks.catalog.Replica;
 import com.starrocks.catalog.Replica.ReplicaState;
 import com.starrocks.catalog.TabletInvertedIndex;
 import com.starrocks.catalog.TabletMeta;
+import com.starrocks.catalog.TabletStatMgr;
 import com.starrocks.common.Config;
 import com.starrocks.server.GlobalStateMgr;
 import com.starrocks.system.Backend;
@@ -521,6 +522,171 @@ public class DiskAndTabletLoadReBalancerTest {
         Assert.assertTrue(tablets.stream().anyMatch(t -> (t.getSrcPathHash() == pathHash13)));
     }
 
+    @Test
+    public void testGetWorkloadSkew() {
+        Assert.assertEquals(0.0, DiskAndTabletLoadReBalancer.getWorkloadSkew(Lists.newArrayList()), 1e-6);
+        Assert.assertEquals(0.0, DiskAndTabletLoadReBalancer.getWorkloadSkew(Lists.newArrayList(0.0, 0.0)), 1e-6);
+        Assert.assertEquals(0.0, DiskAndTabletLoadReBalancer.getWorkloadSkew(Lists.newArrayList(5.0, 5.0)), 1e-6);
+        // (max - min) / avg = (8 - 2) / 4
+        Assert.assertEquals(1.5,
+                DiskAndTabletLoadReBalancer.getWorkloadSkew(Lists.newArrayList(2.0, 2.0, 8.0)), 1e-6);
+    }
+
+    /**
+     * init state:
+     * one partition with 5 tablets, 1 replica number, tablet distribution is balanced
+     * 2 tablets on be1: t1(heat 6), t2(heat 4)
+     * 2 tablets on be2: t3, t4
+     * 1 tablets on be3: t5
+     * <p>
+     * expect state:
+     * t1 moved from be1 to be3, the partition of be2 has as many tablets as be1, so be2 is skipped.
+     * t2 is not moved, because be1 will be cooler than be3 after t1 is moved.
+     * t1 is not selected again during cooldown.
+     */
+    @Test
+    public void testBalanceClusterHeat(@Mocked GlobalStateMgr globalStateMgr,
+                                       @Mocked TabletStatMgr tabletStatMgr) {
+        long dbId = 10001L;
+        long tableId = 10002L;
+        long partitionId = 10003L;
+        long indexId = 10004L;
+        long tabletDataSize = 200 * 1024 * 1024L;
+        TStorageMedium medium = TStorageMedium.HDD;
+        long beId1 = 1L;
+        long beId2 = 2L;
+        long beId3 = 3L;
+        long pathHash1 = 1111L;
+        long pathHash2 = 2222L;
+        long pathHash3 = 3333L;
+
+        SystemInfoService infoService = new SystemInfoService();
+        infoService.addBackend(genBackend(beId1, "host1", 98 * tabletDataSize,
+                2 * tabletDataSize, 100 * tabletDataSize, pathHash1));
+        infoService.addBackend(genBackend(beId2, "host2", 98 * tabletDataSize,
+                2 * tabletDataSize, 100 * tabletDataSize, pathHash2));
+        infoService.addBackend(genBackend(beId3, "host3", 99 * tabletDataSize,
+                tabletDataSize, 100 * tabletDataSize, pathHash3));
+
+        TabletInvertedIndex invertedIndex = new TabletInvertedIndex();
+        MaterializedIndex materializedIndex = new MaterializedIndex(indexId, IndexState.NORMAL);
+        addTablet(invertedIndex, materializedIndex, medium, dbId, tableId, partitionId, indexId, 20001L,
+                30001L, beId1, tabletDataSize, pathHash1);
+        addTablet(invertedIndex, materializedIndex, medium, dbId, tableId, partitionId, indexId, 20002L,
+                30002L, beId1, tabletDataSize, pathHash1);
+        addTablet(invertedIndex, materializedIndex, medium, dbId, tableId, partitionId, indexId, 20003L,
+                30003L, beId2, tabletDataSize, pathHash2);
+        addTablet(invertedIndex, materializedIndex, medium, dbId, tableId, partitionId, indexId, 20004L,
+                30004L, beId2, tabletDataSize, pathHash2);
+        addTablet(invertedIndex, materializedIndex, medium, dbId, tableId, partitionId, indexId, 20005L,
+                30005L, beId3, tabletDataSize, pathHash3);
+
+        PartitionInfo partitionInfo = new PartitionInfo();
+        DataProperty dataProperty = new DataProperty(medium);
+        partitionInfo.addPartition(partitionId, dataProperty, (short) 1, false);
+        DistributionInfo distributionInfo = new HashDistributionInfo(5, Lists.newArrayList());
+        Partition partition = new Partition(partitionId, "partition", materializedIndex, distributionInfo);
+        OlapTable table = new OlapTable(tableId, "table", Lists.newArrayList(), KeysType.AGG_KEYS, partitionInfo,
+                distributionInfo);
+        table.addPartition(partition);
+        Database database = new Database(dbId, "database");
+        database.createTable(table);
+
+        new Expectations() {
+            {
+                GlobalStateMgr.getCurrentState();
+                result = globalStateMgr;
+                minTimes = 0;
+
+                globalStateMgr.getTabletStatMgr();
+                result = tabletStatMgr;
+                minTimes = 0;
+
+                tabletStatMgr.getTabletHeat(20001L);
+                result = 6.0;
+                minTimes = 0;
+
+                tabletStatMgr.getTabletHeat(20002L);
+                result = 4.0;
+                minTimes = 0;
+
+                globalStateMgr.getDbIdsIncludeRecycleBin();
+                result = Lists.newArrayList(dbId);
+                minTimes = 0;
+
+                globalStateMgr.getDbIncludeRecycleBin(dbId);
+                result = database;
+                minTimes = 0;
+
+                globalStateMgr.getTableIncludeRecycleBin((Database) any, anyLong);
+                result = table;
+                minTimes = 0;
+
+                globalStateMgr.getTablesIncludeRecycleBin((Database) any);
+                result = Lists.newArrayList(table);
+                minTimes = 0;
+
+                globalStateMgr.getPartitionIncludeRecycleBin((OlapTable) any, anyLong);
+                result = partition;
+                minTimes = 0;
+
+                globalStateMgr.getAllPartitionsIncludeRecycleBin((OlapTable) any);
+                result = Lists.newArrayList(partition);
+                minTimes = 0;
+
+                globalStateMgr.getReplicationNumIncludeRecycleBin((PartitionInfo) any, anyLong);
+                result = (short) 1;
+                minTimes = 0;
+
+                globalStateMgr.getDataPropertyIncludeRecycleBin((PartitionInfo) any, anyLong);
+                result = dataProperty;
+                minTimes = 0;
+            }
+        };
+
+        boolean oldEnableHeatBalance = Config.tablet_sched_enable_heat_balance;
+        long oldCooldownSecond = Config.tablet_sched_heat_balance_cooldown_second;
+        double oldDiskSafeThreshold = Config.tablet_sched_balance_load_disk_safe_threshold;
+        try {
+            Config.tablet_sched_enable_heat_balance = true;
+            Config.tablet_sched_heat_balance_cooldown_second = 3600;
+            Config.tablet_sched_balance_load_disk_safe_threshold = 0.5;
+            ClusterLoadStatistic clusterLoadStatistic = new ClusterLoadStatistic(infoService, invertedIndex);
+            clusterLoadStatistic.init();
+            Assert.assertEquals(10.0,
+                    clusterLoadStatistic.getBackendLoadStatistic(beId1).getWorkloadScore(medium), 1e-6);
+
+            Rebalancer rebalancer = new DiskAndTabletLoadReBalancer(infoService, invertedIndex);
+            rebalancer.updateLoadStatistic(clusterLoadStatistic);
+
+            List<TabletSchedCtx> tablets = rebalancer.selectAlternativeTablets();
+            Assert.assertEquals(1, tablets.size());
+            TabletSchedCtx tabletCtx = tablets.get(0);
+            Assert.assertEquals(20001L, tabletCtx.getTabletId());
+            Assert.assertEquals(beId1, tabletCtx.getSrcBackendId());
+            Assert.assertEquals(beId3, tabletCtx.getDestBackendId());
+            Assert.assertEquals(DiskAndTabletLoadReBalancer.BalanceType.HEAT, tabletCtx.getBalanceType());
+
+            // t1 is in cooldown, t2 is the hottest tablet now
+            tablets = rebalancer.selectAlternativeTablets();
+            Assert.assertTrue(tablets.stream().noneMatch(t -> t.getTabletId() == 20001L));
+
+            // cooldown is over
+            Config.tablet_sched_heat_balance_cooldown_second = 0;
+            tablets = rebalancer.selectAlternativeTablets();
+            Assert.assertEquals(1, tablets.size());
+            Assert.assertEquals(20001L, tablets.get(0).getTabletId());
+
+            // heat balance is disabled
+            Config.tablet_sched_enable_heat_balance = false;
+            Assert.assertTrue(rebalancer.selectAlternativeTablets().isEmpty());
+        } finally {
+            Config.tablet_sched_enable_heat_balance = oldEnableHeatBalance;
+            Config.tablet_sched_heat_balance_cooldown_second = oldCooldownSecond;
+            Config.tablet_sched_balance_load_disk_safe_threshold = oldDiskSafeThreshold;
+        }
+    }
+
     private Backend genBackend(long beId, String host, long availableCapB, long dataUsedCapB, long totalCapB,
                                long pathHash) {
         Backend backend = new Backend(beId, host, 0);
@@ -0,0 +1,111 @@
+// Copyright 2021-present StarRocks, Inc. All rights reserved.
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//     https://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package com.starrocks.clone;
+
+import com.google.common.collect.Lists;
+import com.starrocks.catalog.OlapTable;
+import com.starrocks.catalog.Partition;
+import com.starrocks.catalog.TabletInvertedIndex;
+import com.starrocks.catalog.TabletMeta;
+import com.starrocks.common.Config;
+import com.starrocks.common.jmockit.Deencapsulation;
+import com.starrocks.server.GlobalStateMgr;
+import com.starrocks.thrift.TStorageMedium;
+import mockit.Expectations;
+import mockit.Mocked;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class TabletCheckerTest {
+
+    @Test
+    public void testMarkDirtyPartitions(@Mocked GlobalStateMgr globalStateMgr) {
+        long dbId = 1L;
+        long tableId = 2L;
+        long partitionId1 = 3L;
+        long partitionId2 = 4L;
+        long indexId = 5L;
+        TabletInvertedIndex invertedIndex = new TabletInvertedIndex();
+        invertedIndex.addTablet(11L, new TabletMeta(dbId, tableId, partitionId1, indexId, 0, TStorageMedium.HDD));
+        invertedIndex.addTablet(12L, new TabletMeta(dbId, tableId, partitionId1, indexId, 0, TStorageMedium.HDD));
+        invertedIndex.addTablet(13L, new TabletMeta(dbId, tableId, partitionId2, indexId, 0, TStorageMedium.HDD));
+
+        new Expectations() {
+            {
+                GlobalStateMgr.getCurrentInvertedIndex();
+                result = invertedIndex;
+                minTimes = 0;
+            }
+        };
+
+        TabletChecker tabletChecker = new TabletChecker(globalStateMgr, null, null, null);
+        Assert.assertEquals(0, tabletChecker.getDirtyPartitionNum());
+
+        // tablets of the same partition, and a tablet which does not exist
+        tabletChecker.markTabletsDirty(Lists.newArrayList(11L, 12L, 100L));
+        Assert.assertEquals(1, tabletChecker.getDirtyPartitionNum());
+
+        tabletChecker.markPartitionsDirty(dbId, tableId, Lists.newArrayList(partitionId1, partitionId2));
+        Assert.assertEquals(2, tabletChecker.getDirtyPartitionNum());
+
+        Deencapsulation.invoke(tabletChecker, "clearDirtyPartitions");
+        Assert.assertEquals(0, tabletChecker.getDirtyPartitionNum());
+    }
+
+    @Test
+    public void testMarkTableDirty(@Mocked OlapTable table, @Mocked Partition partition1,
+                                   @Mocked Partition partition2) {
+        new Expectations() {
+            {
+                table.getId();
+                result = 2L;
+                table.getAllPartitions();
+                result = Lists.newArrayList(partition1, partition2);
+                partition1.getId();
+                result = 3L;
+                partition2.getId();
+                result = 4L;
+            }
+        };
+
+        TabletChecker tabletChecker = new TabletChecker(null, null, null, null);
+        tabletChecker.markTableDirty(1L, table);
+        Assert.assertEquals(2, tabletChecker.getDirtyPartitionNum());
+    }
+
+    @Test
+    public void testNeedFullCheck() {
+        boolean oldEnable = Config.tablet_checker_enable_dirty_partition_check;
+        long oldInterval = Config.tablet_checker_full_check_interval_second;
+        try {
+            TabletChecker tabletChecker = new TabletChecker(null, null, null, null);
+            long now = System.currentTimeMillis();
+            Config.tablet_checker_enable_dirty_partition_check = true;
+            Config.tablet_checker_full_check_interval_second = 600;
+            // never do full check before
+            Assert.assertTrue(Deencapsulation.invoke(tabletChecker, "needFullCheck", now));
+
+            Deencapsulation.setField(tabletChecker, "lastFullCheckTimeMs", now);
+            Assert.assertFalse(Deencapsulation.invoke(tabletChecker, "needFullCheck", now + 1000L));
+            Assert.assertTrue(Deencapsulation.invoke(tabletChecker, "needFullCheck", now + 600 * 1000L));
+
+            Config.tablet_checker_enable_dirty_partition_check = false;
+            Assert.assertTrue(Deencapsulation.invoke(tabletChecker, "needFullCheck", now + 1000L));
+        } finally {
+            Config.tablet_checker_enable_dirty_partition_check = oldEnable;
+            Config.tablet_checker_full_check_interval_second = oldInterval;
+        }
+    }
+}
@@ -0,0 +1,120 @@
+// Copyright 2021-present StarRocks, Inc. All rights reserved.
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//     https://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package com.starrocks.common.util;
+
+import com.starrocks.common.Config;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+public class DeadlockCheckerTest {
+    @Test
+    public void testNoOwner() {
+        QueryableReentrantReadWriteLock lock = new QueryableReentrantReadWriteLock(true);
+        Assert.assertNull(DeadlockChecker.findCycle(Thread.currentThread(), lock));
+    }
+
+    @Test
+    public void testOwnedByCurrentThread() {
+        QueryableReentrantReadWriteLock lock = new QueryableReentrantReadWriteLock(true);
+        lock.writeLock().lock();
+        try {
+            List<Thread> cycle = DeadlockChecker.findCycle(Thread.currentThread(), lock);
+            Assert.assertNotNull(cycle);
+            Assert.assertEquals(1, cycle.size());
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Test
+    public void testOwnedByOtherThread() throws Exception {
+        QueryableReentrantReadWriteLock lock = new QueryableReentrantReadWriteLock(true);
+        CountDownLatch locked = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        Thread owner = new Thread(() -> {
+            lock.writeLock().lock();
+            try {
+                locked.countDown();
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } finally {
+                lock.writeLock().unlock();
+            }
+        });
+        owner.start();
+        locked.await();
+        try {
+            // the owner is not waiting for anything
+            Assert.assertNull(DeadlockChecker.findCycle(Thread.currentThread(), lock));
+        } finally {
+            release.countDown();
+            owner.join();
+        }
+    }
+
+    @Test
+    public void testTwoThreadCycle() throws Exception {
+        boolean enableTableLevelLock = Config.enable_table_level_lock;
+        long interval = Config.deadlock_detection_interval_ms;
+        Config.enable_table_level_lock = true;
+        Config.deadlock_detection_interval_ms = 10;
+        QueryableReentrantReadWriteLock lock1 = new QueryableReentrantReadWriteLock(true);
+        QueryableReentrantReadWriteLock lock2 = new QueryableReentrantReadWriteLock(true);
+        CountDownLatch lock1Held = new CountDownLatch(1);
+        AtomicBoolean lock2Acquired = new AtomicBoolean(false);
+        // the other thread holds lock1 and waits for lock2, which is held by the current thread
+        Thread other = new Thread(() -> {
+            DeadlockChecker.lock(lock1, lock1.writeLock());
+            try {
+                lock1Held.countDown();
+                DeadlockChecker.lock(lock2, lock2.writeLock());
+                lock2Acquired.set(true);
+                lock2.writeLock().unlock();
+            } finally {
+                lock1.writeLock().unlock();
+            }
+        });
+        lock2.writeLock().lock();
+        try {
+            other.start();
+            lock1Held.await();
+            while (!lock2.hasQueuedThread(other)) {
+                Thread.sleep(1);
+            }
+
+            // the current thread can't get lock1 and closes the cycle
+            Assert.assertFalse(DeadlockChecker.tryLock(lock1, lock1.writeLock(), 50, TimeUnit.MILLISECONDS));
+            List<Thread> cycle = DeadlockChecker.findCycle(Thread.currentThread(), lock1);
+            Assert.assertNotNull(cycle);
+            Assert.assertEquals(2, cycle.size());
+            Assert.assertSame(Thread.currentThread(), cycle.get(0));
+            Assert.assertSame(other, cycle.get(1));
+        } finally {
+            // break the cycle
+            lock2.writeLock().unlock();
+            other.join();
+            Config.enable_table_level_lock = enableTableLevelLock;
+            Config.deadlock_detection_interval_ms = interval;
+        }
+        Assert.assertTrue(lock2Acquired.get());
+        Assert.assertNull(DeadlockChecker.findCycle(Thread.currentThread(), lock1));
+    }
+}
@@ -58,6 +58,7 @@ public class JournalWriterTest {
         Config.edit_log_roll_num = 50000;
         Config.metadata_journal_max_batch_size_mb = 100;
         Config.metadata_journal_max_batch_cnt = 100;
+        Config.metadata_journal_group_commit_max_wait_ms = 0;
     }
 
     private DataOutputBuffer makeBuffer(int size) throws IOException {
@@ -187,6 +188,63 @@ public class JournalWriterTest {
         Assert.assertEquals(1, journalQueue.size());
     }
 
+    @Test
+    public void testGroupCommitWait() throws Exception {
+        Config.metadata_journal_group_commit_max_wait_ms = 10000;
+        new Expectations(journal) {
+            {
+                journal.batchWriteBegin();
+                times = 1;
+
+                journal.batchWriteAppend(anyLong, (DataOutputBuffer) any);
+                times = 2;
+
+                journal.batchWriteCommit();
+                times = 1;
+            }
+        };
+        // commit is slow, so writer will wait for the late journal and commit them together
+        writer.avgCommitLatencyMs = 10000;
+        // task1 expects to be committed in 1s, so the batch doesn't wait for the whole 5s after task2 joins it
+        JournalTask task1 = new JournalTask(makeBuffer(10), 1000);
+        JournalTask task2 = new JournalTask(makeBuffer(10), -1);
+        journalQueue.add(task1);
+        Thread producer = new Thread(() -> {
+            try {
+                Thread.sleep(100);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            journalQueue.add(task2);
+        });
+        long startMs = System.currentTimeMillis();
+        producer.start();
+        writer.writeOneBatch();
+        producer.join();
+
+        Assert.assertTrue(System.currentTimeMillis() - startMs < 4000);
+        Assert.assertEquals(3, writer.nextVisibleJournalId);
+        Assert.assertEquals(2, writer.currentBatchTasks.size());
+        Assert.assertTrue(task1.get());
+        Assert.assertTrue(task2.get());
+        Assert.assertEquals(0, journalQueue.size());
+    }
+
+    @Test
+    public void testGroupCommitWaitDisabled() throws Exception {
+        Config.metadata_journal_group_commit_max_wait_ms = 0;
+        writer.avgCommitLatencyMs = 10000;
+        Assert.assertEquals(0, writer.getGroupCommitWaitMs());
+
+        // bounded by config
+        Config.metadata_journal_group_commit_max_wait_ms = 5;
+        Assert.assertEquals(5, writer.getGroupCommitWaitMs());
+
+        // bounded by half of commit latency
+        writer.avgCommitLatencyMs = 4;
+        Assert.assertEquals(2, writer.getGroupCommitWaitMs());
+    }
+
     @Test
     public void testRollLog() throws Exception {
         Config.edit_log_roll_num = 4;
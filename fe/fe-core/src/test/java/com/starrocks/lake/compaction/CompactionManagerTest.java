@@ -21,6 +21,7 @@ import org.junit.Test;
 
 import java.util.Collections;
 import java.util.List;
+import java.util.Map;
 
 public class CompactionManagerTest {
 
@@ -70,4 +71,26 @@ public class CompactionManagerTest {
         Assert.assertEquals(1, compactionList.size());
         Assert.assertSame(partition2, compactionList.get(0));
     }
+
+    @Test
+    public void testPartitionScansOfFollower() {
+        Config.lake_compaction_selector = "SimpleSelector";
+        Config.lake_compaction_sorter = "RandomSorter";
+        CompactionManager follower = new CompactionManager();
+        CompactionManager leader = new CompactionManager();
+        PartitionIdentifier partition = new PartitionIdentifier(1, 2, 3);
+        leader.handleLoadingFinished(partition, 2, System.currentTimeMillis(), null);
+
+        // the scans planned on the follower are drained by the heartbeat and merged into the leader
+        follower.handlePartitionScanned(3);
+        follower.handlePartitionScanned(3);
+        Map<Long, Long> scanCounts = follower.drainPartitionScanCounts();
+        Assert.assertEquals(Collections.singletonMap(3L, 2L), scanCounts);
+        Assert.assertTrue(follower.drainPartitionScanCounts().isEmpty());
+
+        scanCounts.forEach(leader::handlePartitionScanned);
+        leader.choosePartitionsToCompact();
+        PartitionStatistics statistics = leader.getAllStatistics().iterator().next();
+        Assert.assertTrue(statistics.getScanHeat(System.currentTimeMillis()) > 1.9);
+    }
 }
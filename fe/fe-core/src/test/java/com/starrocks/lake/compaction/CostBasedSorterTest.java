@@ -0,0 +1,73 @@
+// Copyright 2021-present StarRocks, Inc. All rights reserved.
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//     https://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package com.starrocks.lake.compaction;
+
+import com.starrocks.common.Config;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+public class CostBasedSorterTest {
+
+    @Test
+    public void test() {
+        long now = System.currentTimeMillis();
+        List<PartitionStatistics> statisticsList = new ArrayList<>();
+        // cold partition with high score
+        PartitionStatistics statistics = new PartitionStatistics(new PartitionIdentifier(1, 2, 3));
+        statistics.setCompactionScore(Quantiles.compute(Arrays.asList(5.0, 5.0, 5.0)));
+        statisticsList.add(statistics);
+
+        // hot partition with lower score
+        statistics = new PartitionStatistics(new PartitionIdentifier(1, 2, 4));
+        statistics.setCompactionScore(Quantiles.compute(Arrays.asList(3.0, 3.0, 3.0)));
+        statistics.addScanHeat(10, now);
+        statisticsList.add(statistics);
+
+        // nothing to save
+        statistics = new PartitionStatistics(new PartitionIdentifier(1, 2, 5));
+        statistics.setCompactionScore(Quantiles.compute(Arrays.asList(1.0, 1.0)));
+        statistics.addScanHeat(100, now);
+        statisticsList.add(statistics);
+
+        // no compaction score
+        statisticsList.add(new PartitionStatistics(new PartitionIdentifier(1, 2, 6)));
+
+        CostBasedSorter sorter = new CostBasedSorter();
+        List<PartitionStatistics> sortedList = sorter.sort(statisticsList);
+        Assert.assertEquals(3, sortedList.size());
+        Assert.assertEquals(4, sortedList.get(0).getPartition().getPartitionId());
+        Assert.assertEquals(3, sortedList.get(1).getPartition().getPartitionId());
+        Assert.assertEquals(5, sortedList.get(2).getPartition().getPartitionId());
+    }
+
+    @Test
+    public void testHeatDecay() {
+        long now = System.currentTimeMillis();
+        PartitionStatistics statistics = new PartitionStatistics(new PartitionIdentifier(1, 2, 3));
+        statistics.addScanHeat(8, now);
+        statistics.addLoadHeat(4, now);
+        Assert.assertEquals(8, statistics.getScanHeat(now), 1e-6);
+        Assert.assertEquals(4, statistics.getLoadHeat(now), 1e-6);
+
+        // halved after a half-life
+        long halfLifeMs = Config.lake_compaction_heat_half_life_second * 1000L;
+        Assert.assertEquals(4, statistics.getScanHeat(now + halfLifeMs), 1e-6);
+        Assert.assertEquals(2, statistics.getLoadHeat(now + halfLifeMs), 1e-6);
+    }
+}
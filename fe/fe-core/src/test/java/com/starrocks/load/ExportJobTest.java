@@ -0,0 +1,129 @@
+// Copyright 2021-present StarRocks, Inc. All rights reserved.
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//     https://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package com.starrocks.load;
+
+import com.google.common.collect.Lists;
+import com.starrocks.catalog.Replica;
+import com.starrocks.catalog.TabletInvertedIndex;
+import com.starrocks.catalog.TabletMeta;
+import com.starrocks.common.Pair;
+import com.starrocks.server.GlobalStateMgr;
+import com.starrocks.thrift.TInternalScanRange;
+import com.starrocks.thrift.TNetworkAddress;
+import com.starrocks.thrift.TScanRange;
+import com.starrocks.thrift.TScanRangeLocation;
+import com.starrocks.thrift.TScanRangeLocations;
+import com.starrocks.thrift.TStorageMedium;
+import mockit.Deencapsulation;
+import mockit.Expectations;
+import mockit.Mocked;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.List;
+import java.util.UUID;
+
+public class ExportJobTest {
+    @Mocked
+    GlobalStateMgr globalStateMgr;
+
+    private static TScanRangeLocations createTabletLocations(TabletInvertedIndex invertedIndex, long tabletId,
+                                                             long partitionId, long backendId, long dataSize) {
+        invertedIndex.addTablet(tabletId, new TabletMeta(1L, 2L, partitionId, 3L, 0, TStorageMedium.HDD));
+        invertedIndex.addReplica(tabletId, new Replica(tabletId * 10, backendId, 1L, 0, dataSize, 0L,
+                Replica.ReplicaState.NORMAL, -1L, 1L));
+
+        TInternalScanRange internalScanRange = new TInternalScanRange();
+        internalScanRange.setTablet_id(tabletId);
+        TScanRange scanRange = new TScanRange();
+        scanRange.setInternal_scan_range(internalScanRange);
+        TScanRangeLocation location = new TScanRangeLocation(new TNetworkAddress("127.0.0.1", 9060));
+        location.setBackend_id(backendId);
+        TScanRangeLocations scanRangeLocations = new TScanRangeLocations();
+        scanRangeLocations.setScan_range(scanRange);
+        scanRangeLocations.setLocations(Lists.newArrayList(location));
+        return scanRangeLocations;
+    }
+
+    private static List<Long> getTabletIds(List<TScanRangeLocations> tabletLocations) {
+        List<Long> tabletIds = Lists.newArrayList();
+        for (TScanRangeLocations scanRangeLocations : tabletLocations) {
+            tabletIds.add(scanRangeLocations.getScan_range().getInternal_scan_range().getTablet_id());
+        }
+        return tabletIds;
+    }
+
+    @Test
+    public void testSplitTabletLocations() {
+        TabletInvertedIndex invertedIndex = new TabletInvertedIndex();
+        List<TScanRangeLocations> tabletLocations = Lists.newArrayList(
+                // partition 100: 3 tablets on be 1, 1 tablet on be 2
+                createTabletLocations(invertedIndex, 1L, 100L, 1L, 60L),
+                createTabletLocations(invertedIndex, 2L, 100L, 1L, 60L),
+                createTabletLocations(invertedIndex, 3L, 100L, 2L, 60L),
+                createTabletLocations(invertedIndex, 4L, 100L, 1L, 60L),
+                // partition 200: 2 tablets on be 1
+                createTabletLocations(invertedIndex, 5L, 200L, 1L, 10L),
+                createTabletLocations(invertedIndex, 6L, 200L, 1L, 10L));
+
+        List<Pair<Long, List<TScanRangeLocations>>> tasks =
+                ExportJob.splitTabletLocations(tabletLocations, invertedIndex, 100L);
+        // a task stops taking tablets from a backend once it has 100 bytes there,
+        // and tablets of different partitions are never in one task
+        Assert.assertEquals(3, tasks.size());
+        Assert.assertEquals(100L, (long) tasks.get(0).first);
+        Assert.assertEquals(Lists.newArrayList(1L, 2L, 3L), getTabletIds(tasks.get(0).second));
+        Assert.assertEquals(100L, (long) tasks.get(1).first);
+        Assert.assertEquals(Lists.newArrayList(4L), getTabletIds(tasks.get(1).second));
+        Assert.assertEquals(200L, (long) tasks.get(2).first);
+        Assert.assertEquals(Lists.newArrayList(5L, 6L), getTabletIds(tasks.get(2).second));
+    }
+
+    @Test
+    public void testUpdateTaskStatistic() {
+        new Expectations() {
+            {
+                GlobalStateMgr.getCurrentState();
+                minTimes = 0;
+                result = globalStateMgr;
+            }
+        };
+
+        ExportJob job = new ExportJob(1, new UUID(1, 1));
+        List<ExportJob.ExportTaskStatistic> taskStatistics = Deencapsulation.getField(job, "taskStatistics");
+        taskStatistics.add(new ExportJob.ExportTaskStatistic(0, 100L));
+        taskStatistics.add(new ExportJob.ExportTaskStatistic(1, 200L));
+
+        job.updateTaskStatistic(1, 10L, 1024L, 2);
+        // out of range task index is ignored
+        job.updateTaskStatistic(2, 10L, 1024L, 2);
+        job.updateTaskStatistic(-1, 10L, 1024L, 2);
+
+        List<ExportJob.ExportTaskStatistic> statistics = job.getTaskStatistics();
+        Assert.assertEquals(2, statistics.size());
+        Assert.assertFalse(statistics.get(0).isFinished());
+        Assert.assertEquals(0L, statistics.get(0).getRows());
+        Assert.assertTrue(statistics.get(1).isFinished());
+        Assert.assertEquals(200L, statistics.get(1).getPartitionId());
+        Assert.assertEquals(10L, statistics.get(1).getRows());
+        Assert.assertEquals(1024L, statistics.get(1).getBytes());
+        Assert.assertEquals(2, statistics.get(1).getFileNum());
+
+        // the returned statistics are copies
+        job.updateTaskStatistic(0, 5L, 512L, 1);
+        Assert.assertFalse(statistics.get(0).isFinished());
+        Assert.assertTrue(job.getTaskStatistics().get(0).isFinished());
+    }
+}
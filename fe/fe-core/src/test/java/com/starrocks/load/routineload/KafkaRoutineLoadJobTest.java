@@ -42,6 +42,7 @@ import com.starrocks.analysis.LabelName;
 import com.starrocks.analysis.ParseNode;
 import com.starrocks.catalog.Database;
 import com.starrocks.catalog.OlapTable;
+import com.starrocks.common.Config;
 import com.starrocks.common.LoadException;
 import com.starrocks.common.MetaNotFoundException;
 import com.starrocks.common.Pair;
@@ -150,6 +151,62 @@ public class KafkaRoutineLoadJobTest {
         Assert.assertEquals(4, routineLoadJob.calculateCurrentConcurrentTaskNum());
     }
 
+    @Test
+    public void testAdaptiveSchedule(@Mocked GlobalStateMgr globalStateMgr,
+                                     @Mocked SystemInfoService systemInfoService) throws MetaNotFoundException {
+        new Expectations() {
+            {
+                GlobalStateMgr.getCurrentSystemInfo();
+                minTimes = 0;
+                result = systemInfoService;
+                systemInfoService.getAliveBackendNumber();
+                result = 4;
+                minTimes = 0;
+            }
+        };
+
+        KafkaRoutineLoadJob routineLoadJob = new KafkaRoutineLoadJob(1L, "kafka_routine_load_job", 1L,
+                1L, "127.0.0.1:9020", "topic1");
+        Deencapsulation.setField(routineLoadJob, "currentKafkaPartitions", Lists.newArrayList(1, 2, 3));
+        KafkaProgress progress = (KafkaProgress) routineLoadJob.getProgress();
+        progress.addPartitionOffset(new Pair<>(1, 100L));
+        progress.addPartitionOffset(new Pair<>(2, 100L));
+        progress.addPartitionOffset(new Pair<>(3, 100L));
+
+        // lag is unknown
+        Assert.assertEquals(3, routineLoadJob.calculateCurrentConcurrentTaskNum());
+        Assert.assertEquals(Config.max_routine_load_batch_size, routineLoadJob.getAdaptiveBatchSize(-1L));
+
+        // little lag, pack all partitions into one task
+        Map<Integer, Long> latestOffsets = Maps.newHashMap();
+        latestOffsets.put(1, 110L);
+        latestOffsets.put(2, 120L);
+        latestOffsets.put(3, 100L);
+        routineLoadJob.updateLatestPartitionOffsets(latestOffsets);
+        Assert.assertEquals(30L, (long) routineLoadJob.getPartitionLags().values().stream().reduce(0L, Long::sum));
+        Assert.assertEquals(1, routineLoadJob.calculateCurrentConcurrentTaskNum());
+
+        // large lag
+        latestOffsets.put(3, 100L + routineLoadJob.getMaxBatchRows());
+        routineLoadJob.updateLatestPartitionOffsets(latestOffsets);
+        Assert.assertEquals(3, routineLoadJob.calculateCurrentConcurrentTaskNum());
+
+        // batch size is estimated by the size of consumed messages
+        Deencapsulation.setField(routineLoadJob, "consumedMessageNum", 10L);
+        Deencapsulation.setField(routineLoadJob, "consumedMessageBytes", 1000L);
+        Assert.assertEquals(3000L, routineLoadJob.getAdaptiveBatchSize(30L));
+        Assert.assertEquals(Config.max_routine_load_batch_size, routineLoadJob.getAdaptiveBatchSize(Long.MAX_VALUE));
+
+        // rates are not truncated to zero by slow tasks
+        Deencapsulation.setField(routineLoadJob, "totalRows", 100L);
+        Deencapsulation.setField(routineLoadJob, "receivedBytes", 1000L);
+        Deencapsulation.setField(routineLoadJob, "totalTaskExcutionTimeMs", 10000L);
+        String statistic = Deencapsulation.invoke(routineLoadJob, "getStatistic");
+        Assert.assertTrue(statistic, statistic.contains("\"loadRowsRate\":10"));
+        Assert.assertTrue(statistic, statistic.contains("\"receivedBytesRate\":100"));
+        Assert.assertTrue(statistic, statistic.contains("\"lag\":" + (30L + routineLoadJob.getMaxBatchRows())));
+    }
+
     @Test
     public void testDivideRoutineLoadJob(@Injectable RoutineLoadManager routineLoadManager,
                                          @Mocked RoutineLoadDesc routineLoadDesc)
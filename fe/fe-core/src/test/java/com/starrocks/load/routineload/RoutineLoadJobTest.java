@@ -40,20 +40,29 @@ import com.google.common.collect.ImmutableMap;
 import com.google.common.collect.Lists;
 import com.google.common.collect.Maps;
 import com.starrocks.catalog.Database;
+import com.starrocks.catalog.OlapTable;
 import com.starrocks.catalog.Table;
 import com.starrocks.common.InternalErrorCode;
+import com.starrocks.common.MetaNotFoundException;
 import com.starrocks.common.UserException;
 import com.starrocks.common.jmockit.Deencapsulation;
 import com.starrocks.common.util.KafkaUtil;
 import com.starrocks.load.RoutineLoadDesc;
+import com.starrocks.load.streamload.StreamLoadInfo;
 import com.starrocks.persist.EditLog;
 import com.starrocks.persist.RoutineLoadOperation;
+import com.starrocks.planner.StreamLoadPlanner;
 import com.starrocks.qe.ConnectContext;
 import com.starrocks.qe.OriginStatement;
 import com.starrocks.server.GlobalStateMgr;
 import com.starrocks.sql.ast.AlterRoutineLoadStmt;
 import com.starrocks.sql.ast.CreateRoutineLoadStmt;
+import com.starrocks.thrift.TExecPlanFragmentParams;
 import com.starrocks.thrift.TKafkaRLTaskProgress;
+import com.starrocks.thrift.TLoadJobType;
+import com.starrocks.thrift.TQueryOptions;
+import com.starrocks.thrift.TUniqueId;
+import com.starrocks.transaction.GlobalTransactionMgr;
 import com.starrocks.transaction.TransactionState;
 import com.starrocks.utframe.UtFrameUtils;
 import mockit.Expectations;
@@ -61,6 +70,7 @@ import mockit.Injectable;
 import mockit.Mock;
 import mockit.MockUp;
 import mockit.Mocked;
+import mockit.Verifications;
 import org.junit.Assert;
 import org.junit.Test;
 
@@ -245,6 +255,143 @@ public class RoutineLoadJobTest {
         Assert.assertEquals(RoutineLoadJob.JobState.NEED_SCHEDULE, routineLoadJob.getState());
     }
 
+    @Test
+    public void testGetTxnTableIds(@Mocked GlobalStateMgr globalStateMgr,
+                                   @Injectable Database database,
+                                   @Injectable Table table2,
+                                   @Injectable Table table3) throws UserException {
+        new Expectations() {
+            {
+                globalStateMgr.getDb(anyLong);
+                minTimes = 0;
+                result = database;
+                database.getTable("t2");
+                minTimes = 0;
+                result = table2;
+                database.getTable("t3");
+                minTimes = 0;
+                result = table3;
+                database.getTable("t4");
+                minTimes = 0;
+                result = null;
+                table2.getId();
+                minTimes = 0;
+                result = 2L;
+                table3.getId();
+                minTimes = 0;
+                result = 3L;
+            }
+        };
+
+        RoutineLoadJob routineLoadJob = new KafkaRoutineLoadJob();
+        Deencapsulation.setField(routineLoadJob, "tableId", 1L);
+        Assert.assertEquals(Lists.newArrayList(1L), routineLoadJob.getTxnTableIds());
+
+        Map<String, String> jobProperties = Deencapsulation.getField(routineLoadJob, "jobProperties");
+        jobProperties.put("target_tables", "t2,t3");
+        Assert.assertEquals(Lists.newArrayList("t2", "t3"), routineLoadJob.getTargetTables());
+        Assert.assertEquals(Lists.newArrayList(1L, 2L, 3L), routineLoadJob.getTxnTableIds());
+
+        // a target table has been dropped
+        jobProperties.put("target_tables", "t2,t4");
+        try {
+            routineLoadJob.getTxnTableIds();
+            Assert.fail();
+        } catch (MetaNotFoundException e) {
+            Assert.assertTrue(e.getMessage().contains("t4"));
+        }
+    }
+
+    @Test
+    public void testPlanTargetTable(@Mocked GlobalStateMgr globalStateMgr,
+                                    @Mocked GlobalTransactionMgr globalTransactionMgr,
+                                    @Injectable TransactionState transactionState,
+                                    @Injectable Database database,
+                                    @Injectable OlapTable jobTable,
+                                    @Injectable OlapTable targetTable) throws UserException {
+        new Expectations() {
+            {
+                globalStateMgr.getDb(anyLong);
+                minTimes = 0;
+                result = database;
+                database.getTable(1L);
+                minTimes = 0;
+                result = jobTable;
+                database.getTable("t2");
+                minTimes = 0;
+                result = targetTable;
+                database.getTable("t3");
+                minTimes = 0;
+                result = null;
+                GlobalStateMgr.getCurrentGlobalTransactionMgr();
+                minTimes = 0;
+                result = globalTransactionMgr;
+                globalTransactionMgr.getTransactionState(anyLong, 100L);
+                minTimes = 0;
+                result = transactionState;
+            }
+        };
+
+        List<OlapTable> plannedTables = Lists.newArrayList();
+        List<TUniqueId> plannedLoadIds = Lists.newArrayList();
+        new MockUp<StreamLoadInfo>() {
+            @Mock
+            public StreamLoadInfo fromRoutineLoadJob(RoutineLoadJob routineLoadJob) {
+                return null;
+            }
+        };
+        new MockUp<StreamLoadPlanner>() {
+            private OlapTable destTable;
+
+            @Mock
+            public void $init(Database db, OlapTable destTable, StreamLoadInfo streamLoadInfo) {
+                this.destTable = destTable;
+                plannedTables.add(destTable);
+            }
+
+            @Mock
+            public TExecPlanFragmentParams plan(TUniqueId loadId) {
+                plannedLoadIds.add(loadId);
+                TExecPlanFragmentParams params = new TExecPlanFragmentParams();
+                params.setQuery_options(new TQueryOptions());
+                return params;
+            }
+
+            @Mock
+            public OlapTable getDestTable() {
+                return destTable;
+            }
+        };
+
+        RoutineLoadJob routineLoadJob = new KafkaRoutineLoadJob();
+        Deencapsulation.setField(routineLoadJob, "tableId", 1L);
+        TUniqueId loadId = new TUniqueId(1, 1);
+        TUniqueId targetLoadId = new TUniqueId(2, 2);
+        routineLoadJob.plan(loadId, 100L);
+        TExecPlanFragmentParams params = routineLoadJob.plan(targetLoadId, 100L, "t2");
+
+        // each table is planned with its own load id, and added to the transaction
+        Assert.assertEquals(Lists.newArrayList(jobTable, targetTable), plannedTables);
+        Assert.assertEquals(Lists.newArrayList(loadId, targetLoadId), plannedLoadIds);
+        Assert.assertEquals(TLoadJobType.ROUTINE_LOAD, params.getQuery_options().getLoad_job_type());
+        new Verifications() {
+            {
+                transactionState.addTableIndexes(jobTable);
+                times = 1;
+                transactionState.addTableIndexes(targetTable);
+                times = 1;
+            }
+        };
+
+        // the target table has been dropped
+        try {
+            routineLoadJob.plan(targetLoadId, 100L, "t3");
+            Assert.fail();
+        } catch (MetaNotFoundException e) {
+            Assert.assertTrue(e.getMessage().contains("t3"));
+        }
+    }
+
     @Test
     public void testUpdateNumOfDataErrorRowMoreThanMax(@Mocked GlobalStateMgr globalStateMgr) {
         RoutineLoadJob routineLoadJob = new KafkaRoutineLoadJob();
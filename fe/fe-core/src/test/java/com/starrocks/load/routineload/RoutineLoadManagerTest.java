@@ -361,6 +361,37 @@ public class RoutineLoadManagerTest {
         Assert.assertEquals(2 * Config.max_routine_load_task_num_per_be, routineLoadManager.getClusterIdleSlotNum());
     }
 
+    @Test
+    public void testTakeBeTaskSlotIfBalanced() {
+        List<Long> beIds = Lists.newArrayList(1L, 2L);
+
+        new Expectations() {
+            {
+                systemInfoService.getBackendIds(true);
+                minTimes = 0;
+                result = beIds;
+            }
+        };
+
+        new MockUp<GlobalStateMgr>() {
+            public SystemInfoService getCurrentSystemInfo() {
+                return systemInfoService;
+            }
+        };
+
+        RoutineLoadManager routineLoadManager = new RoutineLoadManager();
+        routineLoadManager.updateBeTaskSlot();
+
+        Assert.assertEquals(1L, routineLoadManager.takeBeTaskSlotIfBalanced(1L));
+        Assert.assertEquals(1L, routineLoadManager.takeBeTaskSlotIfBalanced(1L));
+        // be 1 runs 2 tasks while be 2 is idle
+        Assert.assertEquals(-1L, routineLoadManager.takeBeTaskSlotIfBalanced(1L));
+        Assert.assertEquals(-1L, routineLoadManager.takeBeTaskSlotIfBalanced(3L));
+
+        routineLoadManager.releaseBeTaskSlot(1L);
+        Assert.assertEquals(1L, routineLoadManager.takeBeTaskSlotIfBalanced(1L));
+    }
+
     @Test
     public void testGetJobByName(@Injectable RoutineLoadJob routineLoadJob1,
                                  @Injectable RoutineLoadJob routineLoadJob2,
@@ -19,6 +19,7 @@ import com.google.common.collect.Lists;
 import com.starrocks.backup.CatalogMocker;
 import com.starrocks.catalog.Database;
 import com.starrocks.common.AnalysisException;
+import com.starrocks.common.Config;
 import com.starrocks.common.FeConstants;
 import com.starrocks.common.UserException;
 import com.starrocks.common.jmockit.Deencapsulation;
@@ -27,8 +28,11 @@ import com.starrocks.persist.EditLog;
 import com.starrocks.qe.ConnectContext;
 import com.starrocks.server.GlobalStateMgr;
 import com.starrocks.system.SystemInfoService;
+import com.starrocks.thrift.TNetworkAddress;
 import com.starrocks.transaction.GlobalTransactionMgr;
 import com.starrocks.transaction.TransactionState;
+import io.netty.handler.codec.http.DefaultHttpHeaders;
+import io.netty.handler.codec.http.HttpHeaders;
 import mockit.Expectations;
 import mockit.Mock;
 import mockit.MockUp;
@@ -41,6 +45,8 @@ import org.junit.Test;
 
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
 
 public class StreamLoadManagerTest {
 
@@ -185,4 +191,298 @@ public class StreamLoadManagerTest {
         Assert.assertEquals(20000, tasks.get(0).getDBId());
         Assert.assertEquals("test_tbl", tasks.get(0).getTableName());
     }
+
+    @Test
+    public void testBeginGroupCommitLoad() throws UserException {
+        int oldInterval = Config.stream_load_group_commit_interval_ms;
+        int oldMaxRequests = Config.stream_load_group_commit_max_requests;
+        Config.stream_load_group_commit_interval_ms = 100000;
+        Config.stream_load_group_commit_max_requests = 2;
+        try {
+            StreamLoadManager streamLoadManager = new StreamLoadManager();
+            String dbName = "test_db";
+            String tableName = "test_tbl";
+            long timeoutMillis = 100000;
+
+            TransactionResult resp = new TransactionResult();
+            streamLoadManager.beginGroupCommitLoad(dbName, tableName, "label1", timeoutMillis, resp);
+            Assert.assertTrue(resp.stateOK());
+            streamLoadManager.beginGroupCommitLoad(dbName, tableName, "label2", timeoutMillis, new TransactionResult());
+
+            // the loads in the window share one task and transaction
+            StreamLoadGroupCommit groupCommit = streamLoadManager.getGroupCommit("label1");
+            Assert.assertSame(groupCommit, streamLoadManager.getGroupCommit("label2"));
+            Assert.assertEquals(2, groupCommit.getMemberNum());
+            Assert.assertEquals(Integer.valueOf(0), groupCommit.getChannelId("label1"));
+            Assert.assertEquals(Integer.valueOf(1), groupCommit.getChannelId("label2"));
+            Assert.assertEquals("BEFORE_LOAD", groupCommit.getTask().getStateName());
+            Assert.assertEquals(1, streamLoadManager.getTaskByName(groupCommit.getLabel()).size());
+
+            // the group is full, the next load begins a new group commit
+            streamLoadManager.beginGroupCommitLoad(dbName, tableName, "label3", timeoutMillis, new TransactionResult());
+            StreamLoadGroupCommit newGroupCommit = streamLoadManager.getGroupCommit("label3");
+            Assert.assertNotSame(groupCommit, newGroupCommit);
+            Assert.assertNotEquals(groupCommit.getTask().getTxnId(), newGroupCommit.getTask().getTxnId());
+
+            try {
+                streamLoadManager.beginGroupCommitLoad(dbName, tableName, "label1", timeoutMillis,
+                        new TransactionResult());
+                Assert.fail();
+            } catch (UserException e) {
+                Assert.assertTrue(e.getMessage().contains("has already been used"));
+            }
+
+            // rollback of a member which has not loaded only excludes itself
+            resp = new TransactionResult();
+            streamLoadManager.rollbackGroupCommitLoad("label1", resp);
+            Assert.assertTrue(resp.stateOK());
+            Assert.assertFalse(groupCommit.isFinished());
+            Assert.assertEquals("BEFORE_LOAD", groupCommit.getTask().getStateName());
+        } finally {
+            Config.stream_load_group_commit_interval_ms = oldInterval;
+            Config.stream_load_group_commit_max_requests = oldMaxRequests;
+        }
+    }
+
+    private static class CommitCallback {
+        private final CountDownLatch latch = new CountDownLatch(1);
+        private TransactionResult result;
+
+        void accept(TransactionResult result) {
+            this.result = result;
+            latch.countDown();
+        }
+
+        boolean isDone() {
+            return latch.getCount() == 0;
+        }
+
+        TransactionResult await() throws InterruptedException {
+            Assert.assertTrue(latch.await(10, TimeUnit.SECONDS));
+            return result;
+        }
+    }
+
+    private static HttpHeaders csvHeaders() {
+        HttpHeaders headers = new DefaultHttpHeaders();
+        headers.set("format", "csv");
+        headers.set("column_separator", ",");
+        return headers;
+    }
+
+    private void mockGroupCommitTask(boolean committed) {
+        mockGroupCommitTask(committed, Lists.newArrayList());
+    }
+
+    // the prepared channels are recorded in order
+    private void mockGroupCommitTask(boolean committed, List<Integer> preparedChannels) {
+        new MockUp<StreamLoadTask>() {
+            @Mock
+            public TNetworkAddress tryLoad(int channelId, TransactionResult resp) {
+                return null;
+            }
+
+            @Mock
+            public TNetworkAddress executeTask(int channelId, HttpHeaders headers, TransactionResult resp) {
+                return new TNetworkAddress("127.0.0.1", 8040);
+            }
+
+            @Mock
+            public void prepareChannel(int channelId, HttpHeaders headers, TransactionResult resp) {
+                preparedChannels.add(channelId);
+            }
+
+            @Mock
+            public boolean checkNeedPrepareTxn() {
+                return false;
+            }
+
+            @Mock
+            public void commitTxn(TransactionResult resp) {
+            }
+
+            @Mock
+            public boolean isCommitted() {
+                return committed;
+            }
+        };
+    }
+
+    @Test
+    public void testGroupCommitLoadAndCommit() throws Exception {
+        int oldInterval = Config.stream_load_group_commit_interval_ms;
+        int oldMaxRequests = Config.stream_load_group_commit_max_requests;
+        Config.stream_load_group_commit_interval_ms = 100000;
+        Config.stream_load_group_commit_max_requests = 2;
+        mockGroupCommitTask(true);
+        try {
+            StreamLoadManager streamLoadManager = new StreamLoadManager();
+            streamLoadManager.beginGroupCommitLoad("test_db", "test_tbl", "label1", 100000, new TransactionResult());
+            streamLoadManager.beginGroupCommitLoad("test_db", "test_tbl", "label2", 100000, new TransactionResult());
+            StreamLoadGroupCommit groupCommit = streamLoadManager.getGroupCommit("label1");
+
+            TransactionResult resp = new TransactionResult();
+            Assert.assertNotNull(streamLoadManager.executeGroupCommitLoad("label1", csvHeaders(), resp));
+            Assert.assertTrue(resp.stateOK());
+
+            // the loads of a group share one plan
+            HttpHeaders jsonHeaders = csvHeaders();
+            jsonHeaders.set("format", "json");
+            resp = new TransactionResult();
+            Assert.assertNull(streamLoadManager.executeGroupCommitLoad("label2", jsonHeaders, resp));
+            Assert.assertFalse(resp.stateOK());
+            Assert.assertTrue(resp.msg.contains("'format'"));
+            resp = new TransactionResult();
+            Assert.assertNotNull(streamLoadManager.executeGroupCommitLoad("label2", csvHeaders(), resp));
+
+            // the commit waits for the other member
+            CommitCallback callback1 = new CommitCallback();
+            streamLoadManager.commitGroupCommitLoad("label1", callback1::accept);
+            Assert.assertFalse(callback1.isDone());
+            Assert.assertFalse(groupCommit.isFinished());
+
+            // the last member commits the whole group
+            CommitCallback callback2 = new CommitCallback();
+            streamLoadManager.commitGroupCommitLoad("label2", callback2::accept);
+            Assert.assertTrue(callback1.await().stateOK());
+            Assert.assertTrue(callback2.await().stateOK());
+            Assert.assertTrue(groupCommit.isFinished());
+            Assert.assertNull(streamLoadManager.getGroupCommit("label1"));
+
+            // no more data can be loaded after the group is committed
+            resp = new TransactionResult();
+            Assert.assertNull(groupCommit.load("label1", csvHeaders(), resp));
+            Assert.assertFalse(resp.stateOK());
+            Assert.assertTrue(resp.msg.contains("committed"));
+        } finally {
+            Config.stream_load_group_commit_interval_ms = oldInterval;
+            Config.stream_load_group_commit_max_requests = oldMaxRequests;
+        }
+    }
+
+    @Test
+    public void testGroupCommitTimeout() throws Exception {
+        int oldInterval = Config.stream_load_group_commit_interval_ms;
+        Config.stream_load_group_commit_interval_ms = 10;
+        mockGroupCommitTask(true);
+        try {
+            StreamLoadManager streamLoadManager = new StreamLoadManager();
+            streamLoadManager.beginGroupCommitLoad("test_db", "test_tbl", "label1", 200, new TransactionResult());
+            Thread.sleep(20);
+            streamLoadManager.beginGroupCommitLoad("test_db", "test_tbl", "label2", 200, new TransactionResult());
+            StreamLoadGroupCommit groupCommit = streamLoadManager.getGroupCommit("label1");
+            // the window is closed, label2 begins another group
+            Assert.assertNotSame(groupCommit, streamLoadManager.getGroupCommit("label2"));
+            Assert.assertEquals(1, groupCommit.getMemberNum());
+
+            // the group is aborted if its only member never loads data
+            CommitCallback callback = new CommitCallback();
+            streamLoadManager.commitGroupCommitLoad("label1", callback::accept);
+            TransactionResult resp = callback.await();
+            Assert.assertFalse(resp.stateOK());
+            Assert.assertTrue(resp.msg.contains("no data loaded"));
+
+            // the other group times out without any commit request
+            StreamLoadGroupCommit timeoutGroupCommit = streamLoadManager.getGroupCommit("label2");
+            long deadline = System.currentTimeMillis() + 10000;
+            while (!timeoutGroupCommit.isFinished() && System.currentTimeMillis() < deadline) {
+                Thread.sleep(10);
+            }
+            Assert.assertTrue(timeoutGroupCommit.isFinished());
+            Assert.assertEquals("CANCELLED", timeoutGroupCommit.getTask().getStateName());
+            resp = new TransactionResult();
+            Assert.assertNull(timeoutGroupCommit.load("label2", csvHeaders(), resp));
+            Assert.assertFalse(resp.stateOK());
+            Assert.assertTrue(resp.msg.contains("aborted"));
+        } finally {
+            Config.stream_load_group_commit_interval_ms = oldInterval;
+        }
+    }
+
+    @Test
+    public void testGroupCommitRollbackExcludesMember() throws Exception {
+        int oldInterval = Config.stream_load_group_commit_interval_ms;
+        int oldMaxRequests = Config.stream_load_group_commit_max_requests;
+        Config.stream_load_group_commit_interval_ms = 100000;
+        Config.stream_load_group_commit_max_requests = 2;
+        mockGroupCommitTask(true);
+        try {
+            StreamLoadManager streamLoadManager = new StreamLoadManager();
+            streamLoadManager.beginGroupCommitLoad("test_db", "test_tbl", "label1", 100000, new TransactionResult());
+            streamLoadManager.beginGroupCommitLoad("test_db", "test_tbl", "label2", 100000, new TransactionResult());
+            StreamLoadGroupCommit groupCommit = streamLoadManager.getGroupCommit("label1");
+            Assert.assertNotNull(groupCommit.load("label1", csvHeaders(), new TransactionResult()));
+
+            CommitCallback callback = new CommitCallback();
+            streamLoadManager.commitGroupCommitLoad("label1", callback::accept);
+            Assert.assertFalse(callback.isDone());
+
+            // label2 has not loaded, the rest of the group is committed without it
+            TransactionResult resp = new TransactionResult();
+            streamLoadManager.rollbackGroupCommitLoad("label2", resp);
+            Assert.assertTrue(resp.stateOK());
+            resp = callback.await();
+            Assert.assertTrue(resp.stateOK());
+            Assert.assertTrue(resp.toJson().contains("\"GroupCommitLoads\": 1"));
+            Assert.assertTrue(groupCommit.isFinished());
+
+            // a late load gets an error instead of an ok message
+            resp = new TransactionResult();
+            Assert.assertNull(groupCommit.load("label2", csvHeaders(), resp));
+            Assert.assertFalse(resp.stateOK());
+            Assert.assertTrue(resp.msg.contains("aborted by user"));
+
+            // the data of a member which has loaded can't be separated, its rollback aborts the group
+            streamLoadManager.beginGroupCommitLoad("test_db", "test_tbl", "label3", 100000, new TransactionResult());
+            streamLoadManager.beginGroupCommitLoad("test_db", "test_tbl", "label4", 100000, new TransactionResult());
+            groupCommit = streamLoadManager.getGroupCommit("label3");
+            Assert.assertNotNull(groupCommit.load("label3", csvHeaders(), new TransactionResult()));
+            Assert.assertNotNull(groupCommit.load("label4", csvHeaders(), new TransactionResult()));
+            callback = new CommitCallback();
+            streamLoadManager.commitGroupCommitLoad("label3", callback::accept);
+            resp = new TransactionResult();
+            streamLoadManager.rollbackGroupCommitLoad("label4", resp);
+            Assert.assertTrue(resp.stateOK());
+            resp = callback.await();
+            Assert.assertFalse(resp.stateOK());
+            Assert.assertTrue(resp.msg.contains("aborted by user"));
+        } finally {
+            Config.stream_load_group_commit_interval_ms = oldInterval;
+            Config.stream_load_group_commit_max_requests = oldMaxRequests;
+        }
+    }
+
+    @Test
+    public void testGroupCommitExcludesStraggler() throws Exception {
+        int oldInterval = Config.stream_load_group_commit_interval_ms;
+        int oldMaxRequests = Config.stream_load_group_commit_max_requests;
+        Config.stream_load_group_commit_interval_ms = 100000;
+        Config.stream_load_group_commit_max_requests = 2;
+        List<Integer> preparedChannels = Lists.newArrayList();
+        mockGroupCommitTask(true, preparedChannels);
+        try {
+            StreamLoadManager streamLoadManager = new StreamLoadManager();
+            streamLoadManager.beginGroupCommitLoad("test_db", "test_tbl", "label1", 300, new TransactionResult());
+            streamLoadManager.beginGroupCommitLoad("test_db", "test_tbl", "label2", 300, new TransactionResult());
+            StreamLoadGroupCommit groupCommit = streamLoadManager.getGroupCommit("label1");
+            Assert.assertNotNull(groupCommit.load("label1", csvHeaders(), new TransactionResult()));
+            CommitCallback callback = new CommitCallback();
+            streamLoadManager.commitGroupCommitLoad("label1", callback::accept);
+
+            // label2 never loads, it is excluded at the deadline and label1 is committed
+            TransactionResult resp = callback.await();
+            Assert.assertTrue(resp.stateOK());
+            // the channel of the member is prepared first, then the empty channel is closed
+            Assert.assertEquals(Lists.newArrayList(0, 1), preparedChannels);
+
+            CommitCallback lateCallback = new CommitCallback();
+            streamLoadManager.commitGroupCommitLoad("label2", lateCallback::accept);
+            resp = lateCallback.await();
+            Assert.assertFalse(resp.stateOK());
+            Assert.assertTrue(resp.msg.contains("has not loaded any data before the deadline"));
+        } finally {
+            Config.stream_load_group_commit_interval_ms = oldInterval;
+            Config.stream_load_group_commit_max_requests = oldMaxRequests;
+        }
+    }
 }
@@ -0,0 +1,58 @@
+// Copyright 2021-present StarRocks, Inc. All rights reserved.
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//     https://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package com.starrocks.pseudocluster;
+
+import com.starrocks.metric.MetricRepo;
+import org.junit.AfterClass;
+import org.junit.Assert;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+public class MvRefreshRowStatsTest {
+    static PseudoCluster cluster;
+
+    @BeforeClass
+    public static void setUp() throws Exception {
+        PseudoCluster.getOrCreateWithRandomPort(true, 3);
+        cluster = PseudoCluster.getInstance();
+        MetricRepo.init();
+        cluster.runSql(null, "create database test");
+        cluster.runSql("test", PseudoCluster.newCreateTableSqlBuilder().setTableName("base").setBuckets(1).build());
+        cluster.runSql("test", "create materialized view mv1 distributed by hash(id) buckets 1 refresh manual " +
+                "properties(\"replication_num\" = \"3\") as select id, sum(age) from base group by id");
+    }
+
+    @AfterClass
+    public static void tearDown() throws Exception {
+        PseudoCluster.getInstance().shutdown(true);
+    }
+
+    @Test
+    public void testRefreshReportsScanAndOutputRows() throws Exception {
+        // 2 loads, every rowset of the pseudo tablet has 1000 rows
+        for (int i = 0; i < 2; i++) {
+            cluster.runSql(null, PseudoCluster.buildInsertSql("test", "base"), true);
+        }
+        long scanRows = MetricRepo.COUNTER_MV_REFRESH_SCAN_ROWS.getValue();
+        long outputRows = MetricRepo.COUNTER_MV_REFRESH_OUTPUT_ROWS.getValue();
+        cluster.runSql("test", "refresh materialized view mv1");
+        for (int i = 0; i < 60 && MetricRepo.COUNTER_MV_REFRESH_OUTPUT_ROWS.getValue() == outputRows; i++) {
+            Thread.sleep(1000);
+        }
+        // rows come from the reports of the refresh instances, not from the query statistics
+        Assert.assertEquals(scanRows + 2000, (long) MetricRepo.COUNTER_MV_REFRESH_SCAN_ROWS.getValue());
+        Assert.assertTrue(MetricRepo.COUNTER_MV_REFRESH_OUTPUT_ROWS.getValue() > outputRows);
+    }
+}
@@ -992,12 +992,13 @@ public class PseudoBackend {
             sb.append(String.format("exec_plan_fragment query: %s fragment: %s", DebugUtil.printId(params.params.query_id),
                     DebugUtil.printId(params.params.fragment_instance_id)));
             int numTabletScan = 0;
+            long sourceRows = 0;
             for (TPlanNode planNode : params.fragment.plan.nodes) {
                 if (planNode.node_type == TPlanNodeType.OLAP_SCAN_NODE) {
                     List<TScanRangeParams> scanRanges = params.params.per_node_scan_ranges.get(planNode.getNode_id());
                     if (scanRanges != null) {
                         numTabletScan += scanRanges.size();
-                        runOlapScan(planNode, scanRanges);
+                        sourceRows += runOlapScan(planNode, scanRanges);
                     }
                     Map<Integer, List<TScanRangeParams>> scanRangesPerDriver =
                             params.params.node_to_per_driver_seq_scan_ranges.get(planNode.getNode_id());
@@ -1005,11 +1006,12 @@ public class PseudoBackend {
                         scanRanges = scanRangesPerDriver.values().stream().flatMap(List::stream)
                                 .collect(Collectors.toList());
                         numTabletScan += scanRanges.size();
-                        runOlapScan(planNode, scanRanges);
+                        sourceRows += runOlapScan(planNode, scanRanges);
                         System.out.printf("per_driver_seq_scan_range not empty numTablets: %d\n", numTabletScan);
                     }
                 }
             }
+            report.setSource_load_rows(sourceRows);
             if (numTabletScan > 0) {
                 scansByQueryId.computeIfAbsent(DebugUtil.printId(params.params.query_id), k -> new AtomicInteger(0))
                         .addAndGet(numTabletScan);
@@ -1055,13 +1057,14 @@ public class PseudoBackend {
                     DebugUtil.printId(commonParams.params.query_id),
                     DebugUtil.printId(uniqueParams.params.fragment_instance_id)));
             int numTabletScan = 0;
+            long sourceRows = 0;
             int allScans = uniqueParams.params.per_node_scan_ranges.values().stream().mapToInt(List::size).sum();
             for (TPlanNode planNode : commonParams.fragment.plan.nodes) {
                 if (planNode.node_type == TPlanNodeType.OLAP_SCAN_NODE) {
                     List<TScanRangeParams> scanRanges = uniqueParams.params.per_node_scan_ranges.get(planNode.getNode_id());
                     if (scanRanges != null) {
                         numTabletScan += scanRanges.size();
-                        runOlapScan(planNode, scanRanges);
+                        sourceRows += runOlapScan(planNode, scanRanges);
                     }
                     Map<Integer, List<TScanRangeParams>> scanRangesPerDriver =
                             uniqueParams.params.node_to_per_driver_seq_scan_ranges.get(planNode.getNode_id());
@@ -1069,7 +1072,7 @@ public class PseudoBackend {
                         scanRanges = scanRangesPerDriver.values().stream().flatMap(List::stream)
                                 .collect(Collectors.toList());
                         numTabletScan += scanRanges.size();
-                        runOlapScan(planNode, scanRanges);
+                        sourceRows += runOlapScan(planNode, scanRanges);
                         System.out.printf("per_driver_seq_scan_range not empty numTablets: %d\n", numTabletScan);
                     }
                 }
@@ -1077,6 +1080,7 @@ public class PseudoBackend {
             if (allScans != numTabletScan) {
                 System.out.printf("not all scanrange used: all:%d used:%d\n", allScans, numTabletScan);
             }
+            report.setSource_load_rows(sourceRows);
             if (numTabletScan > 0) {
                 scansByQueryId.computeIfAbsent(DebugUtil.printId(commonParams.params.query_id), k -> new AtomicInteger(0))
                         .addAndGet(numTabletScan);
@@ -1121,8 +1125,9 @@ public class PseudoBackend {
         }
     }
 
-    private void runOlapScan(TPlanNode olapScanNode, List<TScanRangeParams> tScanRangeParams)
+    private long runOlapScan(TPlanNode olapScanNode, List<TScanRangeParams> tScanRangeParams)
             throws Exception {
+        long numRows = 0;
         for (TScanRangeParams scanRangeParams : tScanRangeParams) {
             long tabletId = scanRangeParams.scan_range.internal_scan_range.tablet_id;
             long version = Long.parseLong(scanRangeParams.scan_range.internal_scan_range.version);
@@ -1133,8 +1138,9 @@ public class PseudoBackend {
                 System.out.println(msg);
                 throw new Exception(msg);
             }
-            tablet.read(version);
+            numRows += tablet.read(version);
         }
+        return numRows;
     }
 
     private void runSink(TReportExecStatusParams report, TDataSink tDataSink) throws Exception {
@@ -208,7 +208,8 @@ public class Tablet {
         return versions.get(0).major;
     }
 
-    public synchronized void read(long version) throws Exception {
+    // return the rows read, every rowset has 1000 rows as getRowCount() assumes
+    public synchronized long read(long version) throws Exception {
         totalReadExecuted.incrementAndGet();
         readExecuted++;
         lastReadVersion = version;
@@ -224,6 +225,8 @@ public class Tablet {
         }
         totalReadSucceed.incrementAndGet();
         lastSuccessReadVersion = version;
+        EditVersion ev = getEditVersion(version);
+        return ev == null ? 0 : ev.rowsets.size() * 1000L;
     }
 
     public int getCloneExecuted() {
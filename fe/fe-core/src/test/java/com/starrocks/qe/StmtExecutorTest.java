@@ -0,0 +1,93 @@
+// Copyright 2021-present StarRocks, Inc. All rights reserved.
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//     https://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package com.starrocks.qe;
+
+import com.starrocks.server.GlobalStateMgr;
+import mockit.Expectations;
+import mockit.Mocked;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class StmtExecutorTest {
+
+    @Test
+    public void testWaitForFollowerConsistentRead(@Mocked GlobalStateMgr globalStateMgr) {
+        JournalObservable journalObservable = new JournalObservable();
+        new Expectations() {
+            {
+                GlobalStateMgr.getCurrentState();
+                result = globalStateMgr;
+                minTimes = 0;
+
+                globalStateMgr.isLeader();
+                result = false;
+                minTimes = 0;
+
+                globalStateMgr.getReplayedJournalId();
+                result = 10L;
+                minTimes = 0;
+
+                globalStateMgr.getJournalObservable();
+                result = journalObservable;
+                minTimes = 0;
+            }
+        };
+
+        ConnectContext ctx = new ConnectContext();
+        SessionVariable sessionVariable = ctx.getSessionVariable();
+        StmtExecutor executor = new StmtExecutor(ctx, "select 1");
+
+        // read-your-writes is disabled
+        sessionVariable.setFollowerReadMinJournalId(20L);
+        Assert.assertTrue(executor.waitForFollowerConsistentRead());
+
+        // the follower has already caught up
+        sessionVariable.setEnableFollowerReadYourWrites(true);
+        sessionVariable.setFollowerReadMinJournalId(10L);
+        Assert.assertTrue(executor.waitForFollowerConsistentRead());
+
+        // no wait time, forward to leader at once
+        sessionVariable.setFollowerReadMinJournalId(20L);
+        sessionVariable.setFollowerReadWaitTimeoutMs(0);
+        Assert.assertFalse(executor.waitForFollowerConsistentRead());
+
+        // the follower can not catch up within the timeout
+        sessionVariable.setFollowerReadWaitTimeoutMs(100);
+        long start = System.currentTimeMillis();
+        Assert.assertFalse(executor.waitForFollowerConsistentRead());
+        Assert.assertTrue(System.currentTimeMillis() - start >= 100);
+    }
+
+    @Test
+    public void testWaitForFollowerConsistentReadOnLeader(@Mocked GlobalStateMgr globalStateMgr) {
+        new Expectations() {
+            {
+                GlobalStateMgr.getCurrentState();
+                result = globalStateMgr;
+                minTimes = 0;
+
+                globalStateMgr.isLeader();
+                result = true;
+                minTimes = 0;
+            }
+        };
+
+        ConnectContext ctx = new ConnectContext();
+        ctx.getSessionVariable().setEnableFollowerReadYourWrites(true);
+        ctx.getSessionVariable().setFollowerReadMinJournalId(Long.MAX_VALUE);
+        StmtExecutor executor = new StmtExecutor(ctx, "select 1");
+        Assert.assertTrue(executor.waitForFollowerConsistentRead());
+    }
+}
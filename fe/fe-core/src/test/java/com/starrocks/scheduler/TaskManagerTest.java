@@ -15,7 +15,11 @@
 
 package com.starrocks.scheduler;
 
+import com.google.common.collect.Maps;
 import com.google.common.collect.Queues;
+import com.google.common.collect.Sets;
+import com.starrocks.catalog.Database;
+import com.starrocks.catalog.MaterializedView;
 import com.starrocks.common.Config;
 import com.starrocks.common.FeConstants;
 import com.starrocks.common.util.UUIDUtil;
@@ -41,6 +45,7 @@ import java.io.DataInputStream;
 import java.io.DataOutputStream;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import java.util.concurrent.PriorityBlockingQueue;
 
 public class TaskManagerTest {
@@ -102,7 +107,17 @@ public class TaskManagerTest {
                 "    PARTITION p2 values less than('2020-03-01')\n" +
                 ")\n" +
                 "DISTRIBUTED BY HASH(k2) BUCKETS 3\n" +
-                "PROPERTIES('replication_num' = '1');");
+                "PROPERTIES('replication_num' = '1');")
+                .withNewMaterializedView("create materialized view test.mv_on_tbl\n" +
+                "distributed by hash(k2) buckets 3\n" +
+                "refresh manual\n" +
+                "properties('replication_num' = '1')\n" +
+                "as select k2, sum(v1) as total_sum from tbl1 group by k2;")
+                .withNewMaterializedView("create materialized view test.mv_on_mv\n" +
+                "distributed by hash(k2) buckets 3\n" +
+                "refresh manual\n" +
+                "properties('replication_num' = '1')\n" +
+                "as select k2, total_sum from mv_on_tbl;");
     }
 
     @Test
@@ -395,4 +410,56 @@ public class TaskManagerTest {
 
     }
 
+    @Test
+    public void testMvRefreshWaitsForUpstreamMv() {
+        Database testDb = GlobalStateMgr.getCurrentState().getDb("test");
+        MaterializedView upstreamMv = ((MaterializedView) testDb.getTable("mv_on_tbl"));
+        MaterializedView downstreamMv = ((MaterializedView) testDb.getTable("mv_on_mv"));
+        TaskRun upstreamTaskRun =
+                TaskRunBuilder.newBuilder(TaskBuilder.buildMvTask(upstreamMv, testDb.getFullName())).build();
+        TaskRun downstreamTaskRun =
+                TaskRunBuilder.newBuilder(TaskBuilder.buildMvTask(downstreamMv, testDb.getFullName())).build();
+
+        TaskRunManager taskRunManager = new TaskRunManager();
+        Map<Long, Set<Long>> mvIdToUpstreamMvIds = Maps.newHashMap();
+        Assert.assertTrue(taskRunManager.hasRefreshingUpstreamMv(downstreamTaskRun,
+                Sets.newHashSet(upstreamMv.getId()), mvIdToUpstreamMvIds));
+        Assert.assertEquals(Sets.newHashSet(upstreamMv.getId()), mvIdToUpstreamMvIds.get(downstreamMv.getId()));
+        Assert.assertFalse(taskRunManager.hasRefreshingUpstreamMv(downstreamTaskRun,
+                Sets.newHashSet(downstreamMv.getId()), mvIdToUpstreamMvIds));
+        Assert.assertFalse(taskRunManager.hasRefreshingUpstreamMv(upstreamTaskRun,
+                Sets.newHashSet(upstreamMv.getId(), downstreamMv.getId()), mvIdToUpstreamMvIds));
+    }
+
+    @Test
+    public void testMvRefreshHoldIsBounded() {
+        Database testDb = GlobalStateMgr.getCurrentState().getDb("test");
+        MaterializedView upstreamMv = ((MaterializedView) testDb.getTable("mv_on_tbl"));
+        MaterializedView downstreamMv = ((MaterializedView) testDb.getTable("mv_on_mv"));
+        TaskRun downstreamTaskRun =
+                TaskRunBuilder.newBuilder(TaskBuilder.buildMvTask(downstreamMv, testDb.getFullName())).build();
+        Set<Long> refreshingMvIds = Sets.newHashSet(upstreamMv.getId());
+        Map<Long, Set<Long>> mvIdToUpstreamMvIds = Maps.newHashMap();
+
+        TaskRunManager taskRunManager = new TaskRunManager();
+        long maxWaitSecond = Config.mv_refresh_dependency_max_wait_second;
+        try {
+            Config.mv_refresh_dependency_max_wait_second = 10;
+            long now = System.currentTimeMillis();
+            Assert.assertTrue(taskRunManager.shouldHoldMvRefresh(1L, downstreamTaskRun, refreshingMvIds,
+                    mvIdToUpstreamMvIds, now));
+            Assert.assertTrue(taskRunManager.shouldHoldMvRefresh(1L, downstreamTaskRun, refreshingMvIds,
+                    mvIdToUpstreamMvIds, now + 9000));
+            // held for too long, schedule it even though the upstream is still refreshing
+            Assert.assertFalse(taskRunManager.shouldHoldMvRefresh(1L, downstreamTaskRun, refreshingMvIds,
+                    mvIdToUpstreamMvIds, now + 10000));
+
+            Config.enable_mv_refresh_dependency_schedule = false;
+            Assert.assertFalse(taskRunManager.shouldHoldMvRefresh(2L, downstreamTaskRun, refreshingMvIds,
+                    mvIdToUpstreamMvIds, now));
+        } finally {
+            Config.mv_refresh_dependency_max_wait_second = maxWaitSecond;
+            Config.enable_mv_refresh_dependency_schedule = true;
+        }
+    }
 }
@@ -264,6 +264,8 @@ public class AnalyzeStmtTest {
                 StatisticSQLBuilder.buildDropStatisticsSQL(10004L, StatsConstants.AnalyzeType.SAMPLE));
         Assert.assertEquals("DELETE FROM column_statistics WHERE TABLE_ID = 10004",
                 StatisticSQLBuilder.buildDropStatisticsSQL(10004L, StatsConstants.AnalyzeType.FULL));
+        Assert.assertEquals("DELETE FROM multi_column_statistics WHERE TABLE_ID = 10004",
+                StatisticSQLBuilder.buildDropMultiColumnStatisticsSQL(10004L));
     }
 
     @Test
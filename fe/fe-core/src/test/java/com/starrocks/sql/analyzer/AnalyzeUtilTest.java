@@ -15,7 +15,9 @@
 
 package com.starrocks.sql.analyzer;
 
+import com.google.common.collect.Maps;
 import com.starrocks.catalog.Database;
+import com.starrocks.catalog.Table;
 import com.starrocks.qe.ConnectContext;
 import com.starrocks.server.GlobalStateMgr;
 import com.starrocks.sql.ast.CreateViewStmt;
@@ -28,6 +30,7 @@ import org.junit.Test;
 
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 
 public class AnalyzeUtilTest {
     @BeforeClass
@@ -84,4 +87,29 @@ public class AnalyzeUtilTest {
         Assert.assertEquals(stringDatabaseMap.size(), 1);
         Assert.assertEquals("[test]", stringDatabaseMap.keySet().toString());
     }
+
+    @Test
+    public void testCollectTableIdsThroughView() throws Exception {
+        ConnectContext session = AnalyzeTestUtil.getConnectContext();
+        AnalyzeTestUtil.getStarRocksAssert().withDatabase("view_lock_test")
+                .withView("create view view_lock_test.v_t0 as select v1 from test.t0");
+        Database testDb = GlobalStateMgr.getCurrentState().getDb("test");
+        Database viewDb = GlobalStateMgr.getCurrentState().getDb("view_lock_test");
+        Table t0 = testDb.getTable("t0");
+        Table view = viewDb.getTable("v_t0");
+
+        String sql = "select * from view_lock_test.v_t0";
+        StatementBase stmt = SqlParser.parse(sql, session.getSessionVariable().getSqlMode()).get(0);
+        Map<String, Database> dbs = AnalyzerUtils.collectAllDatabase(session, stmt);
+        Assert.assertFalse(dbs.containsKey(testDb.getFullName()));
+
+        Map<Long, Set<Long>> tableIds = AnalyzerUtils.collectAllTableIds(session, stmt, dbs);
+        // the db of the table reached through the view is locked as well
+        Assert.assertTrue(dbs.containsKey(testDb.getFullName()));
+        Assert.assertTrue(tableIds.get(viewDb.getId()).contains(view.getId()));
+        Assert.assertTrue(tableIds.get(testDb.getId()).contains(t0.getId()));
+
+        tableIds = AnalyzerUtils.collectAllTableIds(session, stmt, Maps.newHashMap());
+        Assert.assertEquals(2, tableIds.size());
+    }
 }
@@ -222,6 +222,49 @@ public class OptimizerTest {
         starRocksAssert.dropMaterializedView("mv_2");
     }
 
+    @Test
+    public void testMvCandidateIndex() throws Exception {
+        Config.enable_experimental_mv = true;
+        starRocksAssert.withTable("CREATE TABLE `t_join` (\n" +
+                "  `v1` bigint NULL COMMENT \"\",\n" +
+                "  `v4` bigint NULL\n" +
+                ") ENGINE=OLAP\n" +
+                "DUPLICATE KEY(`v1`)\n" +
+                "DISTRIBUTED BY HASH(`v1`) BUCKETS 3\n" +
+                "PROPERTIES (\n" +
+                "\"replication_num\" = \"1\"\n" +
+                ");");
+        cluster.runSql("test", "insert into t0 values(10, 20, 30)");
+        starRocksAssert.withNewMaterializedView("create materialized view mv_single distributed by hash(`v1`) " +
+                "as select v1, v2, sum(v3) as total from t0 group by v1, v2");
+        starRocksAssert.withNewMaterializedView("create materialized view mv_join distributed by hash(`v1`) " +
+                "as select t0.v1, t0.v2, t_join.v4 from t0 join t_join on t0.v1 = t_join.v1");
+        refreshMaterializedView("test", "mv_single");
+        refreshMaterializedView("test", "mv_join");
+
+        String sql = "select v1, sum(v3) from t0 group by v1";
+        StatementBase stmt = UtFrameUtils.parseStmtWithNewParser(sql, connectContext);
+        ColumnRefFactory columnRefFactory = new ColumnRefFactory();
+        LogicalPlan logicalPlan = new RelationTransformer(columnRefFactory, connectContext)
+                .transformWithSelectLimit(((QueryStatement) stmt).getQueryRelation());
+        Optimizer optimizer = new Optimizer();
+        OptExpression expr = optimizer.optimize(connectContext, logicalPlan.getRoot(), new PhysicalPropertySet(),
+                new ColumnRefSet(logicalPlan.getOutputColumn()), columnRefFactory);
+        Assert.assertNotNull(expr);
+        // mv_join scans t_join which is not in the query, so it is not a candidate
+        Assert.assertEquals(1, optimizer.getContext().getCandidateMvs().size());
+        Assert.assertEquals("mv_single", optimizer.getContext().getCandidateMvs().get(0).getMv().getName());
+
+        Table t0 = GlobalStateMgr.getCurrentState().getDb("test").getTable("t0");
+        Table tJoin = GlobalStateMgr.getCurrentState().getDb("test").getTable("t_join");
+        Assert.assertEquals(1, optimizer.getContext().getCandidateMvs(Lists.newArrayList(t0, t0)).size());
+        Assert.assertTrue(optimizer.getContext().getCandidateMvs(Lists.newArrayList(t0, tJoin)).isEmpty());
+        Assert.assertTrue(optimizer.getContext().getTraceInfo().getMvRewriteAttempts() > 0);
+
+        starRocksAssert.dropMaterializedView("mv_single");
+        starRocksAssert.dropMaterializedView("mv_join");
+    }
+
     @Test
     public void testPreprocessMvPartitionMv() throws Exception {
         Config.enable_experimental_mv = true;
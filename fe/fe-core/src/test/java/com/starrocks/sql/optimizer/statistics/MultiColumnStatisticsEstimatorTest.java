@@ -0,0 +1,122 @@
+// Copyright 2021-present StarRocks, Inc. All rights reserved.
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//     https://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package com.starrocks.sql.optimizer.statistics;
+
+import com.google.common.collect.Lists;
+import com.starrocks.catalog.Type;
+import com.starrocks.sql.optimizer.Utils;
+import com.starrocks.sql.optimizer.operator.scalar.BinaryPredicateOperator;
+import com.starrocks.sql.optimizer.operator.scalar.ColumnRefOperator;
+import com.starrocks.sql.optimizer.operator.scalar.ConstantOperator;
+import com.starrocks.sql.optimizer.operator.scalar.ScalarOperator;
+import com.starrocks.thrift.TStatisticData;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+public class MultiColumnStatisticsEstimatorTest {
+    private final ColumnRefOperator country = new ColumnRefOperator(0, Type.VARCHAR, "country", true);
+    private final ColumnRefOperator state = new ColumnRefOperator(1, Type.VARCHAR, "state", true);
+    private final ColumnRefOperator city = new ColumnRefOperator(2, Type.VARCHAR, "city", true);
+
+    private Statistics buildStatistics(boolean withMultiColumnStatistics) {
+        Statistics.Builder builder = Statistics.builder();
+        builder.setOutputRowCount(10000);
+        builder.addColumnStatistic(country, buildColumnStatistic(10));
+        builder.addColumnStatistic(state, buildColumnStatistic(50));
+        builder.addColumnStatistic(city, buildColumnStatistic(200));
+        if (withMultiColumnStatistics) {
+            Map<List<String>, Long> mcv = new HashMap<>();
+            mcv.put(Lists.newArrayList("US", "CA"), 3000L);
+            builder.addMultiColumnStatistic(Lists.newArrayList(country, state),
+                    new MultiColumnStatistic(Lists.newArrayList("country", "state"), 60, 10000, mcv));
+        }
+        return builder.build();
+    }
+
+    private ColumnStatistic buildColumnStatistic(double ndv) {
+        return ColumnStatistic.builder().setMinValue(Double.NEGATIVE_INFINITY).setMaxValue(Double.POSITIVE_INFINITY)
+                .setDistinctValuesCount(ndv).setNullsFraction(0).setAverageRowSize(10).build();
+    }
+
+    private ScalarOperator buildPredicate(String countryValue, String stateValue) {
+        return Utils.compoundAnd(
+                new BinaryPredicateOperator(BinaryPredicateOperator.BinaryType.EQ,
+                        country, ConstantOperator.createVarchar(countryValue)),
+                new BinaryPredicateOperator(BinaryPredicateOperator.BinaryType.EQ,
+                        ConstantOperator.createVarchar(stateValue), state));
+    }
+
+    @Test
+    public void testEstimateConjuncts() {
+        Statistics statistics = buildStatistics(true);
+
+        ScalarOperator predicate = buildPredicate("US", "CA");
+        Statistics independent = PredicateStatisticsCalculator.statisticsCalculate(predicate, statistics);
+        // most common value combination
+        Statistics estimated = MultiColumnStatisticsEstimator.estimateConjuncts(predicate, statistics, independent);
+        Assert.assertEquals(3000, estimated.getOutputRowCount(), 0.1);
+        Assert.assertTrue(independent.getOutputRowCount() < estimated.getOutputRowCount());
+
+        // other combinations share the remaining rows
+        predicate = buildPredicate("US", "NY");
+        independent = PredicateStatisticsCalculator.statisticsCalculate(predicate, statistics);
+        estimated = MultiColumnStatisticsEstimator.estimateConjuncts(predicate, statistics, independent);
+        Assert.assertEquals(7000.0 / 59, estimated.getOutputRowCount(), 0.1);
+
+        // no multi-column statistics
+        Statistics noMultiColumn = buildStatistics(false);
+        independent = PredicateStatisticsCalculator.statisticsCalculate(predicate, noMultiColumn);
+        estimated = MultiColumnStatisticsEstimator.estimateConjuncts(predicate, noMultiColumn, independent);
+        Assert.assertEquals(independent.getOutputRowCount(), estimated.getOutputRowCount(), 0.1);
+    }
+
+    @Test
+    public void testGroupByCardinality() {
+        Statistics statistics = buildStatistics(true);
+        double rowCount = StatisticsCalculator.computeGroupByStatistics(Lists.newArrayList(country, state),
+                statistics, new HashMap<>());
+        Assert.assertEquals(60, rowCount, 0.1);
+
+        double withCity = StatisticsCalculator.computeGroupByStatistics(Lists.newArrayList(country, city, state),
+                statistics, new HashMap<>());
+        double withCityNoMultiColumn = StatisticsCalculator.computeGroupByStatistics(
+                Lists.newArrayList(country, city, state), buildStatistics(false), new HashMap<>());
+        Assert.assertTrue(withCity < withCityNoMultiColumn);
+    }
+
+    @Test
+    public void testConvertMultiColumnStatistic() {
+        TStatisticData data = new TStatisticData();
+        data.setColumnName("country,state");
+        data.setHistogram("{\"ndv\": 60, \"row_count\": 10000, " +
+                "\"mcv\": \"[[[\\\"US\\\",\\\"CA\\\"],\\\"3000\\\"]]\"}");
+        MultiColumnStatistic statistic = MultiColumnStatsCacheLoader.convert2MultiColumnStatistic(data);
+        Assert.assertEquals(Lists.newArrayList("country", "state"), statistic.getColumns());
+        Assert.assertEquals(60, statistic.getDistinctValuesCount(), 0.1);
+        Assert.assertEquals(10000, statistic.getRowCount(), 0.1);
+        Assert.assertEquals(3000L, (long) statistic.getMCV().get(Lists.newArrayList("US", "CA")));
+        Assert.assertEquals(0.3, statistic.getEqualSelectivity(Lists.newArrayList("US", "CA")), 0.001);
+
+        // no most common values
+        data.setHistogram("{\"ndv\": 60, \"row_count\": 10000, \"mcv\": null}");
+        statistic = MultiColumnStatsCacheLoader.convert2MultiColumnStatistic(data);
+        Assert.assertTrue(statistic.getMCV().isEmpty());
+        Assert.assertEquals(1.0 / 60, statistic.getEqualSelectivity(Lists.newArrayList("US", "NY")), 0.001);
+    }
+}
@@ -0,0 +1,96 @@
+// Copyright 2021-present StarRocks, Inc. All rights reserved.
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//     https://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+
+package com.starrocks.sql.optimizer.statistics;
+
+import com.starrocks.common.Config;
+import com.starrocks.common.util.RuntimeProfile;
+import com.starrocks.thrift.TUnit;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.Map;
+
+public class PlanFeedbackManagerTest {
+
+    @After
+    public void tearDown() {
+        PlanFeedbackManager.getInstance().clear();
+    }
+
+    private static RuntimeProfile operatorProfile(String name, String counterName, long rows) {
+        RuntimeProfile operator = new RuntimeProfile(name);
+        RuntimeProfile commonMetrics = new RuntimeProfile("CommonMetrics");
+        commonMetrics.addCounter(counterName, TUnit.UNIT).setValue(rows);
+        operator.addChild(commonMetrics);
+        return operator;
+    }
+
+    @Test
+    public void testCollectActualRows() {
+        RuntimeProfile pipeline0 = new RuntimeProfile("Pipeline (id=0)");
+        pipeline0.addChild(operatorProfile("OLAP_SCAN (plan_node_id=0)", "PullRowNum", 100));
+        pipeline0.addChild(operatorProfile("HASH_JOIN_BUILD (plan_node_id=2)", "PullRowNum", 0));
+        RuntimeProfile pipeline1 = new RuntimeProfile("Pipeline (id=1)");
+        pipeline1.addChild(operatorProfile("OLAP_SCAN (plan_node_id=0)", "PullRowNum", 50));
+        pipeline1.addChild(operatorProfile("HASH_JOIN_PROBE (plan_node_id=2)", "PullRowNum", 30));
+        RuntimeProfile fragment = new RuntimeProfile("Fragment 0");
+        fragment.addChild(pipeline0);
+        fragment.addChild(pipeline1);
+        // exec node of non-pipeline engine
+        fragment.addChild(operatorProfile("OLAP_SCAN_NODE (id=5)", "RowsReturned", 7));
+        RuntimeProfile query = new RuntimeProfile("Query");
+        query.addChild(fragment);
+
+        Map<Integer, Long> actualRows = PlanFeedbackManager.collectActualRows(query);
+        Assert.assertEquals(3, actualRows.size());
+        Assert.assertEquals(150L, (long) actualRows.get(0));
+        Assert.assertEquals(30L, (long) actualRows.get(2));
+        Assert.assertEquals(7L, (long) actualRows.get(5));
+    }
+
+    @Test
+    public void testUpdateFeedback() {
+        double oldMinErrorRatio = Config.plan_feedback_min_error_ratio;
+        int oldMaxEntryNum = Config.plan_feedback_max_entry_num;
+        try {
+            Config.plan_feedback_min_error_ratio = 2.0;
+            Config.plan_feedback_max_entry_num = 2;
+            PlanFeedbackManager manager = PlanFeedbackManager.getInstance();
+            Assert.assertTrue(manager.isEmpty());
+            Assert.assertEquals(1.0, manager.getCorrectionFactor("fp1"), 1e-6);
+
+            manager.update("fp1", "OLAP_SCAN(t0)", 100, 1000);
+            Assert.assertEquals(10.0, manager.getCorrectionFactor("fp1"), 1e-6);
+            manager.update("fp2", "OLAP_SCAN(t1)", 1000, 10);
+            Assert.assertEquals(0.01, manager.getCorrectionFactor("fp2"), 1e-6);
+            Assert.assertEquals(100.0, manager.getEntries().get(1).getErrorRatio(), 1e-6);
+
+            // the estimation is accurate enough, no need to correct
+            manager.update("fp1", "OLAP_SCAN(t0)", 100, 150);
+            Assert.assertEquals(1.0, manager.getCorrectionFactor("fp1"), 1e-6);
+
+            // evict the least recently used one
+            manager.update("fp3", "OLAP_SCAN(t2)", 100, 1000);
+            manager.update("fp4", "OLAP_SCAN(t3)", 100, 1000);
+            Assert.assertEquals(2, manager.getEntries().size());
+            Assert.assertEquals(1.0, manager.getCorrectionFactor("fp2"), 1e-6);
+        } finally {
+            Config.plan_feedback_min_error_ratio = oldMinErrorRatio;
+            Config.plan_feedback_max_entry_num = oldMaxEntryNum;
+        }
+    }
+}
@@ -20,24 +20,37 @@ import com.google.common.collect.Maps;
 import com.starrocks.common.Config;
 import com.starrocks.common.jmockit.Deencapsulation;
 import com.starrocks.common.util.TimeUtils;
+import com.starrocks.qe.ConnectContext;
 import com.starrocks.server.GlobalStateMgr;
 import com.starrocks.sql.plan.PlanTestBase;
+import mockit.Mock;
+import mockit.MockUp;
 import org.junit.Assert;
 import org.junit.Test;
 
 import java.time.Instant;
 import java.time.LocalDateTime;
 import java.time.LocalTime;
+import java.util.List;
 
 public class AnalyzeManagerTest extends PlanTestBase {
     @Test
     public void testClearStatisticFromDroppedTable() {
+        List<Long> multiColumnDroppedTables = Lists.newArrayList();
+        new MockUp<StatisticExecutor>() {
+            @Mock
+            public void dropMultiColumnStatistics(ConnectContext statsConnectCtx, Long tableId) {
+                multiColumnDroppedTables.add(tableId);
+            }
+        };
         GlobalStateMgr.getCurrentAnalyzeMgr().addBasicStatsMeta(new BasicStatsMeta(
                 1, 2, Lists.newArrayList(), StatsConstants.AnalyzeType.FULL,
                 LocalDateTime.MIN, Maps.newHashMap()));
         Assert.assertNotNull(GlobalStateMgr.getCurrentAnalyzeMgr().getBasicStatsMetaMap().get(2L));
         GlobalStateMgr.getCurrentAnalyzeMgr().clearStatisticFromDroppedTable();
         Assert.assertNull(GlobalStateMgr.getCurrentAnalyzeMgr().getBasicStatsMetaMap().get(2L));
+        // the multi-column statistics of the dropped table are deleted too
+        Assert.assertEquals(Lists.newArrayList(2L), multiColumnDroppedTables);
     }
 
     @Test
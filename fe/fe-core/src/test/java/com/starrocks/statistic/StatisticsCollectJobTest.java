@@ -16,6 +16,7 @@ package com.starrocks.statistic;
 
 import com.google.common.collect.Lists;
 import com.google.common.collect.Maps;
+import com.google.gson.JsonArray;
 import com.starrocks.catalog.Database;
 import com.starrocks.catalog.OlapTable;
 import com.starrocks.catalog.Partition;
@@ -438,4 +439,155 @@ public class StatisticsCollectJobTest extends PlanTestBase {
         collectSqlList = collectJob.buildCollectSQLList(1);
         Assert.assertEquals(50, collectSqlList.size());
     }
+
+    @Test
+    public void testIncrementalCollectPartitions() {
+        Database db = GlobalStateMgr.getCurrentState().getDb("test");
+        OlapTable table = (OlapTable) db.getTable("t0_stats_partition");
+        Partition p0 = table.getPartition("p0");
+
+        // no statistics before, collect all partitions with data
+        List<Partition> partitions = StatisticsCollectJobFactory.getChangedPartitions(table, null);
+        Assert.assertEquals(1, partitions.size());
+        Assert.assertEquals(p0.getId(), partitions.get(0).getId());
+
+        BasicStatsMeta basicStatsMeta = new BasicStatsMeta(db.getId(), table.getId(), null,
+                StatsConstants.AnalyzeType.FULL, LocalDateTime.MIN, Maps.newHashMap());
+        Map<Long, Long> versions = new HashMap<>();
+        versions.put(p0.getId(), p0.getVisibleVersion());
+        basicStatsMeta.setPartitionVersions(versions);
+        // the version of p0 is not changed, even though the update time is older than the partition
+        Assert.assertFalse(basicStatsMeta.isPartitionChanged(p0));
+        Assert.assertTrue(StatisticsCollectJobFactory.getChangedPartitions(table, basicStatsMeta).isEmpty());
+
+        versions.put(p0.getId(), p0.getVisibleVersion() - 1);
+        basicStatsMeta.setPartitionVersions(versions);
+        Assert.assertTrue(basicStatsMeta.isPartitionChanged(p0));
+        Assert.assertEquals(1, StatisticsCollectJobFactory.getChangedPartitions(table, basicStatsMeta).size());
+
+        // the versions of the partitions which are not collected this time are kept
+        Partition p1 = table.getPartition("p1");
+        Map<Long, Long> collected = new HashMap<>();
+        collected.put(p1.getId(), p1.getVisibleVersion());
+        Map<Long, Long> merged = StatisticExecutor.mergePartitionVersions(table, basicStatsMeta, collected);
+        Assert.assertEquals(2, merged.size());
+        Assert.assertEquals(p0.getVisibleVersion() - 1, (long) merged.get(p0.getId()));
+        Assert.assertEquals(p1.getVisibleVersion(), (long) merged.get(p1.getId()));
+
+        // the previous versions are useless if the previous statistics were collected by sample
+        BasicStatsMeta sampleMeta = new BasicStatsMeta(db.getId(), table.getId(), null,
+                StatsConstants.AnalyzeType.SAMPLE, LocalDateTime.MIN, Maps.newHashMap());
+        sampleMeta.setPartitionVersions(versions);
+        merged = StatisticExecutor.mergePartitionVersions(table, sampleMeta, collected);
+        Assert.assertEquals(1, merged.size());
+    }
+
+    @Test
+    public void testHistogramSketchChangedPartitions() {
+        Database db = GlobalStateMgr.getCurrentState().getDb("test");
+        OlapTable table = (OlapTable) db.getTable("t0_stats_partition");
+        Partition p0 = table.getPartition("p0");
+
+        // some column has no sketch before, collect all partitions
+        Assert.assertTrue(HistogramStatisticsCollectJob.isPartitionSketchChanged(null, p0));
+
+        HistogramStatsMeta v1 = new HistogramStatsMeta(db.getId(), table.getId(), "v1",
+                StatsConstants.AnalyzeType.HISTOGRAM, LocalDateTime.MIN, Maps.newHashMap());
+        HistogramStatsMeta v2 = new HistogramStatsMeta(db.getId(), table.getId(), "v2",
+                StatsConstants.AnalyzeType.HISTOGRAM, LocalDateTime.MIN, Maps.newHashMap());
+        // no version recorded, fall back to the update time
+        Assert.assertTrue(v1.isPartitionChanged(p0));
+
+        Map<Long, Long> versions = new HashMap<>();
+        versions.put(p0.getId(), p0.getVisibleVersion());
+        v1.setPartitionVersions(versions);
+        v2.setPartitionVersions(versions);
+        // the version of p0 is not changed, even though the update time is older than the partition
+        Assert.assertFalse(v1.isPartitionChanged(p0));
+        Assert.assertFalse(HistogramStatisticsCollectJob.isPartitionSketchChanged(Lists.newArrayList(v1, v2), p0));
+
+        // the sketches are collected for all columns together, collect again if any column is out of date
+        versions.put(p0.getId(), p0.getVisibleVersion() - 1);
+        v2.setPartitionVersions(versions);
+        Assert.assertTrue(HistogramStatisticsCollectJob.isPartitionSketchChanged(Lists.newArrayList(v1, v2), p0));
+    }
+
+    @Test
+    public void testMultiColumnStatisticsCollectSQL() {
+        Database db = GlobalStateMgr.getCurrentState().getDb("test");
+        OlapTable table = (OlapTable) db.getTable("t0_stats");
+        setTableStatistics(table, 20000000);
+        List<List<String>> groups = StatisticUtils.parseColumnGroups("v2, v3");
+        MultiColumnStatisticsCollectJob collectJob = new MultiColumnStatisticsCollectJob(db, table, groups,
+                StatsConstants.AnalyzeType.FULL, StatsConstants.ScheduleType.ONCE, Maps.newHashMap());
+        Assert.assertEquals(Lists.newArrayList("v2", "v3"), collectJob.getColumns());
+
+        // 20000000 rows in 3 tablets, only one tablet is read
+        SampleStatisticsCollectJob.TabletSample sample = SampleStatisticsCollectJob.sampleTablets(table, 200000);
+        Assert.assertEquals(100, sample.ratio);
+        Assert.assertTrue(sample.hints.contains("Tablet("));
+
+        String mcvSql = collectJob.buildCollectMCV(db, table, sample, 100L, groups.get(0));
+        assertContains(mcvSql, "from (select `v2`, `v3` from test.t0_stats " + sample.hints + ") t0");
+        assertContains(mcvSql, "where `v2` is not null and `v3` is not null group by `v2`, `v3`");
+        assertContains(mcvSql, "limit 100");
+
+        String statsSql = collectJob.buildCollectMultiColumnStatistics(db, table, sample, groups.get(0),
+                new JsonArray());
+        assertContains(statsSql, "INSERT INTO " + StatsConstants.MULTI_COLUMN_STATISTICS_TABLE_NAME);
+        assertContains(statsSql, "FROM test.t0_stats " + sample.hints + ") as t0");
+        // the number of distinct combinations is scaled to the whole table
+        assertContains(statsSql, "SUM(IF(t1.count = 1, 1, 0)) * SUM(t1.count) / 20000000");
+
+        // the whole table is read
+        SampleStatisticsCollectJob.TabletSample fullSample =
+                new SampleStatisticsCollectJob.TabletSample(" LIMIT 200000", 1, 100000);
+        statsSql = collectJob.buildCollectMultiColumnStatistics(db, table, fullSample, groups.get(0),
+                new JsonArray());
+        assertContains(statsSql, "'v2,v3', " + db.getId() + ", 'test.t0_stats', COUNT(1), IFNULL(SUM(t1.count), 0)");
+    }
+
+    @Test
+    public void testNeedCollectMultiColumnStatistics() {
+        Database db = GlobalStateMgr.getCurrentState().getDb("test");
+        OlapTable table = (OlapTable) db.getTable("t0_stats");
+        Map<String, String> declared = Maps.newHashMap();
+        declared.put(StatsConstants.MULTI_COLUMN_STATS, "v2,v3");
+
+        // declared explicitly
+        Assert.assertTrue(StatisticExecutor.needCollectMultiColumnStatistics(new SampleStatisticsCollectJob(db, table,
+                Lists.newArrayList("v2", "v3"), StatsConstants.AnalyzeType.SAMPLE, StatsConstants.ScheduleType.ONCE,
+                declared)));
+        // inherited by the sample collection
+        Assert.assertFalse(StatisticExecutor.needCollectMultiColumnStatistics(new SampleStatisticsCollectJob(db,
+                table, Lists.newArrayList("v2", "v3"), StatsConstants.AnalyzeType.SAMPLE,
+                StatsConstants.ScheduleType.SCHEDULE, Maps.newHashMap())));
+        // inherited by the full collection of changed partitions
+        List<Long> partitionIds = table.getPartitions().stream().map(Partition::getId).collect(Collectors.toList());
+        Assert.assertTrue(StatisticExecutor.needCollectMultiColumnStatistics(new FullStatisticsCollectJob(db, table,
+                partitionIds, Lists.newArrayList("v2", "v3"), StatsConstants.AnalyzeType.FULL,
+                StatsConstants.ScheduleType.SCHEDULE, Maps.newHashMap())));
+        Assert.assertFalse(StatisticExecutor.needCollectMultiColumnStatistics(new FullStatisticsCollectJob(db, table,
+                Lists.newArrayList(), Lists.newArrayList("v2", "v3"), StatsConstants.AnalyzeType.FULL,
+                StatsConstants.ScheduleType.SCHEDULE, Maps.newHashMap())));
+    }
+
+    @Test
+    public void testBuildBucketsFromQuantiles() {
+        Map<String, Long> mostCommonValues = new HashMap<>();
+        mostCommonValues.put("5", 50L);
+        String buckets = HistogramStatisticsCollectJob.buildBucketsFromQuantiles(
+                Lists.newArrayList(0.0, 10.0, 20.0, 30.0, 40.0), 400, 40, mostCommonValues);
+        // the rows of most common value are excluded from the first bucket
+        Assert.assertEquals("[[\"0.0\",\"10.0\",\"50\",\"5\"],[\"10.0\",\"20.0\",\"150\",\"10\"]," +
+                "[\"20.0\",\"30.0\",\"250\",\"10\"],[\"30.0\",\"40.0\",\"350\",\"10\"]]", buckets);
+
+        // the buckets with the same upper bound are merged
+        buckets = HistogramStatisticsCollectJob.buildBucketsFromQuantiles(
+                Lists.newArrayList(0.0, 5.0, 5.0, 10.0), 300, 3, new HashMap<>());
+        Assert.assertEquals("[[\"0.0\",\"5.0\",\"200\",\"200\"],[\"5.0\",\"10.0\",\"300\",\"100\"]]", buckets);
+
+        Assert.assertEquals("[]", HistogramStatisticsCollectJob.buildBucketsFromQuantiles(
+                Lists.newArrayList(0.0, 10.0), 0, 0, new HashMap<>()));
+    }
 }
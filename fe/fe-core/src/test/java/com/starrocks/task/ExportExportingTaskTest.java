@@ -0,0 +1,106 @@
+// Copyright 2021-present StarRocks, Inc. All rights reserved.
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//     https://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package com.starrocks.task;
+
+import com.google.common.collect.Lists;
+import com.google.common.collect.Maps;
+import com.google.common.collect.Sets;
+import com.starrocks.analysis.BrokerDesc;
+import com.starrocks.common.Status;
+import com.starrocks.common.UserException;
+import com.starrocks.fs.HdfsUtil;
+import com.starrocks.load.ExportJob;
+import mockit.Expectations;
+import mockit.Mock;
+import mockit.MockUp;
+import mockit.Mocked;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+public class ExportExportingTaskTest {
+
+    @Test
+    public void testWriteManifest(@Mocked ExportJob job) {
+        new Expectations() {
+            {
+                job.getCoordList();
+                result = Lists.newArrayList();
+                minTimes = 0;
+
+                job.getExportedFiles();
+                result = Sets.newHashSet("hdfs://127.0.0.1:9000/export/b.csv", "hdfs://127.0.0.1:9000/export/a.csv");
+                minTimes = 0;
+
+                job.getManifestPath();
+                result = "hdfs://127.0.0.1:9000/export/__starrocks_export_manifest_1";
+                minTimes = 0;
+
+                job.getExportTempPath();
+                result = "hdfs://127.0.0.1:9000/export/__starrocks_export_tmp_1";
+                minTimes = 0;
+
+                job.getBrokerDesc();
+                result = new BrokerDesc(Maps.newHashMap());
+                minTimes = 0;
+
+                job.getTimeoutSecond();
+                result = 3600;
+                minTimes = 0;
+
+                job.getCreateTimeMs();
+                result = System.currentTimeMillis();
+                minTimes = 0;
+            }
+        };
+
+        List<String> written = Lists.newArrayList();
+        List<String> renamed = Lists.newArrayList();
+        new MockUp<HdfsUtil>() {
+            @Mock
+            public void writeFile(byte[] data, String destFilePath, BrokerDesc brokerDesc) {
+                written.add(destFilePath);
+                written.add(new String(data, StandardCharsets.UTF_8));
+            }
+
+            @Mock
+            public void rename(String origFilePath, String destFilePath, BrokerDesc brokerDesc, int timeoutMs) {
+                renamed.add(origFilePath);
+                renamed.add(destFilePath);
+            }
+        };
+
+        ExportExportingTask task = new ExportExportingTask(job);
+        Assert.assertTrue(task.writeManifest().ok());
+        // the manifest lists the final files in order, and is renamed into place from the temp dir
+        Assert.assertEquals(Lists.newArrayList("hdfs://127.0.0.1:9000/export/__starrocks_export_tmp_1/manifest",
+                "hdfs://127.0.0.1:9000/export/a.csv\nhdfs://127.0.0.1:9000/export/b.csv\n"), written);
+        Assert.assertEquals(Lists.newArrayList("hdfs://127.0.0.1:9000/export/__starrocks_export_tmp_1/manifest",
+                "hdfs://127.0.0.1:9000/export/__starrocks_export_manifest_1"), renamed);
+
+        new MockUp<HdfsUtil>() {
+            @Mock
+            public void rename(String origFilePath, String destFilePath, BrokerDesc brokerDesc, int timeoutMs)
+                    throws UserException {
+                throw new UserException("rename failed");
+            }
+        };
+        Status status = task.writeManifest();
+        Assert.assertFalse(status.ok());
+        Assert.assertEquals("rename failed", status.getErrorMsg());
+    }
+}
@@ -55,8 +55,10 @@ import org.junit.rules.ExpectedException;
 import java.lang.reflect.InvocationTargetException;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CountDownLatch;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNull;
 import static org.junit.Assert.assertTrue;
 
@@ -184,6 +186,65 @@ public class DatabaseTransactionMgrTest {
 
     }
 
+    @Test(timeout = 60000)
+    public void testCommitUnderTransactionReadLock() throws Exception {
+        DatabaseTransactionMgr masterDbTransMgr = masterTransMgr.getDatabaseTransactionMgr(GlobalStateMgrTestUtil.testDbId1);
+        CountDownLatch locked = new CountDownLatch(1);
+        CountDownLatch committed = new CountDownLatch(1);
+        Thread reader = new Thread(() -> {
+            masterDbTransMgr.readLock();
+            try {
+                locked.countDown();
+                committed.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } finally {
+                masterDbTransMgr.readUnlock();
+            }
+        });
+        reader.start();
+        locked.await();
+        try {
+            // commit only takes the read lock of the transaction lock, it doesn't wait for the reader
+            long txnId3 = lableToTxnId.get(GlobalStateMgrTestUtil.testTxnLable3);
+            List<TabletCommitInfo> transTablets = Lists.newArrayList(
+                    new TabletCommitInfo(GlobalStateMgrTestUtil.testTabletId1, GlobalStateMgrTestUtil.testBackendId1),
+                    new TabletCommitInfo(GlobalStateMgrTestUtil.testTabletId1, GlobalStateMgrTestUtil.testBackendId2),
+                    new TabletCommitInfo(GlobalStateMgrTestUtil.testTabletId1, GlobalStateMgrTestUtil.testBackendId3));
+            masterTransMgr.commitTransaction(GlobalStateMgrTestUtil.testDbId1, txnId3, transTablets);
+            TransactionState txn3 = masterDbTransMgr.getTransactionState(txnId3);
+            assertEquals(TransactionStatus.COMMITTED, txn3.getTransactionStatus());
+            TransactionState txn1 =
+                    masterDbTransMgr.getTransactionState(lableToTxnId.get(GlobalStateMgrTestUtil.testTxnLable1));
+            assertTrue(txn3.getCommitTime() > txn1.getCommitTime());
+            assertEquals(1, masterDbTransMgr.getCommittedTxnList().size());
+        } finally {
+            committed.countDown();
+            reader.join();
+        }
+    }
+
+    @Test
+    public void testGetRunningTxnsOfTables() throws UserException {
+        DatabaseTransactionMgr masterDbTransMgr = masterTransMgr.getDatabaseTransactionMgr(GlobalStateMgrTestUtil.testDbId1);
+        // txn1 is visible, the other 3 txns are running
+        List<TransactionState> runningTxns =
+                masterDbTransMgr.getRunningTxnsOfTables(Lists.newArrayList(GlobalStateMgrTestUtil.testTableId1));
+        assertEquals(3, runningTxns.size());
+        assertTrue(runningTxns.stream().noneMatch(
+                t -> t.getTransactionId() == lableToTxnId.get(GlobalStateMgrTestUtil.testTxnLable1)));
+        assertEquals(0, masterDbTransMgr.getRunningTxnsOfTables(Lists.newArrayList(-100L)).size());
+
+        long txnId2 = lableToTxnId.get(GlobalStateMgrTestUtil.testTxnLable2);
+        masterDbTransMgr.abortTransaction(txnId2, "test", null);
+        runningTxns = masterDbTransMgr.getRunningTxnsOfTables(Lists.newArrayList(GlobalStateMgrTestUtil.testTableId1));
+        assertEquals(2, runningTxns.size());
+        assertEquals(TransactionStatus.ABORTED, masterDbTransMgr.getTransactionState(txnId2).getTransactionStatus());
+        assertFalse(masterDbTransMgr.isPreviousTransactionsFinished(Long.MAX_VALUE,
+                Lists.newArrayList(GlobalStateMgrTestUtil.testTableId1)));
+        assertTrue(masterDbTransMgr.isPreviousTransactionsFinished(Long.MAX_VALUE, Lists.newArrayList(-100L)));
+    }
+
     @Test
     public void testAbortTransaction() throws UserException {
         DatabaseTransactionMgr masterDbTransMgr = masterTransMgr.getDatabaseTransactionMgr(GlobalStateMgrTestUtil.testDbId1);
@@ -37,6 +37,7 @@ package com.starrocks.transaction;
 import com.google.common.collect.Lists;
 import com.google.common.collect.Maps;
 import com.google.common.collect.Sets;
+import com.starrocks.catalog.Database;
 import com.starrocks.catalog.FakeEditLog;
 import com.starrocks.catalog.FakeGlobalStateMgr;
 import com.starrocks.catalog.GlobalStateMgrTestUtil;
@@ -85,6 +86,8 @@ import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.stream.Collectors;
 
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertNotNull;
@@ -522,6 +525,168 @@ public class GlobalTransactionMgrTest {
         assertTrue(GlobalStateMgrTestUtil.compareState(masterGlobalStateMgr, slaveGlobalStateMgr));
     }
 
+    @Test
+    public void testFinishTransactionBatch() throws UserException {
+        List<TransactionState> transactionStates = Lists.newArrayList();
+        Map<Long, Set<Long>> txnIdToErrorReplicas = Maps.newHashMap();
+        for (String label : Lists.newArrayList(GlobalStateMgrTestUtil.testTxnLable1,
+                GlobalStateMgrTestUtil.testTxnLable2)) {
+            long transactionId = masterTransMgr
+                    .beginTransaction(GlobalStateMgrTestUtil.testDbId1,
+                            Lists.newArrayList(GlobalStateMgrTestUtil.testTableId1), label, transactionSource,
+                            LoadJobSourceType.FRONTEND, Config.stream_load_default_timeout_second);
+            List<TabletCommitInfo> transTablets = Lists.newArrayList();
+            transTablets.add(new TabletCommitInfo(GlobalStateMgrTestUtil.testTabletId1,
+                    GlobalStateMgrTestUtil.testBackendId1));
+            transTablets.add(new TabletCommitInfo(GlobalStateMgrTestUtil.testTabletId1,
+                    GlobalStateMgrTestUtil.testBackendId2));
+            transTablets.add(new TabletCommitInfo(GlobalStateMgrTestUtil.testTabletId1,
+                    GlobalStateMgrTestUtil.testBackendId3));
+            masterTransMgr.commitTransaction(GlobalStateMgrTestUtil.testDbId1, transactionId, transTablets);
+            transactionStates.add(fakeEditLog.getTransaction(transactionId));
+            txnIdToErrorReplicas.put(transactionId, Sets.newHashSet());
+        }
+
+        masterTransMgr.finishTransactionBatch(GlobalStateMgrTestUtil.testDbId1, transactionStates,
+                txnIdToErrorReplicas);
+        for (TransactionState transactionState : transactionStates) {
+            assertEquals(TransactionStatus.VISIBLE,
+                    fakeEditLog.getTransaction(transactionState.getTransactionId()).getTransactionStatus());
+        }
+        Partition testPartition =
+                masterGlobalStateMgr.getDb(GlobalStateMgrTestUtil.testDbId1).getTable(GlobalStateMgrTestUtil.testTableId1)
+                        .getPartition(GlobalStateMgrTestUtil.testPartition1);
+        assertEquals(GlobalStateMgrTestUtil.testStartVersion + 2, testPartition.getVisibleVersion());
+        assertEquals(GlobalStateMgrTestUtil.testStartVersion + 3, testPartition.getNextVersion());
+    }
+
+    @Test
+    public void testPublishTransactionChainNew() throws UserException {
+        // consecutive txns on the same table are published and finished together with the default config
+        Assert.assertTrue(Config.enable_new_publish_mechanism);
+        List<Long> transactionIds = Lists.newArrayList();
+        for (String label : Lists.newArrayList(GlobalStateMgrTestUtil.testTxnLable1,
+                GlobalStateMgrTestUtil.testTxnLable2)) {
+            long transactionId = masterTransMgr
+                    .beginTransaction(GlobalStateMgrTestUtil.testDbId1,
+                            Lists.newArrayList(GlobalStateMgrTestUtil.testTableId1), label, transactionSource,
+                            LoadJobSourceType.FRONTEND, Config.stream_load_default_timeout_second);
+            List<TabletCommitInfo> transTablets = Lists.newArrayList();
+            transTablets.add(new TabletCommitInfo(GlobalStateMgrTestUtil.testTabletId1,
+                    GlobalStateMgrTestUtil.testBackendId1));
+            transTablets.add(new TabletCommitInfo(GlobalStateMgrTestUtil.testTabletId1,
+                    GlobalStateMgrTestUtil.testBackendId2));
+            transTablets.add(new TabletCommitInfo(GlobalStateMgrTestUtil.testTabletId1,
+                    GlobalStateMgrTestUtil.testBackendId3));
+            masterTransMgr.commitTransaction(GlobalStateMgrTestUtil.testDbId1, transactionId, transTablets);
+            transactionIds.add(transactionId);
+        }
+
+        List<TransactionState> readyTxns = masterTransMgr.getReadyToPublishTransactions(true);
+        assertEquals(transactionIds,
+                readyTxns.stream().map(TransactionState::getTransactionId).collect(Collectors.toList()));
+
+        int maxBatchTxnNum = Config.publish_version_max_batch_txn_num;
+        Config.publish_version_max_batch_txn_num = 1;
+        try {
+            // only the first txn is ready without batching
+            readyTxns = masterTransMgr.getReadyToPublishTransactions(true);
+            assertEquals(1, readyTxns.size());
+            assertEquals(transactionIds.get(0), Long.valueOf(readyTxns.get(0).getTransactionId()));
+        } finally {
+            Config.publish_version_max_batch_txn_num = maxBatchTxnNum;
+        }
+
+        readyTxns = masterTransMgr.getReadyToPublishTransactions(true);
+        Map<Long, Set<Long>> txnIdToErrorReplicas = Maps.newHashMap();
+        transactionIds.forEach(txnId -> txnIdToErrorReplicas.put(txnId, Sets.newHashSet()));
+        List<TransactionState> finishedTxns = masterTransMgr.finishTransactionNewBatch(
+                GlobalStateMgrTestUtil.testDbId1, readyTxns, txnIdToErrorReplicas);
+        assertEquals(2, finishedTxns.size());
+        for (long transactionId : transactionIds) {
+            assertEquals(TransactionStatus.VISIBLE, fakeEditLog.getTransaction(transactionId).getTransactionStatus());
+        }
+        Partition testPartition =
+                masterGlobalStateMgr.getDb(GlobalStateMgrTestUtil.testDbId1).getTable(GlobalStateMgrTestUtil.testTableId1)
+                        .getPartition(GlobalStateMgrTestUtil.testPartition1);
+        assertEquals(GlobalStateMgrTestUtil.testStartVersion + 2, testPartition.getVisibleVersion());
+        assertTrue(masterTransMgr.getReadyToPublishTransactions(true).isEmpty());
+    }
+
+    @Test
+    public void testCommitTablesConcurrently() throws Exception {
+        FakeGlobalStateMgr.setGlobalStateMgr(masterGlobalStateMgr);
+        boolean enableTableLevelLock = Config.enable_table_level_lock;
+        Config.enable_table_level_lock = true;
+        Database db = masterGlobalStateMgr.getDb(GlobalStateMgrTestUtil.testDbId1);
+        try {
+            List<TabletCommitInfo> transTablets = Lists.newArrayList();
+            transTablets.add(new TabletCommitInfo(GlobalStateMgrTestUtil.testTabletId1,
+                    GlobalStateMgrTestUtil.testBackendId1));
+            transTablets.add(new TabletCommitInfo(GlobalStateMgrTestUtil.testTabletId1,
+                    GlobalStateMgrTestUtil.testBackendId2));
+            transTablets.add(new TabletCommitInfo(GlobalStateMgrTestUtil.testTabletId1,
+                    GlobalStateMgrTestUtil.testBackendId3));
+
+            // another table of the database is being committed
+            long txnId1 = masterTransMgr.beginTransaction(GlobalStateMgrTestUtil.testDbId1,
+                    Lists.newArrayList(GlobalStateMgrTestUtil.testTableId1), GlobalStateMgrTestUtil.testTxnLable1,
+                    transactionSource, LoadJobSourceType.FRONTEND, Config.stream_load_default_timeout_second);
+            holdTableLock(db, GlobalStateMgrTestUtil.testEsTableId1, () -> {
+                // publish is not done, only the commit is checked
+                Assert.assertFalse(masterTransMgr.commitAndPublishTransaction(db, txnId1, transTablets,
+                        Lists.newArrayList(), 100));
+            });
+            assertEquals(TransactionStatus.COMMITTED, fakeEditLog.getTransaction(txnId1).getTransactionStatus());
+
+            // the same table is being committed
+            long txnId2 = masterTransMgr.beginTransaction(GlobalStateMgrTestUtil.testDbId1,
+                    Lists.newArrayList(GlobalStateMgrTestUtil.testTableId1), GlobalStateMgrTestUtil.testTxnLable2,
+                    transactionSource, LoadJobSourceType.FRONTEND, Config.stream_load_default_timeout_second);
+            holdTableLock(db, GlobalStateMgrTestUtil.testTableId1, () -> {
+                try {
+                    masterTransMgr.commitAndPublishTransaction(db, txnId2, transTablets, Lists.newArrayList(), 100);
+                    Assert.fail("should throw lock timeout exception");
+                } catch (UserException e) {
+                    Assert.assertTrue(e.getMessage().contains("get database write lock timeout"));
+                }
+            });
+            assertEquals(TransactionStatus.PREPARE, masterTransMgr.getTransactionState(
+                    GlobalStateMgrTestUtil.testDbId1, txnId2).getTransactionStatus());
+        } finally {
+            Config.enable_table_level_lock = enableTableLevelLock;
+        }
+    }
+
+    private interface LockedAction {
+        void run() throws Exception;
+    }
+
+    // run the action while another thread holds the write lock of the table
+    private static void holdTableLock(Database db, long tableId, LockedAction action) throws Exception {
+        CountDownLatch locked = new CountDownLatch(1);
+        CountDownLatch done = new CountDownLatch(1);
+        Thread holder = new Thread(() -> {
+            db.writeLockTables(Lists.newArrayList(tableId));
+            try {
+                locked.countDown();
+                done.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } finally {
+                db.writeUnlockTables(Lists.newArrayList(tableId));
+            }
+        });
+        holder.start();
+        locked.await();
+        try {
+            action.run();
+        } finally {
+            done.countDown();
+            holder.join();
+        }
+    }
+
     @Test
     public void testFinishTransactionWithOneFailed() throws UserException {
         TransactionState transactionState = null;
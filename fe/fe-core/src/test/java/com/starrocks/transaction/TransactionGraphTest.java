@@ -90,6 +90,24 @@ public class TransactionGraphTest {
         assertEquals(graph.getTxnsWithoutDependency().size(), 0);
     }
 
+    @Test
+    public void testTxnsWithTxnDependencyBatch() {
+        TransactionGraph graph = new TransactionGraph();
+        graph.add(1, Lists.newArrayList(1L));
+        graph.add(2, Lists.newArrayList(2L));
+        graph.add(3, Lists.newArrayList(1L));
+        graph.add(4, Lists.newArrayList(1L, 2L));
+        graph.add(5, Lists.newArrayList(1L));
+        graph.add(6, Lists.newArrayList(2L));
+        assertEquals(Lists.newArrayList(1L, 2L), graph.getTxnsWithTxnDependencyBatch(1));
+        // 4 depends on both 3 and 2, it is returned after all its dependencies
+        assertEquals(Lists.newArrayList(1L, 2L, 3L, 4L), graph.getTxnsWithTxnDependencyBatch(3));
+        assertEquals(Lists.newArrayList(1L, 2L, 3L, 4L, 5L, 6L), graph.getTxnsWithTxnDependencyBatch(10));
+        graph.remove(1);
+        graph.remove(2);
+        assertEquals(Lists.newArrayList(3L, 4L), graph.getTxnsWithTxnDependencyBatch(2));
+    }
+
     @Test
     public void testLargeGraph() {
         TransactionGraph graph = new TransactionGraph();
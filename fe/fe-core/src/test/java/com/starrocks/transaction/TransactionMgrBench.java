@@ -0,0 +1,122 @@
+// Copyright 2021-present StarRocks, Inc. All rights reserved.
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//     https://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package com.starrocks.transaction;
+
+import com.google.common.collect.Lists;
+import com.starrocks.server.GlobalStateMgr;
+import com.starrocks.thrift.TUniqueId;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Group;
+import org.openjdk.jmh.annotations.GroupThreads;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Simulate thousands of concurrent loads into one database: most threads look up transaction states
+ * (stream load status, publish checks), while one thread keeps committing transactions.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@State(Scope.Benchmark)
+@Fork(value = 1)
+@Warmup(iterations = 1)
+@Measurement(iterations = 3)
+public class TransactionMgrBench {
+
+    public static void main(String[] args) throws RunnerException {
+        Options opt = new OptionsBuilder()
+                .include(TransactionMgrBench.class.getSimpleName())
+                .build();
+        new Runner(opt).run();
+    }
+
+    private static final long DB_ID = 1L;
+
+    @Param({"5000"})
+    public int runningTxnNum;
+
+    @Param({"100"})
+    public int tableNum;
+
+    private DatabaseTransactionMgr txnMgr;
+    private TransactionState[] txnStates;
+
+    @Setup
+    public void setup() {
+        txnMgr = new DatabaseTransactionMgr(DB_ID, GlobalStateMgr.getCurrentState(), new TransactionIdGenerator());
+        txnStates = new TransactionState[runningTxnNum];
+        TransactionState.TxnCoordinator coordinator =
+                new TransactionState.TxnCoordinator(TransactionState.TxnSourceType.BE, "127.0.0.1");
+        txnMgr.writeLock();
+        try {
+            for (int i = 0; i < runningTxnNum; i++) {
+                TransactionState state = new TransactionState(DB_ID, Lists.newArrayList((long) (i % tableNum)),
+                        i + 1, "label_" + i, new TUniqueId(0, i), TransactionState.LoadJobSourceType.BACKEND_STREAMING,
+                        coordinator, -1, 3600 * 1000L);
+                state.setTransactionStatus(TransactionStatus.PREPARE);
+                txnMgr.unprotectUpsertTransactionState(state, true);
+                txnStates[i] = state;
+            }
+        } finally {
+            txnMgr.writeUnlock();
+        }
+    }
+
+    @Benchmark
+    @Group("load")
+    @GroupThreads(15)
+    public TransactionState getTransactionState() {
+        return txnMgr.getTransactionState((long) ThreadLocalRandom.current().nextInt(runningTxnNum) + 1);
+    }
+
+    @Benchmark
+    @Group("load")
+    @GroupThreads(1)
+    public void commitTransaction() {
+        TransactionState state = txnStates[ThreadLocalRandom.current().nextInt(runningTxnNum)];
+        txnMgr.writeLock();
+        try {
+            // keep the transaction running, so the number of running transactions doesn't change
+            state.setTransactionStatus(state.getTransactionStatus() == TransactionStatus.PREPARE ?
+                    TransactionStatus.COMMITTED : TransactionStatus.PREPARE);
+            txnMgr.unprotectUpsertTransactionState(state, true);
+        } finally {
+            txnMgr.writeUnlock();
+        }
+    }
+
+    @Benchmark
+    @Group("watermark")
+    @GroupThreads(16)
+    public boolean isPreviousTransactionsFinished() {
+        long tableId = ThreadLocalRandom.current().nextInt(tableNum);
+        return txnMgr.isPreviousTransactionsFinished(runningTxnNum / 2, Lists.newArrayList(tableId));
+    }
+}
@@ -237,12 +237,13 @@ public class GlobalDictBuilder {
         submitWorker(globalDictBuildWorkers);
     }
 
-    // encode starrocksIntermediateHiveTable's distinct column
+    // encode starrocksIntermediateHiveTable's distinct columns in one pass,
+    // instead of rewriting the whole intermediate table once for each distinct column
     public void encodeStarRocksIntermediateHiveTable() {
-        for (Object distinctColumnObj : dictColumn.keySet()) {
-            spark.sql(getEncodeStarRocksIntermediateHiveTableSql(distinctColumnObj.toString(),
-                    (ArrayList) dictColumn.get(distinctColumnObj.toString())));
+        if (dictColumn.isEmpty()) {
+            return;
         }
+        spark.sql(getEncodeStarRocksIntermediateHiveTableSql());
     }
 
     private String getCreateIntermediateHiveTableSql() {
@@ -303,8 +304,8 @@ public class GlobalDictBuilder {
     }
 
     private void buildGlobalDictBySplit(long maxGlobalDictValue, String distinctColumnName) {
-        // 1. get distinct value
-        Dataset<Row> newDistinctValue = spark.sql(getNewDistinctValue(distinctColumnName));
+        // 1. get distinct value, which is used by the count and the insert of every split
+        Dataset<Row> newDistinctValue = spark.sql(getNewDistinctValue(distinctColumnName)).persist();
 
         // 2. split the newDistinctValue to avoid window functions' single node bottleneck
         Dataset<Row>[] splitedDistinctValue = newDistinctValue.randomSplit(getRandomSplitWeights());
@@ -323,18 +324,23 @@ public class GlobalDictBuilder {
             distinctValueFrame.createOrReplaceTempView(tmpDictTableName);
         }
 
-        spark.sql(getSplitBuildGlobalDictSql(distinctKeyMap, distinctColumnName));
-
+        if (currentMaxDictValue > maxGlobalDictValue) {
+            spark.sql(getSplitBuildGlobalDictSql(distinctKeyMap, distinctColumnName));
+        }
+        newDistinctValue.unpersist();
     }
 
     private String getSplitBuildGlobalDictSql(Map<String, Long> distinctKeyMap, String distinctColumnName) {
         StringBuilder sql = new StringBuilder();
-        sql.append("insert overwrite table ").append(globalDictTableName).append(" partition(dict_column='")
-                .append(distinctColumnName).append("') ")
-                .append(" select dict_key,dict_value from ").append(globalDictTableName).append(" where dict_column='")
-                .append(distinctColumnName).append("' ");
+        sql.append("insert into table ").append(globalDictTableName).append(" partition(dict_column='")
+                .append(distinctColumnName).append("') ");
+        boolean first = true;
         for (Map.Entry<String, Long> entry : distinctKeyMap.entrySet()) {
-            sql.append(" union all select dict_key, (row_number() over(order by dict_key)) ")
+            if (!first) {
+                sql.append(" union all ");
+            }
+            first = false;
+            sql.append(" select dict_key, (row_number() over(order by dict_key)) ")
                     .append(String.format(" +(%s) as dict_value from %s", entry.getValue(), entry.getKey()));
         }
         return sql.toString();
@@ -356,11 +362,10 @@ public class GlobalDictBuilder {
         return weights;
     }
 
+    // only append the new distinct values to the global dict, the existing values are not rewritten
     private String getBuildGlobalDictSql(long maxGlobalDictValue, String distinctColumnName) {
-        return "insert overwrite table " + globalDictTableName + " partition(dict_column='" + distinctColumnName + "') "
-                + " select dict_key,dict_value from " + globalDictTableName + " where dict_column='" +
-                distinctColumnName + "' "
-                + " union all select t1.dict_key as dict_key,(row_number() over(order by t1.dict_key)) + (" +
+        return "insert into table " + globalDictTableName + " partition(dict_column='" + distinctColumnName + "') "
+                + " select t1.dict_key as dict_key,(row_number() over(order by t1.dict_key)) + (" +
                 maxGlobalDictValue + ") as dict_value from "
                 + "(select dict_key from " + distinctKeyTableName + " where dict_column='" + distinctColumnName +
                 "' and dict_key is not null)t1 left join "
@@ -379,31 +384,52 @@ public class GlobalDictBuilder {
 
     }
 
-    private String getEncodeStarRocksIntermediateHiveTableSql(String dictColumn, List<String> childColumn) {
+    private String getEncodeStarRocksIntermediateHiveTableSql() {
+        // dict column -> alias of its joined global dict
+        Map<String, String> dictAlias = new HashMap<>();
+        // reused column -> alias of the global dict of the column it reuses
+        Map<String, String> childAlias = new HashMap<>();
+        List<String> broadcastAlias = new ArrayList<>();
+        for (Object dictColumnObj : dictColumn.keySet()) {
+            String dictColumnName = dictColumnObj.toString();
+            String alias = "t" + dictAlias.size();
+            dictAlias.put(dictColumnName, alias);
+            List<String> childColumn = (ArrayList) dictColumn.get(dictColumnName);
+            if (childColumn != null) {
+                childColumn.forEach(columnName -> childAlias.put(columnName, alias));
+            }
+            if (mapSideJoinColumns.contains(dictColumnName)) {
+                broadcastAlias.add(alias);
+            }
+        }
+
         StringBuilder sql = new StringBuilder();
         sql.append("insert overwrite table ").append(starrocksIntermediateHiveTable).append(" select ");
         // using map join to solve distinct column data skew
         // here is a spark sql hint
-        if (mapSideJoinColumns.size() != 0 && mapSideJoinColumns.contains(dictColumn)) {
-            sql.append(" /*+ BROADCAST (t) */ ");
+        if (!broadcastAlias.isEmpty()) {
+            sql.append(" /*+ BROADCAST (").append(String.join(", ", broadcastAlias)).append(") */ ");
         }
         intermediateTableColumnList.forEach(columnName -> {
-            if (dictColumn.equals(columnName)) {
-                sql.append("t.dict_value").append(" ,");
+            if (dictAlias.containsKey(columnName)) {
+                sql.append(dictAlias.get(columnName)).append(".dict_value").append(" ,");
                 // means the dictColumn is reused
-            } else if (childColumn != null && childColumn.contains(columnName)) {
-                sql.append(String.format(" if(%s is null, null, t.dict_value) ", columnName)).append(" ,");
+            } else if (childAlias.containsKey(columnName)) {
+                sql.append(String.format(" if(%s.%s is null, null, %s.dict_value) ", starrocksIntermediateHiveTable,
+                        columnName, childAlias.get(columnName))).append(" ,");
             } else {
                 sql.append(starrocksIntermediateHiveTable).append(".").append(columnName).append(" ,");
             }
         });
         sql.deleteCharAt(sql.length() - 1)
                 .append(" from ")
-                .append(starrocksIntermediateHiveTable)
-                .append(" LEFT OUTER JOIN ( select dict_key,dict_value from ").append(globalDictTableName)
-                .append(" where dict_column='").append(dictColumn).append("' ) t on ")
-                .append(starrocksIntermediateHiveTable).append(".").append(dictColumn)
-                .append(" = t.dict_key ");
+                .append(starrocksIntermediateHiveTable);
+        for (Map.Entry<String, String> entry : dictAlias.entrySet()) {
+            sql.append(" LEFT OUTER JOIN ( select dict_key,dict_value from ").append(globalDictTableName)
+                    .append(" where dict_column='").append(entry.getKey()).append("' ) ").append(entry.getValue())
+                    .append(" on ").append(starrocksIntermediateHiveTable).append(".").append(entry.getKey())
+                    .append(" = ").append(entry.getValue()).append(".dict_key ");
+        }
         return sql.toString();
     }
 
@@ -18,16 +18,82 @@
 package com.starrocks.load.loadv2.dpp;
 
 import com.esotericsoftware.kryo.Kryo;
+import com.esotericsoftware.kryo.KryoException;
+import com.esotericsoftware.kryo.Serializer;
+import com.esotericsoftware.kryo.io.Input;
+import com.esotericsoftware.kryo.io.Output;
 import org.apache.spark.serializer.KryoRegistrator;
 
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+
 /**
  * register etl classes with Kryo when using Kryo serialization.
+ * bitmaps are serialized in their compact roaring format instead of field by field.
  */
 public class StarRocksKryoRegistrator implements KryoRegistrator {
 
     @Override
     public void registerClasses(Kryo kryo) {
-        kryo.register(Roaring64Map.class);
-        kryo.register(BitmapValue.class);
+        kryo.register(Roaring64Map.class, new Roaring64MapSerializer());
+        kryo.register(BitmapValue.class, new BitmapValueSerializer());
+    }
+
+    public static class BitmapValueSerializer extends Serializer<BitmapValue> {
+        @Override
+        public void write(Kryo kryo, Output output, BitmapValue bitmapValue) {
+            try {
+                DataOutputStream out = new DataOutputStream(output);
+                bitmapValue.serialize(out);
+                out.flush();
+            } catch (IOException e) {
+                throw new KryoException(e);
+            }
+        }
+
+        @Override
+        public BitmapValue read(Kryo kryo, Input input, Class<BitmapValue> type) {
+            try {
+                BitmapValue bitmapValue = new BitmapValue();
+                bitmapValue.deserialize(new DataInputStream(input));
+                return bitmapValue;
+            } catch (IOException e) {
+                throw new KryoException(e);
+            }
+        }
+    }
+
+    public static class Roaring64MapSerializer extends Serializer<Roaring64Map> {
+        @Override
+        public void write(Kryo kryo, Output output, Roaring64Map bitmap) {
+            try {
+                DataOutputStream out = new DataOutputStream(output);
+                // an empty bitmap writes nothing, so write the type by ourselves
+                if (bitmap.isEmpty()) {
+                    out.writeByte(BitmapValue.EMPTY);
+                } else {
+                    bitmap.serialize(out);
+                }
+                out.flush();
+            } catch (IOException e) {
+                throw new KryoException(e);
+            }
+        }
+
+        @Override
+        public Roaring64Map read(Kryo kryo, Input input, Class<Roaring64Map> type) {
+            try {
+                DataInputStream in = new DataInputStream(input);
+                Roaring64Map bitmap = new Roaring64Map();
+                int bitmapType = in.readByte();
+                if (bitmapType != BitmapValue.EMPTY) {
+                    bitmap.deserialize(in, bitmapType);
+                }
+                return bitmap;
+            } catch (IOException e) {
+                throw new KryoException(e);
+            }
+        }
     }
 }
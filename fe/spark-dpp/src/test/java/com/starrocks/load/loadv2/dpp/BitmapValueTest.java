@@ -17,6 +17,9 @@
 
 package com.starrocks.load.loadv2.dpp;
 
+import com.esotericsoftware.kryo.Kryo;
+import com.esotericsoftware.kryo.io.Input;
+import com.esotericsoftware.kryo.io.Output;
 import com.starrocks.common.Codec;
 import org.junit.Assert;
 import org.junit.Test;
@@ -496,4 +499,28 @@ public class BitmapValueTest {
         Assert.assertTrue(bitmap.toString().equals("{1,2}"));
     }
 
+    @Test
+    public void testKryoSerialize() {
+        Kryo kryo = new Kryo();
+        new StarRocksKryoRegistrator().registerClasses(kryo);
+
+        BitmapValue empty = new BitmapValue();
+        BitmapValue singleValue = new BitmapValue();
+        singleValue.add(1);
+        BitmapValue bitmap32 = new BitmapValue();
+        bitmap32.add(1);
+        bitmap32.add(2);
+        BitmapValue bitmap64 = new BitmapValue();
+        bitmap64.add(1);
+        bitmap64.add(Long.MAX_VALUE);
+        for (BitmapValue bitmapValue : Arrays.asList(empty, singleValue, bitmap32, bitmap64)) {
+            Output output = new Output(1024, -1);
+            kryo.writeObject(output, bitmapValue);
+            kryo.writeObject(output, new Roaring64Map());
+            Input input = new Input(output.toBytes());
+            Assert.assertEquals(bitmapValue, kryo.readObject(input, BitmapValue.class));
+            Assert.assertTrue(kryo.readObject(input, Roaring64Map.class).isEmpty());
+        }
+    }
+
 }
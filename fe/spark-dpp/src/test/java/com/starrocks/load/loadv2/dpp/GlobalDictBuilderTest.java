@@ -0,0 +1,87 @@
+// Copyright 2021-present StarRocks, Inc. All rights reserved.
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//     https://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package com.starrocks.load.loadv2.dpp;
+
+import com.google.common.collect.Lists;
+import com.starrocks.common.jmockit.Deencapsulation;
+import mockit.Mocked;
+import org.apache.commons.collections.map.MultiValueMap;
+import org.apache.spark.sql.SparkSession;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+public class GlobalDictBuilderTest {
+    private static final String INTERMEDIATE_TABLE = "tbl_intermediate";
+    private static final String GLOBAL_DICT_TABLE = "tbl_dict";
+
+    private GlobalDictBuilder createBuilder(MultiValueMap dictColumn, List<String> intermediateTableColumns,
+                                            List<String> mapSideJoinColumns, SparkSession spark) {
+        return new GlobalDictBuilder(dictColumn, intermediateTableColumns, mapSideJoinColumns, "db.tbl_source",
+                "", "db", "tbl_distinct_key", GLOBAL_DICT_TABLE, INTERMEDIATE_TABLE, 1,
+                Lists.newArrayList(), 1, spark);
+    }
+
+    @Test
+    public void testEncodeStarRocksIntermediateHiveTableSql(@Mocked SparkSession spark) {
+        // k3 reuses the global dict of k2
+        MultiValueMap dictColumn = new MultiValueMap();
+        dictColumn.put("k1", null);
+        dictColumn.put("k2", "k3");
+        GlobalDictBuilder builder = createBuilder(dictColumn, Lists.newArrayList("k1", "k2", "k3", "v1"),
+                Lists.newArrayList("k2"), spark);
+
+        String sql = Deencapsulation.invoke(builder, "getEncodeStarRocksIntermediateHiveTableSql");
+        // all dict columns are encoded in one statement, and only the map side join column is broadcast
+        Assert.assertEquals("insert overwrite table tbl_intermediate select  /*+ BROADCAST (t1) */ " +
+                "t0.dict_value ,t1.dict_value , if(tbl_intermediate.k3 is null, null, t1.dict_value)  ," +
+                "tbl_intermediate.v1  from tbl_intermediate" +
+                " LEFT OUTER JOIN ( select dict_key,dict_value from tbl_dict where dict_column='k1' ) t0" +
+                " on tbl_intermediate.k1 = t0.dict_key " +
+                " LEFT OUTER JOIN ( select dict_key,dict_value from tbl_dict where dict_column='k2' ) t1" +
+                " on tbl_intermediate.k2 = t1.dict_key ", sql);
+
+        // no hint without map side join columns
+        builder = createBuilder(dictColumn, Lists.newArrayList("k1", "v1"), Lists.newArrayList(), spark);
+        sql = Deencapsulation.invoke(builder, "getEncodeStarRocksIntermediateHiveTableSql");
+        Assert.assertEquals("insert overwrite table tbl_intermediate select t0.dict_value ," +
+                "tbl_intermediate.v1  from tbl_intermediate" +
+                " LEFT OUTER JOIN ( select dict_key,dict_value from tbl_dict where dict_column='k1' ) t0" +
+                " on tbl_intermediate.k1 = t0.dict_key " +
+                " LEFT OUTER JOIN ( select dict_key,dict_value from tbl_dict where dict_column='k2' ) t1" +
+                " on tbl_intermediate.k2 = t1.dict_key ", sql);
+    }
+
+    @Test
+    public void testSplitBuildGlobalDictSql(@Mocked SparkSession spark) {
+        MultiValueMap dictColumn = new MultiValueMap();
+        dictColumn.put("k1", null);
+        GlobalDictBuilder builder = createBuilder(dictColumn, Lists.newArrayList("k1"), Lists.newArrayList(), spark);
+
+        // every split starts from the max dict value before it
+        Map<String, Long> distinctKeyMap = new LinkedHashMap<>();
+        distinctKeyMap.put("0_100_tmp_dict_k1", 100L);
+        distinctKeyMap.put("1_150_tmp_dict_k1", 150L);
+        String sql = Deencapsulation.invoke(builder, "getSplitBuildGlobalDictSql", distinctKeyMap, "k1");
+        Assert.assertEquals("insert into table tbl_dict partition(dict_column='k1') " +
+                " select dict_key, (row_number() over(order by dict_key))  +(100) as dict_value" +
+                " from 0_100_tmp_dict_k1 union all " +
+                " select dict_key, (row_number() over(order by dict_key))  +(150) as dict_value" +
+                " from 1_150_tmp_dict_k1", sql);
+    }
+}
@@ -27,6 +27,29 @@ public class BrokerConfig extends ConfigBase {
     
     @ConfField
     public static int hdfs_write_buffer_size_kb = 1024;
+
+    /**
+     * Serve the random reads by the positional read of hdfs, which doesn't lock or seek the input stream.
+     */
+    @ConfField
+    public static boolean enable_hdfs_positional_read = true;
+
+    /**
+     * Max readahead of the input stream for sequential reads, the readahead is doubled
+     * for each sequential read until it reaches this value. 0 means not to set readahead.
+     */
+    @ConfField
+    public static int hdfs_readahead_max_kb = 16384;
+
+    /**
+     * The tail bytes of file cached for the random reads, e.g. reading the footer of parquet and orc files.
+     * 0 means disable the cache.
+     */
+    @ConfField
+    public static int hdfs_file_tail_cache_kb = 256;
+
+    @ConfField
+    public static int hdfs_file_tail_cache_capacity_mb = 256;
     
     @ConfField
     public static int client_expire_seconds = 300;
@@ -0,0 +1,217 @@
+// Copyright 2021-present StarRocks, Inc. All rights reserved.
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//     https://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package com.starrocks.broker.hdfs;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import org.apache.hadoop.fs.FSDataInputStream;
+import org.apache.hadoop.fs.FileStatus;
+import org.apache.log4j.Logger;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.concurrent.ExecutionException;
+
+/**
+ * Reader of an opened file, which serves the pread requests of broker.
+ * 1. Sequential reads are served by the stateful read of the stream, which keeps the block reader open,
+ *    and the readahead of the stream is enlarged adaptively while the reads keep sequential.
+ *    They synchronize on the stream, since its position is shared, so concurrent sequential reads of the same
+ *    reader are serialized. Random reads don't wait for them.
+ * 2. Random reads are served by the positional read of the stream, without locking the stream or seeking.
+ * 3. Random reads in the tail of file, e.g. the footer of parquet and orc files, are served by a cache shared
+ *    by all the readers of the same file.
+ * The file status is loaded on the first random read, so sequential scans do not pay for the extra rpc.
+ */
+public class PositionalFileReader {
+    private static Logger logger = Logger.getLogger(PositionalFileReader.class.getName());
+
+    private static final long MIN_READAHEAD_BYTES = 1L << 20;
+
+    // file key -> the tail bytes of file
+    private static final Cache<String, byte[]> TAIL_CACHE = CacheBuilder.newBuilder()
+            .maximumWeight((long) BrokerConfig.hdfs_file_tail_cache_capacity_mb << 20)
+            .weigher((String key, byte[] value) -> value.length)
+            .build();
+
+    private final FSDataInputStream inputStream;
+    private final String path;
+    // null if the file status can not be loaded
+    private final FileStatusLoader fileStatusLoader;
+    private boolean fileStatusLoaded = false;
+    // path, length and modification time of file, null if the file status is unknown
+    private String fileKey;
+    // -1 if unknown
+    private long fileLength = -1;
+
+    // end offset of the last read, used to detect sequential reads
+    private long lastReadEndOffset;
+    private int sequentialReadCount = 0;
+    private long readaheadBytes = 0;
+    private boolean readaheadSupported = true;
+
+    public interface FileStatusLoader {
+        FileStatus load() throws IOException;
+    }
+
+    public PositionalFileReader(FSDataInputStream inputStream, String path, FileStatusLoader fileStatusLoader,
+                                long startOffset) {
+        this.inputStream = inputStream;
+        this.path = path;
+        this.fileStatusLoader = fileStatusLoader;
+        this.lastReadEndOffset = startOffset;
+    }
+
+    public FSDataInputStream getInputStream() {
+        return inputStream;
+    }
+
+    /**
+     * Read at most maxLength bytes from offset, returns an empty buffer if offset reaches the end of file.
+     */
+    public ByteBuffer read(long offset, long length, int maxLength) throws IOException {
+        int size = (int) Math.min(length, maxLength);
+        boolean sequential;
+        String key;
+        long len;
+        synchronized (this) {
+            sequential = offset == lastReadEndOffset;
+            if (!sequential && BrokerConfig.hdfs_file_tail_cache_kb > 0) {
+                loadFileStatus();
+            }
+            key = fileKey;
+            len = fileLength;
+            if (len >= 0) {
+                // allocate the buffer by the remaining bytes of file, which is smaller when reading the tail of file
+                size = (int) Math.max(0, Math.min(size, len - offset));
+            }
+            if (size == 0) {
+                return ByteBuffer.allocate(0);
+            }
+            sequentialReadCount = sequential ? sequentialReadCount + 1 : 0;
+            lastReadEndOffset = offset + size;
+        }
+
+        if (!sequential) {
+            ByteBuffer tail = readFromTailCache(offset, size, key, len);
+            if (tail != null) {
+                return tail;
+            }
+        }
+
+        byte[] buf = new byte[size];
+        int readLength;
+        if (sequential || !BrokerConfig.enable_hdfs_positional_read) {
+            readLength = readSequentially(offset, buf);
+        } else {
+            readLength = readPositionally(offset, buf, 0, size);
+        }
+        return ByteBuffer.wrap(buf, 0, readLength);
+    }
+
+    // the position and readahead of the stream are shared by all the reads, so the stateful read holds its lock
+    private int readSequentially(long offset, byte[] buf) throws IOException {
+        synchronized (inputStream) {
+            if (inputStream.getPos() != offset) {
+                // it's ok, when reading some format like parquet, it is not a sequential read
+                logger.debug("current read offset is " + inputStream.getPos() + " is not equal to request offset "
+                        + offset + " seek to it");
+                inputStream.seek(offset);
+            }
+            adjustReadahead(buf.length);
+
+            int readLength = 0;
+            while (readLength < buf.length) {
+                int n = inputStream.read(buf, readLength, buf.length - readLength);
+                if (n <= 0) {
+                    break;
+                }
+                readLength += n;
+            }
+            return readLength;
+        }
+    }
+
+    private int readPositionally(long offset, byte[] buf, int bufOffset, int length) throws IOException {
+        int readLength = 0;
+        while (readLength < length) {
+            int n = inputStream.read(offset + readLength, buf, bufOffset + readLength, length - readLength);
+            if (n <= 0) {
+                break;
+            }
+            readLength += n;
+        }
+        return readLength;
+    }
+
+    // double the readahead of stream for each sequential read, until it reaches hdfs_readahead_max_kb
+    private void adjustReadahead(int readSize) {
+        if (!readaheadSupported || BrokerConfig.hdfs_readahead_max_kb <= 0) {
+            return;
+        }
+        long maxReadahead = (long) BrokerConfig.hdfs_readahead_max_kb << 10;
+        long readahead = Math.min(maxReadahead, Math.max(MIN_READAHEAD_BYTES, readSize)
+                << Math.min(sequentialReadCount, 16));
+        if (readahead == readaheadBytes) {
+            return;
+        }
+        try {
+            inputStream.setReadahead(readahead);
+            readaheadBytes = readahead;
+        } catch (UnsupportedOperationException e) {
+            readaheadSupported = false;
+        }
+    }
+
+    // the file status identifies the file content for the tail cache
+    private synchronized void loadFileStatus() throws IOException {
+        if (fileStatusLoaded || fileStatusLoader == null) {
+            return;
+        }
+        fileStatusLoaded = true;
+        FileStatus fileStatus = fileStatusLoader.load();
+        fileLength = fileStatus.getLen();
+        fileKey = path + "@" + fileLength + "@" + fileStatus.getModificationTime();
+    }
+
+    private ByteBuffer readFromTailCache(long offset, int size, String fileKey, long fileLength) throws IOException {
+        int tailSize = (int) Math.min(fileLength, (long) BrokerConfig.hdfs_file_tail_cache_kb << 10);
+        if (fileKey == null || tailSize <= 0 || offset < fileLength - tailSize) {
+            return null;
+        }
+
+        byte[] tail;
+        try {
+            tail = TAIL_CACHE.get(fileKey, () -> {
+                byte[] bytes = new byte[tailSize];
+                int readLength = readPositionally(fileLength - tailSize, bytes, 0, tailSize);
+                if (readLength != tailSize) {
+                    throw new IOException("read " + readLength + " bytes from the tail of file, expect " + tailSize);
+                }
+                return bytes;
+            });
+        } catch (ExecutionException e) {
+            throw new IOException(e.getCause());
+        }
+        if (tail.length != tailSize) {
+            // the config is changed after the tail is cached
+            TAIL_CACHE.invalidate(fileKey);
+            return null;
+        }
+        byte[] buf = new byte[size];
+        System.arraycopy(tail, (int) (offset - (fileLength - tailSize)), buf, 0, size);
+        return ByteBuffer.wrap(buf);
+    }
+}
@@ -0,0 +1,166 @@
+// Copyright 2021-present StarRocks, Inc. All rights reserved.
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//     https://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package com.starrocks.broker.hdfs;
+
+import org.apache.hadoop.conf.Configuration;
+import org.apache.hadoop.fs.FSDataInputStream;
+import org.apache.hadoop.fs.FileSystem;
+import org.apache.hadoop.fs.Path;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Ignore;
+import org.junit.Test;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+public class PositionalFileReaderTest {
+
+    private static final int FILE_SIZE = 4 << 20;
+
+    private File file;
+    private byte[] content;
+    private FileSystem fileSystem;
+
+    @Before
+    public void setUp() throws IOException {
+        file = File.createTempFile("positional_file_reader", ".parquet");
+        content = new byte[FILE_SIZE];
+        new Random(0).nextBytes(content);
+        try (FileOutputStream outputStream = new FileOutputStream(file)) {
+            outputStream.write(content);
+        }
+        fileSystem = FileSystem.getLocal(new Configuration());
+    }
+
+    @After
+    public void tearDown() throws IOException {
+        fileSystem.close();
+        file.delete();
+    }
+
+    private PositionalFileReader openReader(AtomicInteger loadNum) throws IOException {
+        Path path = new Path(file.getPath());
+        FSDataInputStream inputStream = fileSystem.open(path);
+        return new PositionalFileReader(inputStream, file.getPath(), () -> {
+            loadNum.incrementAndGet();
+            return fileSystem.getFileStatus(path);
+        }, 0);
+    }
+
+    private void assertContent(long offset, int length, ByteBuffer buf) {
+        Assert.assertEquals(length, buf.remaining());
+        byte[] bytes = new byte[length];
+        buf.get(bytes);
+        byte[] expected = new byte[length];
+        System.arraycopy(content, (int) offset, expected, 0, length);
+        Assert.assertArrayEquals(expected, bytes);
+    }
+
+    @Test
+    public void testRead() throws IOException {
+        PositionalFileReader reader = openReader(new AtomicInteger());
+        try {
+            // sequential reads
+            assertContent(0, 1024, reader.read(0, 1024, 1 << 20));
+            assertContent(1024, 4096, reader.read(1024, 4096, 1 << 20));
+            // the request length is larger than max length
+            assertContent(5120, 1 << 20, reader.read(5120, 2 << 20, 1 << 20));
+            // random reads
+            assertContent(3 << 20, 100, reader.read(3 << 20, 100, 1 << 20));
+            assertContent(100, 100, reader.read(100, 100, 1 << 20));
+            // random reads in the tail of file, served by the tail cache
+            assertContent(FILE_SIZE - 8, 8, reader.read(FILE_SIZE - 8, 8, 1 << 20));
+            assertContent(FILE_SIZE - 1000, 992, reader.read(FILE_SIZE - 1000, 992, 1 << 20));
+            // the buffer is allocated by the remaining bytes of file
+            assertContent(FILE_SIZE - 10, 10, reader.read(FILE_SIZE - 10, 1 << 20, 1 << 20));
+            Assert.assertEquals(0, reader.read(FILE_SIZE, 1024, 1 << 20).remaining());
+        } finally {
+            reader.getInputStream().close();
+        }
+    }
+
+    @Test
+    public void testLoadFileStatusLazily() throws IOException {
+        AtomicInteger loadNum = new AtomicInteger();
+        PositionalFileReader reader = openReader(loadNum);
+        try {
+            // sequential reads do not need the file status
+            assertContent(0, 1024, reader.read(0, 1024, 1 << 20));
+            assertContent(1024, 1024, reader.read(1024, 1024, 1 << 20));
+            Assert.assertEquals(0, loadNum.get());
+            // the file status is loaded once by the first random read
+            assertContent(FILE_SIZE - 8, 8, reader.read(FILE_SIZE - 8, 8, 1 << 20));
+            assertContent(100, 100, reader.read(100, 100, 1 << 20));
+            Assert.assertEquals(1, loadNum.get());
+        } finally {
+            reader.getInputStream().close();
+        }
+    }
+
+    // A benchmark comparing the positional reads with the seek and read of the shared stream, run it manually.
+    // Concurrent readers of one file share the reader, like the pread requests of the same fd in broker.
+    @Ignore
+    @Test
+    public void testRandomReadThroughput() throws Exception {
+        int readSize = 64 << 10;
+        int readNumPerThread = 1000;
+        int threadNum = 4;
+        int oldTailCacheKb = BrokerConfig.hdfs_file_tail_cache_kb;
+        boolean oldPositionalRead = BrokerConfig.enable_hdfs_positional_read;
+        // measure the reads of the stream only
+        BrokerConfig.hdfs_file_tail_cache_kb = 0;
+        ExecutorService executor = Executors.newFixedThreadPool(threadNum);
+        try {
+            for (boolean positionalRead : new boolean[] {false, true}) {
+                BrokerConfig.enable_hdfs_positional_read = positionalRead;
+                PositionalFileReader reader = openReader(new AtomicInteger());
+                List<Future<?>> futures = new ArrayList<>();
+                long start = System.nanoTime();
+                for (int t = 0; t < threadNum; t++) {
+                    Random random = new Random(t);
+                    futures.add(executor.submit(() -> {
+                        for (int i = 0; i < readNumPerThread; i++) {
+                            long offset = random.nextInt(FILE_SIZE - readSize);
+                            assertContent(offset, readSize, reader.read(offset, readSize, readSize));
+                        }
+                        return null;
+                    }));
+                }
+                for (Future<?> future : futures) {
+                    future.get();
+                }
+                double seconds = (System.nanoTime() - start) / 1e9;
+                System.out.printf("positional read: %s, threads: %d, throughput: %.2f MB/s%n", positionalRead,
+                        threadNum, (double) readSize * readNumPerThread * threadNum / (1 << 20) / seconds);
+                reader.getInputStream().close();
+            }
+        } finally {
+            executor.shutdown();
+            BrokerConfig.hdfs_file_tail_cache_kb = oldTailCacheKb;
+            BrokerConfig.enable_hdfs_positional_read = oldPositionalRead;
+        }
+    }
+}
@@ -52,6 +52,7 @@ struct TTabletStat {
     2: optional i64 data_size
     3: optional i64 row_num
     4: optional i64 version_count
+    5: optional i64 read_count
 }
 
 struct TTabletStatResult {
@@ -74,6 +75,13 @@ struct TPulsarLoadInfo {
     6: optional map<string, string> properties;
 }
 
+// a table which the messages of a routine load task are routed to by message key
+struct TRoutineLoadTablePlan {
+    1: optional string tbl
+    2: optional Types.TUniqueId load_id
+    3: optional InternalService.TExecPlanFragmentParams params
+}
+
 struct TRoutineLoadTask {
     1: required Types.TLoadSourceType type
     2: required i64 job_id
@@ -90,6 +98,7 @@ struct TRoutineLoadTask {
     13: optional InternalService.TExecPlanFragmentParams params
     14: optional PlanNodes.TFileFormatType format
     15: optional TPulsarLoadInfo pulsar_load_info
+    16: optional list<TRoutineLoadTablePlan> table_plans
 }
 
 struct TKafkaMetaProxyRequest {
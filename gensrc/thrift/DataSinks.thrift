@@ -156,6 +156,12 @@ struct TExportSink {
     8: optional i32 hdfs_write_buffer_size_kb = 0
     // properties from hdfs-site.xml, core-site.xml and load_properties
     9: optional PlanNodes.THdfsProperties hdfs_properties
+    // format of the exported files, csv if not set
+    10: optional PlanNodes.TFileFormatType file_format
+    // a new file is started once the current file reaches this size, 0 means no limit
+    11: optional i64 max_file_size_bytes
+    // names of the exported columns, used as the schema of columnar files
+    12: optional list<string> file_column_names
 
     // export file name prefix
     30: optional string file_name_prefix